@@ -17,8 +17,13 @@
 
 package com.alee.extended.filechooser;
 
+import com.alee.laf.WebLookAndFeel;
 import com.alee.laf.table.WebTable;
+import com.alee.utils.CompareUtils;
 import com.alee.utils.FileUtils;
+import com.alee.utils.file.DirectoryLoadListener;
+import com.alee.utils.file.DirectoryLoader;
+import com.alee.utils.file.FileWatcher;
 import com.alee.utils.filefilter.AbstractFileFilter;
 
 import javax.swing.table.TableColumn;
@@ -52,6 +57,22 @@ public class WebFileTable extends WebTable implements WebFileTableColumns
      */
     private File displayedDirectory;
 
+    /**
+     * Whether directory files should be loaded in a background thread or not.
+     * Asynchronously loaded files are added into the table in chunks and sorted once loading is finished.
+     */
+    private boolean asyncLoading = false;
+
+    /**
+     * Active directory loader.
+     */
+    private DirectoryLoader directoryLoader = null;
+
+    /**
+     * Currently watched directory.
+     */
+    private File watchedDirectory = null;
+
     /**
      * Constructs empty WebFileTable.
      */
@@ -165,6 +186,45 @@ public class WebFileTable extends WebTable implements WebFileTableColumns
         // Stop cell editing
         stopCellEditing ();
 
+        // Aborting previous directory loading
+        cancelLoading ();
+
+        // Loading directory files in background
+        if ( asyncLoading && file != null )
+        {
+            // Displayed files are kept while the same directory is reloaded
+            final boolean sameDirectory = FileUtils.equals ( displayedDirectory, file );
+            if ( !sameDirectory )
+            {
+                getFileTableModel ().setFiles ( new ArrayList<File> ( 0 ) );
+            }
+            displayedDirectory = file;
+            updateWatchedDirectory ();
+            directoryLoader = DirectoryLoader.load ( file, ( FileFilter ) fileFilter, new DirectoryLoadListener ()
+            {
+                @Override
+                public void filesLoaded ( final DirectoryLoader loader, final List<File> files )
+                {
+                    if ( !sameDirectory )
+                    {
+                        getFileTableModel ().addFiles ( files );
+                    }
+                }
+
+                @Override
+                public void loadCompleted ( final DirectoryLoader loader, final List<File> files )
+                {
+                    final List<File> selection = getSelectedFiles ();
+                    getFileTableModel ().setFiles ( files );
+                    setSelectedFiles ( selection );
+                    directoryLoader = null;
+                    firePropertyChange ( WebLookAndFeel.LOADING_PROPERTY, true, false );
+                }
+            } );
+            firePropertyChange ( WebLookAndFeel.LOADING_PROPERTY, false, true );
+            return;
+        }
+
         // Saving selection to restore later
         final List<File> oldSelection = getSelectedFiles ();
 
@@ -181,6 +241,91 @@ public class WebFileTable extends WebTable implements WebFileTableColumns
 
         // Saving new displayed directory
         displayedDirectory = file;
+        updateWatchedDirectory ();
+    }
+
+    /**
+     * Returns whether directory files should be loaded in a background thread or not.
+     *
+     * @return true if directory files should be loaded in a background thread, false otherwise
+     */
+    public boolean isAsyncLoading ()
+    {
+        return asyncLoading;
+    }
+
+    /**
+     * Sets whether directory files should be loaded in a background thread or not.
+     *
+     * @param asyncLoading whether directory files should be loaded in a background thread or not
+     */
+    public void setAsyncLoading ( final boolean asyncLoading )
+    {
+        this.asyncLoading = asyncLoading;
+    }
+
+    /**
+     * Returns whether directory files are being loaded at the moment or not.
+     *
+     * @return true if directory files are being loaded at the moment, false otherwise
+     */
+    public boolean isLoading ()
+    {
+        return directoryLoader != null;
+    }
+
+    /**
+     * Cancels directory files loading if it is in progress.
+     */
+    public void cancelLoading ()
+    {
+        if ( directoryLoader != null )
+        {
+            directoryLoader.cancel ();
+            directoryLoader = null;
+            firePropertyChange ( WebLookAndFeel.LOADING_PROPERTY, true, false );
+        }
+    }
+
+    /**
+     * Starts watching displayed directory.
+     */
+    @Override
+    public void addNotify ()
+    {
+        super.addNotify ();
+        updateWatchedDirectory ();
+    }
+
+    /**
+     * Stops watching displayed directory.
+     */
+    @Override
+    public void removeNotify ()
+    {
+        super.removeNotify ();
+        updateWatchedDirectory ();
+    }
+
+    /**
+     * Updates watched directory.
+     * Displayed directory is watched for changes only while table is displayable, so that FileUtils caches for its files stay up to date.
+     */
+    protected void updateWatchedDirectory ()
+    {
+        final File directory = isDisplayable () ? displayedDirectory : null;
+        if ( !CompareUtils.equals ( directory, watchedDirectory ) )
+        {
+            if ( directory != null )
+            {
+                FileWatcher.watchDirectory ( directory );
+            }
+            if ( watchedDirectory != null )
+            {
+                FileWatcher.unwatchDirectory ( watchedDirectory );
+            }
+            watchedDirectory = directory;
+        }
     }
 
     /**
@@ -190,7 +335,9 @@ public class WebFileTable extends WebTable implements WebFileTableColumns
      */
     public void setFiles ( final Collection<File> files )
     {
+        cancelLoading ();
         displayedDirectory = null;
+        updateWatchedDirectory ();
         getFileTableModel ().setFiles ( files );
     }
 
@@ -125,6 +125,16 @@ public class WebFileTableModel extends AbstractTableModel implements WebFileTabl
         }
     }
 
+    /**
+     * Returns displayed files.
+     *
+     * @return displayed files
+     */
+    public List<File> getFiles ()
+    {
+        return files;
+    }
+
     /**
      * Returns index of row with the specified file.
      *
@@ -179,6 +179,49 @@ public class FileListModel extends WebListModel<FileElement>
         setElements ( toElementsList ( data ) );
     }
 
+    /**
+     * Adds specified files to the end of the list.
+     *
+     * @param data files list
+     */
+    public void addData ( final List<File> data )
+    {
+        addElements ( toElementsList ( data ) );
+    }
+
+    /**
+     * Replaces list data with specified files reusing elements for files which are already in the list.
+     * Unlike {@link #setData(java.util.List)} this method keeps loaded thumbnails and other element state for retained files.
+     *
+     * @param data files list
+     */
+    public void updateData ( final List<File> data )
+    {
+        final List<FileElement> elements = new ArrayList<FileElement> ( data.size () );
+        synchronized ( elementsCacheLock )
+        {
+            final Map<String, FileElement> retained = new HashMap<String, FileElement> ( data.size () );
+            for ( final File file : data )
+            {
+                final String path = file.getAbsolutePath ();
+                FileElement element = elementsCache.remove ( path );
+                if ( element == null )
+                {
+                    element = new FileElement ( file );
+                }
+                retained.put ( path, element );
+                elements.add ( element );
+            }
+            for ( final Map.Entry<String, FileElement> entry : elementsCache.entrySet () )
+            {
+                entry.getValue ().setFile ( null );
+            }
+            elementsCache.clear ();
+            elementsCache.putAll ( retained );
+        }
+        setElements ( elements );
+    }
+
     /**
      * Returns files under the specified directory.
      *
@@ -0,0 +1,369 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.list;
+
+import com.alee.managers.log.Log;
+import com.alee.managers.settings.SettingsManager;
+import com.alee.utils.FileUtils;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Persistent on-disk cache for generated image thumbnails.
+ * Each thumbnail is stored in a separate file which name is computed from image path, modification time, size and thumbnail size, so
+ * modified images never get outdated thumbnails and revisited folders display their thumbnails without decoding images again.
+ * <p/>
+ * Cache size on disk is limited, see {@link #setMaxCacheSize(long)}. When the limit is exceeded after a thumbnail write the least
+ * recently used thumbnails are removed, cached thumbnail modification time is updated each time it is read to track its usage.
+ *
+ * @author Mikle Garin
+ * @see com.alee.extended.list.ThumbnailGenerator
+ */
+
+public final class ThumbnailCache
+{
+    /**
+     * Whether thumbnails disk cache is enabled or not.
+     */
+    public static boolean enabled = true;
+
+    /**
+     * Thumbnails cache directory name within default settings directory.
+     */
+    public static String cacheDirName = "thumbnails";
+
+    /**
+     * Thumbnail files extension.
+     */
+    public static String thumbnailsExtension = ".thumb";
+
+    /**
+     * Part of the maximum cache size which is left after cache pruning.
+     * Cache is pruned below the limit to avoid pruning it again on each following thumbnail write.
+     */
+    private static final float PRUNED_SIZE_FACTOR = 0.75f;
+
+    /**
+     * Cache size lock.
+     */
+    private static final Object sizeLock = new Object ();
+
+    /**
+     * Custom thumbnails cache directory.
+     * Default settings directory is used when it is not specified.
+     */
+    private static File cacheDir = null;
+
+    /**
+     * Maximum thumbnails cache size in bytes.
+     */
+    private static long maxCacheSize = 64 * 1024 * 1024;
+
+    /**
+     * Approximate thumbnails cache size in bytes or -1 if it wasn't computed yet.
+     */
+    private static long cacheSize = -1;
+
+    /**
+     * Returns thumbnails cache directory.
+     *
+     * @return thumbnails cache directory
+     */
+    public static File getCacheDir ()
+    {
+        return cacheDir != null ? cacheDir : new File ( SettingsManager.getDefaultSettingsDir (), cacheDirName );
+    }
+
+    /**
+     * Sets custom thumbnails cache directory.
+     *
+     * @param cacheDir custom thumbnails cache directory, null to use default one
+     */
+    public static void setCacheDir ( final File cacheDir )
+    {
+        synchronized ( sizeLock )
+        {
+            ThumbnailCache.cacheDir = cacheDir;
+            cacheSize = -1;
+        }
+    }
+
+    /**
+     * Returns maximum thumbnails cache size in bytes.
+     *
+     * @return maximum thumbnails cache size in bytes
+     */
+    public static long getMaxCacheSize ()
+    {
+        return maxCacheSize;
+    }
+
+    /**
+     * Sets maximum thumbnails cache size in bytes.
+     * Cache is pruned to the new size on the next thumbnail write.
+     *
+     * @param maxCacheSize maximum thumbnails cache size in bytes
+     */
+    public static void setMaxCacheSize ( final long maxCacheSize )
+    {
+        ThumbnailCache.maxCacheSize = maxCacheSize;
+    }
+
+    /**
+     * Returns cached thumbnail for the specified image file or null if it is not cached yet.
+     *
+     * @param file image file
+     * @param size thumbnail size
+     * @return cached thumbnail for the specified image file or null if it is not cached yet
+     */
+    public static ImageIcon get ( final File file, final int size )
+    {
+        if ( !enabled )
+        {
+            return null;
+        }
+        final File thumbnailFile = getThumbnailFile ( file, size );
+        if ( !thumbnailFile.exists () )
+        {
+            return null;
+        }
+        DataInputStream dis = null;
+        try
+        {
+            dis = new DataInputStream ( new BufferedInputStream ( new FileInputStream ( thumbnailFile ) ) );
+            final String description = dis.readUTF ();
+            final BufferedImage image = ImageIO.read ( dis );
+            if ( image == null )
+            {
+                return null;
+            }
+            final ImageIcon icon = new ImageIcon ( image );
+            icon.setDescription ( description );
+
+            // Marking thumbnail as recently used
+            thumbnailFile.setLastModified ( System.currentTimeMillis () );
+
+            return icon;
+        }
+        catch ( final IOException e )
+        {
+            // Broken thumbnails are simply generated again
+            return null;
+        }
+        finally
+        {
+            close ( dis );
+        }
+    }
+
+    /**
+     * Saves thumbnail for the specified image file into cache.
+     *
+     * @param file      image file
+     * @param size      thumbnail size
+     * @param thumbnail image thumbnail
+     */
+    public static void put ( final File file, final int size, final ImageIcon thumbnail )
+    {
+        if ( !enabled || !( thumbnail.getImage () instanceof BufferedImage ) )
+        {
+            return;
+        }
+        final File thumbnailFile = getThumbnailFile ( file, size );
+        if ( !FileUtils.ensureDirectoryExists ( thumbnailFile.getParentFile () ) )
+        {
+            return;
+        }
+
+        // Writing into temporary file first to avoid reading partially written thumbnails
+        final File tmp = new File ( thumbnailFile.getPath () + ".tmp" + Thread.currentThread ().getId () );
+        DataOutputStream dos = null;
+        try
+        {
+            dos = new DataOutputStream ( new BufferedOutputStream ( new FileOutputStream ( tmp ) ) );
+            dos.writeUTF ( thumbnail.getDescription () != null ? thumbnail.getDescription () : "" );
+            ImageIO.write ( ( BufferedImage ) thumbnail.getImage (), "png", dos );
+            dos.close ();
+            dos = null;
+            if ( tmp.renameTo ( thumbnailFile ) )
+            {
+                updateCacheSize ( thumbnailFile.length () );
+            }
+            else
+            {
+                tmp.delete ();
+            }
+        }
+        catch ( final IOException e )
+        {
+            Log.error ( ThumbnailCache.class, e );
+            tmp.delete ();
+        }
+        finally
+        {
+            close ( dos );
+        }
+    }
+
+    /**
+     * Removes all cached thumbnails.
+     */
+    public static void clear ()
+    {
+        synchronized ( sizeLock )
+        {
+            for ( final File file : getThumbnailFiles () )
+            {
+                file.delete ();
+            }
+            cacheSize = -1;
+        }
+    }
+
+    /**
+     * Adds written thumbnail size to the cache size and prunes cache if it exceeds maximum size.
+     * Cache size is computed from cache directory contents on the first call.
+     *
+     * @param written written thumbnail size in bytes
+     */
+    private static void updateCacheSize ( final long written )
+    {
+        synchronized ( sizeLock )
+        {
+            if ( cacheSize < 0 )
+            {
+                cacheSize = 0;
+                for ( final File file : getThumbnailFiles () )
+                {
+                    cacheSize += file.length ();
+                }
+            }
+            else
+            {
+                cacheSize += written;
+            }
+            if ( cacheSize > maxCacheSize )
+            {
+                prune ( ( long ) ( maxCacheSize * PRUNED_SIZE_FACTOR ) );
+            }
+        }
+    }
+
+    /**
+     * Removes least recently used thumbnails until cache size doesn't exceed the specified size.
+     * Should be called under the cache size lock.
+     *
+     * @param size maximum cache size after pruning in bytes
+     */
+    private static void prune ( final long size )
+    {
+        final File[] files = getThumbnailFiles ();
+        final long[] modified = new long[ files.length ];
+        final Integer[] order = new Integer[ files.length ];
+        long total = 0;
+        for ( int i = 0; i < files.length; i++ )
+        {
+            modified[ i ] = files[ i ].lastModified ();
+            order[ i ] = i;
+            total += files[ i ].length ();
+        }
+        Arrays.sort ( order, new Comparator<Integer> ()
+        {
+            @Override
+            public int compare ( final Integer i1, final Integer i2 )
+            {
+                return modified[ i1 ] < modified[ i2 ] ? -1 : modified[ i1 ] == modified[ i2 ] ? 0 : 1;
+            }
+        } );
+        for ( int i = 0; i < order.length && total > size; i++ )
+        {
+            final File file = files[ order[ i ] ];
+            final long length = file.length ();
+            if ( file.delete () )
+            {
+                total -= length;
+            }
+        }
+        cacheSize = total;
+    }
+
+    /**
+     * Returns all cached thumbnail files.
+     *
+     * @return all cached thumbnail files
+     */
+    private static File[] getThumbnailFiles ()
+    {
+        final File[] files = getCacheDir ().listFiles ( new FileFilter ()
+        {
+            @Override
+            public boolean accept ( final File file )
+            {
+                return file.getName ().endsWith ( thumbnailsExtension );
+            }
+        } );
+        return files != null ? files : new File[ 0 ];
+    }
+
+    /**
+     * Returns cache file for the specified image file thumbnail.
+     *
+     * @param file image file
+     * @param size thumbnail size
+     * @return cache file for the specified image file thumbnail
+     */
+    private static File getThumbnailFile ( final File file, final int size )
+    {
+        final String key = file.getAbsolutePath () + "|" + file.lastModified () + "|" + file.length () + "|" + size;
+        String name;
+        try
+        {
+            name = FileUtils.computeMD5 ( new ByteArrayInputStream ( key.getBytes ( "UTF-8" ) ) );
+        }
+        catch ( final UnsupportedEncodingException e )
+        {
+            name = Integer.toHexString ( key.hashCode () );
+        }
+        return new File ( getCacheDir (), name + thumbnailsExtension );
+    }
+
+    /**
+     * Closes the specified stream ignoring any exceptions.
+     *
+     * @param closeable stream to close, might be null
+     */
+    private static void close ( final Closeable closeable )
+    {
+        if ( closeable != null )
+        {
+            try
+            {
+                closeable.close ();
+            }
+            catch ( final IOException e )
+            {
+                // Ignore stream closing exceptions
+            }
+        }
+    }
+}
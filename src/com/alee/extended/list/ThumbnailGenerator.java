@@ -18,21 +18,26 @@
 package com.alee.extended.list;
 
 import com.alee.global.GlobalConstants;
+import com.alee.managers.task.Task;
+import com.alee.managers.task.TaskManager;
+import com.alee.managers.task.TaskPriority;
 import com.alee.utils.FileUtils;
 import com.alee.utils.ImageUtils;
-import com.alee.utils.concurrent.DaemonThreadFactory;
 import com.alee.utils.file.FileThumbnailProvider;
 
 import javax.swing.*;
 import java.awt.*;
 import java.io.File;
-import java.util.Map;
-import java.util.WeakHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.*;
 
 /**
+ * Background file element thumbnail generator used by WebFileList.
+ * Generators are executed by TaskManager within thumbnails group, so several thumbnails are generated simultaneously.
+ * Image thumbnails are decoded with subsampling and stored in persistent ThumbnailCache to make folder revisits instant.
+ * Generators for elements which were scrolled out of the list view are aborted, those elements will be queued again once displayed.
+ *
  * @author Mikle Garin
+ * @see com.alee.extended.list.ThumbnailCache
  */
 
 public class ThumbnailGenerator implements Runnable
@@ -41,12 +46,6 @@ public class ThumbnailGenerator implements Runnable
      * todo 1. Issues might appear on enable state change while generators are running
      */
 
-    /**
-     * Executor service for thumbnails generation.
-     * It was made static to be shared by different file lists and avoid overload.
-     */
-    protected static final ExecutorService executorService = Executors.newSingleThreadExecutor ( new DaemonThreadFactory () );
-
     /**
      * Map containing references to running thumbnail generators.
      * It is used to abort specific generation when needed.
@@ -76,7 +75,12 @@ public class ThumbnailGenerator implements Runnable
     /**
      * Whether generation was aborted or not.
      */
-    private boolean aborted;
+    private volatile boolean aborted;
+
+    /**
+     * Task running this generator.
+     */
+    private volatile Task task;
 
     /**
      * Constructs thumbnail generator for the specified file element.
@@ -141,6 +145,24 @@ public class ThumbnailGenerator implements Runnable
     public void abort ()
     {
         this.aborted = true;
+        if ( task != null )
+        {
+            task.cancel ( false );
+        }
+    }
+
+    /**
+     * Queues this generator for execution.
+     */
+    private void start ()
+    {
+        task = TaskManager.execute ( TaskManager.THUMBNAILS_GROUP, this, TaskPriority.background );
+
+        // Generator might have been aborted before its task was assigned
+        if ( aborted )
+        {
+            task.cancel ( false );
+        }
     }
 
     /**
@@ -248,8 +270,7 @@ public class ThumbnailGenerator implements Runnable
         {
             // If thumbnail was already specified we should re-use it
             // It will save us a lot of time if we simply need to generate disabled state in addition to enabled one
-            final ImageIcon thumb = element.getEnabledThumbnail () != null ? element.getEnabledThumbnail () :
-                    ImageUtils.createThumbnailIcon ( file.getAbsolutePath (), WebFileListCellRenderer.thumbSize );
+            final ImageIcon thumb = element.getEnabledThumbnail () != null ? element.getEnabledThumbnail () : createImageThumbnail ( file );
             if ( thumb != null )
             {
                 // Applying standard image thumbnail
@@ -268,6 +289,28 @@ public class ThumbnailGenerator implements Runnable
         }
     }
 
+    /**
+     * Returns image file thumbnail either from disk cache or decoded from the image itself.
+     *
+     * @param file image file
+     * @return image file thumbnail
+     */
+    private ImageIcon createImageThumbnail ( final File file )
+    {
+        final int size = WebFileListCellRenderer.thumbSize;
+        final ImageIcon cached = ThumbnailCache.get ( file, size );
+        if ( cached != null )
+        {
+            return cached;
+        }
+        final ImageIcon thumb = ImageUtils.createThumbnailIcon ( file.getAbsolutePath (), size );
+        if ( thumb != null && !aborted )
+        {
+            ThumbnailCache.put ( file, size, thumb );
+        }
+        return thumb;
+    }
+
     private void applyThumbnail ( final ImageIcon thumb )
     {
         // Process abort check here
@@ -380,7 +423,51 @@ public class ThumbnailGenerator implements Runnable
         {
             final ThumbnailGenerator generator = new ThumbnailGenerator ( list, element, disabled );
             generators.put ( element, generator );
-            executorService.submit ( generator );
+            generator.start ();
+        }
+    }
+
+    /**
+     * Aborts thumbnail generation for all elements of the specified list which are not visible anymore.
+     * Aborted elements are queued for generation again when they are displayed next time.
+     * This method should be called from Event Dispatch Thread.
+     *
+     * @param list file list to abort invisible elements thumbnail generation for
+     */
+    public static void abortInvisibleThumbnailLoads ( final WebFileList list )
+    {
+        // Collecting currently visible elements
+        final int first = list.getFirstVisibleIndex ();
+        final int last = list.getLastVisibleIndex ();
+        final ListModel model = list.getModel ();
+        final Set<Object> visible = new HashSet<Object> ();
+        if ( first != -1 )
+        {
+            for ( int i = first; i <= last && i < model.getSize (); i++ )
+            {
+                visible.add ( model.getElementAt ( i ) );
+            }
+        }
+
+        // Aborting generators for other elements
+        synchronized ( generatorsLock )
+        {
+            final Iterator<Map.Entry<FileElement, ThumbnailGenerator>> iterator = generators.entrySet ().iterator ();
+            while ( iterator.hasNext () )
+            {
+                final Map.Entry<FileElement, ThumbnailGenerator> entry = iterator.next ();
+                final ThumbnailGenerator generator = entry.getValue ();
+                if ( generator.list == list && !visible.contains ( entry.getKey () ) )
+                {
+                    generator.abort ();
+                    synchronized ( entry.getKey ().getLock () )
+                    {
+                        entry.getKey ().setThumbnailQueued ( false );
+                        entry.getKey ().setDisabledThumbnailQueued ( false );
+                    }
+                    iterator.remove ();
+                }
+            }
         }
     }
 
@@ -17,13 +17,20 @@
 
 package com.alee.extended.list;
 
+import com.alee.laf.WebLookAndFeel;
 import com.alee.laf.list.WebList;
 import com.alee.laf.list.editor.ListCellEditor;
 import com.alee.laf.scroll.WebScrollPane;
+import com.alee.utils.CompareUtils;
 import com.alee.utils.FileUtils;
+import com.alee.utils.file.DirectoryLoadListener;
+import com.alee.utils.file.DirectoryLoader;
 import com.alee.utils.file.FileThumbnailProvider;
+import com.alee.utils.file.FileWatcher;
 
 import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import java.awt.*;
 import java.io.File;
 import java.io.FileFilter;
@@ -75,11 +82,37 @@ public class WebFileList extends WebList
      */
     protected File displayedDirectory = null;
 
+    /**
+     * Whether directory files should be loaded in a background thread or not.
+     * Asynchronously loaded files are added into the list in chunks and sorted once loading is finished.
+     */
+    protected boolean asyncLoading = false;
+
+    /**
+     * Active directory loader.
+     */
+    protected DirectoryLoader directoryLoader = null;
+
+    /**
+     * Currently watched directory.
+     */
+    protected File watchedDirectory = null;
+
     /**
      * Scroll pane with fixed preferred size that fits file list settings.
      */
     protected WebScrollPane scrollView = null;
 
+    /**
+     * Viewport listener that aborts thumbnails generation for elements scrolled out of view.
+     */
+    protected ChangeListener thumbnailsTracker;
+
+    /**
+     * Viewport thumbnails tracker is installed into.
+     */
+    protected JViewport thumbnailsViewport;
+
     /**
      * Constructs empty file list.
      */
@@ -339,6 +372,68 @@ public class WebFileList extends WebList
         }
     }
 
+    /**
+     * Installs viewport listener that aborts thumbnails generation for elements scrolled out of view.
+     * Also starts watching displayed directory.
+     */
+    @Override
+    public void addNotify ()
+    {
+        super.addNotify ();
+        updateWatchedDirectory ();
+        if ( getParent () instanceof JViewport )
+        {
+            thumbnailsViewport = ( JViewport ) getParent ();
+            thumbnailsTracker = new ChangeListener ()
+            {
+                @Override
+                public void stateChanged ( final ChangeEvent e )
+                {
+                    ThumbnailGenerator.abortInvisibleThumbnailLoads ( WebFileList.this );
+                }
+            };
+            thumbnailsViewport.addChangeListener ( thumbnailsTracker );
+        }
+    }
+
+    /**
+     * Uninstalls viewport listener that aborts thumbnails generation for elements scrolled out of view.
+     * Also stops watching displayed directory.
+     */
+    @Override
+    public void removeNotify ()
+    {
+        if ( thumbnailsViewport != null )
+        {
+            thumbnailsViewport.removeChangeListener ( thumbnailsTracker );
+            thumbnailsViewport = null;
+            thumbnailsTracker = null;
+        }
+        super.removeNotify ();
+        updateWatchedDirectory ();
+    }
+
+    /**
+     * Updates watched directory.
+     * Displayed directory is watched for changes only while list is displayable, so that FileUtils caches for its files stay up to date.
+     */
+    protected void updateWatchedDirectory ()
+    {
+        final File directory = isDisplayable () ? displayedDirectory : null;
+        if ( !CompareUtils.equals ( directory, watchedDirectory ) )
+        {
+            if ( directory != null )
+            {
+                FileWatcher.watchDirectory ( directory );
+            }
+            if ( watchedDirectory != null )
+            {
+                FileWatcher.unwatchDirectory ( watchedDirectory );
+            }
+            watchedDirectory = directory;
+        }
+    }
+
     /**
      * Returns displayed directory.
      * Returned File might be null in case custom files list was set or no data is loaded into list yet.
@@ -361,11 +456,50 @@ public class WebFileList extends WebList
         // Stop cell editing
         stopCellEditing ();
 
+        // Aborting previous directory loading
+        cancelLoading ();
+
         // Saving selection to restore later
         final List<File> oldSelection = getSelectedFiles ();
 
+        // Loading directory files in background
+        if ( asyncLoading && file != null )
+        {
+            // Displayed files are kept while the same directory is reloaded
+            final boolean sameDirectory = FileUtils.equals ( displayedDirectory, file );
+            if ( !sameDirectory )
+            {
+                getFileListModel ().setData ( new File[ 0 ] );
+            }
+            this.displayedDirectory = file;
+            updateWatchedDirectory ();
+            directoryLoader = DirectoryLoader.load ( file, fileFilter, new DirectoryLoadListener ()
+            {
+                @Override
+                public void filesLoaded ( final DirectoryLoader loader, final List<File> files )
+                {
+                    if ( !sameDirectory )
+                    {
+                        getFileListModel ().addData ( files );
+                    }
+                }
+
+                @Override
+                public void loadCompleted ( final DirectoryLoader loader, final List<File> files )
+                {
+                    final List<File> selection = getSelectedFiles ();
+                    getFileListModel ().updateData ( files );
+                    setSelectedFiles ( selection );
+                    directoryLoader = null;
+                    firePropertyChange ( WebLookAndFeel.LOADING_PROPERTY, true, false );
+                }
+            } );
+            firePropertyChange ( WebLookAndFeel.LOADING_PROPERTY, false, true );
+            return;
+        }
+
         // Getting files and updating list model
-        final File[] files = file != null ? FileUtils.sortFiles ( file.listFiles ( fileFilter ) ) : FileUtils.getDiskRoots ();
+        final File[] files = file != null ? FileUtils.sortFiles ( FileUtils.listFiles ( file, fileFilter ) ) : FileUtils.getDiskRoots ();
         getFileListModel ().setData ( files );
 
         // Restoring selection if its same folder
@@ -376,6 +510,51 @@ public class WebFileList extends WebList
 
         // Saving new displayed directory
         this.displayedDirectory = file;
+        updateWatchedDirectory ();
+    }
+
+    /**
+     * Returns whether directory files should be loaded in a background thread or not.
+     *
+     * @return true if directory files should be loaded in a background thread, false otherwise
+     */
+    public boolean isAsyncLoading ()
+    {
+        return asyncLoading;
+    }
+
+    /**
+     * Sets whether directory files should be loaded in a background thread or not.
+     * Asynchronously loaded files are added into the list in chunks and sorted once loading is finished.
+     *
+     * @param asyncLoading whether directory files should be loaded in a background thread or not
+     */
+    public void setAsyncLoading ( final boolean asyncLoading )
+    {
+        this.asyncLoading = asyncLoading;
+    }
+
+    /**
+     * Returns whether directory files are being loaded at the moment or not.
+     *
+     * @return true if directory files are being loaded at the moment, false otherwise
+     */
+    public boolean isLoading ()
+    {
+        return directoryLoader != null;
+    }
+
+    /**
+     * Cancels directory files loading if it is in progress.
+     */
+    public void cancelLoading ()
+    {
+        if ( directoryLoader != null )
+        {
+            directoryLoader.cancel ();
+            directoryLoader = null;
+            firePropertyChange ( WebLookAndFeel.LOADING_PROPERTY, true, false );
+        }
     }
 
     /**
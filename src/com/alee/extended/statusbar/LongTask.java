@@ -0,0 +1,99 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.statusbar;
+
+/**
+ * Information about Event Dispatch Thread task which was running longer than allowed.
+ * Stack trace is captured while task is still running, so it points at the code which blocked Event Dispatch Thread.
+ *
+ * @author Mikle Garin
+ * @see com.alee.extended.statusbar.PerformanceMonitor
+ */
+
+public final class LongTask
+{
+    /**
+     * Time when blocked probe event was posted in milliseconds.
+     */
+    private final long time;
+
+    /**
+     * Event Dispatch Thread stack trace captured while task was running.
+     */
+    private final StackTraceElement[] stackTrace;
+
+    /**
+     * Task duration in nanoseconds or -1 if task is still running.
+     */
+    private volatile long duration;
+
+    /**
+     * Constructs new long task information.
+     *
+     * @param time       time when blocked probe event was posted in milliseconds
+     * @param stackTrace Event Dispatch Thread stack trace captured while task was running
+     */
+    public LongTask ( final long time, final StackTraceElement[] stackTrace )
+    {
+        super ();
+        this.time = time;
+        this.stackTrace = stackTrace;
+        this.duration = -1;
+    }
+
+    /**
+     * Returns time when blocked probe event was posted in milliseconds.
+     *
+     * @return time when blocked probe event was posted in milliseconds
+     */
+    public long getTime ()
+    {
+        return time;
+    }
+
+    /**
+     * Returns Event Dispatch Thread stack trace captured while task was running.
+     *
+     * @return Event Dispatch Thread stack trace captured while task was running
+     */
+    public StackTraceElement[] getStackTrace ()
+    {
+        return stackTrace;
+    }
+
+    /**
+     * Returns task duration in nanoseconds or -1 if task is still running.
+     * Duration is measured from the moment probe event was posted, so it also includes time spent on events queued before it.
+     *
+     * @return task duration in nanoseconds or -1 if task is still running
+     */
+    public long getDuration ()
+    {
+        return duration;
+    }
+
+    /**
+     * Sets task duration in nanoseconds.
+     *
+     * @param duration task duration in nanoseconds
+     */
+    protected void setDuration ( final long duration )
+    {
+        this.duration = duration;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.statusbar;
+
+/**
+ * Performance monitor listener.
+ * All methods are called in Event Dispatch Thread.
+ *
+ * @author Mikle Garin
+ * @see com.alee.extended.statusbar.PerformanceMonitor
+ */
+
+public interface PerformanceListener
+{
+    /**
+     * Informs that new performance sample was collected.
+     *
+     * @param sample new performance sample
+     */
+    public void sampleCollected ( PerformanceSample sample );
+
+    /**
+     * Informs that long Event Dispatch Thread task was detected.
+     * Task duration is not known yet at this point.
+     *
+     * @param task long Event Dispatch Thread task
+     */
+    public void longTaskDetected ( LongTask task );
+}
@@ -0,0 +1,154 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.statusbar;
+
+import com.alee.managers.language.LanguageManager;
+import com.alee.utils.FileUtils;
+
+/**
+ * Performance metrics which can be displayed by {@link com.alee.extended.statusbar.WebPerformanceBar}.
+ *
+ * @author Mikle Garin
+ * @see com.alee.extended.statusbar.PerformanceSample
+ */
+
+public enum PerformanceMetric
+{
+    /**
+     * Maximum Event Dispatch Thread dispatch latency.
+     */
+    latency,
+
+    /**
+     * Amount of repaint requests per second.
+     * Only collected if repaints tracking is enabled in {@link com.alee.extended.statusbar.PerformanceMonitor}.
+     */
+    repaints,
+
+    /**
+     * Requested repaint area per second.
+     * Only collected if repaints tracking is enabled in {@link com.alee.extended.statusbar.PerformanceMonitor}.
+     */
+    area,
+
+    /**
+     * Garbage collection time per second.
+     */
+    gc,
+
+    /**
+     * Estimated allocation rate.
+     */
+    allocation,
+
+    /**
+     * Amount of live threads.
+     */
+    threads;
+
+    /**
+     * Returns translated metric title.
+     *
+     * @return translated metric title
+     */
+    public String getTitle ()
+    {
+        return LanguageManager.get ( "weblaf.ex.perfbar." + this );
+    }
+
+    /**
+     * Returns metric value for the specified sample.
+     * This value is used to build sparkline so it only has to be comparable with values of the same metric.
+     *
+     * @param sample performance sample
+     * @return metric value for the specified sample
+     */
+    public double getValue ( final PerformanceSample sample )
+    {
+        switch ( this )
+        {
+            case latency:
+                return sample.getMaxLatency () / 1e6;
+
+            case repaints:
+                return sample.getRepaints ();
+
+            case area:
+                return sample.getPaintedArea ();
+
+            case gc:
+                return sample.getGcTime ();
+
+            case allocation:
+                return sample.getAllocationRate ();
+
+            case threads:
+                return sample.getThreadCount ();
+
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns short text representation of metric value for the specified sample.
+     *
+     * @param sample performance sample
+     * @return short text representation of metric value for the specified sample
+     */
+    public String getText ( final PerformanceSample sample )
+    {
+        switch ( this )
+        {
+            case latency:
+                return String.format ( "%.1f ms", sample.getMaxLatency () / 1e6 );
+
+            case repaints:
+                return String.format ( "%.0f/s", sample.getRepaints () );
+
+            case area:
+            {
+                final double area = sample.getPaintedArea ();
+                if ( area >= 1e6 )
+                {
+                    return String.format ( "%.1f Mpx/s", area / 1e6 );
+                }
+                else if ( area >= 1e3 )
+                {
+                    return String.format ( "%.1f Kpx/s", area / 1e3 );
+                }
+                else
+                {
+                    return String.format ( "%.0f px/s", area );
+                }
+            }
+
+            case gc:
+                return String.format ( "%.0f ms/s", sample.getGcTime () );
+
+            case allocation:
+                return FileUtils.getFileSizeString ( ( long ) sample.getAllocationRate (), 1 ) + "/s";
+
+            case threads:
+                return Integer.toString ( sample.getThreadCount () );
+
+            default:
+                return "";
+        }
+    }
+}
@@ -0,0 +1,770 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.statusbar;
+
+import com.alee.managers.log.Log;
+import com.alee.utils.CollectionUtils;
+import com.alee.utils.FileUtils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.lang.management.*;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application performance monitor which collects data displayed by {@link com.alee.extended.statusbar.WebPerformanceBar}.
+ * <p/>
+ * A single daemon thread posts small probe events into Event Dispatch Thread and measures how long it takes to dispatch them.
+ * If probe is not dispatched within {@link #getLongTaskThreshold()} the Event Dispatch Thread stack trace is captured, so the code
+ * which blocked it can be found later. Garbage collection data and thread counts are read from management beans.
+ * <p/>
+ * Repaint requests counting is disabled by default, see {@link #setTrackRepaints(boolean)}. When enabled, repaint requests are
+ * counted by a thin {@link javax.swing.RepaintManager} extension which is only installed if default repaint manager is used.
+ * Note that any custom repaint manager disables Swing buffer-per-window painting, so it might affect painting performance itself.
+ * Original repaint manager is restored when repaints counting is disabled or monitor is stopped.
+ * <p/>
+ * Monitor only runs while it has at least one user, see {@link #start()} and {@link #stop()}.
+ *
+ * @author Mikle Garin
+ * @see com.alee.extended.statusbar.WebPerformanceBar
+ */
+
+public final class PerformanceMonitor
+{
+    /**
+     * Monitor thread name.
+     */
+    public static String monitorThreadName = "PerformanceMonitor";
+
+    /**
+     * Delay between Event Dispatch Thread probes in milliseconds.
+     */
+    protected static long probeRate = 100;
+
+    /**
+     * Delay between collected samples in milliseconds.
+     */
+    protected static long sampleRate = 1000;
+
+    /**
+     * Event Dispatch Thread task duration in milliseconds after which its stack trace is captured.
+     */
+    protected static long longTaskThreshold = 500;
+
+    /**
+     * Maximum amount of stored samples.
+     */
+    protected static int historySize = 120;
+
+    /**
+     * Maximum amount of stored long tasks.
+     */
+    protected static int maxLongTasks = 20;
+
+    /**
+     * Whether repaint requests should be counted or not.
+     * Disabled by default since it requires custom repaint manager which disables buffer-per-window painting.
+     */
+    protected static boolean trackRepaints = false;
+
+    /**
+     * Monitor state lock.
+     */
+    private static final Object lock = new Object ();
+
+    /**
+     * Collected samples.
+     */
+    private static final LinkedList<PerformanceSample> samples = new LinkedList<PerformanceSample> ();
+
+    /**
+     * Detected long tasks.
+     */
+    private static final LinkedList<LongTask> longTasks = new LinkedList<LongTask> ();
+
+    /**
+     * Performance listeners.
+     */
+    private static final List<PerformanceListener> listeners = new ArrayList<PerformanceListener> ( 2 );
+
+    /**
+     * Amount of repaint requests since last sample.
+     */
+    private static final AtomicLong repaints = new AtomicLong ( 0 );
+
+    /**
+     * Requested repaint area since last sample.
+     */
+    private static final AtomicLong paintedArea = new AtomicLong ( 0 );
+
+    /**
+     * Amount of monitor users.
+     */
+    private static int users = 0;
+
+    /**
+     * Monitor thread or null if monitor is not running.
+     */
+    private static Thread monitor = null;
+
+    /**
+     * Installed repaint manager or null if it is not installed.
+     */
+    private static MonitoringRepaintManager repaintManager = null;
+
+    /**
+     * Repaint manager replaced by the monitoring one or null if it is not installed.
+     */
+    private static RepaintManager originalRepaintManager = null;
+
+    /**
+     * Event Dispatch Thread, known after first probe was dispatched.
+     */
+    private static volatile Thread edt = null;
+
+    /**
+     * Starts monitoring unless it is already running and registers new monitor user.
+     * Each call should be followed by {@link #stop()} call once monitoring data is not needed anymore.
+     */
+    public static void start ()
+    {
+        synchronized ( lock )
+        {
+            users++;
+            if ( monitor == null )
+            {
+                monitor = new Thread ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        runMonitor ( Thread.currentThread () );
+                    }
+                }, monitorThreadName );
+                monitor.setDaemon ( true );
+                monitor.start ();
+            }
+            if ( trackRepaints && repaintManager == null )
+            {
+                installRepaintManager ();
+            }
+        }
+    }
+
+    /**
+     * Unregisters monitor user and stops monitoring if there are no users left.
+     */
+    public static void stop ()
+    {
+        synchronized ( lock )
+        {
+            users = Math.max ( 0, users - 1 );
+            if ( users == 0 && monitor != null )
+            {
+                monitor.interrupt ();
+                monitor = null;
+                uninstallRepaintManager ();
+            }
+        }
+    }
+
+    /**
+     * Returns whether monitor is running or not.
+     *
+     * @return true if monitor is running, false otherwise
+     */
+    public static boolean isRunning ()
+    {
+        synchronized ( lock )
+        {
+            return monitor != null;
+        }
+    }
+
+    /**
+     * Returns delay between Event Dispatch Thread probes in milliseconds.
+     *
+     * @return delay between Event Dispatch Thread probes in milliseconds
+     */
+    public static long getProbeRate ()
+    {
+        return probeRate;
+    }
+
+    /**
+     * Sets delay between Event Dispatch Thread probes in milliseconds.
+     *
+     * @param probeRate delay between Event Dispatch Thread probes in milliseconds
+     */
+    public static void setProbeRate ( final long probeRate )
+    {
+        PerformanceMonitor.probeRate = probeRate;
+    }
+
+    /**
+     * Returns delay between collected samples in milliseconds.
+     *
+     * @return delay between collected samples in milliseconds
+     */
+    public static long getSampleRate ()
+    {
+        return sampleRate;
+    }
+
+    /**
+     * Sets delay between collected samples in milliseconds.
+     *
+     * @param sampleRate delay between collected samples in milliseconds
+     */
+    public static void setSampleRate ( final long sampleRate )
+    {
+        PerformanceMonitor.sampleRate = sampleRate;
+    }
+
+    /**
+     * Returns Event Dispatch Thread task duration in milliseconds after which its stack trace is captured.
+     *
+     * @return Event Dispatch Thread task duration in milliseconds after which its stack trace is captured
+     */
+    public static long getLongTaskThreshold ()
+    {
+        return longTaskThreshold;
+    }
+
+    /**
+     * Sets Event Dispatch Thread task duration in milliseconds after which its stack trace is captured.
+     *
+     * @param longTaskThreshold Event Dispatch Thread task duration in milliseconds after which its stack trace is captured
+     */
+    public static void setLongTaskThreshold ( final long longTaskThreshold )
+    {
+        PerformanceMonitor.longTaskThreshold = longTaskThreshold;
+    }
+
+    /**
+     * Returns maximum amount of stored samples.
+     *
+     * @return maximum amount of stored samples
+     */
+    public static int getHistorySize ()
+    {
+        return historySize;
+    }
+
+    /**
+     * Sets maximum amount of stored samples.
+     *
+     * @param historySize maximum amount of stored samples
+     */
+    public static void setHistorySize ( final int historySize )
+    {
+        PerformanceMonitor.historySize = historySize;
+    }
+
+    /**
+     * Returns whether repaint requests should be counted or not.
+     *
+     * @return true if repaint requests should be counted, false otherwise
+     */
+    public static boolean isTrackRepaints ()
+    {
+        return trackRepaints;
+    }
+
+    /**
+     * Sets whether repaint requests should be counted or not.
+     * Repaint requests can only be counted if default repaint manager is used.
+     * <p/>
+     * Counting repaint requests requires replacing default repaint manager while monitor is running. Swing disables buffer-per-window
+     * painting for any repaint manager created through public constructor, so enabling this option might affect painting performance.
+     *
+     * @param trackRepaints whether repaint requests should be counted or not
+     */
+    public static void setTrackRepaints ( final boolean trackRepaints )
+    {
+        synchronized ( lock )
+        {
+            PerformanceMonitor.trackRepaints = trackRepaints;
+            if ( !trackRepaints )
+            {
+                uninstallRepaintManager ();
+            }
+            else if ( monitor != null && repaintManager == null )
+            {
+                installRepaintManager ();
+            }
+        }
+    }
+
+    /**
+     * Returns copy of collected samples list, the oldest samples go first.
+     *
+     * @return copy of collected samples list
+     */
+    public static List<PerformanceSample> getSamples ()
+    {
+        synchronized ( lock )
+        {
+            return new ArrayList<PerformanceSample> ( samples );
+        }
+    }
+
+    /**
+     * Returns last collected sample or null if there are no samples yet.
+     *
+     * @return last collected sample or null if there are no samples yet
+     */
+    public static PerformanceSample getLastSample ()
+    {
+        synchronized ( lock )
+        {
+            return samples.isEmpty () ? null : samples.getLast ();
+        }
+    }
+
+    /**
+     * Returns copy of detected long tasks list, the oldest tasks go first.
+     *
+     * @return copy of detected long tasks list
+     */
+    public static List<LongTask> getLongTasks ()
+    {
+        synchronized ( lock )
+        {
+            return new ArrayList<LongTask> ( longTasks );
+        }
+    }
+
+    /**
+     * Adds performance listener.
+     *
+     * @param listener performance listener to add
+     */
+    public static void addPerformanceListener ( final PerformanceListener listener )
+    {
+        synchronized ( listeners )
+        {
+            listeners.add ( listener );
+        }
+    }
+
+    /**
+     * Removes performance listener.
+     *
+     * @param listener performance listener to remove
+     */
+    public static void removePerformanceListener ( final PerformanceListener listener )
+    {
+        synchronized ( listeners )
+        {
+            listeners.remove ( listener );
+        }
+    }
+
+    /**
+     * Returns text report containing collected samples, detected long tasks and current threads dump.
+     * Such report can be attached to bug reports to give some insight on application performance issues.
+     *
+     * @return text performance report
+     */
+    public static String createReport ()
+    {
+        final SimpleDateFormat format = new SimpleDateFormat ( "yyyy-MM-dd HH:mm:ss.SSS" );
+        final StringBuilder report = new StringBuilder ();
+        final RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean ();
+        report.append ( "Performance report " ).append ( format.format ( new Date () ) ).append ( "\n" );
+        report.append ( runtime.getVmName () ).append ( " " ).append ( runtime.getVmVersion () ).append ( ", " )
+                .append ( System.getProperty ( "os.name" ) ).append ( " " ).append ( System.getProperty ( "os.version" ) ).append ( ", " )
+                .append ( Runtime.getRuntime ().availableProcessors () ).append ( " processors, uptime " )
+                .append ( runtime.getUptime () / 1000 ).append ( " s\n\n" );
+
+        // Samples
+        report.append ( "Samples:\n" );
+        report.append ( "time\tedt avg ms\tedt max ms\tlong tasks\trepaints/s\tarea px/s\tgc/s\tgc ms/s\talloc bytes/s\theap bytes\t" +
+                "threads\tdaemons\n" );
+        for ( final PerformanceSample sample : getSamples () )
+        {
+            report.append ( format.format ( new Date ( sample.getTime () ) ) ).append ( '\t' );
+            report.append ( String.format ( "%.2f\t%.2f\t%d\t%.0f\t%.0f\t%.2f\t%.1f\t%.0f\t%d\t%d\t%d\n", sample.getAverageLatency () / 1e6,
+                    sample.getMaxLatency () / 1e6, sample.getLongTasks (), sample.getRepaints (), sample.getPaintedArea (),
+                    sample.getGcCount (), sample.getGcTime (), sample.getAllocationRate (), sample.getHeapUsed (),
+                    sample.getThreadCount (), sample.getDaemonThreadCount () ) );
+        }
+
+        // Long tasks
+        report.append ( "\nLong Event Dispatch Thread tasks:\n" );
+        for ( final LongTask task : getLongTasks () )
+        {
+            final long duration = task.getDuration ();
+            report.append ( format.format ( new Date ( task.getTime () ) ) ).append ( ", " )
+                    .append ( duration >= 0 ? duration / 1000000 + " ms" : "still running" ).append ( '\n' );
+            for ( final StackTraceElement element : task.getStackTrace () )
+            {
+                report.append ( "\tat " ).append ( element ).append ( '\n' );
+            }
+        }
+
+        // Threads dump
+        report.append ( "\nThreads:\n" );
+        for ( final ThreadInfo info : ManagementFactory.getThreadMXBean ().dumpAllThreads ( false, false ) )
+        {
+            report.append ( '"' ).append ( info.getThreadName () ).append ( "\" " ).append ( info.getThreadState () ).append ( '\n' );
+            for ( final StackTraceElement element : info.getStackTrace () )
+            {
+                report.append ( "\tat " ).append ( element ).append ( '\n' );
+            }
+            report.append ( '\n' );
+        }
+        return report.toString ();
+    }
+
+    /**
+     * Saves text performance report into the specified file.
+     *
+     * @param file file to save report into
+     * @see #createReport()
+     */
+    public static void saveReport ( final File file )
+    {
+        FileUtils.writeStringToFile ( createReport (), file );
+    }
+
+    /**
+     * Installs repaint manager counting repaint requests if default repaint manager is used.
+     * Should be called under the lock.
+     */
+    private static void installRepaintManager ()
+    {
+        final RepaintManager current = RepaintManager.currentManager ( ( Component ) null );
+        if ( current.getClass () == RepaintManager.class )
+        {
+            originalRepaintManager = current;
+            repaintManager = new MonitoringRepaintManager ();
+            repaintManager.setDoubleBufferingEnabled ( current.isDoubleBufferingEnabled () );
+            RepaintManager.setCurrentManager ( repaintManager );
+        }
+    }
+
+    /**
+     * Restores original repaint manager if it was replaced by monitor and wasn't replaced by anyone else afterwards.
+     * Should be called under the lock.
+     */
+    private static void uninstallRepaintManager ()
+    {
+        if ( repaintManager != null )
+        {
+            if ( RepaintManager.currentManager ( ( Component ) null ) == repaintManager )
+            {
+                RepaintManager.setCurrentManager ( originalRepaintManager );
+            }
+            repaintManager = null;
+            originalRepaintManager = null;
+        }
+    }
+
+    /**
+     * Monitor thread body.
+     *
+     * @param thread monitor thread
+     */
+    private static void runMonitor ( final Thread thread )
+    {
+        final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean ();
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean ();
+        final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans ();
+
+        long sampleStart = System.nanoTime ();
+        long latencySum = 0;
+        long latencyMax = 0;
+        int probes = 0;
+        int sampleLongTasks = 0;
+        long allocated = 0;
+        long lastHeapUsed = memoryBean.getHeapMemoryUsage ().getUsed ();
+        long lastGcCount = getGcCount ( gcBeans );
+        long lastGcTime = getGcTime ( gcBeans );
+        repaints.set ( 0 );
+        paintedArea.set ( 0 );
+
+        try
+        {
+            while ( !thread.isInterrupted () )
+            {
+                // Posting probe and waiting for its dispatch
+                final Probe probe = new Probe ();
+                EventQueue.invokeLater ( probe );
+                LongTask longTask = null;
+                while ( !probe.await ( probeRate ) )
+                {
+                    if ( longTask == null && edt != null && System.nanoTime () - probe.posted >= longTaskThreshold * 1000000L )
+                    {
+                        // Capturing stack trace of the task blocking Event Dispatch Thread
+                        longTask = new LongTask ( System.currentTimeMillis () - ( System.nanoTime () - probe.posted ) / 1000000L,
+                                edt.getStackTrace () );
+                        addLongTask ( longTask );
+                        sampleLongTasks++;
+                    }
+                }
+                final long latency = probe.dispatched - probe.posted;
+                if ( longTask != null )
+                {
+                    longTask.setDuration ( latency );
+                }
+                latencySum += latency;
+                latencyMax = Math.max ( latencyMax, latency );
+                probes++;
+
+                // Estimating allocations from heap usage growth, memory freed by collections is not taken into account
+                final long heapUsed = memoryBean.getHeapMemoryUsage ().getUsed ();
+                if ( heapUsed > lastHeapUsed )
+                {
+                    allocated += heapUsed - lastHeapUsed;
+                }
+                lastHeapUsed = heapUsed;
+
+                // Collecting sample
+                final long now = System.nanoTime ();
+                if ( now - sampleStart >= sampleRate * 1000000L )
+                {
+                    final double seconds = ( now - sampleStart ) / 1e9;
+                    final long gcCount = getGcCount ( gcBeans );
+                    final long gcTime = getGcTime ( gcBeans );
+                    final PerformanceSample sample = new PerformanceSample ( System.currentTimeMillis (), latencySum / probes, latencyMax,
+                            sampleLongTasks, repaints.getAndSet ( 0 ) / seconds, paintedArea.getAndSet ( 0 ) / seconds,
+                            ( gcCount - lastGcCount ) / seconds, ( gcTime - lastGcTime ) / seconds, allocated / seconds, heapUsed,
+                            threadBean.getThreadCount (), threadBean.getDaemonThreadCount () );
+                    addSample ( sample );
+
+                    sampleStart = now;
+                    latencySum = 0;
+                    latencyMax = 0;
+                    probes = 0;
+                    sampleLongTasks = 0;
+                    allocated = 0;
+                    lastGcCount = gcCount;
+                    lastGcTime = gcTime;
+                }
+
+                // Waiting for next probe
+                final long delay = probeRate - latency / 1000000L;
+                if ( delay > 0 )
+                {
+                    Thread.sleep ( delay );
+                }
+            }
+        }
+        catch ( final InterruptedException e )
+        {
+            // Monitor was stopped
+        }
+        catch ( final Throwable e )
+        {
+            Log.error ( PerformanceMonitor.class, e );
+        }
+    }
+
+    /**
+     * Returns total amount of garbage collections.
+     *
+     * @param gcBeans garbage collector beans
+     * @return total amount of garbage collections
+     */
+    private static long getGcCount ( final List<GarbageCollectorMXBean> gcBeans )
+    {
+        long count = 0;
+        for ( final GarbageCollectorMXBean gcBean : gcBeans )
+        {
+            count += Math.max ( 0, gcBean.getCollectionCount () );
+        }
+        return count;
+    }
+
+    /**
+     * Returns total garbage collection time in milliseconds.
+     *
+     * @param gcBeans garbage collector beans
+     * @return total garbage collection time in milliseconds
+     */
+    private static long getGcTime ( final List<GarbageCollectorMXBean> gcBeans )
+    {
+        long time = 0;
+        for ( final GarbageCollectorMXBean gcBean : gcBeans )
+        {
+            time += Math.max ( 0, gcBean.getCollectionTime () );
+        }
+        return time;
+    }
+
+    /**
+     * Stores collected sample and informs listeners about it.
+     *
+     * @param sample collected sample
+     */
+    private static void addSample ( final PerformanceSample sample )
+    {
+        synchronized ( lock )
+        {
+            samples.add ( sample );
+            while ( samples.size () > Math.max ( 1, historySize ) )
+            {
+                samples.removeFirst ();
+            }
+        }
+        SwingUtilities.invokeLater ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                for ( final PerformanceListener listener : getListeners () )
+                {
+                    listener.sampleCollected ( sample );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Stores detected long task and informs listeners about it.
+     *
+     * @param task detected long task
+     */
+    private static void addLongTask ( final LongTask task )
+    {
+        synchronized ( lock )
+        {
+            longTasks.add ( task );
+            while ( longTasks.size () > Math.max ( 1, maxLongTasks ) )
+            {
+                longTasks.removeFirst ();
+            }
+        }
+        SwingUtilities.invokeLater ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                for ( final PerformanceListener listener : getListeners () )
+                {
+                    listener.longTaskDetected ( task );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Returns copy of performance listeners list.
+     *
+     * @return copy of performance listeners list
+     */
+    private static List<PerformanceListener> getListeners ()
+    {
+        synchronized ( listeners )
+        {
+            return CollectionUtils.copy ( listeners );
+        }
+    }
+
+    /**
+     * Event Dispatch Thread probe event.
+     */
+    private static final class Probe implements Runnable
+    {
+        /**
+         * Time when probe was posted in nanoseconds.
+         */
+        private final long posted = System.nanoTime ();
+
+        /**
+         * Time when probe was dispatched in nanoseconds or zero if it wasn't dispatched yet.
+         */
+        private long dispatched = 0;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized void run ()
+        {
+            edt = Thread.currentThread ();
+            dispatched = System.nanoTime ();
+            notifyAll ();
+        }
+
+        /**
+         * Waits for probe dispatch.
+         *
+         * @param timeout maximum time to wait in milliseconds
+         * @return true if probe was dispatched, false otherwise
+         * @throws InterruptedException if monitor thread was interrupted
+         */
+        private synchronized boolean await ( final long timeout ) throws InterruptedException
+        {
+            if ( dispatched == 0 )
+            {
+                wait ( Math.max ( 1, timeout ) );
+            }
+            return dispatched != 0;
+        }
+    }
+
+    /**
+     * Repaint manager which counts repaint requests.
+     */
+    private static final class MonitoringRepaintManager extends RepaintManager
+    {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void addDirtyRegion ( final JComponent c, final int x, final int y, final int w, final int h )
+        {
+            countRepaint ( w, h );
+            super.addDirtyRegion ( c, x, y, w, h );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void addDirtyRegion ( final Window window, final int x, final int y, final int w, final int h )
+        {
+            countRepaint ( w, h );
+            super.addDirtyRegion ( window, x, y, w, h );
+        }
+
+        /**
+         * Counts single repaint request.
+         *
+         * @param w repainted area width
+         * @param h repainted area height
+         */
+        private void countRepaint ( final int w, final int h )
+        {
+            if ( w > 0 && h > 0 )
+            {
+                repaints.incrementAndGet ();
+                paintedArea.addAndGet ( ( long ) w * h );
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.statusbar;
+
+/**
+ * Immutable application performance sample collected by {@link com.alee.extended.statusbar.PerformanceMonitor}.
+ * All rate values are normalized to one second.
+ *
+ * @author Mikle Garin
+ * @see com.alee.extended.statusbar.PerformanceMonitor
+ */
+
+public final class PerformanceSample
+{
+    /**
+     * Sample time in milliseconds.
+     */
+    private final long time;
+
+    /**
+     * Average Event Dispatch Thread dispatch latency in nanoseconds.
+     */
+    private final long averageLatency;
+
+    /**
+     * Maximum Event Dispatch Thread dispatch latency in nanoseconds.
+     */
+    private final long maxLatency;
+
+    /**
+     * Amount of long Event Dispatch Thread tasks detected within sample.
+     */
+    private final int longTasks;
+
+    /**
+     * Amount of repaint requests per second.
+     */
+    private final double repaints;
+
+    /**
+     * Requested repaint area in pixels per second.
+     */
+    private final double paintedArea;
+
+    /**
+     * Amount of garbage collections per second.
+     */
+    private final double gcCount;
+
+    /**
+     * Garbage collection time in milliseconds per second.
+     */
+    private final double gcTime;
+
+    /**
+     * Estimated allocation rate in bytes per second.
+     */
+    private final double allocationRate;
+
+    /**
+     * Used heap memory in bytes.
+     */
+    private final long heapUsed;
+
+    /**
+     * Amount of live threads.
+     */
+    private final int threadCount;
+
+    /**
+     * Amount of live daemon threads.
+     */
+    private final int daemonThreadCount;
+
+    /**
+     * Constructs new performance sample.
+     *
+     * @param time              sample time in milliseconds
+     * @param averageLatency    average Event Dispatch Thread dispatch latency in nanoseconds
+     * @param maxLatency        maximum Event Dispatch Thread dispatch latency in nanoseconds
+     * @param longTasks         amount of long Event Dispatch Thread tasks detected within sample
+     * @param repaints          amount of repaint requests per second
+     * @param paintedArea       requested repaint area in pixels per second
+     * @param gcCount           amount of garbage collections per second
+     * @param gcTime            garbage collection time in milliseconds per second
+     * @param allocationRate    estimated allocation rate in bytes per second
+     * @param heapUsed          used heap memory in bytes
+     * @param threadCount       amount of live threads
+     * @param daemonThreadCount amount of live daemon threads
+     */
+    public PerformanceSample ( final long time, final long averageLatency, final long maxLatency, final int longTasks,
+                               final double repaints, final double paintedArea, final double gcCount, final double gcTime,
+                               final double allocationRate, final long heapUsed, final int threadCount, final int daemonThreadCount )
+    {
+        super ();
+        this.time = time;
+        this.averageLatency = averageLatency;
+        this.maxLatency = maxLatency;
+        this.longTasks = longTasks;
+        this.repaints = repaints;
+        this.paintedArea = paintedArea;
+        this.gcCount = gcCount;
+        this.gcTime = gcTime;
+        this.allocationRate = allocationRate;
+        this.heapUsed = heapUsed;
+        this.threadCount = threadCount;
+        this.daemonThreadCount = daemonThreadCount;
+    }
+
+    /**
+     * Returns sample time in milliseconds.
+     *
+     * @return sample time in milliseconds
+     */
+    public long getTime ()
+    {
+        return time;
+    }
+
+    /**
+     * Returns average Event Dispatch Thread dispatch latency in nanoseconds.
+     *
+     * @return average Event Dispatch Thread dispatch latency in nanoseconds
+     */
+    public long getAverageLatency ()
+    {
+        return averageLatency;
+    }
+
+    /**
+     * Returns maximum Event Dispatch Thread dispatch latency in nanoseconds.
+     *
+     * @return maximum Event Dispatch Thread dispatch latency in nanoseconds
+     */
+    public long getMaxLatency ()
+    {
+        return maxLatency;
+    }
+
+    /**
+     * Returns amount of long Event Dispatch Thread tasks detected within sample.
+     *
+     * @return amount of long Event Dispatch Thread tasks detected within sample
+     */
+    public int getLongTasks ()
+    {
+        return longTasks;
+    }
+
+    /**
+     * Returns amount of repaint requests per second.
+     *
+     * @return amount of repaint requests per second
+     */
+    public double getRepaints ()
+    {
+        return repaints;
+    }
+
+    /**
+     * Returns requested repaint area in pixels per second.
+     *
+     * @return requested repaint area in pixels per second
+     */
+    public double getPaintedArea ()
+    {
+        return paintedArea;
+    }
+
+    /**
+     * Returns amount of garbage collections per second.
+     *
+     * @return amount of garbage collections per second
+     */
+    public double getGcCount ()
+    {
+        return gcCount;
+    }
+
+    /**
+     * Returns garbage collection time in milliseconds per second.
+     *
+     * @return garbage collection time in milliseconds per second
+     */
+    public double getGcTime ()
+    {
+        return gcTime;
+    }
+
+    /**
+     * Returns estimated allocation rate in bytes per second.
+     *
+     * @return estimated allocation rate in bytes per second
+     */
+    public double getAllocationRate ()
+    {
+        return allocationRate;
+    }
+
+    /**
+     * Returns used heap memory in bytes.
+     *
+     * @return used heap memory in bytes
+     */
+    public long getHeapUsed ()
+    {
+        return heapUsed;
+    }
+
+    /**
+     * Returns amount of live threads.
+     *
+     * @return amount of live threads
+     */
+    public int getThreadCount ()
+    {
+        return threadCount;
+    }
+
+    /**
+     * Returns amount of live daemon threads.
+     *
+     * @return amount of live daemon threads
+     */
+    public int getDaemonThreadCount ()
+    {
+        return daemonThreadCount;
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.statusbar;
+
+import com.alee.laf.filechooser.WebFileChooser;
+import com.alee.laf.label.WebLabel;
+import com.alee.laf.menu.WebMenuItem;
+import com.alee.laf.menu.WebPopupMenu;
+import com.alee.managers.language.LanguageManager;
+import com.alee.managers.log.Log;
+import com.alee.managers.tooltip.TooltipManager;
+import com.alee.managers.tooltip.WebCustomTooltip;
+import com.alee.utils.GraphicsUtils;
+import com.alee.utils.swing.Customizer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.GeneralPath;
+import java.io.File;
+import java.util.List;
+
+/**
+ * Status bar component displaying live application performance metric with a rolling sparkline.
+ * Several bars can be added into {@link com.alee.extended.statusbar.WebStatusBar} to display different metrics, all of them share
+ * the same {@link com.alee.extended.statusbar.PerformanceMonitor} which only runs while at least one bar is displayed.
+ * <p/>
+ * Tooltip displays all metrics of the last sample and popup menu allows saving performance report into a file, so that users can
+ * attach it to bug reports.
+ *
+ * @author Mikle Garin
+ * @see com.alee.extended.statusbar.PerformanceMonitor
+ * @see com.alee.extended.statusbar.PerformanceMetric
+ */
+
+public class WebPerformanceBar extends WebLabel implements PerformanceListener
+{
+    /**
+     * Displayed metric.
+     */
+    protected PerformanceMetric metric;
+
+    /**
+     * Sparkline line color.
+     */
+    protected Color sparklineColor = WebPerformanceBarStyle.sparklineColor;
+
+    /**
+     * Sparkline fill color.
+     */
+    protected Color sparklineFillColor = WebPerformanceBarStyle.sparklineFillColor;
+
+    /**
+     * Color of sparkline samples which contain long Event Dispatch Thread tasks.
+     */
+    protected Color longTaskColor = WebPerformanceBarStyle.longTaskColor;
+
+    /**
+     * Whether should display performance details tooltip or not.
+     */
+    protected boolean showTooltip = WebPerformanceBarStyle.showTooltip;
+
+    /**
+     * Performance details tooltip.
+     */
+    protected WebCustomTooltip tooltip;
+
+    /**
+     * Performance details tooltip label.
+     */
+    protected final WebLabel tooltipLabel;
+
+    /**
+     * Constructs new performance bar displaying Event Dispatch Thread latency.
+     */
+    public WebPerformanceBar ()
+    {
+        this ( PerformanceMetric.latency );
+    }
+
+    /**
+     * Constructs new performance bar displaying the specified metric.
+     *
+     * @param metric displayed metric
+     */
+    public WebPerformanceBar ( final PerformanceMetric metric )
+    {
+        super ();
+        this.metric = metric;
+
+        setOpaque ( false );
+        setHorizontalAlignment ( WebLabel.CENTER );
+        setMargin ( 2, 2 + WebPerformanceBarStyle.leftRightSpacing, 2, 2 + WebPerformanceBarStyle.leftRightSpacing );
+
+        tooltipLabel = new WebLabel ();
+        updateTooltip ();
+        updateText ( PerformanceMonitor.getLastSample () );
+
+        // Report popup menu
+        final WebPopupMenu menu = new WebPopupMenu ();
+        final WebMenuItem report = new WebMenuItem ();
+        report.setLanguage ( "weblaf.ex.perfbar.report" );
+        report.addActionListener ( new ActionListener ()
+        {
+            @Override
+            public void actionPerformed ( final ActionEvent e )
+            {
+                saveReport ();
+            }
+        } );
+        menu.add ( report );
+        addMouseListener ( new MouseAdapter ()
+        {
+            @Override
+            public void mousePressed ( final MouseEvent e )
+            {
+                if ( SwingUtilities.isRightMouseButton ( e ) )
+                {
+                    menu.show ( WebPerformanceBar.this, e.getX (), e.getY () );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Returns displayed metric.
+     *
+     * @return displayed metric
+     */
+    public PerformanceMetric getMetric ()
+    {
+        return metric;
+    }
+
+    /**
+     * Sets displayed metric.
+     *
+     * @param metric displayed metric
+     */
+    public void setMetric ( final PerformanceMetric metric )
+    {
+        this.metric = metric;
+        updateText ( PerformanceMonitor.getLastSample () );
+        repaint ();
+    }
+
+    /**
+     * Returns sparkline line color.
+     *
+     * @return sparkline line color
+     */
+    public Color getSparklineColor ()
+    {
+        return sparklineColor;
+    }
+
+    /**
+     * Sets sparkline line color.
+     *
+     * @param sparklineColor sparkline line color
+     */
+    public void setSparklineColor ( final Color sparklineColor )
+    {
+        this.sparklineColor = sparklineColor;
+        repaint ();
+    }
+
+    /**
+     * Returns sparkline fill color.
+     *
+     * @return sparkline fill color
+     */
+    public Color getSparklineFillColor ()
+    {
+        return sparklineFillColor;
+    }
+
+    /**
+     * Sets sparkline fill color.
+     *
+     * @param sparklineFillColor sparkline fill color
+     */
+    public void setSparklineFillColor ( final Color sparklineFillColor )
+    {
+        this.sparklineFillColor = sparklineFillColor;
+        repaint ();
+    }
+
+    /**
+     * Returns color of sparkline samples which contain long Event Dispatch Thread tasks.
+     *
+     * @return color of sparkline samples which contain long Event Dispatch Thread tasks
+     */
+    public Color getLongTaskColor ()
+    {
+        return longTaskColor;
+    }
+
+    /**
+     * Sets color of sparkline samples which contain long Event Dispatch Thread tasks.
+     *
+     * @param longTaskColor color of sparkline samples which contain long Event Dispatch Thread tasks
+     */
+    public void setLongTaskColor ( final Color longTaskColor )
+    {
+        this.longTaskColor = longTaskColor;
+        repaint ();
+    }
+
+    /**
+     * Returns whether should display performance details tooltip or not.
+     *
+     * @return true if should display performance details tooltip, false otherwise
+     */
+    public boolean isShowTooltip ()
+    {
+        return showTooltip;
+    }
+
+    /**
+     * Sets whether should display performance details tooltip or not.
+     *
+     * @param showTooltip whether should display performance details tooltip or not
+     */
+    public void setShowTooltip ( final boolean showTooltip )
+    {
+        this.showTooltip = showTooltip;
+        updateTooltip ();
+    }
+
+    /**
+     * Asks user for the report file and saves performance report into it.
+     */
+    public void saveReport ()
+    {
+        final File file = WebFileChooser.showSaveDialog ( this, ( Customizer<WebFileChooser> ) null );
+        if ( file != null )
+        {
+            try
+            {
+                PerformanceMonitor.saveReport ( file );
+            }
+            catch ( final Throwable e )
+            {
+                Log.error ( this, e );
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addNotify ()
+    {
+        super.addNotify ();
+        PerformanceMonitor.addPerformanceListener ( this );
+        PerformanceMonitor.start ();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeNotify ()
+    {
+        PerformanceMonitor.stop ();
+        PerformanceMonitor.removePerformanceListener ( this );
+        super.removeNotify ();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sampleCollected ( final PerformanceSample sample )
+    {
+        updateText ( sample );
+        repaint ();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void longTaskDetected ( final LongTask task )
+    {
+        // Long tasks are displayed on the sparkline once sample is collected
+    }
+
+    /**
+     * Updates tooltip state.
+     */
+    protected void updateTooltip ()
+    {
+        if ( showTooltip )
+        {
+            tooltip = TooltipManager.setTooltip ( this, tooltipLabel, WebPerformanceBarStyle.tooltipDelay );
+        }
+        else
+        {
+            TooltipManager.removeTooltips ( this );
+            tooltip = null;
+        }
+    }
+
+    /**
+     * Updates bar and tooltip text using the specified sample.
+     *
+     * @param sample performance sample, might be null if there are no samples yet
+     */
+    protected void updateText ( final PerformanceSample sample )
+    {
+        setText ( metric.getTitle () + " " + ( sample != null ? metric.getText ( sample ) : "-" ) );
+        if ( showTooltip && sample != null )
+        {
+            final StringBuilder text = new StringBuilder ( "<html>" );
+            for ( final PerformanceMetric m : PerformanceMetric.values () )
+            {
+                text.append ( m.getTitle () ).append ( " <b>" ).append ( m.getText ( sample ) ).append ( "</b><br>" );
+            }
+            final List<LongTask> longTasks = PerformanceMonitor.getLongTasks ();
+            text.append ( LanguageManager.get ( "weblaf.ex.perfbar.longtasks" ) ).append ( " <b>" ).append ( longTasks.size () )
+                    .append ( "</b></html>" );
+            tooltipLabel.setText ( text.toString () );
+            if ( tooltip != null )
+            {
+                tooltip.updateLocation ();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void paintComponent ( final Graphics g )
+    {
+        final Graphics2D g2d = ( Graphics2D ) g;
+        paintSparkline ( g2d );
+        super.paintComponent ( g2d );
+    }
+
+    /**
+     * Paints rolling sparkline of the displayed metric, the latest sample is displayed at the right side.
+     *
+     * @param g2d graphics context
+     */
+    protected void paintSparkline ( final Graphics2D g2d )
+    {
+        final List<PerformanceSample> samples = PerformanceMonitor.getSamples ();
+        final int width = getWidth () - 2;
+        final int height = getHeight () - 3;
+        if ( samples.size () < 2 || width <= 0 || height <= 0 )
+        {
+            return;
+        }
+
+        // Visible samples, two pixels per sample
+        final int count = Math.min ( samples.size (), Math.max ( 2, width / 2 + 1 ) );
+        final List<PerformanceSample> visible = samples.subList ( samples.size () - count, samples.size () );
+        double max = 0;
+        for ( final PerformanceSample sample : visible )
+        {
+            max = Math.max ( max, metric.getValue ( sample ) );
+        }
+        if ( max <= 0 )
+        {
+            max = 1;
+        }
+
+        // Long tasks marks
+        final float step = ( float ) width / ( count - 1 );
+        g2d.setPaint ( longTaskColor );
+        for ( int i = 0; i < count; i++ )
+        {
+            if ( visible.get ( i ).getLongTasks () > 0 )
+            {
+                final int x = 1 + Math.round ( width - ( count - 1 - i ) * step );
+                g2d.fillRect ( x - 1, 1, 2, height + 1 );
+            }
+        }
+
+        // Sparkline
+        final GeneralPath line = new GeneralPath ();
+        for ( int i = 0; i < count; i++ )
+        {
+            final float x = 1 + width - ( count - 1 - i ) * step;
+            final float y = 1 + height - ( float ) ( metric.getValue ( visible.get ( i ) ) / max * height );
+            if ( i == 0 )
+            {
+                line.moveTo ( x, y );
+            }
+            else
+            {
+                line.lineTo ( x, y );
+            }
+        }
+        final GeneralPath fill = ( GeneralPath ) line.clone ();
+        fill.lineTo ( 1 + width, 1 + height );
+        fill.lineTo ( 1 + width - ( count - 1 ) * step, 1 + height );
+        fill.closePath ();
+
+        final Object aa = GraphicsUtils.setupAntialias ( g2d );
+        g2d.setPaint ( sparklineFillColor );
+        g2d.fill ( fill );
+        g2d.setPaint ( sparklineColor );
+        g2d.draw ( line );
+        GraphicsUtils.restoreAntialias ( g2d, aa );
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.statusbar;
+
+import java.awt.*;
+
+/**
+ * WebPerformanceBar style class.
+ *
+ * @author Mikle Garin
+ */
+
+public final class WebPerformanceBarStyle
+{
+    /**
+     * Sparkline line color.
+     */
+    public static Color sparklineColor = new Color ( 130, 130, 183 );
+
+    /**
+     * Sparkline fill color.
+     */
+    public static Color sparklineFillColor = new Color ( 0, 0, 255, 40 );
+
+    /**
+     * Color of sparkline samples which contain long Event Dispatch Thread tasks.
+     */
+    public static Color longTaskColor = new Color ( 255, 0, 0, 90 );
+
+    /**
+     * Performance bar text left and right spacing.
+     */
+    public static int leftRightSpacing = 4;
+
+    /**
+     * Whether should display performance details tooltip or not.
+     */
+    public static boolean showTooltip = true;
+
+    /**
+     * Performance details tooltip delay.
+     */
+    public static int tooltipDelay = 1000;
+}
@@ -54,6 +54,9 @@ public class ComponentTransition extends WebPanel
     // Last component
     protected Component lastContent;
 
+    // Whether transition snapshots should be kept in hardware-accelerated images or not
+    protected boolean accelerated = false;
+
     public ComponentTransition ()
     {
         this ( ( Component ) null );
@@ -203,7 +206,7 @@ public class ComponentTransition extends WebPanel
         else
         {
             final Component currentContent = getComponentCount () > 0 ? getComponent ( 0 ) : null;
-            currentSnapshot = SwingUtils.createComponentSnapshot ( currentContent, width, height );
+            currentSnapshot = SwingUtils.leaseComponentSnapshot ( currentContent, width, height );
         }
 
         // Enabling focus for transition time so you can focus the panel
@@ -257,12 +260,24 @@ public class ComponentTransition extends WebPanel
         }
 
         // Creating snapshot before removing all components
-        final BufferedImage otherSnapshot = SwingUtils.createComponentSnapshot ( content, width, height );
+        final BufferedImage otherSnapshot = SwingUtils.leaseComponentSnapshot ( content, width, height );
+
+        // Releasing resources of the interrupted transition
+        // Its last snapshot is reused as current snapshot so it is detached first
+        if ( transition != null )
+        {
+            if ( transition.getOtherImage () == currentSnapshot )
+            {
+                transition.setOtherImage ( null );
+            }
+            transition.destroy ();
+        }
 
         // Transition panel
         removeAll ();
         transition = new ImageTransition ( currentSnapshot, otherSnapshot );
         transition.setTransitionEffects ( transitionEffects );
+        transition.setAccelerated ( accelerated );
         add ( transition );
         revalidate ();
         repaint ();
@@ -324,6 +339,20 @@ public class ComponentTransition extends WebPanel
         return animating;
     }
 
+    public boolean isAccelerated ()
+    {
+        return accelerated;
+    }
+
+    public void setAccelerated ( final boolean accelerated )
+    {
+        this.accelerated = accelerated;
+        if ( transition != null )
+        {
+            transition.setAccelerated ( accelerated );
+        }
+    }
+
     public List<TransitionEffect> getTransitionEffects ()
     {
         return transitionEffects;
@@ -19,6 +19,7 @@ package com.alee.extended.transition;
 
 import com.alee.extended.transition.effects.TransitionEffect;
 import com.alee.utils.CollectionUtils;
+import com.alee.utils.ImagePool;
 import com.alee.utils.MathUtils;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.swing.WebTimer;
@@ -28,6 +29,7 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -44,6 +46,11 @@ public class ImageTransition extends JComponent implements ActionListener
     protected BufferedImage currentImage = null;
     protected BufferedImage otherImage = null;
 
+    // Hardware-accelerated images copies
+    protected boolean accelerated = false;
+    protected VolatileImage currentVolatile = null;
+    protected VolatileImage otherVolatile = null;
+
     // Added effects
     protected List<TransitionEffect> transitionEffects = new ArrayList<TransitionEffect> ();
 
@@ -98,6 +105,13 @@ public class ImageTransition extends JComponent implements ActionListener
     public void setCurrentImage ( final BufferedImage currentImage )
     {
         this.currentImage = currentImage;
+        currentVolatile = flushVolatile ( currentVolatile );
+    }
+
+    public Image getCurrentView ()
+    {
+        currentVolatile = validateVolatile ( currentVolatile, currentImage );
+        return currentVolatile != null ? currentVolatile : currentImage;
     }
 
     public BufferedImage getOtherImage ()
@@ -108,6 +122,72 @@ public class ImageTransition extends JComponent implements ActionListener
     public void setOtherImage ( final BufferedImage otherImage )
     {
         this.otherImage = otherImage;
+        otherVolatile = flushVolatile ( otherVolatile );
+    }
+
+    public Image getOtherView ()
+    {
+        otherVolatile = validateVolatile ( otherVolatile, otherImage );
+        return otherVolatile != null ? otherVolatile : otherImage;
+    }
+
+    public boolean isAccelerated ()
+    {
+        return accelerated;
+    }
+
+    public void setAccelerated ( final boolean accelerated )
+    {
+        this.accelerated = accelerated;
+        if ( !accelerated )
+        {
+            currentVolatile = flushVolatile ( currentVolatile );
+            otherVolatile = flushVolatile ( otherVolatile );
+        }
+    }
+
+    protected VolatileImage validateVolatile ( final VolatileImage volatileImage, final BufferedImage image )
+    {
+        // Volatile copy is only used when acceleration is enabled and component is displayable
+        final GraphicsConfiguration gc = getGraphicsConfiguration ();
+        if ( !accelerated || image == null || gc == null )
+        {
+            return flushVolatile ( volatileImage );
+        }
+
+        // Volatile image contents are restored from the snapshot whenever they are lost
+        final int width = image.getWidth ();
+        final int height = image.getHeight ();
+        VolatileImage vi = volatileImage;
+        final boolean sameSize = vi != null && vi.getWidth () == width && vi.getHeight () == height;
+        final int state = sameSize ? vi.validate ( gc ) : VolatileImage.IMAGE_INCOMPATIBLE;
+        if ( state == VolatileImage.IMAGE_INCOMPATIBLE )
+        {
+            flushVolatile ( vi );
+            vi = gc.createCompatibleVolatileImage ( width, height, Transparency.TRANSLUCENT );
+            if ( vi == null )
+            {
+                return null;
+            }
+            vi.validate ( gc );
+        }
+        if ( state != VolatileImage.IMAGE_OK )
+        {
+            final Graphics2D g2d = vi.createGraphics ();
+            g2d.setComposite ( AlphaComposite.Src );
+            g2d.drawImage ( image, 0, 0, null );
+            g2d.dispose ();
+        }
+        return vi;
+    }
+
+    protected VolatileImage flushVolatile ( final VolatileImage volatileImage )
+    {
+        if ( volatileImage != null )
+        {
+            volatileImage.flush ();
+        }
+        return null;
     }
 
     public List<TransitionEffect> getTransitionEffects ()
@@ -174,14 +254,25 @@ public class ImageTransition extends JComponent implements ActionListener
         }
         if ( currentImage != null )
         {
-            currentImage.flush ();
+            releaseImage ( currentImage );
             currentImage = null;
         }
         if ( otherImage != null )
         {
-            otherImage.flush ();
+            releaseImage ( otherImage );
             otherImage = null;
         }
+        currentVolatile = flushVolatile ( currentVolatile );
+        otherVolatile = flushVolatile ( otherVolatile );
+    }
+
+    protected void releaseImage ( final BufferedImage image )
+    {
+        // Pooled snapshots are returned into the pool, any other images are simply flushed
+        if ( !ImagePool.release ( image ) )
+        {
+            image.flush ();
+        }
     }
 
     public void changeImage ( final BufferedImage otherImage )
@@ -249,6 +340,9 @@ public class ImageTransition extends JComponent implements ActionListener
         final BufferedImage oldCurrent = this.currentImage;
         this.currentImage = this.otherImage;
         this.otherImage = oldCurrent;
+        final VolatileImage oldCurrentVolatile = this.currentVolatile;
+        this.currentVolatile = this.otherVolatile;
+        this.otherVolatile = oldCurrentVolatile;
 
         // Nullifying current effect
         actualTransitionEffect = null;
@@ -274,7 +368,7 @@ public class ImageTransition extends JComponent implements ActionListener
         else if ( currentImage != null )
         {
             // Static image
-            g2d.drawImage ( currentImage, 0, 0, getWidth (), getHeight (), null );
+            g2d.drawImage ( getCurrentView (), 0, 0, getWidth (), getHeight (), null );
         }
     }
 
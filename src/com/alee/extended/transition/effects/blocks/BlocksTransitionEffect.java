@@ -315,7 +315,7 @@ public class BlocksTransitionEffect extends DefaultTransitionEffect
         final int height = transition.getHeight ();
 
         // Old image as background
-        g2d.drawImage ( transition.getCurrentImage (), 0, 0, width, height, null );
+        g2d.drawImage ( transition.getCurrentView (), 0, 0, width, height, null );
 
         // Appearance type
         if ( fade )
@@ -340,7 +340,7 @@ public class BlocksTransitionEffect extends DefaultTransitionEffect
 
                         // Single image block with custom transparency
                         final Composite old = GraphicsUtils.setupAlphaComposite ( g2d, ( float ) block / size, block < size );
-                        g2d.drawImage ( transition.getOtherImage (), dx1, dy1, dx2, dy2, dx1, dy1, dx2, dy2, null );
+                        g2d.drawImage ( transition.getOtherView (), dx1, dy1, dx2, dy2, dx1, dy1, dx2, dy2, null );
                         GraphicsUtils.restoreComposite ( g2d, old, block < size );
                     }
                 }
@@ -350,7 +350,7 @@ public class BlocksTransitionEffect extends DefaultTransitionEffect
         {
             // New image with decreasing clipped area
             final Shape old = GraphicsUtils.intersectClip ( g2d, clip );
-            g2d.drawImage ( transition.getOtherImage (), 0, 0, width, height, null );
+            g2d.drawImage ( transition.getOtherView (), 0, 0, width, height, null );
             GraphicsUtils.restoreClip ( g2d, old );
         }
     }
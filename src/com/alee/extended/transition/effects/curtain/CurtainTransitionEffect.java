@@ -25,7 +25,6 @@ import com.alee.utils.GraphicsUtils;
 
 import java.awt.*;
 import java.awt.geom.GeneralPath;
-import java.awt.image.BufferedImage;
 
 /**
  * User: mgarin Date: 09.11.12 Time: 16:35
@@ -276,10 +275,10 @@ public class CurtainTransitionEffect extends DefaultTransitionEffect
         final int max = getMaxProgress ( transition );
 
         // Old image as background
-        g2d.drawImage ( transition.getCurrentImage (), 0, 0, width, height, null );
+        g2d.drawImage ( transition.getCurrentView (), 0, 0, width, height, null );
 
         // Separately drawn transparent curtains
-        final BufferedImage otherImage = transition.getOtherImage ();
+        final Image otherImage = transition.getOtherView ();
         if ( type.equals ( CurtainType.fade ) || type.equals ( CurtainType.fill ) && fade )
         {
             final int rows = progress.length;
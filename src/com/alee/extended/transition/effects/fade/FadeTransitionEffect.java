@@ -101,12 +101,12 @@ public class FadeTransitionEffect extends DefaultTransitionEffect
     {
         // Fading out old image
         Composite old = GraphicsUtils.setupAlphaComposite ( g2d, 1f - opacity );
-        g2d.drawImage ( transition.getCurrentImage (), 0, 0, transition.getWidth (), transition.getHeight (), null );
+        g2d.drawImage ( transition.getCurrentView (), 0, 0, transition.getWidth (), transition.getHeight (), null );
         GraphicsUtils.restoreComposite ( g2d, old );
 
         // Fading in new image
         GraphicsUtils.setupAlphaComposite ( g2d, opacity );
-        g2d.drawImage ( transition.getOtherImage (), 0, 0, transition.getWidth (), transition.getHeight (), null );
+        g2d.drawImage ( transition.getOtherView (), 0, 0, transition.getWidth (), transition.getHeight (), null );
         GraphicsUtils.restoreComposite ( g2d, old );
     }
 }
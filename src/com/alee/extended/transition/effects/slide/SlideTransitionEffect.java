@@ -161,11 +161,11 @@ public class SlideTransitionEffect extends DefaultTransitionEffect
             }
 
             // Old image as background
-            g2d.drawImage ( transition.getCurrentImage (), 0, 0, width, height, null );
+            g2d.drawImage ( transition.getCurrentView (), 0, 0, width, height, null );
 
             // New image sliding in
             final Composite old = GraphicsUtils.setupAlphaComposite ( g2d, floatProgress, fade );
-            g2d.drawImage ( transition.getOtherImage (), np.x, np.y, width, height, null );
+            g2d.drawImage ( transition.getOtherView (), np.x, np.y, width, height, null );
             GraphicsUtils.restoreComposite ( g2d, old, fade );
         }
         else if ( type.equals ( SlideType.moveOld ) )
@@ -189,11 +189,11 @@ public class SlideTransitionEffect extends DefaultTransitionEffect
             }
 
             // New image as background
-            g2d.drawImage ( transition.getOtherImage (), 0, 0, width, height, null );
+            g2d.drawImage ( transition.getOtherView (), 0, 0, width, height, null );
 
             // Old image sliding out
             final Composite old = GraphicsUtils.setupAlphaComposite ( g2d, 1f - floatProgress, fade );
-            g2d.drawImage ( transition.getCurrentImage (), cp.x, cp.y, width, height, null );
+            g2d.drawImage ( transition.getCurrentView (), cp.x, cp.y, width, height, null );
             GraphicsUtils.restoreComposite ( g2d, old, fade );
         }
         else if ( type.equals ( SlideType.moveBoth ) )
@@ -222,10 +222,10 @@ public class SlideTransitionEffect extends DefaultTransitionEffect
             }
 
             // Old image sliding out
-            g2d.drawImage ( transition.getCurrentImage (), cp.x, cp.y, width, height, null );
+            g2d.drawImage ( transition.getCurrentView (), cp.x, cp.y, width, height, null );
 
             // New image sliding in
-            g2d.drawImage ( transition.getOtherImage (), np.x, np.y, width, height, null );
+            g2d.drawImage ( transition.getOtherView (), np.x, np.y, width, height, null );
         }
     }
 }
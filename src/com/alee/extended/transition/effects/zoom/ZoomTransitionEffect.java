@@ -129,25 +129,25 @@ public class ZoomTransitionEffect extends DefaultTransitionEffect
         if ( type.equals ( ZoomType.zoomIn ) )
         {
             // Painting old image behind the new one
-            g2d.drawImage ( transition.getCurrentImage (), 0, 0, tw, th, null );
+            g2d.drawImage ( transition.getCurrentView (), 0, 0, tw, th, null );
 
             // Fading in new image
             Composite old = GraphicsUtils.setupAlphaComposite ( g2d, size, isFade () );
             int w = Math.round ( tw * size );
             int h = Math.round ( th * size );
-            g2d.drawImage ( transition.getOtherImage (), tw / 2 - w / 2, th / 2 - h / 2, w, h, null );
+            g2d.drawImage ( transition.getOtherView (), tw / 2 - w / 2, th / 2 - h / 2, w, h, null );
             GraphicsUtils.restoreComposite ( g2d, old, isFade () );
         }
         else
         {
             // Painting new image behind the old one
-            g2d.drawImage ( transition.getOtherImage (), 0, 0, tw, th, null );
+            g2d.drawImage ( transition.getOtherView (), 0, 0, tw, th, null );
 
             // Fading in new image
             Composite old = GraphicsUtils.setupAlphaComposite ( g2d, 1f - size, isFade () );
             int w = Math.round ( tw * ( 1f - size ) );
             int h = Math.round ( th * ( 1f - size ) );
-            g2d.drawImage ( transition.getCurrentImage (), tw / 2 - w / 2, th / 2 - h / 2, w, h, null );
+            g2d.drawImage ( transition.getCurrentView (), tw / 2 - w / 2, th / 2 - h / 2, w, h, null );
             GraphicsUtils.restoreComposite ( g2d, old, isFade () );
         }
     }
@@ -106,6 +106,18 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
      */
     protected final DoubleMap<String, E> nodeById = new DoubleMap<String, E> ();
 
+    /**
+     * Optional nodes text search index.
+     * It contains all nodes from the nodes cache.
+     */
+    protected TreeSearchIndex<E> searchIndex = null;
+
+    /**
+     * Nodes which have more childs pages available for loading.
+     * Only used for nodes provided by {@link com.alee.extended.tree.PagedAsyncTreeDataProvider}.
+     */
+    protected final Map<String, Boolean> morePagesAvailable = new HashMap<String, Boolean> ();
+
     /**
      * Lock object for busy state changes.
      */
@@ -300,10 +312,15 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
             if ( clearNode )
             {
                 nodeById.remove ( node.getId () );
+                if ( searchIndex != null )
+                {
+                    searchIndex.removeNode ( node );
+                }
             }
 
             // Clears node childs cached state
             nodeCached.remove ( node.getId () );
+            morePagesAvailable.remove ( node.getId () );
 
             // Clears node raw childs cache
             final List<E> children = rawNodeChildsCache.remove ( node.getId () );
@@ -360,6 +377,10 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
         synchronized ( cacheLock )
         {
             nodeById.put ( node.getId (), node );
+            if ( searchIndex != null )
+            {
+                searchIndex.addNode ( node );
+            }
         }
     }
 
@@ -376,6 +397,10 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
             {
                 nodeById.put ( node.getId (), node );
             }
+            if ( searchIndex != null )
+            {
+                searchIndex.addNodes ( nodes );
+            }
         }
     }
 
@@ -426,7 +451,17 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
             nodesWereRemoved ( parent, indices, childs );
         }
 
+        // Preparing raw childs cache
+        // Cached list instance is also used to detect outdated load operations
+        final List<E> rawChilds = new ArrayList<E> ();
+        synchronized ( cacheLock )
+        {
+            rawNodeChildsCache.put ( parent.getId (), rawChilds );
+        }
+
         // Loading node childs
+        final int pageSize = getPageSize ( parent );
+        final ChildsListener<E> listener = new ChildsLoadListener ( parent, rawChilds, pageSize, asyncLoading );
         if ( asyncLoading )
         {
             // Executing childs load in a separate thread to avoid locking EDT
@@ -436,84 +471,7 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
                 @Override
                 public void run ()
                 {
-                    // Loading childs
-                    dataProvider.loadChilds ( parent, new ChildsListener<E> ()
-                    {
-                        @Override
-                        public void childsLoadCompleted ( final List<E> childs )
-                        {
-                            // Caching raw childs
-                            synchronized ( cacheLock )
-                            {
-                                rawNodeChildsCache.put ( parent.getId (), childs );
-                                cacheNodesById ( childs );
-                            }
-
-                            // Filtering and sorting raw childs
-                            final List<E> realChilds = filterAndSort ( parent, childs );
-
-                            // Updating cache
-                            synchronized ( cacheLock )
-                            {
-                                nodeCached.put ( parent.getId (), true );
-                            }
-
-                            // Performing UI updates and event notification in EDT
-                            SwingUtils.invokeLater ( new Runnable ()
-                            {
-                                @Override
-                                public void run ()
-                                {
-                                    // Checking if any nodes loaded
-                                    if ( realChilds != null && realChilds.size () > 0 )
-                                    {
-                                        // Inserting loaded nodes
-                                        insertNodesIntoImpl ( realChilds, parent, 0 );
-                                    }
-
-                                    // Releasing node busy state
-                                    synchronized ( busyLock )
-                                    {
-                                        parent.setState ( AsyncNodeState.loaded );
-                                        nodeChanged ( parent );
-                                    }
-
-                                    // Firing load completed event
-                                    fireChildsLoadCompleted ( parent, realChilds );
-                                }
-                            } );
-                        }
-
-                        @Override
-                        public void childsLoadFailed ( final Throwable cause )
-                        {
-                            // Caching childs
-                            synchronized ( cacheLock )
-                            {
-                                rawNodeChildsCache.put ( parent.getId (), new ArrayList<E> ( 0 ) );
-                                nodeCached.put ( parent.getId (), true );
-                            }
-
-                            // Performing event notification in EDT
-                            SwingUtils.invokeLater ( new Runnable ()
-                            {
-                                @Override
-                                public void run ()
-                                {
-                                    // Releasing node busy state
-                                    synchronized ( busyLock )
-                                    {
-                                        parent.setState ( AsyncNodeState.failed );
-                                        parent.setFailureCause ( cause );
-                                        nodeChanged ( parent );
-                                    }
-
-                                    // Firing load failed event
-                                    fireChildsLoadFailed ( parent, cause );
-                                }
-                            } );
-                        }
-                    } );
+                    loadChilds ( parent, 0, pageSize, listener );
                 }
             } );
             return 0;
@@ -521,32 +479,312 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
         else
         {
             // Loading childs
-            dataProvider.loadChilds ( parent, new ChildsListener<E> ()
+            loadChilds ( parent, 0, pageSize, listener );
+            return parent.getChildCount ();
+        }
+    }
+
+    /**
+     * Returns whether the specified node has more childs pages available for loading or not.
+     * This might only be true for nodes provided by {@link com.alee.extended.tree.PagedAsyncTreeDataProvider}.
+     *
+     * @param parent node to process
+     * @return true if the specified node has more childs pages available for loading, false otherwise
+     */
+    public boolean hasMoreChilds ( final E parent )
+    {
+        synchronized ( cacheLock )
+        {
+            final Boolean more = morePagesAvailable.get ( parent.getId () );
+            return more != null && more;
+        }
+    }
+
+    /**
+     * Starts loading next childs page for the specified node.
+     * Loaded childs will be merged into already displayed ones.
+     *
+     * @param parent node to load childs for
+     * @see com.alee.extended.tree.PagedAsyncTreeDataProvider#loadChilds(AsyncUniqueNode, int, int, ChildsListener)
+     */
+    public void loadMoreChilds ( final E parent )
+    {
+        // Checking if the node is busy already
+        synchronized ( busyLock )
+        {
+            if ( !parent.isLoaded () || !hasMoreChilds ( parent ) )
+            {
+                return;
+            }
+            else
+            {
+                parent.setState ( AsyncNodeState.loading );
+                nodeChanged ( parent );
+            }
+        }
+
+        // Retrieving currently loaded raw childs
+        final List<E> rawChilds;
+        final int from;
+        synchronized ( cacheLock )
+        {
+            morePagesAvailable.remove ( parent.getId () );
+            rawChilds = rawNodeChildsCache.get ( parent.getId () );
+            from = rawChilds != null ? rawChilds.size () : 0;
+        }
+
+        // Simply ignore if childs cache was cleared meanwhile
+        if ( rawChilds == null )
+        {
+            synchronized ( busyLock )
+            {
+                parent.setState ( AsyncNodeState.loaded );
+                nodeChanged ( parent );
+            }
+            return;
+        }
+
+        // Firing load started event
+        fireChildsLoadStarted ( parent );
+
+        // Loading next childs page
+        final int pageSize = getPageSize ( parent );
+        final ChildsListener<E> listener = new ChildsLoadListener ( parent, rawChilds, pageSize, asyncLoading );
+        if ( asyncLoading )
+        {
+            AsyncTreeQueue.execute ( tree, new Runnable ()
             {
                 @Override
-                public void childsLoadCompleted ( final List<E> childs )
+                public void run ()
                 {
-                    // Caching raw childs
-                    synchronized ( cacheLock )
-                    {
-                        rawNodeChildsCache.put ( parent.getId (), childs );
-                        cacheNodesById ( childs );
-                    }
+                    loadChilds ( parent, from, pageSize, listener );
+                }
+            } );
+        }
+        else
+        {
+            loadChilds ( parent, from, pageSize, listener );
+        }
+    }
+
+    /**
+     * Returns childs page size for the specified node.
+     *
+     * @param parent node to process
+     * @return childs page size for the specified node or zero if childs are not loaded by pages
+     */
+    protected int getPageSize ( final E parent )
+    {
+        if ( dataProvider instanceof PagedAsyncTreeDataProvider )
+        {
+            return Math.max ( 0, ( ( PagedAsyncTreeDataProvider<E> ) dataProvider ).getPageSize ( parent ) );
+        }
+        else
+        {
+            return 0;
+        }
+    }
+
+    /**
+     * Asks data provider to load childs for the specified node.
+     *
+     * @param parent   node to load childs for
+     * @param from     index of the first requested child
+     * @param pageSize amount of requested childs or zero to request all childs
+     * @param listener childs loading progress listener
+     */
+    protected void loadChilds ( final E parent, final int from, final int pageSize, final ChildsListener<E> listener )
+    {
+        try
+        {
+            if ( pageSize > 0 )
+            {
+                ( ( PagedAsyncTreeDataProvider<E> ) dataProvider ).loadChilds ( parent, from, pageSize, listener );
+            }
+            else
+            {
+                dataProvider.loadChilds ( parent, listener );
+            }
+        }
+        catch ( final Throwable cause )
+        {
+            listener.childsLoadFailed ( cause );
+        }
+    }
+
+    /**
+     * Merges already filtered and sorted childs into the displayed node childs.
+     * Displayed childs are expected to be sorted using the same comparator.
+     *
+     * @param parent node to process
+     * @param childs filtered and sorted childs to merge
+     */
+    protected void mergeChildNodes ( final E parent, final List<E> childs )
+    {
+        // Simply ignore empty chunks
+        if ( childs == null || childs.size () == 0 )
+        {
+            return;
+        }
+
+        // Appending childs if there is nothing to merge with
+        final Comparator<E> comparator = dataProvider.getChildsComparator ( parent );
+        final int count = parent.getChildCount ();
+        if ( comparator == null || count == 0 )
+        {
+            insertNodesIntoImpl ( childs, parent, count );
+            return;
+        }
+
+        // Merging two sorted lists in a single pass
+        final List<E> existing = new ArrayList<E> ( count );
+        for ( int i = 0; i < count; i++ )
+        {
+            existing.add ( ( E ) parent.getChildAt ( i ) );
+        }
+        parent.removeAllChildren ();
+        final int[] indices = new int[ childs.size () ];
+        int e = 0;
+        int c = 0;
+        while ( e < existing.size () || c < childs.size () )
+        {
+            if ( c == childs.size () || e < existing.size () && comparator.compare ( existing.get ( e ), childs.get ( c ) ) <= 0 )
+            {
+                parent.add ( existing.get ( e ) );
+                e++;
+            }
+            else
+            {
+                indices[ c ] = parent.getChildCount ();
+                parent.add ( childs.get ( c ) );
+                c++;
+            }
+        }
+        nodesWereInserted ( parent, indices );
+
+        // Adding image observers
+        registerObservers ( childs );
+    }
+
+    /**
+     * Returns currently displayed childs of the specified node.
+     *
+     * @param parent node to process
+     * @return currently displayed childs of the specified node
+     */
+    protected List<E> getDisplayedChilds ( final E parent )
+    {
+        final int count = parent.getChildCount ();
+        final List<E> childs = new ArrayList<E> ( count );
+        for ( int i = 0; i < count; i++ )
+        {
+            childs.add ( ( E ) parent.getChildAt ( i ) );
+        }
+        return childs;
+    }
+
+    /**
+     * Listener that receives childs from data provider and merges them into the tree.
+     * Childs might be received all at once or in separate chunks, each chunk is filtered, sorted and displayed right away.
+     */
+    protected class ChildsLoadListener implements ChildsListener<E>
+    {
+        /**
+         * Node which childs are being loaded.
+         */
+        protected final E parent;
+
+        /**
+         * Raw childs cache this load operation adds childs into.
+         * Operation is considered outdated once this list is removed from the model cache.
+         */
+        protected final List<E> rawChilds;
+
+        /**
+         * Requested childs page size or zero if all childs were requested.
+         */
+        protected final int pageSize;
+
+        /**
+         * Whether UI updates should be performed later in EDT or not.
+         */
+        protected final boolean async;
+
+        /**
+         * Amount of childs received within this load operation.
+         */
+        protected int received = 0;
+
+        /**
+         * Constructs new childs load listener.
+         *
+         * @param parent    node which childs are being loaded
+         * @param rawChilds raw childs cache to add childs into
+         * @param pageSize  requested childs page size or zero if all childs were requested
+         * @param async     whether UI updates should be performed later in EDT or not
+         */
+        public ChildsLoadListener ( final E parent, final List<E> rawChilds, final int pageSize, final boolean async )
+        {
+            super ();
+            this.parent = parent;
+            this.rawChilds = rawChilds;
+            this.pageSize = pageSize;
+            this.async = async;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void childsChunkLoaded ( final List<E> childs )
+        {
+            // Caching raw childs
+            received += childs.size ();
+            if ( !cacheChilds ( childs, false ) )
+            {
+                return;
+            }
 
-                    // Filtering and sorting raw childs
-                    final List<E> realChilds = filterAndSort ( parent, childs );
+            // Filtering and sorting raw childs
+            final List<E> realChilds = filterAndSort ( parent, childs );
 
-                    // Updating cache
-                    synchronized ( cacheLock )
+            // Merging childs into the displayed ones
+            performUpdate ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    if ( isActual () )
                     {
-                        nodeCached.put ( parent.getId (), true );
+                        mergeChildNodes ( parent, realChilds );
                     }
+                }
+            } );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void childsLoadCompleted ( final List<E> childs )
+        {
+            // Caching raw childs
+            received += childs.size ();
+            final boolean actual = cacheChilds ( childs, true );
+
+            // Filtering and sorting raw childs
+            final List<E> realChilds = actual ? filterAndSort ( parent, childs ) : null;
 
-                    // Checking if any nodes loaded
-                    if ( realChilds != null && realChilds.size () > 0 )
+            // Performing UI updates and event notification
+            performUpdate ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    // Merging last loaded childs
+                    if ( actual && isActual () )
                     {
-                        // Inserting loaded nodes
-                        insertNodesIntoImpl ( realChilds, parent, 0 );
+                        mergeChildNodes ( parent, realChilds );
                     }
 
                     // Releasing node busy state
@@ -557,19 +795,32 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
                     }
 
                     // Firing load completed event
-                    fireChildsLoadCompleted ( parent, realChilds );
+                    fireChildsLoadCompleted ( parent, getDisplayedChilds ( parent ) );
                 }
+            } );
+        }
 
-                @Override
-                public void childsLoadFailed ( final Throwable cause )
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void childsLoadFailed ( final Throwable cause )
+        {
+            // Marking childs as cached to avoid repeated load attempts
+            synchronized ( cacheLock )
+            {
+                if ( rawNodeChildsCache.get ( parent.getId () ) == rawChilds )
                 {
-                    // Caching childs
-                    synchronized ( cacheLock )
-                    {
-                        rawNodeChildsCache.put ( parent.getId (), new ArrayList<E> ( 0 ) );
-                        nodeCached.put ( parent.getId (), true );
-                    }
+                    nodeCached.put ( parent.getId (), true );
+                }
+            }
 
+            // Performing event notification
+            performUpdate ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
                     // Releasing node busy state
                     synchronized ( busyLock )
                     {
@@ -582,7 +833,63 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
                     fireChildsLoadFailed ( parent, cause );
                 }
             } );
-            return parent.getChildCount ();
+        }
+
+        /**
+         * Adds childs into raw childs cache and returns whether this load operation is still actual or not.
+         *
+         * @param childs    loaded childs
+         * @param completed whether load operation is completed or not
+         * @return true if this load operation is still actual, false otherwise
+         */
+        protected boolean cacheChilds ( final List<E> childs, final boolean completed )
+        {
+            synchronized ( cacheLock )
+            {
+                if ( rawNodeChildsCache.get ( parent.getId () ) != rawChilds )
+                {
+                    return false;
+                }
+                rawChilds.addAll ( childs );
+                cacheNodesById ( childs );
+                nodeCached.put ( parent.getId (), true );
+                if ( completed && pageSize > 0 && received >= pageSize )
+                {
+                    morePagesAvailable.put ( parent.getId (), true );
+                }
+                return true;
+            }
+        }
+
+        /**
+         * Returns whether this load operation is still actual or not.
+         * Operation becomes outdated when node childs cache is cleared or replaced while childs are being loaded.
+         *
+         * @return true if this load operation is still actual, false otherwise
+         */
+        protected boolean isActual ()
+        {
+            synchronized ( cacheLock )
+            {
+                return rawNodeChildsCache.get ( parent.getId () ) == rawChilds;
+            }
+        }
+
+        /**
+         * Performs UI update in EDT.
+         *
+         * @param runnable UI update
+         */
+        protected void performUpdate ( final Runnable runnable )
+        {
+            if ( async )
+            {
+                SwingUtils.invokeLater ( runnable );
+            }
+            else
+            {
+                runnable.run ();
+            }
         }
     }
 
@@ -1092,6 +1399,88 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
         }
     }
 
+    /**
+     * Returns copy of raw childs for all loaded nodes (parent ID -> list of raw child nodes).
+     * Returned copy can be safely used outside of Event Dispatch Thread, for example to evaluate filter for the whole tree.
+     *
+     * @return copy of raw childs for all loaded nodes
+     */
+    public Map<String, List<E>> getRawChildsSnapshot ()
+    {
+        synchronized ( cacheLock )
+        {
+            final Map<String, List<E>> snapshot = new HashMap<String, List<E>> ( rawNodeChildsCache.size () );
+            for ( final Map.Entry<String, List<E>> entry : rawNodeChildsCache.entrySet () )
+            {
+                snapshot.put ( entry.getKey (), new ArrayList<E> ( entry.getValue () ) );
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Returns nodes text search index.
+     *
+     * @return nodes text search index or null if it is not installed
+     */
+    public TreeSearchIndex<E> getSearchIndex ()
+    {
+        return searchIndex;
+    }
+
+    /**
+     * Installs nodes text search index.
+     * Index is filled with all currently cached nodes and is kept up to date afterwards.
+     *
+     * @param searchIndex nodes text search index, null to uninstall current one
+     */
+    public void setSearchIndex ( final TreeSearchIndex<E> searchIndex )
+    {
+        synchronized ( cacheLock )
+        {
+            this.searchIndex = searchIndex;
+            if ( searchIndex != null )
+            {
+                searchIndex.clear ();
+                searchIndex.addNodes ( nodeById.values () );
+            }
+        }
+    }
+
+    /**
+     * Updates node text in search index.
+     * This method should be called when node text changes.
+     *
+     * @param node node which text has changed
+     */
+    public void updateSearchIndex ( final E node )
+    {
+        synchronized ( cacheLock )
+        {
+            if ( searchIndex != null )
+            {
+                searchIndex.addNode ( node );
+            }
+        }
+    }
+
+    /**
+     * Returns next node after the specified one in depth-first order which is accepted by the specified filter.
+     * Search continues from the root if there are no matching nodes after the specified one.
+     * Search index should be installed to use this method.
+     *
+     * @param filter nodes filter providing search request and options
+     * @param from   node to start search after, null to start from the root
+     * @return next matching node or null if there are no matching nodes or search index is not installed
+     */
+    public E findNextNode ( final StructuredTreeNodesFilter<E> filter, final E from )
+    {
+        synchronized ( cacheLock )
+        {
+            return searchIndex != null ? searchIndex.findNext ( filter, getRoot (), rawNodeChildsCache, from ) : null;
+        }
+    }
+
     /**
      * Looks for the node with the specified ID in the tree model and returns it or null if it was not found.
      *
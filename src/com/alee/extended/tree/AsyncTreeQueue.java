@@ -17,15 +17,16 @@
 
 package com.alee.extended.tree;
 
-import com.alee.utils.concurrent.DaemonThreadFactory;
+import com.alee.managers.task.TaskGroup;
+import com.alee.managers.task.TaskManager;
+import com.alee.managers.task.TaskPriority;
 
 import java.util.Map;
 import java.util.WeakHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Asynchronous tree childs loading queue.
+ * Queue doesn't own any threads, all requests are executed by TaskManager shared threads within queue task group.
  *
  * @author Mikle Garin
  */
@@ -49,14 +50,9 @@ public final class AsyncTreeQueue
     private static final Map<WebAsyncTree, AsyncTreeQueue> queues = new WeakHashMap<WebAsyncTree, AsyncTreeQueue> ();
 
     /**
-     * Lock for ExecutorService calls synchronization.
+     * Task group used to limit simultaneously running requests.
      */
-    private final Object lock = new Object ();
-
-    /**
-     * ExecutorService to limit simultaneously running threads.
-     */
-    private ExecutorService executorService = Executors.newFixedThreadPool ( threadsAmount, new DaemonThreadFactory () );
+    private final TaskGroup group;
 
     /**
      * Sets maximum threads amount for the specified asynchronous tree.
@@ -117,7 +113,9 @@ public final class AsyncTreeQueue
             }
 
             // Creating new queue
-            queue = new AsyncTreeQueue ();
+            queue = new AsyncTreeQueue ( asyncTree == null ? TaskManager.getGroup ( TaskManager.ASYNC_TREE_GROUP ) :
+                    TaskManager.createGroup ( TaskManager.ASYNC_TREE_GROUP, threadsAmount ) );
+            queue.setMaximumThreadsAmount ( threadsAmount );
             queues.put ( asyncTree, queue );
         }
         return queue;
@@ -136,48 +134,32 @@ public final class AsyncTreeQueue
 
     /**
      * Constructs new queue.
+     *
+     * @param group task group used to limit simultaneously running requests
      */
-    private AsyncTreeQueue ()
+    private AsyncTreeQueue ( final TaskGroup group )
     {
         super ();
+        this.group = group;
     }
 
     /**
      * Sets maximum threads amount for this queue.
      *
-     * @param amount maximum threads amount for this queue
+     * @param amount maximum threads amount for this queue, zero or less means that there is no limit
      */
     public void setMaximumThreadsAmount ( final int amount )
     {
-        synchronized ( lock )
-        {
-            if ( executorService != null )
-            {
-                executorService.shutdown ();
-            }
-            if ( amount > 0 )
-            {
-                executorService = Executors.newFixedThreadPool ( amount, new DaemonThreadFactory () );
-            }
-            else
-            {
-                executorService = null;
-            }
-        }
+        group.setParallelism ( amount );
     }
 
     /**
      * Shutdowns this queue.
+     * Queue doesn't own any threads, so requests which are already queued are still executed.
      */
     public void shutdown ()
     {
-        synchronized ( lock )
-        {
-            if ( executorService != null )
-            {
-                executorService.shutdown ();
-            }
-        }
+        // Shared threads are managed by TaskManager
     }
 
     /**
@@ -187,16 +169,6 @@ public final class AsyncTreeQueue
      */
     public void execute ( final Runnable runnable )
     {
-        synchronized ( lock )
-        {
-            if ( executorService != null )
-            {
-                executorService.execute ( runnable );
-            }
-            else
-            {
-                new Thread ( runnable, "AsyncTreeQueue" ).start ();
-            }
-        }
+        TaskManager.execute ( group, runnable, TaskPriority.interactive, null );
     }
-}
\ No newline at end of file
+}
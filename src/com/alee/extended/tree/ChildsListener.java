@@ -21,14 +21,28 @@ import java.util.List;
 
 /**
  * Special listener used within AsyncTreeModel to receive childs when loaded.
+ * Childs can either be passed all at once into {@link #childsLoadCompleted(java.util.List)} method or streamed in chunks through
+ * {@link #childsChunkLoaded(java.util.List)} method followed by a single {@link #childsLoadCompleted(java.util.List)} call which
+ * should contain the remaining childs (or an empty list).
  *
  * @author Mikle Garin
  */
 
 public interface ChildsListener<E extends AsyncUniqueNode>
 {
+    /**
+     * Informs model that a chunk of childs was loaded.
+     * Loaded chunk will be filtered, sorted and merged into the displayed childs right away.
+     * This method can be called multiple times before the final {@link #childsLoadCompleted(java.util.List)} call.
+     *
+     * @param childs chunk of loaded childs
+     */
+    public void childsChunkLoaded ( List<E> childs );
+
     /**
      * Informs model that childs were loaded successfully.
+     * If some childs were already passed through {@link #childsChunkLoaded(java.util.List)} method this list should only contain
+     * the remaining childs which were not yet passed to the model.
      *
      * @param childs list of loaded childs
      */
@@ -79,6 +79,12 @@ public class ExTreeModel<E extends UniqueNode> extends WebTreeModel<E>
      */
     protected final DoubleMap<String, E> nodeById = new DoubleMap<String, E> ();
 
+    /**
+     * Optional nodes text search index.
+     * It contains all nodes from the nodes cache.
+     */
+    protected TreeSearchIndex<E> searchIndex = null;
+
     /**
      * Constructs default ex tree model using custom data provider.
      *
@@ -241,6 +247,10 @@ public class ExTreeModel<E extends UniqueNode> extends WebTreeModel<E>
             if ( clearNode )
             {
                 nodeById.remove ( node.getId () );
+                if ( searchIndex != null )
+                {
+                    searchIndex.removeNode ( node );
+                }
             }
 
             // Clears node childs cached state
@@ -301,6 +311,10 @@ public class ExTreeModel<E extends UniqueNode> extends WebTreeModel<E>
         synchronized ( cacheLock )
         {
             nodeById.put ( node.getId (), node );
+            if ( searchIndex != null )
+            {
+                searchIndex.addNode ( node );
+            }
         }
     }
 
@@ -317,6 +331,10 @@ public class ExTreeModel<E extends UniqueNode> extends WebTreeModel<E>
             {
                 nodeById.put ( node.getId (), node );
             }
+            if ( searchIndex != null )
+            {
+                searchIndex.addNodes ( nodes );
+            }
         }
     }
 
@@ -779,6 +797,88 @@ public class ExTreeModel<E extends UniqueNode> extends WebTreeModel<E>
         }
     }
 
+    /**
+     * Returns copy of raw childs for all nodes (parent ID -> list of raw child nodes).
+     * Returned copy can be safely used outside of Event Dispatch Thread, for example to evaluate filter for the whole tree.
+     *
+     * @return copy of raw childs for all nodes
+     */
+    public Map<String, List<E>> getRawChildsSnapshot ()
+    {
+        synchronized ( cacheLock )
+        {
+            final Map<String, List<E>> snapshot = new HashMap<String, List<E>> ( rawNodeChildsCache.size () );
+            for ( final Map.Entry<String, List<E>> entry : rawNodeChildsCache.entrySet () )
+            {
+                snapshot.put ( entry.getKey (), new ArrayList<E> ( entry.getValue () ) );
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Returns nodes text search index.
+     *
+     * @return nodes text search index or null if it is not installed
+     */
+    public TreeSearchIndex<E> getSearchIndex ()
+    {
+        return searchIndex;
+    }
+
+    /**
+     * Installs nodes text search index.
+     * Index is filled with all currently cached nodes and is kept up to date afterwards.
+     *
+     * @param searchIndex nodes text search index, null to uninstall current one
+     */
+    public void setSearchIndex ( final TreeSearchIndex<E> searchIndex )
+    {
+        synchronized ( cacheLock )
+        {
+            this.searchIndex = searchIndex;
+            if ( searchIndex != null )
+            {
+                searchIndex.clear ();
+                searchIndex.addNodes ( nodeById.values () );
+            }
+        }
+    }
+
+    /**
+     * Updates node text in search index.
+     * This method should be called when node text changes.
+     *
+     * @param node node which text has changed
+     */
+    public void updateSearchIndex ( final E node )
+    {
+        synchronized ( cacheLock )
+        {
+            if ( searchIndex != null )
+            {
+                searchIndex.addNode ( node );
+            }
+        }
+    }
+
+    /**
+     * Returns next node after the specified one in depth-first order which is accepted by the specified filter.
+     * Search continues from the root if there are no matching nodes after the specified one.
+     * Search index should be installed to use this method.
+     *
+     * @param filter nodes filter providing search request and options
+     * @param from   node to start search after, null to start from the root
+     * @return next matching node or null if there are no matching nodes or search index is not installed
+     */
+    public E findNextNode ( final StructuredTreeNodesFilter<E> filter, final E from )
+    {
+        synchronized ( cacheLock )
+        {
+            return searchIndex != null ? searchIndex.findNext ( filter, getRoot (), rawNodeChildsCache, from ) : null;
+        }
+    }
+
     /**
      * Looks for the node with the specified ID in the tree model and returns it or null if it was not found.
      *
@@ -21,7 +21,11 @@ import com.alee.utils.CollectionUtils;
 import com.alee.utils.FileUtils;
 import com.alee.utils.compare.Filter;
 
+import com.alee.utils.file.DirectorySnapshot;
+import com.alee.utils.file.FileAttributes;
+
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -38,6 +42,12 @@ public class FileTreeDataProvider extends AbstractAsyncTreeDataProvider<FileTree
      */
     protected List<File> rootFiles;
 
+    /**
+     * Maximum amount of childs passed to the tree at once.
+     * Large directories are streamed into the tree in chunks of this size so that first childs appear right away.
+     */
+    protected int chunkSize = 256;
+
     /**
      * Constructs file tree data provider with the specified files as root.
      *
@@ -101,6 +111,26 @@ public class FileTreeDataProvider extends AbstractAsyncTreeDataProvider<FileTree
         return rootFiles.size () == 1 ? new FileTreeNode ( rootFiles.get ( 0 ) ) : new FileTreeNode ( null );
     }
 
+    /**
+     * Returns maximum amount of childs passed to the tree at once.
+     *
+     * @return maximum amount of childs passed to the tree at once
+     */
+    public int getChunkSize ()
+    {
+        return chunkSize;
+    }
+
+    /**
+     * Sets maximum amount of childs passed to the tree at once.
+     *
+     * @param chunkSize maximum amount of childs passed to the tree at once
+     */
+    public void setChunkSize ( final int chunkSize )
+    {
+        this.chunkSize = chunkSize;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -109,7 +139,14 @@ public class FileTreeDataProvider extends AbstractAsyncTreeDataProvider<FileTree
     {
         try
         {
-            listener.childsLoadCompleted ( parent.getFile () == null ? getRootChilds () : getFileChilds ( parent ) );
+            if ( parent.getFile () == null )
+            {
+                listener.childsLoadCompleted ( getRootChilds () );
+            }
+            else
+            {
+                listener.childsLoadCompleted ( streamFileChilds ( parent, listener ) );
+            }
         }
         catch ( final Throwable cause )
         {
@@ -117,6 +154,24 @@ public class FileTreeDataProvider extends AbstractAsyncTreeDataProvider<FileTree
         }
     }
 
+    /**
+     * Streams child nodes for specified node into the listener and returns the last incomplete chunk.
+     *
+     * @param node     parent node
+     * @param listener childs loading progress listener
+     * @return last incomplete chunk of child nodes
+     * @throws IOException when directory reading fails
+     */
+    protected List<FileTreeNode> streamFileChilds ( final FileTreeNode node, final ChildsListener<FileTreeNode> listener )
+            throws IOException
+    {
+        // Files attributes are stored in directory snapshot so that tree filter, comparator and renderer won't query them again
+        // Unreadable directories are simply displayed without childs
+        final ChildsStreamer streamer = new ChildsStreamer ( listener );
+        new DirectorySnapshot ( node.getFile () ).load ( streamer );
+        return streamer.chunk;
+    }
+
     /**
      * Returns root child nodes.
      *
@@ -140,20 +195,13 @@ public class FileTreeDataProvider extends AbstractAsyncTreeDataProvider<FileTree
      */
     public List<FileTreeNode> getFileChilds ( final FileTreeNode node )
     {
-        final File[] childsList = node.getFile ().listFiles ();
-        if ( childsList == null || childsList.length == 0 )
+        final List<File> childsList = DirectorySnapshot.create ( node.getFile () ).getFiles ();
+        final List<FileTreeNode> childs = new ArrayList<FileTreeNode> ( childsList.size () );
+        for ( final File f : childsList )
         {
-            return new ArrayList<FileTreeNode> ( 0 );
-        }
-        else
-        {
-            final List<FileTreeNode> childs = new ArrayList<FileTreeNode> ( childsList.length );
-            for ( final File f : childsList )
-            {
-                childs.add ( new FileTreeNode ( f ) );
-            }
-            return childs;
+            childs.add ( new FileTreeNode ( f ) );
         }
+        return childs;
     }
 
     /**
@@ -174,4 +222,47 @@ public class FileTreeDataProvider extends AbstractAsyncTreeDataProvider<FileTree
     {
         return node.getFile () != null && !FileUtils.isDirectory ( node.getFile () );
     }
+
+    /**
+     * Directory entries listener that passes loaded child nodes to the childs listener in chunks.
+     */
+    protected class ChildsStreamer implements DirectorySnapshot.EntryListener
+    {
+        /**
+         * Childs loading progress listener.
+         */
+        protected final ChildsListener<FileTreeNode> listener;
+
+        /**
+         * Child nodes which are not yet passed to the listener.
+         */
+        protected List<FileTreeNode> chunk;
+
+        /**
+         * Constructs new child nodes streamer.
+         *
+         * @param listener childs loading progress listener
+         */
+        public ChildsStreamer ( final ChildsListener<FileTreeNode> listener )
+        {
+            super ();
+            this.listener = listener;
+            this.chunk = new ArrayList<FileTreeNode> ();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean entryLoaded ( final File file, final FileAttributes attributes )
+        {
+            chunk.add ( new FileTreeNode ( file ) );
+            if ( chunkSize > 0 && chunk.size () >= chunkSize )
+            {
+                listener.childsChunkLoaded ( chunk );
+                chunk = new ArrayList<FileTreeNode> ();
+            }
+            return true;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.tree;
+
+/**
+ * Special asynchronous tree data provider that is able to load child nodes by pages.
+ * Only the first page of childs is loaded when node is expanded, next pages are requested by the tree when last loaded child
+ * becomes visible, similar to how virtual lists work. This allows displaying nodes with enormous amount of childs.
+ * <p/>
+ * Note that childs comparator and filter are still applied to all loaded childs, so it is recommended to return childs in the same
+ * order in which they should be displayed and avoid additional sorting for such nodes.
+ *
+ * @param <E> custom node type
+ * @author Mikle Garin
+ * @see com.alee.extended.tree.AsyncTreeModel
+ */
+
+public interface PagedAsyncTreeDataProvider<E extends AsyncUniqueNode> extends AsyncTreeDataProvider<E>
+{
+    /**
+     * Returns maximum amount of childs loaded at once for the specified asynchronous tree node.
+     * All childs will be loaded using {@link #loadChilds(AsyncUniqueNode, ChildsListener)} method in case zero is returned.
+     * This request uses the EDT and should be processed quickly.
+     *
+     * @param node parent node
+     * @return maximum amount of childs loaded at once
+     */
+    public int getPageSize ( E node );
+
+    /**
+     * Starts loading a page of child nodes for the specified asynchronous tree node.
+     * Loading should be reported to the listener just like in {@link #loadChilds(AsyncUniqueNode, ChildsListener)} method.
+     * Node is considered fully loaded once less than requested amount of childs is passed to the listener.
+     * This request uses a separate thread and might take a lot of time to process without having any UI issues.
+     *
+     * @param node     parent node
+     * @param from     index of the first requested child
+     * @param amount   amount of requested childs
+     * @param listener childs loading progress listener
+     */
+    public void loadChilds ( E node, int from, int amount, ChildsListener<E> listener );
+}
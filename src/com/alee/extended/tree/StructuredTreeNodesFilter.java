@@ -18,17 +18,19 @@
 package com.alee.extended.tree;
 
 import com.alee.laf.tree.UniqueNode;
+import com.alee.managers.task.CancellationToken;
 import com.alee.utils.compare.Filter;
 import com.alee.utils.text.DefaultTextProvider;
 import com.alee.utils.text.TextProvider;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.StringTokenizer;
+import java.util.*;
 
 /**
  * Special smart tree filter that doesn't filter out parent nodes which has childs that are accepted by filter.
  * This can be used in any kind of filter fields to provide a proper visual feedback in tree.
+ * <p/>
+ * Accept states for the whole tree can be evaluated in a background thread using {@link #evaluate} method, once evaluation result is
+ * set into filter it is used to accept nodes instead of checking node childs on each call.
  *
  * @author Mikle Garin
  */
@@ -47,9 +49,16 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
 
     /**
      * Accept states by node IDs cache.
+     * It is cleared whenever filter settings change.
      */
     protected Map<String, Boolean> acceptStatesCache = new HashMap<String, Boolean> ();
 
+    /**
+     * Evaluated accept states for the whole tree.
+     * It is only used while filter settings are the same as the ones it was evaluated with.
+     */
+    protected TreeFilterResult<E> result = null;
+
     /**
      * Whether should match case or not.
      */
@@ -88,6 +97,7 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     public void setOriginalFilter ( final Filter<E> filter )
     {
         this.originalFilter = filter;
+        this.result = null;
     }
 
     /**
@@ -109,6 +119,7 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     public void setTextProvider ( final TextProvider<E> textProvider )
     {
         this.textProvider = textProvider != null ? textProvider : new DefaultTextProvider ();
+        acceptStatesCache.clear ();
     }
 
     /**
@@ -129,6 +140,7 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     public void setMatchCase ( final boolean matchCase )
     {
         this.matchCase = matchCase;
+        acceptStatesCache.clear ();
     }
 
     /**
@@ -149,6 +161,7 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     public void setUseSpaceAsSeparator ( final boolean useSpaceAsSeparator )
     {
         this.useSpaceAsSeparator = useSpaceAsSeparator;
+        acceptStatesCache.clear ();
     }
 
     /**
@@ -169,6 +182,7 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     public void setSearchFromStart ( final boolean searchFromStart )
     {
         this.searchFromStart = searchFromStart;
+        acceptStatesCache.clear ();
     }
 
     /**
@@ -189,6 +203,27 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     public void setSearchText ( final String searchText )
     {
         this.searchText = searchText;
+        acceptStatesCache.clear ();
+    }
+
+    /**
+     * Returns evaluated accept states for the whole tree.
+     *
+     * @return evaluated accept states for the whole tree, might be null
+     */
+    public TreeFilterResult<E> getResult ()
+    {
+        return result;
+    }
+
+    /**
+     * Sets evaluated accept states for the whole tree.
+     *
+     * @param result evaluated accept states for the whole tree, might be null
+     */
+    public void setResult ( final TreeFilterResult<E> result )
+    {
+        this.result = result;
     }
 
     /**
@@ -197,6 +232,7 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     public void clearCache ()
     {
         acceptStatesCache.clear ();
+        result = null;
     }
 
     /**
@@ -213,6 +249,121 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     public void clearCache ( final String nodeId )
     {
         acceptStatesCache.remove ( nodeId );
+        result = null;
+    }
+
+    /**
+     * Evaluates accept states for all nodes of the specified tree structure using current filter settings.
+     * Each node text is checked at most once and node accept states including childs are computed bottom-up in a single pass.
+     * If previous result was evaluated for a shorter version of the same request only nodes matched by it are checked again.
+     * <p/>
+     * This method doesn't modify filter and can be called from any thread as long as tree structure is not modified meanwhile.
+     *
+     * @param root      tree root node
+     * @param rawChilds raw childs of tree nodes (node ID -> list of raw child nodes)
+     * @param previous  previous evaluation result, might be null
+     * @param token     cancellation token, might be null
+     * @return evaluation result or null if evaluation was cancelled
+     */
+    public TreeFilterResult<E> evaluate ( final E root, final Map<String, List<E>> rawChilds, final TreeFilterResult<E> previous,
+                                          final CancellationToken token )
+    {
+        return evaluate ( root, rawChilds, previous, null, token );
+    }
+
+    /**
+     * Evaluates accept states for all nodes of the specified tree structure using current filter settings.
+     * If search index is specified it is used to find matching nodes instead of checking each node text.
+     * Search index should be using the same text provider as this filter.
+     * Original filter is applied to each node as well, so it might be called outside of the Event Dispatch Thread.
+     *
+     * @param root      tree root node
+     * @param rawChilds raw childs of tree nodes (node ID -> list of raw child nodes)
+     * @param previous  previous evaluation result, might be null
+     * @param index     nodes text search index, might be null
+     * @param token     cancellation token, might be null
+     * @return evaluation result or null if evaluation was cancelled
+     */
+    public TreeFilterResult<E> evaluate ( final E root, final Map<String, List<E>> rawChilds, final TreeFilterResult<E> previous,
+                                          final TreeSearchIndex<E> index, final CancellationToken token )
+    {
+        final Filter<E> originalFilter = this.originalFilter;
+        final String searchText = this.searchText;
+        final boolean matchCase = this.matchCase;
+        final boolean useSpaceAsSeparator = this.useSpaceAsSeparator;
+        final boolean searchFromStart = this.searchFromStart;
+        final String searchRequest = matchCase ? searchText : searchText.toLowerCase ();
+        final boolean narrowing = previous != null && previous.isNarrowedBy ( searchText, matchCase, useSpaceAsSeparator, searchFromStart );
+
+        // Retrieving matching nodes from search index
+        final Set<String> indexed;
+        if ( index != null )
+        {
+            indexed = index.search ( searchText, matchCase, useSpaceAsSeparator, searchFromStart );
+        }
+        else
+        {
+            indexed = null;
+        }
+
+        // Collecting nodes in depth-first order so that childs always follow their parent
+        final List<E> nodes = new ArrayList<E> ();
+        final Map<String, String> parents = new HashMap<String, String> ();
+        final Set<String> evaluated = new HashSet<String> ();
+        final List<E> stack = new ArrayList<E> ();
+        stack.add ( root );
+        evaluated.add ( root.getId () );
+        while ( !stack.isEmpty () )
+        {
+            final E node = stack.remove ( stack.size () - 1 );
+            nodes.add ( node );
+            final List<E> childs = rawChilds.get ( node.getId () );
+            if ( childs != null )
+            {
+                for ( final E child : childs )
+                {
+                    if ( evaluated.add ( child.getId () ) )
+                    {
+                        parents.put ( child.getId (), node.getId () );
+                        stack.add ( child );
+                    }
+                }
+            }
+        }
+
+        // Computing accept states from leafs to root
+        final Set<String> matched = new HashSet<String> ();
+        final Set<String> accepted = new HashSet<String> ();
+        for ( int i = nodes.size () - 1; i >= 0; i-- )
+        {
+            if ( token != null && i % 1024 == 0 && token.isCancelled () )
+            {
+                return null;
+            }
+            final E node = nodes.get ( i );
+            final String id = node.getId ();
+            if ( originalFilter != null && !originalFilter.accept ( node ) )
+            {
+                // Nodes rejected by original filter are hidden together with their childs
+                accepted.remove ( id );
+                continue;
+            }
+            final boolean candidate = !narrowing || previous.isMatched ( id ) || !previous.isEvaluated ( id );
+            if ( candidate && ( indexed != null ? indexed.contains ( id ) : acceptNodeImpl ( node, searchRequest ) ) )
+            {
+                matched.add ( id );
+                accepted.add ( id );
+            }
+            if ( accepted.contains ( id ) )
+            {
+                final String parentId = parents.get ( id );
+                if ( parentId != null )
+                {
+                    accepted.add ( parentId );
+                }
+            }
+        }
+        return new TreeFilterResult<E> ( searchText, matchCase, useSpaceAsSeparator, searchFromStart, evaluated, matched, accepted );
     }
 
     /**
@@ -225,7 +376,19 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
         {
             // Structured nodes filtering
             final String searchRequest = matchCase ? searchText : searchText.toLowerCase ();
-            return searchRequest.equals ( "" ) || acceptIncludingChilds ( node, searchRequest );
+            if ( searchRequest.equals ( "" ) )
+            {
+                return true;
+            }
+
+            // Using evaluated accept states if they are actual
+            final TreeFilterResult<E> result = this.result;
+            if ( result != null && result.isEvaluatedFor ( searchText, matchCase, useSpaceAsSeparator, searchFromStart ) &&
+                    result.isEvaluated ( node.getId () ) )
+            {
+                return result.isAccepted ( node.getId () );
+            }
+            return acceptIncludingChilds ( node, searchRequest );
         }
         else
         {
@@ -234,7 +397,7 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     }
 
     /**
-     * Returns whether the specified node or any of its childs match the filter or not.
+     * Returns whether the specified node or any of its childs accepted by original filter match the filter or not.
      *
      * @param node          node to match
      * @param searchRequest search request text
@@ -248,7 +411,8 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
         }
         for ( int i = 0; i < node.getChildCount (); i++ )
         {
-            if ( acceptIncludingChilds ( ( E ) node.getChildAt ( i ), searchRequest ) )
+            final E child = ( E ) node.getChildAt ( i );
+            if ( ( originalFilter == null || originalFilter.accept ( child ) ) && acceptIncludingChilds ( child, searchRequest ) )
             {
                 return true;
             }
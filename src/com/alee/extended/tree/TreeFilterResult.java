@@ -0,0 +1,201 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.tree;
+
+import com.alee.laf.tree.UniqueNode;
+
+import java.util.Set;
+
+/**
+ * Immutable result of StructuredTreeNodesFilter evaluation over the whole tree structure.
+ * It contains accept states computed once for each node, so filtering tree nodes with it requires a single lookup per node.
+ *
+ * @param <E> filtered node type
+ * @author Mikle Garin
+ * @see com.alee.extended.tree.StructuredTreeNodesFilter#evaluate(com.alee.laf.tree.UniqueNode, java.util.Map, TreeFilterResult,
+ * com.alee.managers.task.CancellationToken)
+ */
+
+public final class TreeFilterResult<E extends UniqueNode>
+{
+    /**
+     * Evaluated search request text.
+     */
+    private final String searchText;
+
+    /**
+     * Whether search request was evaluated with case matching or not.
+     */
+    private final boolean matchCase;
+
+    /**
+     * Whether search request was evaluated using space character as requests separator or not.
+     */
+    private final boolean useSpaceAsSeparator;
+
+    /**
+     * Whether search request was evaluated searching from node text beginning or not.
+     */
+    private final boolean searchFromStart;
+
+    /**
+     * IDs of all evaluated nodes.
+     */
+    private final Set<String> evaluatedNodes;
+
+    /**
+     * IDs of nodes which text matches search request.
+     */
+    private final Set<String> matchedNodes;
+
+    /**
+     * IDs of nodes which text or any of their childs text matches search request.
+     */
+    private final Set<String> acceptedNodes;
+
+    /**
+     * Constructs new filter result.
+     *
+     * @param searchText          evaluated search request text
+     * @param matchCase           whether search request was evaluated with case matching or not
+     * @param useSpaceAsSeparator whether search request was evaluated using space character as requests separator or not
+     * @param searchFromStart     whether search request was evaluated searching from node text beginning or not
+     * @param evaluatedNodes      IDs of all evaluated nodes
+     * @param matchedNodes        IDs of nodes which text matches search request
+     * @param acceptedNodes       IDs of nodes which text or any of their childs text matches search request
+     */
+    public TreeFilterResult ( final String searchText, final boolean matchCase, final boolean useSpaceAsSeparator,
+                              final boolean searchFromStart, final Set<String> evaluatedNodes, final Set<String> matchedNodes,
+                              final Set<String> acceptedNodes )
+    {
+        super ();
+        this.searchText = searchText;
+        this.matchCase = matchCase;
+        this.useSpaceAsSeparator = useSpaceAsSeparator;
+        this.searchFromStart = searchFromStart;
+        this.evaluatedNodes = evaluatedNodes;
+        this.matchedNodes = matchedNodes;
+        this.acceptedNodes = acceptedNodes;
+    }
+
+    /**
+     * Returns evaluated search request text.
+     *
+     * @return evaluated search request text
+     */
+    public String getSearchText ()
+    {
+        return searchText;
+    }
+
+    /**
+     * Returns whether this result was evaluated with the specified filter settings or not.
+     *
+     * @param searchText          search request text
+     * @param matchCase           whether should match case or not
+     * @param useSpaceAsSeparator whether should use space character as requests separator or not
+     * @param searchFromStart     whether should search from node text beginning or not
+     * @return true if this result was evaluated with the specified filter settings, false otherwise
+     */
+    public boolean isEvaluatedFor ( final String searchText, final boolean matchCase, final boolean useSpaceAsSeparator,
+                                    final boolean searchFromStart )
+    {
+        return this.matchCase == matchCase && this.useSpaceAsSeparator == useSpaceAsSeparator &&
+                this.searchFromStart == searchFromStart && this.searchText.equals ( searchText );
+    }
+
+    /**
+     * Returns whether nodes matching the specified search request are guaranteed to be a subset of nodes matched by this result.
+     * That is true when request only gets longer, in that case only nodes matched by this result should be checked again.
+     *
+     * @param searchText          search request text
+     * @param matchCase           whether should match case or not
+     * @param useSpaceAsSeparator whether should use space character as requests separator or not
+     * @param searchFromStart     whether should search from node text beginning or not
+     * @return true if nodes matching the specified search request are a subset of nodes matched by this result, false otherwise
+     */
+    public boolean isNarrowedBy ( final String searchText, final boolean matchCase, final boolean useSpaceAsSeparator,
+                                  final boolean searchFromStart )
+    {
+        if ( this.matchCase != matchCase || this.useSpaceAsSeparator != useSpaceAsSeparator || this.searchFromStart != searchFromStart ||
+                this.searchText.length () == 0 || !searchText.startsWith ( this.searchText ) )
+        {
+            return false;
+        }
+        if ( useSpaceAsSeparator )
+        {
+            // Each separate request widens the results, so only the last request is allowed to get longer
+            return !this.searchText.endsWith ( " " ) && searchText.indexOf ( ' ', this.searchText.length () ) == -1;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the specified node was evaluated or not.
+     * Nodes added after evaluation are not covered by this result.
+     *
+     * @param nodeId node ID
+     * @return true if the specified node was evaluated, false otherwise
+     */
+    public boolean isEvaluated ( final String nodeId )
+    {
+        return evaluatedNodes.contains ( nodeId );
+    }
+
+    /**
+     * Returns whether the specified node text matches search request or not.
+     *
+     * @param nodeId node ID
+     * @return true if the specified node text matches search request, false otherwise
+     */
+    public boolean isMatched ( final String nodeId )
+    {
+        return matchedNodes.contains ( nodeId );
+    }
+
+    /**
+     * Returns whether the specified node text or any of its childs text matches search request or not.
+     *
+     * @param nodeId node ID
+     * @return true if the specified node text or any of its childs text matches search request, false otherwise
+     */
+    public boolean isAccepted ( final String nodeId )
+    {
+        return acceptedNodes.contains ( nodeId );
+    }
+
+    /**
+     * Returns amount of evaluated nodes.
+     *
+     * @return amount of evaluated nodes
+     */
+    public int getEvaluatedCount ()
+    {
+        return evaluatedNodes.size ();
+    }
+
+    /**
+     * Returns amount of nodes which text matches search request.
+     *
+     * @return amount of nodes which text matches search request
+     */
+    public int getMatchedCount ()
+    {
+        return matchedNodes.size ();
+    }
+}
@@ -0,0 +1,503 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.tree;
+
+import com.alee.laf.tree.UniqueNode;
+import com.alee.utils.text.TextProvider;
+
+import java.util.*;
+
+/**
+ * Text search index for tree nodes.
+ * It keeps trigrams of all node texts provided by text provider, so nodes matching the search request can be found by intersecting
+ * a few trigram postings and checking only the remaining candidates instead of checking each node text.
+ * <p/>
+ * Index can be installed into ExTreeModel or AsyncTreeModel, in that case it is kept up to date along with the model nodes cache.
+ * All index methods are synchronized so it can be searched from any thread.
+ *
+ * @param <E> indexed node type
+ * @author Mikle Garin
+ * @see com.alee.extended.tree.ExTreeModel#setSearchIndex(TreeSearchIndex)
+ * @see com.alee.extended.tree.AsyncTreeModel#setSearchIndex(TreeSearchIndex)
+ */
+
+public class TreeSearchIndex<E extends UniqueNode>
+{
+    /**
+     * Length of indexed text parts.
+     * Shorter search requests are checked against all indexed texts.
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    /**
+     * Nodes text provider.
+     */
+    protected final TextProvider<E> textProvider;
+
+    /**
+     * Indexed node ordinals (node ID -> ordinal).
+     */
+    protected final Map<String, Integer> ordinals = new HashMap<String, Integer> ();
+
+    /**
+     * Indexed node IDs by ordinals.
+     * Removed nodes leave null values which are cleaned up once there are too many of them.
+     */
+    protected final List<String> ids = new ArrayList<String> ();
+
+    /**
+     * Indexed node texts by ordinals.
+     */
+    protected final List<String> texts = new ArrayList<String> ();
+
+    /**
+     * Indexed lowercase node texts by ordinals.
+     */
+    protected final List<String> lowerTexts = new ArrayList<String> ();
+
+    /**
+     * Ordinals of nodes containing each trigram (lowercase trigram -> ordinals).
+     */
+    protected final Map<String, Postings> postings = new HashMap<String, Postings> ();
+
+    /**
+     * Amount of removed ordinals.
+     */
+    protected int removed = 0;
+
+    /**
+     * Constructs new tree search index.
+     *
+     * @param textProvider nodes text provider
+     */
+    public TreeSearchIndex ( final TextProvider<E> textProvider )
+    {
+        super ();
+        this.textProvider = textProvider;
+    }
+
+    /**
+     * Returns nodes text provider.
+     *
+     * @return nodes text provider
+     */
+    public TextProvider<E> getTextProvider ()
+    {
+        return textProvider;
+    }
+
+    /**
+     * Returns amount of indexed nodes.
+     *
+     * @return amount of indexed nodes
+     */
+    public synchronized int size ()
+    {
+        return ordinals.size ();
+    }
+
+    /**
+     * Adds node into index or updates its indexed text if it was already indexed.
+     *
+     * @param node node to index
+     */
+    public synchronized void addNode ( final E node )
+    {
+        final String id = node.getId ();
+        final String text = getText ( node );
+        final Integer ordinal = ordinals.get ( id );
+        if ( ordinal != null )
+        {
+            if ( texts.get ( ordinal ).equals ( text ) )
+            {
+                return;
+            }
+            removeOrdinal ( ordinal );
+        }
+        addImpl ( id, text );
+    }
+
+    /**
+     * Adds nodes into index or updates their indexed texts if they were already indexed.
+     *
+     * @param nodes nodes to index
+     */
+    public synchronized void addNodes ( final Collection<E> nodes )
+    {
+        for ( final E node : nodes )
+        {
+            addNode ( node );
+        }
+    }
+
+    /**
+     * Removes node from index.
+     *
+     * @param node node to remove
+     */
+    public synchronized void removeNode ( final E node )
+    {
+        removeNode ( node.getId () );
+    }
+
+    /**
+     * Removes node with the specified ID from index.
+     *
+     * @param nodeId ID of the node to remove
+     */
+    public synchronized void removeNode ( final String nodeId )
+    {
+        final Integer ordinal = ordinals.remove ( nodeId );
+        if ( ordinal != null )
+        {
+            removeOrdinal ( ordinal );
+            if ( removed > 1024 && removed > ids.size () / 2 )
+            {
+                compact ();
+            }
+        }
+    }
+
+    /**
+     * Removes all nodes from index.
+     */
+    public synchronized void clear ()
+    {
+        ordinals.clear ();
+        ids.clear ();
+        texts.clear ();
+        lowerTexts.clear ();
+        postings.clear ();
+        removed = 0;
+    }
+
+    /**
+     * Returns IDs of nodes which text matches the specified search request.
+     * If spaces are used as separator then nodes matching any of the request parts are returned.
+     *
+     * @param request             search request
+     * @param matchCase           whether should match case or not
+     * @param useSpaceAsSeparator whether should use space as request parts separator or not
+     * @param searchFromStart     whether should search from node text beginning or not
+     * @return IDs of nodes which text matches the specified search request
+     */
+    public synchronized Set<String> search ( final String request, final boolean matchCase, final boolean useSpaceAsSeparator,
+                                             final boolean searchFromStart )
+    {
+        if ( useSpaceAsSeparator )
+        {
+            final Set<String> found = new HashSet<String> ();
+            final StringTokenizer tokenizer = new StringTokenizer ( request, " ", false );
+            while ( tokenizer.hasMoreTokens () )
+            {
+                found.addAll ( search ( tokenizer.nextToken (), matchCase, searchFromStart ) );
+            }
+            return found;
+        }
+        else
+        {
+            return search ( request, matchCase, searchFromStart );
+        }
+    }
+
+    /**
+     * Returns IDs of nodes which text matches the specified search request.
+     *
+     * @param request         search request
+     * @param matchCase       whether should match case or not
+     * @param searchFromStart whether should search from node text beginning or not
+     * @return IDs of nodes which text matches the specified search request
+     */
+    public synchronized Set<String> search ( final String request, final boolean matchCase, final boolean searchFromStart )
+    {
+        final String lowerRequest = request.toLowerCase ();
+        final String checkedRequest = matchCase ? request : lowerRequest;
+        final Set<String> found = new HashSet<String> ();
+        if ( lowerRequest.length () < GRAM_LENGTH )
+        {
+            // Request is too short to use trigrams
+            for ( int i = 0; i < ids.size (); i++ )
+            {
+                if ( ids.get ( i ) != null && matches ( i, checkedRequest, matchCase, searchFromStart ) )
+                {
+                    found.add ( ids.get ( i ) );
+                }
+            }
+        }
+        else
+        {
+            // Intersecting postings of all request trigrams starting from the shortest one
+            final List<Postings> requestPostings = new ArrayList<Postings> ();
+            for ( final String gram : getGrams ( lowerRequest ) )
+            {
+                final Postings p = postings.get ( gram );
+                if ( p == null )
+                {
+                    return found;
+                }
+                requestPostings.add ( p );
+            }
+            Collections.sort ( requestPostings );
+            int[] candidates = Arrays.copyOf ( requestPostings.get ( 0 ).ordinals, requestPostings.get ( 0 ).size );
+            for ( int i = 1; i < requestPostings.size () && candidates.length > 0; i++ )
+            {
+                candidates = requestPostings.get ( i ).intersect ( candidates );
+            }
+
+            // Checking remaining candidates
+            for ( final int ordinal : candidates )
+            {
+                if ( ids.get ( ordinal ) != null && matches ( ordinal, checkedRequest, matchCase, searchFromStart ) )
+                {
+                    found.add ( ids.get ( ordinal ) );
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns next node after the specified one in depth-first tree order which is accepted by the specified filter.
+     * Filter search text and options are used to find matching nodes so that nodes hidden by the filter are never returned.
+     * Search continues from the tree root if there are no matching nodes after the specified one.
+     *
+     * @param filter    nodes filter
+     * @param root      tree root node
+     * @param rawChilds raw childs of tree nodes (node ID -> list of raw child nodes)
+     * @param from      node to start search after, null to start from the tree root
+     * @return next matching node or null if there are no matching nodes
+     */
+    public E findNext ( final StructuredTreeNodesFilter<E> filter, final E root, final Map<String, List<E>> rawChilds, final E from )
+    {
+        final Set<String> found = search ( filter.getSearchText (), filter.isMatchCase (), filter.isUseSpaceAsSeparator (),
+                filter.isSearchFromStart () );
+        if ( found.isEmpty () )
+        {
+            return null;
+        }
+        E first = null;
+        boolean passed = from == null;
+        final List<E> stack = new ArrayList<E> ();
+        stack.add ( root );
+        while ( !stack.isEmpty () )
+        {
+            final E node = stack.remove ( stack.size () - 1 );
+            if ( node != root && !filter.accept ( node ) )
+            {
+                // Skipping nodes hidden by the filter together with their childs
+                continue;
+            }
+            final boolean isFrom = from != null && node.getId ().equals ( from.getId () );
+            if ( found.contains ( node.getId () ) )
+            {
+                if ( passed && !isFrom )
+                {
+                    return node;
+                }
+                if ( first == null )
+                {
+                    first = node;
+                }
+            }
+            if ( isFrom )
+            {
+                passed = true;
+            }
+            final List<E> childs = rawChilds.get ( node.getId () );
+            if ( childs != null )
+            {
+                for ( int i = childs.size () - 1; i >= 0; i-- )
+                {
+                    stack.add ( childs.get ( i ) );
+                }
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Returns whether indexed text under the specified ordinal matches search request or not.
+     *
+     * @param ordinal         indexed text ordinal
+     * @param request         search request in the case it should be compared with
+     * @param matchCase       whether should match case or not
+     * @param searchFromStart whether should search from node text beginning or not
+     * @return true if indexed text under the specified ordinal matches search request, false otherwise
+     */
+    protected boolean matches ( final int ordinal, final String request, final boolean matchCase, final boolean searchFromStart )
+    {
+        final String text = matchCase ? texts.get ( ordinal ) : lowerTexts.get ( ordinal );
+        return searchFromStart ? text.startsWith ( request ) : text.contains ( request );
+    }
+
+    /**
+     * Returns node text.
+     *
+     * @param node node to retrieve text for
+     * @return node text
+     */
+    protected String getText ( final E node )
+    {
+        final String text = textProvider.provide ( node );
+        return text != null ? text : "";
+    }
+
+    /**
+     * Adds node text under the new ordinal.
+     *
+     * @param id   node ID
+     * @param text node text
+     */
+    protected void addImpl ( final String id, final String text )
+    {
+        final int ordinal = ids.size ();
+        final String lowerText = text.toLowerCase ();
+        ordinals.put ( id, ordinal );
+        ids.add ( id );
+        texts.add ( text );
+        lowerTexts.add ( lowerText );
+        for ( final String gram : getGrams ( lowerText ) )
+        {
+            Postings p = postings.get ( gram );
+            if ( p == null )
+            {
+                p = new Postings ();
+                postings.put ( gram, p );
+            }
+            p.add ( ordinal );
+        }
+    }
+
+    /**
+     * Marks the specified ordinal as removed.
+     * Its postings entries are left in place and simply skipped until index is compacted.
+     *
+     * @param ordinal ordinal to remove
+     */
+    protected void removeOrdinal ( final int ordinal )
+    {
+        ids.set ( ordinal, null );
+        texts.set ( ordinal, null );
+        lowerTexts.set ( ordinal, null );
+        removed++;
+    }
+
+    /**
+     * Rebuilds index without removed ordinals.
+     */
+    protected void compact ()
+    {
+        final List<String> oldIds = new ArrayList<String> ( ids );
+        final List<String> oldTexts = new ArrayList<String> ( texts );
+        clear ();
+        for ( int i = 0; i < oldIds.size (); i++ )
+        {
+            if ( oldIds.get ( i ) != null )
+            {
+                addImpl ( oldIds.get ( i ), oldTexts.get ( i ) );
+            }
+        }
+    }
+
+    /**
+     * Returns distinct trigrams of the specified text.
+     *
+     * @param text text to split
+     * @return distinct trigrams of the specified text
+     */
+    protected static Set<String> getGrams ( final String text )
+    {
+        final Set<String> grams = new HashSet<String> ();
+        for ( int i = 0; i + GRAM_LENGTH <= text.length (); i++ )
+        {
+            grams.add ( text.substring ( i, i + GRAM_LENGTH ) );
+        }
+        return grams;
+    }
+
+    /**
+     * Ascending list of ordinals containing single trigram.
+     */
+    protected static final class Postings implements Comparable<Postings>
+    {
+        /**
+         * Ordinals.
+         */
+        private int[] ordinals = new int[ 4 ];
+
+        /**
+         * Amount of ordinals.
+         */
+        private int size = 0;
+
+        /**
+         * Adds ordinal which is greater than all previously added ones.
+         *
+         * @param ordinal ordinal to add
+         */
+        private void add ( final int ordinal )
+        {
+            if ( size == ordinals.length )
+            {
+                ordinals = Arrays.copyOf ( ordinals, size * 2 );
+            }
+            ordinals[ size++ ] = ordinal;
+        }
+
+        /**
+         * Returns ascending ordinals contained both in these postings and in the specified array.
+         *
+         * @param other ascending ordinals
+         * @return ascending ordinals contained both in these postings and in the specified array
+         */
+        private int[] intersect ( final int[] other )
+        {
+            final int[] result = new int[ Math.min ( size, other.length ) ];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while ( i < size && j < other.length )
+            {
+                if ( ordinals[ i ] < other[ j ] )
+                {
+                    i++;
+                }
+                else if ( ordinals[ i ] > other[ j ] )
+                {
+                    j++;
+                }
+                else
+                {
+                    result[ count++ ] = ordinals[ i ];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf ( result, count );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int compareTo ( final Postings o )
+        {
+            return size < o.size ? -1 : size > o.size ? 1 : 0;
+        }
+    }
+}
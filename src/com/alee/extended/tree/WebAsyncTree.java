@@ -26,7 +26,9 @@ import com.alee.utils.CollectionUtils;
 import com.alee.utils.compare.Filter;
 import com.alee.utils.swing.CellEditorAdapter;
 
+import javax.swing.*;
 import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import javax.swing.tree.TreeCellEditor;
 import javax.swing.tree.TreeModel;
 import javax.swing.tree.TreePath;
@@ -94,6 +96,17 @@ public class WebAsyncTree<E extends AsyncUniqueNode> extends WebTree<E> implemen
      */
     protected CellEditorAdapter cellEditorAdapter;
 
+    /**
+     * Viewport listener that loads next childs pages once last loaded childs become visible.
+     * Only used with {@link com.alee.extended.tree.PagedAsyncTreeDataProvider}.
+     */
+    protected ChangeListener pagesLoader;
+
+    /**
+     * Viewport pages loader is installed into.
+     */
+    protected JViewport pagesViewport;
+
     /**
      * Constructs sample asynchronous tree.
      */
@@ -1189,6 +1202,70 @@ public class WebAsyncTree<E extends AsyncUniqueNode> extends WebTree<E> implemen
         expandPath ( path );
     }
 
+    /**
+     * Installs viewport listener that loads next childs pages on scroll.
+     */
+    @Override
+    public void addNotify ()
+    {
+        super.addNotify ();
+        if ( getParent () instanceof JViewport )
+        {
+            pagesViewport = ( JViewport ) getParent ();
+            pagesLoader = new ChangeListener ()
+            {
+                @Override
+                public void stateChanged ( final ChangeEvent e )
+                {
+                    loadVisiblePages ();
+                }
+            };
+            pagesViewport.addChangeListener ( pagesLoader );
+        }
+    }
+
+    /**
+     * Uninstalls viewport listener that loads next childs pages on scroll.
+     */
+    @Override
+    public void removeNotify ()
+    {
+        if ( pagesViewport != null )
+        {
+            pagesViewport.removeChangeListener ( pagesLoader );
+            pagesViewport = null;
+            pagesLoader = null;
+        }
+        super.removeNotify ();
+    }
+
+    /**
+     * Starts loading next childs pages for nodes which last loaded childs are currently visible.
+     * This method does nothing unless tree data provider loads childs by pages.
+     */
+    public void loadVisiblePages ()
+    {
+        if ( isAsyncModel () && getDataProvider () instanceof PagedAsyncTreeDataProvider )
+        {
+            final AsyncTreeModel<E> model = getAsyncModel ();
+            final Rectangle visibleRect = getVisibleRect ();
+            final int first = getClosestRowForLocation ( visibleRect.x, visibleRect.y );
+            final int last = getClosestRowForLocation ( visibleRect.x, visibleRect.y + visibleRect.height - 1 );
+            if ( first != -1 )
+            {
+                for ( int row = first; row <= last; row++ )
+                {
+                    final E node = getNodeForRow ( row );
+                    final E parent = node != null ? ( E ) node.getParent () : null;
+                    if ( parent != null && parent.getLastChild () == node && model.hasMoreChilds ( parent ) )
+                    {
+                        model.loadMoreChilds ( parent );
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Returns all available asynchronous tree listeners list.
      *
@@ -1267,6 +1344,19 @@ public class WebAsyncTree<E extends AsyncUniqueNode> extends WebTree<E> implemen
     public void childsLoadCompleted ( final E parent, final List<E> childs )
     {
         fireChildsLoadCompleted ( parent, childs );
+
+        // Loaded page might not fill the visible area
+        if ( getDataProvider () instanceof PagedAsyncTreeDataProvider )
+        {
+            SwingUtilities.invokeLater ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    loadVisiblePages ();
+                }
+            } );
+        }
     }
 
     /**
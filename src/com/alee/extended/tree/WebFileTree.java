@@ -22,12 +22,15 @@ import com.alee.managers.log.Log;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.FileUtils;
 import com.alee.utils.compare.Filter;
+import com.alee.utils.file.FileWatcher;
 
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeExpansionListener;
 import javax.swing.tree.TreeModel;
 import javax.swing.tree.TreePath;
 import java.awt.*;
 import java.io.File;
-import java.util.ArrayList;
+import java.util.*;
 import java.util.List;
 
 /**
@@ -59,6 +62,11 @@ public class WebFileTree extends WebAsyncTree<FileTreeNode>
      */
     protected int delayedSelectionId = 0;
 
+    /**
+     * Directories of expanded nodes which are currently watched for changes.
+     */
+    protected Map<TreePath, File> watchedDirectories = null;
+
     /**
      * Costructs file tree with system hard drives as root.
      */
@@ -114,6 +122,22 @@ public class WebFileTree extends WebAsyncTree<FileTreeNode>
 
         // Transfer handler
         setFilesDropSearchEnabled ( WebFileTreeStyle.filesDropSearchEnabled );
+
+        // Expanded directories watcher
+        addTreeExpansionListener ( new TreeExpansionListener ()
+        {
+            @Override
+            public void treeExpanded ( final TreeExpansionEvent event )
+            {
+                updateWatchedDirectories ();
+            }
+
+            @Override
+            public void treeCollapsed ( final TreeExpansionEvent event )
+            {
+                updateWatchedDirectories ();
+            }
+        } );
     }
 
     /**
@@ -138,6 +162,74 @@ public class WebFileTree extends WebAsyncTree<FileTreeNode>
         setAsyncLoading ( false );
         super.setModel ( newModel );
         setAsyncLoading ( async );
+
+        // Updating watched directories for the new model
+        updateWatchedDirectories ();
+    }
+
+    /**
+     * Starts watching directories of expanded nodes.
+     */
+    @Override
+    public void addNotify ()
+    {
+        super.addNotify ();
+        updateWatchedDirectories ();
+    }
+
+    /**
+     * Stops watching directories of expanded nodes.
+     */
+    @Override
+    public void removeNotify ()
+    {
+        super.removeNotify ();
+        updateWatchedDirectories ();
+    }
+
+    /**
+     * Updates watched directories.
+     * Directories of expanded nodes are watched for changes only while tree is displayable, so that FileUtils caches for their files
+     * stay up to date. Directories of collapsed nodes and their expanded descendants are not displayed and therefore not watched.
+     */
+    protected void updateWatchedDirectories ()
+    {
+        final Map<TreePath, File> directories = new HashMap<TreePath, File> ();
+        final FileTreeNode rootNode = isDisplayable () ? getRootNode () : null;
+        if ( rootNode != null )
+        {
+            final Enumeration<TreePath> expanded = getExpandedDescendants ( new TreePath ( rootNode ) );
+            if ( expanded != null )
+            {
+                while ( expanded.hasMoreElements () )
+                {
+                    final TreePath path = expanded.nextElement ();
+                    final File file = ( ( FileTreeNode ) path.getLastPathComponent () ).getFile ();
+                    if ( file != null )
+                    {
+                        directories.put ( path, file );
+                    }
+                }
+            }
+        }
+        for ( final Map.Entry<TreePath, File> entry : directories.entrySet () )
+        {
+            if ( watchedDirectories == null || !watchedDirectories.containsKey ( entry.getKey () ) )
+            {
+                FileWatcher.watchDirectory ( entry.getValue () );
+            }
+        }
+        if ( watchedDirectories != null )
+        {
+            for ( final Map.Entry<TreePath, File> entry : watchedDirectories.entrySet () )
+            {
+                if ( !directories.containsKey ( entry.getKey () ) )
+                {
+                    FileWatcher.unwatchDirectory ( entry.getValue () );
+                }
+            }
+        }
+        watchedDirectories = directories;
     }
 
     /**
@@ -26,22 +26,34 @@ import com.alee.laf.tree.TreeState;
 import com.alee.laf.tree.UniqueNode;
 import com.alee.laf.tree.WebTree;
 import com.alee.managers.hotkey.Hotkey;
+import com.alee.managers.log.Log;
+import com.alee.managers.task.CancellationToken;
+import com.alee.managers.task.TaskCallback;
+import com.alee.managers.task.TaskManager;
+import com.alee.managers.task.TaskPriority;
 import com.alee.utils.compare.Filter;
 import com.alee.utils.swing.StringDocumentChangeListener;
+import com.alee.utils.swing.WebTimer;
 import com.alee.utils.text.TextProvider;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.text.Document;
+import javax.swing.tree.TreeModel;
 import java.awt.*;
 import java.awt.event.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * Special filter field that can be attached to any WebAsyncTree.
+ * While user types filtering is updated once input settles, nodes accept states are evaluated for the whole tree in a background thread
+ * and then applied to the tree model at once. {@link #updateFiltering()} updates filtering synchronously.
  *
  * @param <E> filtered node type
  * @author Mikle Garin
@@ -89,11 +101,36 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
      */
     protected PropertyChangeListener filterChangeListener;
 
+    /**
+     * Tree model change listener.
+     */
+    protected PropertyChangeListener modelChangeListener;
+
     /**
      * Whether should automatically handle tree state on filter changes or not.
      */
     protected boolean defaultTreeStateBehavior = true;
 
+    /**
+     * Delay in milliseconds between the last filter change and filtering update.
+     */
+    protected long filterDelay = 200;
+
+    /**
+     * Delayed filtering update timer.
+     */
+    protected WebTimer filterTimer;
+
+    /**
+     * Cancellation token of the currently running filter evaluation.
+     */
+    protected CancellationToken evaluationToken;
+
+    /**
+     * Whether nodes text search index should be installed into tree model or not.
+     */
+    protected boolean searchIndexEnabled = false;
+
     /**
      * Last saved tree state.
      */
@@ -265,7 +302,7 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
             public void documentChanged ( final String newValue, final DocumentEvent e )
             {
                 filter.setSearchText ( newValue );
-                updateFiltering ();
+                scheduleFiltering ();
             }
         };
         updateDocumentListener ();
@@ -291,6 +328,11 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
                     // Clearing filter field on ESCAPE press
                     clear ();
                 }
+                else if ( Hotkey.ENTER.isTriggered ( e ) )
+                {
+                    // Selecting next matching node on ENTER press
+                    selectNextMatch ();
+                }
             }
         } );
 
@@ -300,11 +342,11 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
             @Override
             public void propertyChange ( final PropertyChangeEvent evt )
             {
-                // Reapplying field filter on model change
+                // Reapplying field filter on data provider change
                 applyFieldFilter ();
+                updateSearchIndex ();
             }
         };
-        getTree ().addPropertyChangeListener ( WebTree.TREE_DATA_PROVIDER_PROPERTY, dataProviderChangeListener );
 
         // Filter change listener to properly update field filter
         filterChangeListener = new PropertyChangeListener ()
@@ -316,7 +358,50 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
                 applyFieldFilter ();
             }
         };
-        getTree ().addPropertyChangeListener ( WebTree.TREE_FILTER_PROPERTY, dataProviderChangeListener );
+
+        // Tree model change listener to properly move search index into new model
+        modelChangeListener = new PropertyChangeListener ()
+        {
+            @Override
+            public void propertyChange ( final PropertyChangeEvent evt )
+            {
+                // Moving search index from previous model into the new one
+                uninstallSearchIndex ( evt.getOldValue () );
+                updateSearchIndex ();
+            }
+        };
+
+        installTreeListeners ( getTree () );
+    }
+
+    /**
+     * Installs listeners into the specified tree.
+     *
+     * @param tree tree to install listeners into
+     */
+    protected void installTreeListeners ( final WebTree<E> tree )
+    {
+        if ( tree != null && dataProviderChangeListener != null )
+        {
+            tree.addPropertyChangeListener ( WebTree.TREE_DATA_PROVIDER_PROPERTY, dataProviderChangeListener );
+            tree.addPropertyChangeListener ( WebTree.TREE_FILTER_PROPERTY, filterChangeListener );
+            tree.addPropertyChangeListener ( WebTree.TREE_MODEL_PROPERTY, modelChangeListener );
+        }
+    }
+
+    /**
+     * Uninstalls listeners from the specified tree.
+     *
+     * @param tree tree to uninstall listeners from
+     */
+    protected void uninstallTreeListeners ( final WebTree<E> tree )
+    {
+        if ( tree != null && dataProviderChangeListener != null )
+        {
+            tree.removePropertyChangeListener ( WebTree.TREE_DATA_PROVIDER_PROPERTY, dataProviderChangeListener );
+            tree.removePropertyChangeListener ( WebTree.TREE_FILTER_PROPERTY, filterChangeListener );
+            tree.removePropertyChangeListener ( WebTree.TREE_MODEL_PROPERTY, modelChangeListener );
+        }
     }
 
     /**
@@ -346,8 +431,14 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
         final WebTree<E> previousTree = getTree ();
         if ( previousTree != null )
         {
-            // Removing listener from previous tree
-            previousTree.removePropertyChangeListener ( WebTree.TREE_MODEL_PROPERTY, dataProviderChangeListener );
+            // Cancelling filtering updates scheduled for previous tree
+            cancelFiltering ();
+
+            // Removing listeners from previous tree
+            uninstallTreeListeners ( previousTree );
+
+            // Removing search index from previous tree model
+            uninstallSearchIndex ( previousTree.getModel () );
 
             // Removing filter from previous tree
             removeFieldFilter ();
@@ -361,8 +452,11 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
             // Updating filter in current tree
             applyFieldFilter ();
 
-            // Adding listener into current tree
-            tree.addPropertyChangeListener ( WebTree.TREE_MODEL_PROPERTY, dataProviderChangeListener );
+            // Installing search index into current tree model
+            updateSearchIndex ();
+
+            // Adding listeners into current tree
+            installTreeListeners ( tree );
         }
     }
 
@@ -386,6 +480,7 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
         removeFieldFilter ();
         this.filter = filter;
         applyFieldFilter ();
+        updateSearchIndex ();
     }
 
     /**
@@ -471,6 +566,7 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
     public void setTextProvider ( final TextProvider<E> textProvider )
     {
         filter.setTextProvider ( textProvider );
+        updateSearchIndex ();
         updateFiltering ();
     }
 
@@ -495,9 +591,150 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
     }
 
     /**
-     * Updates tree filtering.
+     * Returns delay in milliseconds between the last filter change and filtering update.
+     *
+     * @return delay in milliseconds between the last filter change and filtering update
+     */
+    public long getFilterDelay ()
+    {
+        return filterDelay;
+    }
+
+    /**
+     * Sets delay in milliseconds between the last filter change and filtering update.
+     *
+     * @param filterDelay delay in milliseconds between the last filter change and filtering update
+     */
+    public void setFilterDelay ( final long filterDelay )
+    {
+        this.filterDelay = filterDelay;
+    }
+
+    /**
+     * Updates tree filtering right away.
+     * Any delayed or background filtering update is cancelled, so tree is filtered according to current filter once this call ends.
      */
     public void updateFiltering ()
+    {
+        cancelFiltering ();
+        applyFiltering ();
+    }
+
+    /**
+     * Schedules tree filtering update.
+     * Actual update is delayed until no filter changes occur for the filter delay time, nodes accept states are then evaluated in
+     * background and applied to the tree once they are ready. This is used to update filtering while user types in the field.
+     */
+    protected void scheduleFiltering ()
+    {
+        // Cancelling outdated evaluation
+        cancelEvaluation ();
+
+        // Delaying filtering update until input settles
+        if ( filterTimer == null )
+        {
+            filterTimer = new WebTimer ( "WebTreeFilterField.filter", filterDelay, new ActionListener ()
+            {
+                @Override
+                public void actionPerformed ( final ActionEvent e )
+                {
+                    evaluateFiltering ();
+                }
+            } );
+            filterTimer.setRepeats ( false );
+        }
+        filterTimer.restart ( filterDelay );
+    }
+
+    /**
+     * Cancels delayed and background filtering updates.
+     */
+    protected void cancelFiltering ()
+    {
+        if ( filterTimer != null )
+        {
+            filterTimer.stop ();
+        }
+        cancelEvaluation ();
+    }
+
+    /**
+     * Cancels background nodes accept states evaluation.
+     */
+    protected void cancelEvaluation ()
+    {
+        if ( evaluationToken != null )
+        {
+            evaluationToken.cancel ();
+            evaluationToken = null;
+        }
+    }
+
+    /**
+     * Starts background nodes accept states evaluation and applies its result to the tree once it is ready.
+     * Previous evaluation result is passed to the filter to narrow the evaluation when request only gets longer.
+     */
+    protected void evaluateFiltering ()
+    {
+        final WebTree<E> tree = getTree ();
+        if ( tree != null )
+        {
+            final StructuredTreeNodesFilter<E> filter = this.filter;
+            if ( filter.getSearchText ().equals ( "" ) )
+            {
+                // Empty request accepts all nodes without any evaluation
+                applyFiltering ();
+            }
+            else
+            {
+                // Retrieving tree structure copy
+                final Map<String, List<E>> rawChilds = tree instanceof WebAsyncTree ?
+                        ( ( WebAsyncTree ) tree ).getAsyncModel ().getRawChildsSnapshot () :
+                        ( ( WebExTree ) tree ).getExModel ().getRawChildsSnapshot ();
+                final E root = ( E ) tree.getModel ().getRoot ();
+                final TreeFilterResult<E> previous = filter.getResult ();
+                final TreeSearchIndex<E> searchIndex = getSearchIndex ();
+                final TreeSearchIndex<E> index =
+                        searchIndex != null && searchIndex.getTextProvider () == filter.getTextProvider () ? searchIndex : null;
+
+                // Evaluating accept states in background
+                final CancellationToken token = new CancellationToken ();
+                evaluationToken = token;
+                TaskManager.submit ( TaskManager.DEFAULT_GROUP, new Callable<TreeFilterResult<E>> ()
+                {
+                    @Override
+                    public TreeFilterResult<E> call ()
+                    {
+                        return filter.evaluate ( root, rawChilds, previous, index, token );
+                    }
+                }, TaskPriority.interactive, token, new TaskCallback<TreeFilterResult<E>> ()
+                {
+                    @Override
+                    public void taskCompleted ( final TreeFilterResult<E> result )
+                    {
+                        if ( result != null && evaluationToken == token && WebTreeFilterField.this.filter == filter )
+                        {
+                            evaluationToken = null;
+                            filter.setResult ( result );
+                            applyFiltering ();
+                        }
+                    }
+
+                    @Override
+                    public void taskFailed ( final Throwable cause )
+                    {
+                        Log.error ( WebTreeFilterField.this, cause );
+                    }
+                } );
+            }
+        }
+    }
+
+    /**
+     * Applies current filter to the tree.
+     * Whole tree structure is updated at once using evaluated nodes accept states.
+     */
+    protected void applyFiltering ()
     {
         // Updating tree filtering if possible
         final WebTree<E> tree = getTree ();
@@ -507,9 +744,6 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
             {
                 // todo Restore/expand behavior
 
-                // Cleaning up filter cache
-                filter.clearCache ();
-
                 // Updating tree filtering
                 ( ( WebAsyncTree ) tree ).updateSortingAndFiltering ();
             }
@@ -525,9 +759,6 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
                     }
                 }
 
-                // Cleaning up filter cache
-                filter.clearCache ();
-
                 // Updating tree filtering
                 ( ( WebExTree ) tree ).updateSortingAndFiltering ();
 
@@ -555,6 +786,124 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
         }
     }
 
+    /**
+     * Returns whether nodes text search index is installed into tree model or not.
+     *
+     * @return true if nodes text search index is installed into tree model, false otherwise
+     */
+    public boolean isSearchIndexEnabled ()
+    {
+        return searchIndexEnabled;
+    }
+
+    /**
+     * Sets whether nodes text search index should be installed into tree model or not.
+     * Search index makes filtering and next match search on large trees much faster at the cost of additional memory.
+     *
+     * @param enabled whether nodes text search index should be installed into tree model or not
+     */
+    public void setSearchIndexEnabled ( final boolean enabled )
+    {
+        this.searchIndexEnabled = enabled;
+        updateSearchIndex ();
+    }
+
+    /**
+     * Installs or uninstalls tree model search index according to current field settings.
+     * Installed search index is kept as long as it uses the same text provider as the field filter.
+     */
+    protected void updateSearchIndex ()
+    {
+        final WebTree<E> tree = getTree ();
+        final TreeSearchIndex<E> current = getSearchIndex ();
+        if ( tree != null && ( searchIndexEnabled ? current == null || current.getTextProvider () != filter.getTextProvider () :
+                current != null ) )
+        {
+            final TreeSearchIndex<E> index = searchIndexEnabled ? new TreeSearchIndex<E> ( filter.getTextProvider () ) : null;
+            final TreeModel model = tree.getModel ();
+            if ( model instanceof AsyncTreeModel )
+            {
+                ( ( AsyncTreeModel ) model ).setSearchIndex ( index );
+            }
+            else if ( model instanceof ExTreeModel )
+            {
+                ( ( ExTreeModel ) model ).setSearchIndex ( index );
+            }
+        }
+    }
+
+    /**
+     * Uninstalls search index installed by this field from the specified tree model.
+     *
+     * @param model tree model to uninstall search index from
+     */
+    protected void uninstallSearchIndex ( final Object model )
+    {
+        if ( searchIndexEnabled )
+        {
+            if ( model instanceof AsyncTreeModel )
+            {
+                ( ( AsyncTreeModel ) model ).setSearchIndex ( null );
+            }
+            else if ( model instanceof ExTreeModel )
+            {
+                ( ( ExTreeModel ) model ).setSearchIndex ( null );
+            }
+        }
+    }
+
+    /**
+     * Returns tree model search index.
+     *
+     * @return tree model search index or null if it is not installed
+     */
+    protected TreeSearchIndex<E> getSearchIndex ()
+    {
+        final WebTree<E> tree = getTree ();
+        final TreeModel model = tree != null ? tree.getModel () : null;
+        if ( model instanceof AsyncTreeModel )
+        {
+            return ( ( AsyncTreeModel ) model ).getSearchIndex ();
+        }
+        else if ( model instanceof ExTreeModel )
+        {
+            return ( ( ExTreeModel ) model ).getSearchIndex ();
+        }
+        return null;
+    }
+
+    /**
+     * Selects next node after the currently selected one which text matches field text.
+     * This method only works when search index is enabled.
+     */
+    public void selectNextMatch ()
+    {
+        final WebTree<E> tree = getTree ();
+        if ( searchIndexEnabled && tree != null && !isEmpty () )
+        {
+            final E from = tree.getSelectedNode ();
+            final TreeModel model = tree.getModel ();
+            final E next;
+            if ( model instanceof AsyncTreeModel )
+            {
+                next = ( E ) ( ( AsyncTreeModel ) model ).findNextNode ( filter, ( AsyncUniqueNode ) from );
+            }
+            else if ( model instanceof ExTreeModel )
+            {
+                next = ( ( ExTreeModel<E> ) model ).findNextNode ( filter, from );
+            }
+            else
+            {
+                next = null;
+            }
+            if ( next != null )
+            {
+                tree.setSelectedNode ( next );
+                tree.scrollToNode ( next );
+            }
+        }
+    }
+
     /**
      * Performs node acceptance re-check.
      * Might be useful if external tree updates are applied.
@@ -586,6 +935,16 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
         }
     }
 
+    /**
+     * Cancels delayed and background filtering updates when field is detached.
+     */
+    @Override
+    public void removeNotify ()
+    {
+        cancelFiltering ();
+        super.removeNotify ();
+    }
+
     /**
      * Returns tree to which this field applies filtering.
      *
@@ -102,42 +102,96 @@ public class BoxBlurFilter extends AbstractBufferedImageOp
     @Override
     public BufferedImage filter ( BufferedImage src, BufferedImage dst )
     {
-        int width = src.getWidth ();
-        int height = src.getHeight ();
+        final int width = src.getWidth ();
+        final int height = src.getHeight ();
 
         if ( dst == null )
         {
             dst = createCompatibleDestImage ( src, null );
         }
+        if ( iterations <= 0 )
+        {
+            // Simply copying source pixels
+            ImageFilterEngine.commitPixels ( dst, ImageFilterEngine.getPixels ( src ) );
+            return dst;
+        }
 
-        int[] inPixels = new int[ width * height ];
-        int[] outPixels = new int[ width * height ];
-        getRGB ( src, 0, 0, width, height, inPixels );
-
+        // Each iteration is performed in two transposing passes, each of them processes rows in parallel
+        // Source pixels are only read by the first pass and the last pass writes straight into destination pixels
+        final int[] srcPixels = ImageFilterEngine.getPixels ( src );
+        final int[] tmpPixels = ImageFilterEngine.acquireBuffer ( width * height );
+        final int[] inPixels = iterations > 1 ? ImageFilterEngine.acquireBuffer ( width * height ) : null;
+        int[] outPixels = null;
         for ( int i = 0; i < iterations; i++ )
         {
-            blur ( inPixels, outPixels, width, height, hRadius );
-            blur ( outPixels, inPixels, height, width, vRadius );
+            blur ( i == 0 ? srcPixels : inPixels, tmpPixels, width, height, hRadius, true );
+            if ( i == 0 )
+            {
+                ImageFilterEngine.releasePixels ( src, srcPixels );
+            }
+            if ( i == iterations - 1 )
+            {
+                outPixels = ImageFilterEngine.getDestinationPixels ( dst );
+                blur ( tmpPixels, outPixels, height, width, vRadius, true );
+            }
+            else
+            {
+                blur ( tmpPixels, inPixels, height, width, vRadius, true );
+            }
+        }
+        ImageFilterEngine.releaseBuffer ( tmpPixels );
+        if ( inPixels != null )
+        {
+            ImageFilterEngine.releaseBuffer ( inPixels );
         }
-
-        setRGB ( dst, 0, 0, width, height, inPixels );
+        ImageFilterEngine.commitPixels ( dst, outPixels );
         return dst;
     }
 
     public static void blur ( int[] in, int[] out, int width, int height, int radius )
     {
-        int widthMinus1 = width - 1;
-        int tableSize = 2 * radius + 1;
-        int divide[] = new int[ 256 * tableSize ];
+        blur ( in, out, width, height, radius, false );
+    }
+
+    /**
+     * Blur rows with a sliding box and write them transposed, optionally processing rows in parallel.
+     */
+    public static void blur ( final int[] in, final int[] out, final int width, final int height, final int radius, final boolean parallel )
+    {
+        final int tableSize = 2 * radius + 1;
+        final int[] divide = new int[ 256 * tableSize ];
 
         for ( int i = 0; i < 256 * tableSize; i++ )
         {
             divide[ i ] = i / tableSize;
         }
 
-        int inIndex = 0;
+        if ( parallel )
+        {
+            ImageFilterEngine.processRows ( height, width, new ImageFilterEngine.RowsProcessor ()
+            {
+                @Override
+                public void processRows ( final int fromRow, final int toRow )
+                {
+                    blur ( in, out, width, height, radius, divide, fromRow, toRow );
+                }
+            } );
+        }
+        else
+        {
+            blur ( in, out, width, height, radius, divide, 0, height );
+        }
+    }
+
+    /**
+     * Blur the specified range of rows with a sliding box and write them transposed.
+     */
+    public static void blur ( int[] in, int[] out, int width, int height, int radius, int[] divide, int fromRow, int toRow )
+    {
+        int widthMinus1 = width - 1;
+        int inIndex = fromRow * width;
 
-        for ( int y = 0; y < height; y++ )
+        for ( int y = fromRow; y < toRow; y++ )
         {
             int outIndex = y;
             int ta = 0, tr = 0, tg = 0, tb = 0;
@@ -179,4 +233,3 @@ public class BoxBlurFilter extends AbstractBufferedImageOp
         }
     }
 }
-
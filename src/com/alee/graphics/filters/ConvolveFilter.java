@@ -125,13 +125,12 @@ public class ConvolveFilter extends AbstractBufferedImageOp
             dst = createCompatibleDestImage ( src, null );
         }
 
-        int[] inPixels = new int[ width * height ];
-        int[] outPixels = new int[ width * height ];
-        getRGB ( src, 0, 0, width, height, inPixels );
-
-        convolve ( kernel, inPixels, outPixels, width, height, alpha, edgeAction );
-
-        setRGB ( dst, 0, 0, width, height, outPixels );
+        // Rows are processed in parallel, source and destination pixels are separate buffers so filtering in place is safe
+        final int[] inPixels = ImageFilterEngine.getPixels ( src );
+        final int[] outPixels = ImageFilterEngine.getDestinationPixels ( dst );
+        convolve ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, true );
+        ImageFilterEngine.releasePixels ( src, inPixels );
+        ImageFilterEngine.commitPixels ( dst, outPixels );
         return dst;
     }
 
@@ -175,18 +174,50 @@ public class ConvolveFilter extends AbstractBufferedImageOp
     }
 
     public static void convolve ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction )
+    {
+        convolve ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, false );
+    }
+
+    /**
+     * Convolve with any kernel, optionally processing rows in parallel. Input and output pixels must not be the same array.
+     */
+    public static void convolve ( final Kernel kernel, final int[] inPixels, final int[] outPixels, final int width, final int height,
+                                  final boolean alpha, final int edgeAction, final boolean parallel )
+    {
+        if ( parallel )
+        {
+            ImageFilterEngine.processRows ( height, width, new ImageFilterEngine.RowsProcessor ()
+            {
+                @Override
+                public void processRows ( final int fromRow, final int toRow )
+                {
+                    convolve ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, fromRow, toRow );
+                }
+            } );
+        }
+        else
+        {
+            convolve ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, 0, height );
+        }
+    }
+
+    /**
+     * Convolve the specified range of rows with any kernel.
+     */
+    public static void convolve ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction,
+                                  int fromRow, int toRow )
     {
         if ( kernel.getHeight () == 1 )
         {
-            convolveH ( kernel, inPixels, outPixels, width, height, alpha, edgeAction );
+            convolveH ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, fromRow, toRow );
         }
         else if ( kernel.getWidth () == 1 )
         {
-            convolveV ( kernel, inPixels, outPixels, width, height, alpha, edgeAction );
+            convolveV ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, fromRow, toRow );
         }
         else
         {
-            convolveHV ( kernel, inPixels, outPixels, width, height, alpha, edgeAction );
+            convolveHV ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, fromRow, toRow );
         }
     }
 
@@ -195,14 +226,23 @@ public class ConvolveFilter extends AbstractBufferedImageOp
      */
     public static void convolveHV ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction )
     {
-        int index = 0;
+        convolveHV ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, 0, height );
+    }
+
+    /**
+     * Convolve with a 2D kernel within the specified range of rows
+     */
+    public static void convolveHV ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction,
+                                    int fromRow, int toRow )
+    {
+        int index = fromRow * width;
         float[] matrix = kernel.getKernelData ( null );
         int rows = kernel.getHeight ();
         int cols = kernel.getWidth ();
         int rows2 = rows / 2;
         int cols2 = cols / 2;
 
-        for ( int y = 0; y < height; y++ )
+        for ( int y = fromRow; y < toRow; y++ )
         {
             for ( int x = 0; x < width; x++ )
             {
@@ -273,12 +313,21 @@ public class ConvolveFilter extends AbstractBufferedImageOp
      */
     public static void convolveH ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction )
     {
-        int index = 0;
+        convolveH ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, 0, height );
+    }
+
+    /**
+     * Convolve with a kernel consisting of one row within the specified range of rows
+     */
+    public static void convolveH ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction,
+                                   int fromRow, int toRow )
+    {
+        int index = fromRow * width;
         float[] matrix = kernel.getKernelData ( null );
         int cols = kernel.getWidth ();
         int cols2 = cols / 2;
 
-        for ( int y = 0; y < height; y++ )
+        for ( int y = fromRow; y < toRow; y++ )
         {
             int ioffset = y * width;
             for ( int x = 0; x < width; x++ )
@@ -334,12 +383,21 @@ public class ConvolveFilter extends AbstractBufferedImageOp
      */
     public static void convolveV ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction )
     {
-        int index = 0;
+        convolveV ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, 0, height );
+    }
+
+    /**
+     * Convolve with a kernel consisting of one column within the specified range of rows
+     */
+    public static void convolveV ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction,
+                                   int fromRow, int toRow )
+    {
+        int index = fromRow * width;
         float[] matrix = kernel.getKernelData ( null );
         int rows = kernel.getHeight ();
         int rows2 = rows / 2;
 
-        for ( int y = 0; y < height; y++ )
+        for ( int y = fromRow; y < toRow; y++ )
         {
             for ( int x = 0; x < width; x++ )
             {
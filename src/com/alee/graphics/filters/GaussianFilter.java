@@ -90,73 +90,130 @@ public class GaussianFilter extends ConvolveFilter
     @Override
     public BufferedImage filter ( BufferedImage src, BufferedImage dst )
     {
-        int width = src.getWidth ();
-        int height = src.getHeight ();
+        final int width = src.getWidth ();
+        final int height = src.getHeight ();
 
         if ( dst == null )
         {
             dst = createCompatibleDestImage ( src, null );
         }
 
-        int[] inPixels = new int[ width * height ];
-        int[] outPixels = new int[ width * height ];
-        src.getRGB ( 0, 0, width, height, inPixels, 0, width );
+        // Separable blur is performed in two transposing passes, each of them processes rows in parallel
+        final int[] inPixels = ImageFilterEngine.getPixels ( src );
+        final int[] tmpPixels = ImageFilterEngine.acquireBuffer ( width * height );
+        convolveAndTranspose ( kernel, inPixels, tmpPixels, width, height, alpha, CLAMP_EDGES, true );
+        ImageFilterEngine.releasePixels ( src, inPixels );
 
-        convolveAndTranspose ( kernel, inPixels, outPixels, width, height, alpha, CLAMP_EDGES );
-        convolveAndTranspose ( kernel, outPixels, inPixels, height, width, alpha, CLAMP_EDGES );
+        final int[] outPixels = ImageFilterEngine.getDestinationPixels ( dst );
+        convolveAndTranspose ( kernel, tmpPixels, outPixels, height, width, alpha, CLAMP_EDGES, true );
+        ImageFilterEngine.releaseBuffer ( tmpPixels );
+        ImageFilterEngine.commitPixels ( dst, outPixels );
 
-        dst.setRGB ( 0, 0, width, height, inPixels, 0, width );
         return dst;
     }
 
     public static void convolveAndTranspose ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha,
                                               int edgeAction )
     {
-        float[] matrix = kernel.getKernelData ( null );
-        int cols = kernel.getWidth ();
+        convolveAndTranspose ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, false );
+    }
+
+    /**
+     * Convolve rows with a one-dimensional kernel and write them transposed, optionally processing rows in parallel.
+     */
+    public static void convolveAndTranspose ( final Kernel kernel, final int[] inPixels, final int[] outPixels, final int width,
+                                              final int height, final boolean alpha, final int edgeAction, final boolean parallel )
+    {
+        final float[] matrix = kernel.getKernelData ( null );
+        if ( parallel )
+        {
+            ImageFilterEngine.processRows ( height, width, new ImageFilterEngine.RowsProcessor ()
+            {
+                @Override
+                public void processRows ( final int fromRow, final int toRow )
+                {
+                    convolveAndTranspose ( matrix, inPixels, outPixels, width, height, alpha, edgeAction, fromRow, toRow );
+                }
+            } );
+        }
+        else
+        {
+            convolveAndTranspose ( matrix, inPixels, outPixels, width, height, alpha, edgeAction, 0, height );
+        }
+    }
+
+    /**
+     * Convolve the specified range of rows with a one-dimensional kernel and write them transposed.
+     * Pixels which kernel fits into entirely are processed without edge checks.
+     */
+    public static void convolveAndTranspose ( float[] matrix, int[] inPixels, int[] outPixels, int width, int height, boolean alpha,
+                                              int edgeAction, int fromRow, int toRow )
+    {
+        int cols = matrix.length;
         int cols2 = cols / 2;
+        int innerStart = Math.min ( cols2, width );
+        int innerEnd = Math.max ( innerStart, width - cols2 );
 
-        for ( int y = 0; y < height; y++ )
+        for ( int y = fromRow; y < toRow; y++ )
         {
             int index = y;
             int ioffset = y * width;
             for ( int x = 0; x < width; x++ )
             {
                 float r = 0, g = 0, b = 0, a = 0;
-                for ( int col = -cols2; col <= cols2; col++ )
+                if ( x >= innerStart && x < innerEnd )
                 {
-                    float f = matrix[ cols2 + col ];
-
-                    if ( f != 0 )
+                    int offset = ioffset + x - cols2;
+                    for ( int col = 0; col < cols; col++ )
                     {
-                        int ix = x + col;
-                        if ( ix < 0 )
+                        float f = matrix[ col ];
+                        if ( f != 0 )
                         {
-                            if ( edgeAction == CLAMP_EDGES )
-                            {
-                                ix = 0;
-                            }
-                            else if ( edgeAction == WRAP_EDGES )
-                            {
-                                ix = ( x + width ) % width;
-                            }
+                            int rgb = inPixels[ offset + col ];
+                            a += f * ( ( rgb >> 24 ) & 0xff );
+                            r += f * ( ( rgb >> 16 ) & 0xff );
+                            g += f * ( ( rgb >> 8 ) & 0xff );
+                            b += f * ( rgb & 0xff );
                         }
-                        else if ( ix >= width )
+                    }
+                }
+                else
+                {
+                    for ( int col = -cols2; col <= cols2; col++ )
+                    {
+                        float f = matrix[ cols2 + col ];
+
+                        if ( f != 0 )
                         {
-                            if ( edgeAction == CLAMP_EDGES )
+                            int ix = x + col;
+                            if ( ix < 0 )
                             {
-                                ix = width - 1;
+                                if ( edgeAction == CLAMP_EDGES )
+                                {
+                                    ix = 0;
+                                }
+                                else if ( edgeAction == WRAP_EDGES )
+                                {
+                                    ix = ( x + width ) % width;
+                                }
                             }
-                            else if ( edgeAction == WRAP_EDGES )
+                            else if ( ix >= width )
                             {
-                                ix = ( x + width ) % width;
+                                if ( edgeAction == CLAMP_EDGES )
+                                {
+                                    ix = width - 1;
+                                }
+                                else if ( edgeAction == WRAP_EDGES )
+                                {
+                                    ix = ( x + width ) % width;
+                                }
                             }
+                            int rgb = inPixels[ ioffset + ix ];
+                            a += f * ( ( rgb >> 24 ) & 0xff );
+                            r += f * ( ( rgb >> 16 ) & 0xff );
+                            g += f * ( ( rgb >> 8 ) & 0xff );
+                            b += f * ( rgb & 0xff );
                         }
-                        int rgb = inPixels[ ioffset + ix ];
-                        a += f * ( ( rgb >> 24 ) & 0xff );
-                        r += f * ( ( rgb >> 16 ) & 0xff );
-                        g += f * ( ( rgb >> 8 ) & 0xff );
-                        b += f * ( rgb & 0xff );
                     }
                 }
                 int ia = alpha ? PixelUtils.clamp ( ( int ) ( a + 0.5 ) ) : 0xff;
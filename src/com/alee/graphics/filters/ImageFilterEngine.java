@@ -0,0 +1,300 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.graphics.filters;
+
+import java.awt.image.*;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Execution engine shared by pixel-based image filters.
+ * <p/>
+ * It splits filtered rows into ranges processed in parallel by the common ForkJoin pool and keeps a few scratch buffers to avoid
+ * allocating large arrays on each filter call.
+ * <p/>
+ * Pixels of the images passed into filters are always copied into and out of engine-owned buffers using raster data elements, the
+ * same way {@link com.alee.graphics.filters.AbstractBufferedImageOp} does it. Pixel data arrays of those images are never accessed
+ * directly since that would permanently disable hardware acceleration of the images.
+ *
+ * @author Mikle Garin
+ */
+
+public final class ImageFilterEngine
+{
+    /**
+     * Whether filters are allowed to process pixels in parallel or not.
+     */
+    public static boolean parallel = true;
+
+    /**
+     * Minimum amount of pixels processed by a single task.
+     * Images smaller than this are always processed in the calling thread.
+     */
+    public static int parallelThreshold = 64 * 1024;
+
+    /**
+     * Maximum amount of pooled scratch buffers.
+     */
+    public static int maxPooledBuffers = 4;
+
+    /**
+     * Pooled scratch buffers.
+     * They are kept under soft references so that they can be freed when memory is running low.
+     */
+    private static final List<SoftReference<int[]>> buffers = new ArrayList<SoftReference<int[]>> ();
+
+    /**
+     * Processes the specified amount of rows, possibly in parallel.
+     * Processor must only write data related to the rows it was given, since ranges are processed concurrently.
+     *
+     * @param rows      amount of rows to process
+     * @param rowLength amount of pixels in each row
+     * @param processor rows processor
+     */
+    public static void processRows ( final int rows, final int rowLength, final RowsProcessor processor )
+    {
+        final int minRows = Math.max ( 1, parallelThreshold / Math.max ( 1, rowLength ) );
+        if ( !parallel || rows <= minRows || ForkJoinPool.getCommonPoolParallelism () < 2 )
+        {
+            processor.processRows ( 0, rows );
+        }
+        else
+        {
+            ForkJoinPool.commonPool ().invoke ( new RowsTask ( processor, 0, rows, minRows ) );
+        }
+    }
+
+    /**
+     * Returns ARGB pixels of the specified image copied into a pooled buffer.
+     * Use {@link #releasePixels(java.awt.image.BufferedImage, int[])} once you are done with it.
+     *
+     * @param image image to process
+     * @return ARGB pixels of the specified image
+     */
+    public static int[] getPixels ( final BufferedImage image )
+    {
+        final int width = image.getWidth ();
+        final int height = image.getHeight ();
+        final int[] pixels = acquireBuffer ( width * height );
+        if ( image.getType () == BufferedImage.TYPE_INT_ARGB )
+        {
+            // Unlike direct data buffer access this doesn't disable image acceleration
+            image.getRaster ().getDataElements ( 0, 0, width, height, pixels );
+        }
+        else
+        {
+            image.getRGB ( 0, 0, width, height, pixels, 0, width );
+        }
+        return pixels;
+    }
+
+    /**
+     * Releases pixels returned by {@link #getPixels(java.awt.image.BufferedImage)} method.
+     *
+     * @param image  image pixels were requested for
+     * @param pixels image pixels
+     */
+    public static void releasePixels ( final BufferedImage image, final int[] pixels )
+    {
+        releaseBuffer ( pixels );
+    }
+
+    /**
+     * Returns pooled buffer into which filter result for the specified image should be written.
+     * Use {@link #commitPixels(java.awt.image.BufferedImage, int[])} to apply written pixels to the image.
+     *
+     * @param image destination image
+     * @return pixels array into which filter result for the specified image should be written
+     */
+    public static int[] getDestinationPixels ( final BufferedImage image )
+    {
+        return acquireBuffer ( image.getWidth () * image.getHeight () );
+    }
+
+    /**
+     * Copies pixels returned by {@link #getDestinationPixels(java.awt.image.BufferedImage)} method into the image and releases them.
+     *
+     * @param image  destination image
+     * @param pixels written pixels
+     */
+    public static void commitPixels ( final BufferedImage image, final int[] pixels )
+    {
+        final int width = image.getWidth ();
+        final int height = image.getHeight ();
+        if ( image.getType () == BufferedImage.TYPE_INT_ARGB )
+        {
+            // Unlike direct data buffer access this doesn't disable image acceleration
+            image.getRaster ().setDataElements ( 0, 0, width, height, pixels );
+        }
+        else
+        {
+            image.setRGB ( 0, 0, width, height, pixels, 0, width );
+        }
+        releaseBuffer ( pixels );
+    }
+
+    /**
+     * Returns scratch buffer which can hold at least the specified amount of pixels.
+     * Returned buffer might be larger than requested and contains random data.
+     *
+     * @param size minimum buffer size
+     * @return scratch buffer which can hold at least the specified amount of pixels
+     */
+    public static int[] acquireBuffer ( final int size )
+    {
+        synchronized ( buffers )
+        {
+            int[] best = null;
+            SoftReference<int[]> bestReference = null;
+            final Iterator<SoftReference<int[]>> iterator = buffers.iterator ();
+            while ( iterator.hasNext () )
+            {
+                final SoftReference<int[]> reference = iterator.next ();
+                final int[] buffer = reference.get ();
+                if ( buffer == null )
+                {
+                    iterator.remove ();
+                }
+                else if ( buffer.length >= size && ( best == null || buffer.length < best.length ) )
+                {
+                    best = buffer;
+                    bestReference = reference;
+                }
+            }
+            if ( best != null )
+            {
+                buffers.remove ( bestReference );
+                return best;
+            }
+        }
+        return new int[ size ];
+    }
+
+    /**
+     * Returns scratch buffer into the pool.
+     * Buffer must not be used after this call.
+     *
+     * @param buffer scratch buffer
+     */
+    public static void releaseBuffer ( final int[] buffer )
+    {
+        synchronized ( buffers )
+        {
+            if ( buffers.size () >= maxPooledBuffers )
+            {
+                // Replacing the smallest pooled buffer if this one is larger
+                int smallest = -1;
+                int smallestLength = buffer.length;
+                for ( int i = 0; i < buffers.size (); i++ )
+                {
+                    final int[] pooled = buffers.get ( i ).get ();
+                    final int length = pooled != null ? pooled.length : -1;
+                    if ( length < smallestLength )
+                    {
+                        smallest = i;
+                        smallestLength = length;
+                    }
+                }
+                if ( smallest == -1 )
+                {
+                    return;
+                }
+                buffers.remove ( smallest );
+            }
+            buffers.add ( new SoftReference<int[]> ( buffer ) );
+        }
+    }
+
+    /**
+     * Processor of rows range.
+     */
+    public static interface RowsProcessor
+    {
+        /**
+         * Processes rows within the specified range.
+         *
+         * @param fromRow first row to process, inclusive
+         * @param toRow   last row to process, exclusive
+         */
+        public void processRows ( int fromRow, int toRow );
+    }
+
+    /**
+     * ForkJoin task which splits rows range in halves until it is small enough.
+     */
+    private static final class RowsTask extends RecursiveAction
+    {
+        /**
+         * Rows processor.
+         */
+        private final RowsProcessor processor;
+
+        /**
+         * First row to process, inclusive.
+         */
+        private final int fromRow;
+
+        /**
+         * Last row to process, exclusive.
+         */
+        private final int toRow;
+
+        /**
+         * Minimum amount of rows processed by a single task.
+         */
+        private final int minRows;
+
+        /**
+         * Constructs new rows task.
+         *
+         * @param processor rows processor
+         * @param fromRow   first row to process, inclusive
+         * @param toRow     last row to process, exclusive
+         * @param minRows   minimum amount of rows processed by a single task
+         */
+        private RowsTask ( final RowsProcessor processor, final int fromRow, final int toRow, final int minRows )
+        {
+            super ();
+            this.processor = processor;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.minRows = minRows;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute ()
+        {
+            if ( toRow - fromRow <= minRows )
+            {
+                processor.processRows ( fromRow, toRow );
+            }
+            else
+            {
+                final int middle = ( fromRow + toRow ) >>> 1;
+                invokeAll ( new RowsTask ( processor, fromRow, middle, minRows ), new RowsTask ( processor, middle, toRow, minRows ) );
+            }
+        }
+    }
+}
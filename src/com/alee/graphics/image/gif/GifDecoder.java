@@ -20,11 +20,11 @@ package com.alee.graphics.image.gif;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
-import java.io.BufferedInputStream;
-import java.io.FileInputStream;
-import java.io.IOException;
+import java.io.*;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * @author Kevin Weiner, FM Software; LZW decoder adapted from John Cristy's ImageMagick.
@@ -48,7 +48,7 @@ public class GifDecoder
      */
     public static final int STATUS_OPEN_ERROR = 2;
 
-    private BufferedInputStream in;
+    private InputStream in;
     private int status;
 
     private int width;            // full image width
@@ -74,6 +74,7 @@ public class GifDecoder
     private Rectangle lastRect;   // last image rect
     private BufferedImage currentBufImg;  // current frame
     private BufferedImage prevBufImg;  // previous frame
+    private BufferedImage beforePrevBufImg;  // frame before previous, used in streaming mode only
 
     private final byte[] currentDataBlock = new byte[ 256 ];  // current data block
     private int blockSize = 0;    // block size
@@ -96,6 +97,19 @@ public class GifDecoder
     private ArrayList frames;     // frames read from current file
     private int frameCount;
 
+    /**
+     * Streaming mode runtime variables.
+     * Only compressed source data and frame positions within it are kept, frames are decoded on request into a small ring of images.
+     */
+    private static final int RING_SIZE = 4;   // images ring size, one spare image is kept for frame which might still be painted
+    private SourceStream source;              // compressed source data
+    private List<FrameInfo> frameInfos;       // indexed frames information
+    private int initialBgColor;               // background color read from header
+    private boolean indexing;                 // whether frames are being indexed or not
+    private BufferedImage[] ring;             // reused frame images
+    private int ringIndex;                    // index of the last used ring image
+    private int decodedFrame;                 // index of the last decoded frame
+
     // Instance
     //    private static GifDecoder instance;
     //
@@ -130,6 +144,93 @@ public class GifDecoder
         public int delay;
     }
 
+    /**
+     * Information about indexed frame.
+     * Contains frame position within source data and its graphics control extension values.
+     */
+    private static class FrameInfo
+    {
+        /**
+         * Image descriptor position within source data.
+         */
+        private final int offset;
+
+        /**
+         * Frame disposal method.
+         */
+        private final int dispose;
+
+        /**
+         * Whether frame uses transparent color or not.
+         */
+        private final boolean transparency;
+
+        /**
+         * Frame delay in milliseconds.
+         */
+        private final int delay;
+
+        /**
+         * Transparent color index.
+         */
+        private final int transIndex;
+
+        /**
+         * Constructs new frame information.
+         *
+         * @param offset       image descriptor position within source data
+         * @param dispose      frame disposal method
+         * @param transparency whether frame uses transparent color or not
+         * @param delay        frame delay in milliseconds
+         * @param transIndex   transparent color index
+         */
+        private FrameInfo ( final int offset, final int dispose, final boolean transparency, final int delay, final int transIndex )
+        {
+            super ();
+            this.offset = offset;
+            this.dispose = dispose;
+            this.transparency = transparency;
+            this.delay = delay;
+            this.transIndex = transIndex;
+        }
+    }
+
+    /**
+     * Source data stream which allows changing read position.
+     */
+    private static class SourceStream extends ByteArrayInputStream
+    {
+        /**
+         * Constructs new source data stream.
+         *
+         * @param data source data
+         */
+        private SourceStream ( final byte[] data )
+        {
+            super ( data );
+        }
+
+        /**
+         * Returns current read position.
+         *
+         * @return current read position
+         */
+        private int position ()
+        {
+            return pos;
+        }
+
+        /**
+         * Moves read position to the specified one.
+         *
+         * @param position new read position
+         */
+        private void seek ( final int position )
+        {
+            pos = position;
+        }
+    }
+
 
     /**
      * Gets display duration for specified frame.
@@ -140,10 +241,10 @@ public class GifDecoder
     public int getDelay ( final int n )
     {
         //
-        delay = -1;
+        int delay = -1;
         if ( ( n >= 0 ) && ( n < frameCount ) )
         {
-            delay = ( ( GifFrame ) frames.get ( n ) ).delay;
+            delay = isStreaming () ? frameInfos.get ( n ).delay : ( ( GifFrame ) frames.get ( n ) ).delay;
         }
         return delay;
     }
@@ -151,6 +252,7 @@ public class GifDecoder
 
     /**
      * Gets the image contents of frame n. f
+     * In streaming mode frame is decoded into a reused image which will be overwritten by following decoded frames.
      *
      * @return BufferedImage representation of frame, or null if n is invalid.
      */
@@ -159,7 +261,7 @@ public class GifDecoder
         BufferedImage bi = null;
         if ( ( n >= 0 ) && ( n < frameCount ) )
         {
-            bi = ( ( GifFrame ) frames.get ( n ) ).bufferedImage;
+            bi = isStreaming () ? decodeFrame ( n ) : ( ( GifFrame ) frames.get ( n ) ).bufferedImage;
         }
         return bi;
     }
@@ -233,6 +335,123 @@ public class GifDecoder
     }
 
 
+    /**
+     * Indexes GIF frames from the specified stream without decoding them.
+     * Only compressed source data and frame positions within it are kept in memory, frames are decoded on request by
+     * {@link #decodeFrame(int)} method into a small ring of reused images. This allows playing long animations in constant memory.
+     *
+     * @param is An inputStream with gif animation
+     * @return status code (0=no error)
+     */
+    public int index ( final BufferedInputStream is )
+    {
+        init ();
+        if ( is != null )
+        {
+            try
+            {
+                final ByteArrayOutputStream data = new ByteArrayOutputStream ( Math.max ( 32, is.available () ) );
+                final byte[] buffer = new byte[ 8192 ];
+                int count;
+                while ( ( count = is.read ( buffer ) ) != -1 )
+                {
+                    data.write ( buffer, 0, count );
+                }
+                source = new SourceStream ( data.toByteArray () );
+                frameInfos = new ArrayList<FrameInfo> ();
+                in = source;
+                readHeader ();
+                if ( !err () )
+                {
+                    initialBgColor = bgColor;
+                    indexing = true;
+                    readContents ();
+                    indexing = false;
+                    if ( frameCount < 0 )
+                    {
+                        status = STATUS_FORMAT_ERROR;
+                    }
+                }
+            }
+            catch ( final IOException e )
+            {
+                status = STATUS_OPEN_ERROR;
+            }
+            finally
+            {
+                try
+                {
+                    is.close ();
+                }
+                catch ( final IOException e )
+                {
+                    //
+                }
+            }
+        }
+        else
+        {
+            status = STATUS_OPEN_ERROR;
+        }
+        return status;
+    }
+
+    /**
+     * Returns whether frames are decoded on request from indexed source data or not.
+     *
+     * @return true if frames are decoded on request from indexed source data, false otherwise
+     */
+    public boolean isStreaming ()
+    {
+        return source != null;
+    }
+
+    /**
+     * Decodes the specified frame from indexed source data and returns its image.
+     * Frames are composed sequentially, so decoding the frame following the last decoded one is the cheapest option.
+     * Returned image is reused for following decoded frames and will be overwritten soon, it should not be kept.
+     *
+     * @param n index of frame to decode
+     * @return decoded frame image, or null if n is invalid or frame cannot be decoded
+     */
+    public BufferedImage decodeFrame ( final int n )
+    {
+        if ( !isStreaming () || n < 0 || n >= frameCount )
+        {
+            return null;
+        }
+        if ( n == decodedFrame )
+        {
+            return currentBufImg;
+        }
+        if ( n < decodedFrame )
+        {
+            // Restarting animation composition
+            decodedFrame = -1;
+        }
+        while ( decodedFrame < n && !err () )
+        {
+            final int next = decodedFrame + 1;
+            final FrameInfo info = frameInfos.get ( next );
+            if ( next == 0 )
+            {
+                lastDispose = 0;
+                prevBufImg = null;
+                beforePrevBufImg = null;
+                bgColor = initialBgColor;
+                lastBgColor = 0;
+            }
+            dispose = info.dispose;
+            transparency = info.transparency;
+            delay = info.delay;
+            transIndex = info.transIndex;
+            source.seek ( info.offset );
+            readImage ();
+            decodedFrame = next;
+        }
+        return err () ? null : currentBufImg;
+    }
+
     /**
      * Reads GIF file from specified source (file or URL string)
      *
@@ -245,16 +464,17 @@ public class GifDecoder
         try
         {
             name = name.trim ();
+            final BufferedInputStream is;
             if ( name.indexOf ( "://" ) > 0 )
             {
                 final URL url = new URL ( name );
-                in = new BufferedInputStream ( url.openStream () );
+                is = new BufferedInputStream ( url.openStream () );
             }
             else
             {
-                in = new BufferedInputStream ( new FileInputStream ( name ) );
+                is = new BufferedInputStream ( new FileInputStream ( name ) );
             }
-            status = read ( in );
+            status = read ( is );
         }
         catch ( final IOException e )
         {
@@ -445,6 +665,11 @@ public class GifDecoder
         frames = new ArrayList ();
         gct = null;
         lct = null;
+        source = null;
+        frameInfos = null;
+        ring = null;
+        ringIndex = -1;
+        decodedFrame = -1;
     }
 
 
@@ -559,7 +784,14 @@ public class GifDecoder
             {
 
                 case 0x2C:    // image separator
-                    readImage ();
+                    if ( indexing )
+                    {
+                        indexImage ();
+                    }
+                    else
+                    {
+                        readImage ();
+                    }
                     break;
 
                 case 0x21:    // extension
@@ -648,6 +880,35 @@ public class GifDecoder
     }
 
 
+    /**
+     * Indexes next frame image without decoding it
+     */
+    protected void indexImage ()
+    {
+        final int offset = source.position ();
+        readShort ();    // (sub)image position & size
+        readShort ();
+        readShort ();
+        readShort ();
+
+        final int packed = read ();
+        if ( ( packed & 0x80 ) != 0 )
+        {
+            source.skip ( 3 * ( 2 << ( packed & 7 ) ) );   // local color table
+        }
+        read ();    // LZW minimum code size
+        skip ();    // image data
+
+        if ( err () )
+        {
+            return;
+        }
+
+        frameCount++;
+        frameInfos.add ( new FrameInfo ( offset, dispose, transparency, delay, transIndex ) );
+    }
+
+
     /**
      * Reads next frame image
      */
@@ -703,14 +964,33 @@ public class GifDecoder
             return;
         }
 
-        frameCount++;
+        if ( isStreaming () )
+        {
+            // reuse next ring image to receive frame data
+            if ( ring == null )
+            {
+                ring = new BufferedImage[ RING_SIZE ];
+            }
+            ringIndex = ( ringIndex + 1 ) % ring.length;
+            if ( ring[ ringIndex ] == null )
+            {
+                ring[ ringIndex ] = new BufferedImage ( width, height, BufferedImage.TYPE_INT_ARGB_PRE );
+            }
+            currentBufImg = ring[ ringIndex ];
 
-        // create new image to receive frame data
-        currentBufImg = new BufferedImage ( width, height, BufferedImage.TYPE_INT_ARGB_PRE );
+            setPixels ();   // transfer pixel data to image
+        }
+        else
+        {
+            frameCount++;
 
-        setPixels ();   // transfer pixel data to image
+            // create new image to receive frame data
+            currentBufImg = new BufferedImage ( width, height, BufferedImage.TYPE_INT_ARGB_PRE );
 
-        frames.add ( new GifFrame ( currentBufImg, delay ) );   // add image to frame list
+            setPixels ();   // transfer pixel data to image
+
+            frames.add ( new GifFrame ( currentBufImg, delay ) );   // add image to frame list
+        }
 
         if ( transparency )
         {
@@ -780,6 +1060,7 @@ public class GifDecoder
     {
         lastDispose = dispose;
         lastRect = new Rectangle ( ix, iy, iw, ih );
+        beforePrevBufImg = prevBufImg;
         prevBufImg = currentBufImg;
         lastBgColor = bgColor;
         // int dispose = 0;
@@ -799,26 +1080,30 @@ public class GifDecoder
         final int[] dest = ( ( DataBufferInt ) currentBufImg.getRaster ().getDataBuffer () ).getData ();
 
         // fill in starting image contents based on last image's dispose code
+        // previous frame reference is kept intact since it is still needed in streaming mode
+        BufferedImage previous = prevBufImg;
+        boolean filled = false;
         if ( lastDispose > 0 )
         {
             if ( lastDispose == 3 )
             {
                 // use image before last
-                final int n = frameCount - 2;
+                final int n = isStreaming () ? decodedFrame : frameCount - 2;
                 if ( n > 0 )
                 {
-                    prevBufImg = getFrame ( n - 1 );
+                    previous = isStreaming () ? beforePrevBufImg : getFrame ( n - 1 );
                 }
                 else
                 {
-                    prevBufImg = null;
+                    previous = null;
                 }
             }
 
-            if ( prevBufImg != null )
+            if ( previous != null )
             {
-                final int[] prev = ( ( DataBufferInt ) prevBufImg.getRaster ().getDataBuffer () ).getData ();
+                final int[] prev = ( ( DataBufferInt ) previous.getRaster ().getDataBuffer () ).getData ();
                 System.arraycopy ( prev, 0, dest, 0, width * height );  // copy pixels
+                filled = true;
 
                 if ( lastDispose == 2 )
                 {
@@ -840,6 +1125,11 @@ public class GifDecoder
                 }
             }
         }
+        if ( !filled && isStreaming () )
+        {
+            // reused image must be cleared
+            Arrays.fill ( dest, 0, width * height, 0 );
+        }
 
         // copy each source line to the appropriate place in the destination
         int pass = 1;
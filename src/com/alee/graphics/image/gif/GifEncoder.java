@@ -20,10 +20,12 @@ package com.alee.graphics.image.gif;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferByte;
-import java.io.BufferedOutputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStream;
+import java.io.*;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Class GifEncoder - Encodes a GIF file consisting of one or more frames.
@@ -37,6 +39,9 @@ import java.io.OutputStream;
  *     e.addFrame(image2);
  *     e.finish();
  * </pre>
+ * <p/>
+ * Frames can be encoded in a pipeline, see {@link #setPipelineSize(int)}, and share a single global palette, see
+ * {@link #setGlobalPalette(boolean)}.
  */
 
 public class GifEncoder
@@ -81,6 +86,14 @@ public class GifEncoder
 
     protected int sample = 10; // default sample interval for quantizer
 
+    protected boolean globalPalette = false; // whether first frame palette is used for all frames
+
+    protected NeuQuant globalQuant; // global palette quantizer
+
+    protected int pipelineSize = 0; // amount of frames encoded concurrently, 0 = encode on caller thread
+
+    protected final LinkedList<Future<EncodedFrame>> pipeline = new LinkedList<Future<EncodedFrame>> (); // frames being encoded
+
     /**
      * Sets the delay time between each frame, or changes it for subsequent frames (applies to last
      * frame added).
@@ -133,6 +146,38 @@ public class GifEncoder
         transparent = c;
     }
 
+    /**
+     * Sets whether a single global palette should be used for all frames or not. Must be invoked before the first image is added.
+     * Global palette is computed once from the first frame, all subsequent frames are mapped to it and written without local color
+     * tables. This is faster and produces smaller output, but colors of subsequent frames might be less accurate if they differ
+     * noticeably from the first frame colors.
+     *
+     * @param global whether a single global palette should be used for all frames or not
+     */
+    public void setGlobalPalette ( final boolean global )
+    {
+        if ( !started || ( firstFrame && pipeline.isEmpty () ) )
+        {
+            globalPalette = global;
+        }
+    }
+
+    /**
+     * Sets maximum amount of frames encoded concurrently. Default is 0 which means that each frame is encoded on the caller thread
+     * right within {@code addFrame} call.
+     * <p/>
+     * Otherwise frames color quantization and compression run in the common ForkJoin pool while new frames are being added, so
+     * quantization of one frame goes in parallel with compression of the previous ones. Encoded frames are still written in strict
+     * order. When the specified amount of frames is already being encoded {@code addFrame} waits for the eldest one to be written,
+     * so memory usage stays flat.
+     *
+     * @param size maximum amount of frames encoded concurrently
+     */
+    public void setPipelineSize ( final int size )
+    {
+        pipelineSize = Math.max ( 0, size );
+    }
+
     /**
      * Adds next GIF frame. The frame is not written immediately, but is actually deferred until the
      * next frame is received so that timing data can be inserted. Invoking {@code finish()}
@@ -158,34 +203,118 @@ public class GifEncoder
             }
             image = im;
             getImagePixels (); // convert to correct format if necessary
-            analyzePixels (); // build color table & map pixels
-            if ( firstFrame )
+            if ( pipelineSize > 0 && image == im )
             {
-                writeLSD (); // logical screen descriptior
-                writePalette (); // global color table
-                if ( repeat >= 0 )
+                // image might be changed once this method returns
+                pixels = pixels.clone ();
+            }
+            if ( globalPalette && globalQuant == null )
+            {
+                // global palette is created once from the first frame
+                globalQuant = new NeuQuant ( pixels, pixels.length, sample );
+                globalQuant.process ();
+            }
+            final NeuQuant quant = globalPalette ? globalQuant : null;
+            final FrameTask task = new FrameTask ( pixels, width, height, sample, quant, transparent, delay, dispose );
+            image = null;
+            pixels = null;
+            if ( pipelineSize > 0 )
+            {
+                // write frames which are already encoded and wait for space in the pipeline
+                while ( !pipeline.isEmpty () && ( pipeline.size () >= pipelineSize || pipeline.getFirst ().isDone () ) )
                 {
-                    // use NS app extension to indicate reps
-                    writeNetscapeExt ();
+                    writeFrame ( pipeline.getFirst ().get () );
+                    pipeline.removeFirst ();
                 }
+                pipeline.addLast ( ForkJoinPool.commonPool ().submit ( task ) );
             }
-            writeGraphicCtrlExt (); // write graphic control extension
-            writeImageDesc (); // image descriptor
-            if ( !firstFrame )
+            else
             {
-                writePalette (); // local color table
+                writeFrame ( task.call () );
             }
-            writePixels (); // encode and write pixel data
-            firstFrame = false;
         }
         catch ( final IOException e )
         {
             ok = false;
+            cancelPipeline ();
+        }
+        catch ( final ExecutionException e )
+        {
+            ok = false;
+            cancelPipeline ();
+        }
+        catch ( final InterruptedException e )
+        {
+            ok = false;
+            cancelPipeline ();
+            Thread.currentThread ().interrupt ();
         }
 
         return ok;
     }
 
+    /**
+     * Writes encoded frame.
+     *
+     * @param frame encoded frame
+     * @throws IOException if frame cannot be written
+     */
+    protected void writeFrame ( final EncodedFrame frame ) throws IOException
+    {
+        colorTab = frame.colorTab;
+        if ( frame.transparent != null )
+        {
+            transIndex = frame.transIndex;
+        }
+        if ( firstFrame )
+        {
+            writeLSD (); // logical screen descriptior
+            writePalette (); // global color table
+            if ( repeat >= 0 )
+            {
+                // use NS app extension to indicate reps
+                writeNetscapeExt ();
+            }
+        }
+        writeGraphicCtrlExt ( frame.transparent, frame.delay, frame.dispose ); // write graphic control extension
+        final boolean localPalette = !firstFrame && !frame.global;
+        writeImageDesc ( localPalette ); // image descriptor
+        if ( localPalette )
+        {
+            writePalette (); // local color table
+        }
+        out.write ( frame.data ); // encoded pixel data
+        firstFrame = false;
+    }
+
+    /**
+     * Writes all frames remaining in the pipeline.
+     *
+     * @throws IOException          if frame cannot be written
+     * @throws ExecutionException   if frame cannot be encoded
+     * @throws InterruptedException if waiting for encoded frame was interrupted
+     */
+    protected void flushPipeline () throws IOException, ExecutionException, InterruptedException
+    {
+        while ( !pipeline.isEmpty () )
+        {
+            writeFrame ( pipeline.getFirst ().get () );
+            pipeline.removeFirst ();
+        }
+    }
+
+    /**
+     * Cancels encoding of all frames remaining in the pipeline.
+     */
+    protected void cancelPipeline ()
+    {
+        for ( final Future<EncodedFrame> frame : pipeline )
+        {
+            frame.cancel ( false );
+        }
+        pipeline.clear ();
+    }
+
     /**
      * Flushes any pending data and closes output file. If writing to an OutputStream, the stream is
      * not closed.
@@ -200,6 +329,7 @@ public class GifEncoder
         started = false;
         try
         {
+            flushPipeline (); // write frames which are still being encoded
             out.write ( 0x3b ); // gif trailer
             out.flush ();
             if ( closeStream )
@@ -211,6 +341,16 @@ public class GifEncoder
         {
             ok = false;
         }
+        catch ( final ExecutionException e )
+        {
+            ok = false;
+        }
+        catch ( final InterruptedException e )
+        {
+            ok = false;
+            Thread.currentThread ().interrupt ();
+        }
+        cancelPipeline ();
 
         // reset for subsequent use
         transIndex = 0;
@@ -219,6 +359,7 @@ public class GifEncoder
         pixels = null;
         indexedPixels = null;
         colorTab = null;
+        globalQuant = null;
         closeStream = false;
         firstFrame = true;
 
@@ -264,7 +405,7 @@ public class GifEncoder
      */
     public void setSize ( final int w, final int h )
     {
-        if ( started && !firstFrame )
+        if ( started && ( !firstFrame || !pipeline.isEmpty () ) )
         {
             return;
         }
@@ -337,32 +478,75 @@ public class GifEncoder
         final int len = pixels.length;
         final int nPix = len / 3;
         indexedPixels = new byte[ nPix ];
-        final NeuQuant nq = new NeuQuant ( pixels, len, sample );
-        // initialize quantizer
-        colorTab = nq.process (); // create reduced palette
+        NeuQuant nq = globalQuant;
+        if ( nq == null )
+        {
+            nq = new NeuQuant ( pixels, len, sample );
+            // initialize quantizer
+            nq.process (); // create reduced palette
+        }
+        colorTab = createColorTab ( nq );
+        mapPixels ( nq, pixels, indexedPixels, usedEntry );
+        pixels = null;
+        colorDepth = 8;
+        palSize = 7;
+        // get closest match to transparent color if specified
+        if ( transparent != null )
+        {
+            transIndex = findClosest ( transparent );
+        }
+    }
+
+    /**
+     * Returns RGB palette created by the specified quantizer.
+     *
+     * @param nq processed quantizer
+     * @return RGB palette created by the specified quantizer
+     */
+    protected static byte[] createColorTab ( final NeuQuant nq )
+    {
+        final byte[] colorTab = nq.colorMap ();
         // convert map from BGR to RGB
         for ( int i = 0; i < colorTab.length; i += 3 )
         {
             final byte temp = colorTab[ i ];
             colorTab[ i ] = colorTab[ i + 2 ];
             colorTab[ i + 2 ] = temp;
-            usedEntry[ i / 3 ] = false;
         }
-        // map image pixels to new palette
-        int k = 0;
-        for ( int i = 0; i < nPix; i++ )
+        return colorTab;
+    }
+
+    /**
+     * Maps image pixels to palette created by the specified quantizer.
+     *
+     * @param nq            processed quantizer
+     * @param pixels        BGR image pixels
+     * @param indexedPixels array to receive palette indices
+     * @param usedEntry     array to receive used palette entries
+     */
+    protected static void mapPixels ( final NeuQuant nq, final byte[] pixels, final byte[] indexedPixels, final boolean[] usedEntry )
+    {
+        for ( int i = 0; i < usedEntry.length; i++ )
         {
-            final int index = nq.map ( pixels[ k++ ] & 0xff, pixels[ k++ ] & 0xff, pixels[ k++ ] & 0xff );
-            usedEntry[ index ] = true;
-            indexedPixels[ i ] = ( byte ) index;
+            usedEntry[ i ] = false;
         }
-        pixels = null;
-        colorDepth = 8;
-        palSize = 7;
-        // get closest match to transparent color if specified
-        if ( transparent != null )
+        int k = 0;
+        int lastColor = -1;
+        int index = 0;
+        for ( int i = 0; i < indexedPixels.length; i++ )
         {
-            transIndex = findClosest ( transparent );
+            final int b = pixels[ k++ ] & 0xff;
+            final int g = pixels[ k++ ] & 0xff;
+            final int r = pixels[ k++ ] & 0xff;
+            final int color = ( b << 16 ) | ( g << 8 ) | r;
+            if ( color != lastColor )
+            {
+                // same colored pixels usually go in runs, so palette is only searched when color changes
+                index = nq.map ( b, g, r );
+                usedEntry[ index ] = true;
+                lastColor = color;
+            }
+            indexedPixels[ i ] = ( byte ) index;
         }
     }
 
@@ -370,6 +554,14 @@ public class GifEncoder
      * Returns index of palette color closest to c
      */
     protected int findClosest ( final Color c )
+    {
+        return findClosest ( c, colorTab, usedEntry );
+    }
+
+    /**
+     * Returns index of used palette color closest to c
+     */
+    protected static int findClosest ( final Color c, final byte[] colorTab, final boolean[] usedEntry )
     {
         if ( colorTab == null )
         {
@@ -436,6 +628,14 @@ public class GifEncoder
      * Writes Graphic Control Extension
      */
     protected void writeGraphicCtrlExt () throws IOException
+    {
+        writeGraphicCtrlExt ( transparent, delay, dispose );
+    }
+
+    /**
+     * Writes Graphic Control Extension with the specified frame settings
+     */
+    protected void writeGraphicCtrlExt ( final Color transparent, final int delay, final int dispose ) throws IOException
     {
         out.write ( 0x21 ); // extension introducer
         out.write ( 0xf9 ); // GCE label
@@ -470,6 +670,14 @@ public class GifEncoder
      * Writes Image Descriptor
      */
     protected void writeImageDesc () throws IOException
+    {
+        writeImageDesc ( !firstFrame );
+    }
+
+    /**
+     * Writes Image Descriptor specifying whether local color table follows or not
+     */
+    protected void writeImageDesc ( final boolean localPalette ) throws IOException
     {
         out.write ( 0x2c ); // image separator
         writeShort ( 0 ); // image position x,y = 0,0
@@ -477,7 +685,7 @@ public class GifEncoder
         writeShort ( width ); // image size
         writeShort ( height );
         // packed fields
-        if ( firstFrame )
+        if ( !localPalette )
         {
             // no LCT - GCT is used for first (or only) frame
             out.write ( 0 );
@@ -560,4 +768,167 @@ public class GifEncoder
             out.write ( ( byte ) s.charAt ( i ) );
         }
     }
+
+    /**
+     * Frame encoding task.
+     * It quantizes frame colors unless global palette is used, maps pixels to palette and compresses them.
+     */
+    protected static class FrameTask implements Callable<EncodedFrame>
+    {
+        /**
+         * Frame BGR pixels.
+         */
+        private final byte[] pixels;
+
+        /**
+         * Frame width.
+         */
+        private final int width;
+
+        /**
+         * Frame height.
+         */
+        private final int height;
+
+        /**
+         * Quantizer sample interval.
+         */
+        private final int sample;
+
+        /**
+         * Global palette quantizer or null if frame palette should be created.
+         */
+        private final NeuQuant globalQuant;
+
+        /**
+         * Frame transparent color.
+         */
+        private final Color transparent;
+
+        /**
+         * Frame delay in hundredths of a second.
+         */
+        private final int delay;
+
+        /**
+         * Frame disposal code.
+         */
+        private final int dispose;
+
+        /**
+         * Constructs new frame encoding task.
+         * All frame settings are captured at this point since they might be changed for subsequent frames.
+         *
+         * @param pixels      frame BGR pixels
+         * @param width       frame width
+         * @param height      frame height
+         * @param sample      quantizer sample interval
+         * @param globalQuant global palette quantizer or null if frame palette should be created
+         * @param transparent frame transparent color
+         * @param delay       frame delay in hundredths of a second
+         * @param dispose     frame disposal code
+         */
+        protected FrameTask ( final byte[] pixels, final int width, final int height, final int sample, final NeuQuant globalQuant,
+                              final Color transparent, final int delay, final int dispose )
+        {
+            super ();
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+            this.sample = sample;
+            this.globalQuant = globalQuant;
+            this.transparent = transparent;
+            this.delay = delay;
+            this.dispose = dispose;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public EncodedFrame call () throws IOException
+        {
+            NeuQuant nq = globalQuant;
+            if ( nq == null )
+            {
+                nq = new NeuQuant ( pixels, pixels.length, sample );
+                nq.process ();
+            }
+            final byte[] colorTab = createColorTab ( nq );
+            final byte[] indexedPixels = new byte[ pixels.length / 3 ];
+            final boolean[] usedEntry = new boolean[ 256 ];
+            mapPixels ( nq, pixels, indexedPixels, usedEntry );
+            final int transIndex = transparent != null ? findClosest ( transparent, colorTab, usedEntry ) : 0;
+
+            final ByteArrayOutputStream data = new ByteArrayOutputStream ( Math.max ( 64, indexedPixels.length / 2 ) );
+            new LZWEncoder ( width, height, indexedPixels, 8 ).encode ( data );
+
+            return new EncodedFrame ( colorTab, globalQuant != null, transIndex, transparent, delay, dispose, data.toByteArray () );
+        }
+    }
+
+    /**
+     * Encoded frame data ready to be written.
+     */
+    protected static class EncodedFrame
+    {
+        /**
+         * RGB palette.
+         */
+        protected final byte[] colorTab;
+
+        /**
+         * Whether palette is global or not.
+         */
+        protected final boolean global;
+
+        /**
+         * Transparent index in palette.
+         */
+        protected final int transIndex;
+
+        /**
+         * Transparent color or null if there is none.
+         */
+        protected final Color transparent;
+
+        /**
+         * Frame delay in hundredths of a second.
+         */
+        protected final int delay;
+
+        /**
+         * Frame disposal code.
+         */
+        protected final int dispose;
+
+        /**
+         * Compressed pixel data.
+         */
+        protected final byte[] data;
+
+        /**
+         * Constructs new encoded frame data.
+         *
+         * @param colorTab    RGB palette
+         * @param global      whether palette is global or not
+         * @param transIndex  transparent index in palette
+         * @param transparent transparent color or null if there is none
+         * @param delay       frame delay in hundredths of a second
+         * @param dispose     frame disposal code
+         * @param data        compressed pixel data
+         */
+        protected EncodedFrame ( final byte[] colorTab, final boolean global, final int transIndex, final Color transparent,
+                                 final int delay, final int dispose, final byte[] data )
+        {
+            super ();
+            this.colorTab = colorTab;
+            this.global = global;
+            this.transIndex = transIndex;
+            this.transparent = transparent;
+            this.delay = delay;
+            this.dispose = dispose;
+            this.data = data;
+        }
+    }
 }
\ No newline at end of file
@@ -38,6 +38,17 @@ public class GifIcon implements Icon
     private final Map<Integer, GifDecoder.GifFrame> frames;
     private int status = GifDecoder.STATUS_OK;
 
+    /**
+     * Streaming mode decoder.
+     * It is only available when icon frames are decoded on the fly instead of being decoded all at once.
+     */
+    private final GifDecoder streamDecoder;
+
+    /**
+     * Currently displayed frame image in streaming mode.
+     */
+    private volatile BufferedImage streamImage;
+
     private int frameCount = 0;
     private int displayedFrame = -1;
     private Thread gifAnimator;
@@ -46,40 +57,102 @@ public class GifIcon implements Icon
 
     public GifIcon ( final Class nearClass, final String imgSrc ) throws IOException
     {
-        this ( new BufferedInputStream ( nearClass.getResource ( imgSrc ).openStream () ) );
+        this ( nearClass, imgSrc, false );
+    }
+
+    /**
+     * Constructs new GIF icon.
+     *
+     * @param nearClass class near which image is located
+     * @param imgSrc    image path relative to the class
+     * @param streaming whether frames should be decoded on the fly or not
+     * @throws IOException if image cannot be read
+     */
+    public GifIcon ( final Class nearClass, final String imgSrc, final boolean streaming ) throws IOException
+    {
+        this ( new BufferedInputStream ( nearClass.getResource ( imgSrc ).openStream () ), streaming );
     }
 
     public GifIcon ( final String imgSrc ) throws FileNotFoundException
     {
-        this ( new BufferedInputStream ( new FileInputStream ( imgSrc ) ) );
+        this ( imgSrc, false );
+    }
+
+    /**
+     * Constructs new GIF icon.
+     *
+     * @param imgSrc    image file path
+     * @param streaming whether frames should be decoded on the fly or not
+     * @throws FileNotFoundException if image file cannot be found
+     */
+    public GifIcon ( final String imgSrc, final boolean streaming ) throws FileNotFoundException
+    {
+        this ( new BufferedInputStream ( new FileInputStream ( imgSrc ) ), streaming );
     }
 
     public GifIcon ( final BufferedInputStream stream )
+    {
+        this ( stream, false );
+    }
+
+    /**
+     * Constructs new GIF icon.
+     * <p/>
+     * By default all frames are decoded at once and kept in memory, which is fine for small animations.
+     * In streaming mode only compressed image data is kept and frames are decoded on the fly into a few reused images as animation
+     * advances, so even long and large animations take roughly constant memory and their playback starts without decoding them all.
+     *
+     * @param stream    image stream
+     * @param streaming whether frames should be decoded on the fly or not
+     */
+    public GifIcon ( final BufferedInputStream stream, final boolean streaming )
     {
         super ();
 
         frames = new HashMap<Integer, GifDecoder.GifFrame> ();
 
         final GifDecoder gifDecoder = new GifDecoder ();
-        status = gifDecoder.read ( stream );
+        status = streaming ? gifDecoder.index ( stream ) : gifDecoder.read ( stream );
+        streamDecoder = streaming ? gifDecoder : null;
 
         if ( status == GifDecoder.STATUS_OK )
         {
             frameCount = gifDecoder.getFrameCount ();
             displayedFrame = 0;
-            for ( int i = 0; i < frameCount; i++ )
+            if ( streaming )
             {
-                frames.put ( i, new GifDecoder.GifFrame ( gifDecoder.getFrame ( i ), gifDecoder.getDelay ( i ) ) );
+                streamImage = gifDecoder.decodeFrame ( 0 );
+            }
+            else
+            {
+                for ( int i = 0; i < frameCount; i++ )
+                {
+                    frames.put ( i, new GifDecoder.GifFrame ( gifDecoder.getFrame ( i ), gifDecoder.getDelay ( i ) ) );
+                }
             }
             startAnimation ();
         }
     }
 
+    /**
+     * Returns whether frames are decoded on the fly or not.
+     *
+     * @return true if frames are decoded on the fly, false otherwise
+     */
+    public boolean isStreaming ()
+    {
+        return streamDecoder != null;
+    }
+
     public void startAnimation ()
     {
         if ( frameCount > 1 )
         {
             displayedFrame = 0;
+            if ( isStreaming () )
+            {
+                streamImage = decodeFrame ( 0 );
+            }
             gifAnimator = new Thread ( new Runnable ()
             {
                 @Override
@@ -87,7 +160,7 @@ public class GifIcon implements Icon
                 {
                     while ( !stopAnimation )
                     {
-                        final int delay = frames.get ( displayedFrame ).delay;
+                        final int delay = getDelay ( displayedFrame );
                         try
                         {
                             Thread.sleep ( delay == 0 ? 100 : delay );
@@ -98,14 +171,13 @@ public class GifIcon implements Icon
                         }
 
                         // Refresh displayed frame
-                        if ( displayedFrame == frameCount - 1 )
-                        {
-                            displayedFrame = 0;
-                        }
-                        else
+                        final int nextFrame = displayedFrame == frameCount - 1 ? 0 : displayedFrame + 1;
+                        if ( isStreaming () )
                         {
-                            displayedFrame++;
+                            // Next frame is decoded before it is displayed
+                            streamImage = decodeFrame ( nextFrame );
                         }
+                        displayedFrame = nextFrame;
 
                         if ( repaintListener != null )
                         {
@@ -132,25 +204,52 @@ public class GifIcon implements Icon
     {
         if ( frameCount > 0 )
         {
-            g.drawImage ( frames.get ( displayedFrame ).bufferedImage, x, y, c );
+            g.drawImage ( getImage (), x, y, c );
         }
     }
 
     @Override
     public int getIconWidth ()
     {
-        return frames.get ( displayedFrame ).bufferedImage.getWidth ();
+        return getImage ().getWidth ();
     }
 
     @Override
     public int getIconHeight ()
     {
-        return frames.get ( displayedFrame ).bufferedImage.getHeight ();
+        return getImage ().getHeight ();
     }
 
     public BufferedImage getImage ()
     {
-        return frames.get ( displayedFrame ).bufferedImage;
+        return isStreaming () ? streamImage : frames.get ( displayedFrame ).bufferedImage;
+    }
+
+    /**
+     * Returns delay of the specified frame in milliseconds.
+     *
+     * @param frame frame index
+     * @return delay of the specified frame in milliseconds
+     */
+    protected int getDelay ( final int frame )
+    {
+        return isStreaming () ? streamDecoder.getDelay ( frame ) : frames.get ( frame ).delay;
+    }
+
+    /**
+     * Decodes the specified frame in streaming mode.
+     * Previously displayed image is kept if frame cannot be decoded.
+     *
+     * @param frame frame index
+     * @return decoded frame image
+     */
+    protected BufferedImage decodeFrame ( final int frame )
+    {
+        synchronized ( streamDecoder )
+        {
+            final BufferedImage image = streamDecoder.decodeFrame ( frame );
+            return image != null ? image : streamImage;
+        }
     }
 
     public int getStatus ()
@@ -168,6 +267,12 @@ public class GifIcon implements Icon
         return displayedFrame;
     }
 
+    /**
+     * Returns decoded frames.
+     * Note that this map is empty in streaming mode since frames are not kept there.
+     *
+     * @return decoded frames
+     */
     public Map<Integer, GifDecoder.GifFrame> getFrames ()
     {
         return frames;
@@ -128,6 +128,7 @@ public class WebLookAndFeel extends BasicLookAndFeel
     public static final String PAINTER_PROPERTY = "painter";
     public static final String RENDERER_PROPERTY = "renderer";
     public static final String DROP_LOCATION = "dropLocation";
+    public static final String LOADING_PROPERTY = "loading";
 
     /**
      * List of WebLookAndFeel icons.
@@ -38,8 +38,10 @@ import com.alee.laf.list.WebList;
 import com.alee.laf.list.editor.ListEditAdapter;
 import com.alee.laf.menu.WebPopupMenu;
 import com.alee.laf.menu.WebRadioButtonMenuItem;
+import com.alee.laf.WebLookAndFeel;
 import com.alee.laf.optionpane.WebOptionPane;
 import com.alee.laf.panel.WebPanel;
+import com.alee.laf.progressbar.WebProgressBar;
 import com.alee.laf.scroll.WebScrollBar;
 import com.alee.laf.scroll.WebScrollPane;
 import com.alee.laf.splitpane.WebSplitPane;
@@ -219,6 +221,13 @@ public class WebFileChooserPanel extends WebPanel
     protected WebScrollPane fileListScroll;
     protected WebFileTable fileTable;
     protected WebScrollPane fileTableScroll;
+    protected WebProgressBar loadingProgress;
+    protected PropertyChangeListener loadingListener;
+
+    /**
+     * File that should be selected once displayed directory loading is finished.
+     */
+    protected File pendingSelection = null;
 
     /**
      * South panel components.
@@ -663,6 +672,15 @@ public class WebFileChooserPanel extends WebPanel
      */
     protected Component createCenterContent ()
     {
+        loadingListener = new PropertyChangeListener ()
+        {
+            @Override
+            public void propertyChange ( final PropertyChangeEvent evt )
+            {
+                updateLoadingState ();
+            }
+        };
+
         createFileTree ();
         createFileList ();
         createFileTable ();
@@ -693,6 +711,11 @@ public class WebFileChooserPanel extends WebPanel
         centralContainer.setMargin ( 4 );
         centralContainer.add ( centralSplit );
 
+        loadingProgress = new WebProgressBar ();
+        loadingProgress.setIndeterminate ( true );
+        loadingProgress.setVisible ( false );
+        centralContainer.add ( loadingProgress, BorderLayout.SOUTH );
+
         return centralContainer;
     }
 
@@ -728,6 +751,8 @@ public class WebFileChooserPanel extends WebPanel
     protected void createFileList ()
     {
         fileList = new WebFileList ();
+        fileList.setAsyncLoading ( true );
+        fileList.addPropertyChangeListener ( WebLookAndFeel.LOADING_PROPERTY, loadingListener );
         fileList.setGenerateThumbnails ( true );
         fileList.setDropMode ( DropMode.ON );
         fileList.setEditable ( true );
@@ -797,7 +822,7 @@ public class WebFileChooserPanel extends WebPanel
                 reloadCurrentFolder ();
 
                 // Updating list selection after edit
-                fileList.setSelectedFile ( file );
+                setSelectedFile ( file );
             }
         } );
 
@@ -812,6 +837,8 @@ public class WebFileChooserPanel extends WebPanel
     protected void createFileTable ()
     {
         fileTable = new WebFileTable ();
+        fileTable.setAsyncLoading ( true );
+        fileTable.addPropertyChangeListener ( WebLookAndFeel.LOADING_PROPERTY, loadingListener );
         fileTable.setOpaque ( false );
         fileTable.setRowSorter ( createFileTableRowSorter () );
         fileTable.setTransferHandler ( new FilesLocateDropHandler ( UpdateSource.table ) );
@@ -878,7 +905,7 @@ public class WebFileChooserPanel extends WebPanel
                 reloadCurrentFolder ();
 
                 // Updating list selection after edit
-                fileTable.setSelectedFile ( file );
+                setSelectedFile ( file );
             }
 
             @Override
@@ -934,8 +961,8 @@ public class WebFileChooserPanel extends WebPanel
                         {
                             return +1;
                         }
-                        final long al = a.length ();
-                        final long bl = b.length ();
+                        final long al = FileUtils.getFileAttributes ( a ).getSize ();
+                        final long bl = FileUtils.getFileAttributes ( b ).getSize ();
                         return al < bl ? -1 : al > bl ? +1 : 0;
                     }
                 };
@@ -962,8 +989,8 @@ public class WebFileChooserPanel extends WebPanel
                     @Override
                     public int compare ( final File a, final File b )
                     {
-                        final long al = a.lastModified ();
-                        final long bl = b.lastModified ();
+                        final long al = FileUtils.getFileAttributes ( a ).getLastModified ();
+                        final long bl = FileUtils.getFileAttributes ( b ).getLastModified ();
                         return al < bl ? -1 : al > bl ? +1 : 0;
                     }
                 };
@@ -1392,6 +1419,9 @@ public class WebFileChooserPanel extends WebPanel
      */
     public void setSelectedFile ( final File file )
     {
+        // Selection will be repeated once directory loading is finished
+        pendingSelection = isLoading () ? file : null;
+
         if ( viewType.getComponentIndex () == 0 )
         {
             fileList.setSelectedFile ( file );
@@ -1706,10 +1736,12 @@ public class WebFileChooserPanel extends WebPanel
      */
     public void reloadCurrentFolder ()
     {
-        // Clearing all caches for folder files
+        // Clearing all caches for displayed folder files
+        // Folder is not listed here to avoid blocking Event Dispatch Thread, it will be listed by the views in background
         if ( currentFolder != null )
         {
-            FileUtils.clearFilesCaches ( currentFolder.listFiles () );
+            final List<File> files = fileTable.getFileTableModel ().getFiles ();
+            FileUtils.clearFilesCaches ( files.toArray ( new File[ files.size () ] ) );
         }
 
         // Updating view in a specific way
@@ -1719,6 +1751,31 @@ public class WebFileChooserPanel extends WebPanel
         fileTable.reloadFiles ();
     }
 
+    /**
+     * Returns whether currently displayed directory is being loaded or not.
+     *
+     * @return true if currently displayed directory is being loaded, false otherwise
+     */
+    public boolean isLoading ()
+    {
+        return fileList.isLoading () || fileTable.isLoading ();
+    }
+
+    /**
+     * Updates loading progress visibility and performs pending selection once directory is fully loaded.
+     */
+    protected void updateLoadingState ()
+    {
+        final boolean loading = isLoading ();
+        loadingProgress.setVisible ( loading );
+        if ( !loading && pendingSelection != null )
+        {
+            final File file = pendingSelection;
+            pendingSelection = null;
+            setSelectedFile ( file );
+        }
+    }
+
     /**
      * Starts editing name of selected file in currently visible view.
      */
@@ -0,0 +1,600 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.laf.list;
+
+import com.alee.utils.swing.WebTimer;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * List model designed for high volume of appended elements, for example streamed log lines or events.
+ * <p/>
+ * Elements can be appended from any thread, they are collected in a lock-free staging queue and moved into the model once per frame
+ * in Event Dispatch Thread with a single interval event. All other model methods should only be called in Event Dispatch Thread.
+ * <p/>
+ * Elements are stored in a ring buffer, so model can be limited to a maximum size, in that case the oldest elements are dropped as
+ * new ones arrive which is useful for tail-following views. Optional identity index can also be enabled to find element indices
+ * without scanning the whole model.
+ *
+ * @param <T> elements type
+ * @author Mikle Garin
+ * @see com.alee.laf.list.WebListModel
+ */
+
+public class BatchListModel<T> extends AbstractListModel<T>
+{
+    /**
+     * Default delay between appending elements and moving them into the model in milliseconds.
+     */
+    public static long defaultFlushDelay = 16L;
+
+    /**
+     * Elements appended but not yet moved into the model.
+     */
+    protected final ConcurrentLinkedQueue<T> pending = new ConcurrentLinkedQueue<T> ();
+
+    /**
+     * Whether pending elements flush is already scheduled or not.
+     */
+    protected final AtomicBoolean flushScheduled = new AtomicBoolean ( false );
+
+    /**
+     * Delay between appending elements and moving them into the model in milliseconds.
+     */
+    protected long flushDelay = defaultFlushDelay;
+
+    /**
+     * Elements ring buffer.
+     */
+    protected Object[] data;
+
+    /**
+     * Index of the first element within the ring buffer.
+     */
+    protected int head;
+
+    /**
+     * Amount of elements in the model.
+     */
+    protected int size;
+
+    /**
+     * Maximum amount of elements in the model.
+     * Zero and less = model size is not limited.
+     */
+    protected int maxSize;
+
+    /**
+     * Amount of elements dropped from the model start since it was last cleared.
+     * Identity index stores positions counted from the first element ever added, so it doesn't need updates when elements are dropped.
+     */
+    protected long dropped;
+
+    /**
+     * Identity index of elements.
+     * Each value contains position of the first element occurrence and amount of its occurrences.
+     * It is null when index is disabled.
+     */
+    protected IdentityHashMap<Object, long[]> indices;
+
+    /**
+     * Constructs new empty model with unlimited size.
+     */
+    public BatchListModel ()
+    {
+        this ( 0 );
+    }
+
+    /**
+     * Constructs new empty model with the specified maximum size.
+     *
+     * @param maxSize maximum amount of elements in the model, zero and less for unlimited model size
+     */
+    public BatchListModel ( final int maxSize )
+    {
+        super ();
+        this.data = new Object[ maxSize > 0 ? Math.min ( maxSize, 16 ) : 16 ];
+        this.head = 0;
+        this.size = 0;
+        this.maxSize = maxSize;
+        this.dropped = 0;
+        this.indices = null;
+    }
+
+    /**
+     * Returns delay between appending elements and moving them into the model in milliseconds.
+     *
+     * @return delay between appending elements and moving them into the model in milliseconds
+     */
+    public long getFlushDelay ()
+    {
+        return flushDelay;
+    }
+
+    /**
+     * Sets delay between appending elements and moving them into the model in milliseconds.
+     *
+     * @param flushDelay delay between appending elements and moving them into the model in milliseconds
+     */
+    public void setFlushDelay ( final long flushDelay )
+    {
+        this.flushDelay = flushDelay;
+    }
+
+    /**
+     * Returns maximum amount of elements in the model.
+     *
+     * @return maximum amount of elements in the model, zero and less for unlimited model size
+     */
+    public int getMaxSize ()
+    {
+        return maxSize;
+    }
+
+    /**
+     * Sets maximum amount of elements in the model.
+     * The oldest elements are dropped right away if model contains more elements than allowed.
+     *
+     * @param maxSize maximum amount of elements in the model, zero and less for unlimited model size
+     */
+    public void setMaxSize ( final int maxSize )
+    {
+        this.maxSize = maxSize;
+        if ( maxSize > 0 && size > maxSize )
+        {
+            final int removed = size - maxSize;
+            for ( int i = 0; i < removed; i++ )
+            {
+                dropFirst ();
+            }
+            fireIntervalRemoved ( this, 0, removed - 1 );
+        }
+    }
+
+    /**
+     * Returns whether identity index of elements is enabled or not.
+     *
+     * @return true if identity index of elements is enabled, false otherwise
+     */
+    public boolean isIndexed ()
+    {
+        return indices != null;
+    }
+
+    /**
+     * Sets whether identity index of elements is enabled or not.
+     * With index enabled {@link #indexOf(Object)} and {@link #contains(Object)} methods compare elements by identity and do not scan
+     * the model, but each element addition and removal costs a little more.
+     *
+     * @param indexed whether identity index of elements should be enabled or not
+     */
+    public void setIndexed ( final boolean indexed )
+    {
+        if ( indexed && indices == null )
+        {
+            indices = new IdentityHashMap<Object, long[]> ( Math.max ( 16, size ) );
+            for ( int i = 0; i < size; i++ )
+            {
+                addIndex ( data[ toRingIndex ( i ) ], dropped + i );
+            }
+        }
+        else if ( !indexed )
+        {
+            indices = null;
+        }
+    }
+
+    /**
+     * Appends the specified element to the end of this model.
+     * This method can be called from any thread, element will be added into the model in Event Dispatch Thread within next frame.
+     *
+     * @param element element to append
+     */
+    public void append ( final T element )
+    {
+        pending.add ( element );
+        scheduleFlush ();
+    }
+
+    /**
+     * Appends the specified elements to the end of this model.
+     * This method can be called from any thread, elements will be added into the model in Event Dispatch Thread within next frame.
+     *
+     * @param elements elements to append
+     */
+    public void append ( final Collection<? extends T> elements )
+    {
+        if ( elements.size () > 0 )
+        {
+            pending.addAll ( elements );
+            scheduleFlush ();
+        }
+    }
+
+    /**
+     * Returns amount of appended elements which are not yet moved into the model.
+     *
+     * @return amount of appended elements which are not yet moved into the model
+     */
+    public int getPendingCount ()
+    {
+        return pending.size ();
+    }
+
+    /**
+     * Schedules pending elements flush unless it is already scheduled.
+     */
+    protected void scheduleFlush ()
+    {
+        if ( flushScheduled.compareAndSet ( false, true ) )
+        {
+            WebTimer.delay ( "BatchListModel.flush", flushDelay, new ActionListener ()
+            {
+                @Override
+                public void actionPerformed ( final ActionEvent e )
+                {
+                    flush ();
+                }
+            } );
+        }
+    }
+
+    /**
+     * Moves all pending elements into the model.
+     * Single interval added event is fired for all of them, as well as single interval removed event if the oldest elements were
+     * dropped due to model size limit. This method is called automatically, but it can also be called directly to flush elements
+     * right away.
+     */
+    public void flush ()
+    {
+        // Elements appended after this point will schedule another flush
+        flushScheduled.set ( false );
+
+        // Moving pending elements into the model
+        final int oldSize = size;
+        final long oldDropped = dropped;
+        int added = 0;
+        T element;
+        while ( ( element = pending.poll () ) != null )
+        {
+            addLast ( element );
+            added++;
+        }
+
+        // Informing about changes
+        if ( added > 0 )
+        {
+            final int removedOld = ( int ) Math.min ( dropped - oldDropped, oldSize );
+            final int remainingOld = oldSize - removedOld;
+            if ( removedOld > 0 )
+            {
+                fireIntervalRemoved ( this, 0, removedOld - 1 );
+            }
+            if ( size > remainingOld )
+            {
+                fireIntervalAdded ( this, remainingOld, size - 1 );
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getSize ()
+    {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T getElementAt ( final int index )
+    {
+        return get ( index );
+    }
+
+    /**
+     * Returns the number of elements in this model.
+     *
+     * @return the number of elements in this model
+     */
+    public int size ()
+    {
+        return size;
+    }
+
+    /**
+     * Returns whether this model has no elements or not.
+     * Pending elements are not taken into account.
+     *
+     * @return true if this model has no elements, false otherwise
+     */
+    public boolean isEmpty ()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns element at the specified index.
+     *
+     * @param index element index
+     * @return element at the specified index
+     * @throws ArrayIndexOutOfBoundsException if the index is negative or not less than the size of this model
+     */
+    public T get ( final int index )
+    {
+        checkIndex ( index );
+        return elementAt ( toRingIndex ( index ) );
+    }
+
+    /**
+     * Replaces element at the specified index.
+     *
+     * @param index   element index
+     * @param element new element
+     * @return previous element at the specified index
+     * @throws ArrayIndexOutOfBoundsException if the index is negative or not less than the size of this model
+     */
+    public T set ( final int index, final T element )
+    {
+        checkIndex ( index );
+        final int ringIndex = toRingIndex ( index );
+        final T previous = elementAt ( ringIndex );
+        data[ ringIndex ] = element;
+        if ( indices != null )
+        {
+            removeIndex ( previous, dropped + index );
+            addIndex ( element, dropped + index );
+        }
+        fireContentsChanged ( this, index, index );
+        return previous;
+    }
+
+    /**
+     * Returns element stored in the specified ring buffer cell.
+     *
+     * @param ringIndex ring buffer cell index
+     * @return element stored in the specified ring buffer cell
+     */
+    @SuppressWarnings ( "unchecked" )
+    protected T elementAt ( final int ringIndex )
+    {
+        // Ring buffer cannot be a generic array, but it only receives elements through typed append and set methods
+        return ( T ) data[ ringIndex ];
+    }
+
+    /**
+     * Returns list of all model elements.
+     * Pending elements are not included.
+     *
+     * @return list of all model elements
+     */
+    public List<T> getElements ()
+    {
+        final List<T> elements = new ArrayList<T> ( size );
+        for ( int i = 0; i < size; i++ )
+        {
+            elements.add ( elementAt ( toRingIndex ( i ) ) );
+        }
+        return elements;
+    }
+
+    /**
+     * Returns index of the first occurrence of the specified element in this model or -1 if it is not in this model.
+     * Elements are compared by identity if index is enabled and by {@link Object#equals(Object)} method otherwise.
+     *
+     * @param element element to look for
+     * @return index of the first occurrence of the specified element in this model or -1 if it is not in this model
+     */
+    public int indexOf ( final Object element )
+    {
+        if ( indices != null )
+        {
+            final long[] index = indices.get ( element );
+            return index != null ? ( int ) ( index[ 0 ] - dropped ) : -1;
+        }
+        else
+        {
+            for ( int i = 0; i < size; i++ )
+            {
+                final Object e = data[ toRingIndex ( i ) ];
+                if ( element == null ? e == null : element.equals ( e ) )
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Returns whether this model contains the specified element or not.
+     *
+     * @param element element to look for
+     * @return true if this model contains the specified element, false otherwise
+     * @see #indexOf(Object)
+     */
+    public boolean contains ( final Object element )
+    {
+        return indexOf ( element ) != -1;
+    }
+
+    /**
+     * Removes all elements from this model, including pending ones.
+     */
+    public void clear ()
+    {
+        pending.clear ();
+        final int oldSize = size;
+        Arrays.fill ( data, null );
+        head = 0;
+        size = 0;
+        dropped = 0;
+        if ( indices != null )
+        {
+            indices.clear ();
+        }
+        if ( oldSize > 0 )
+        {
+            fireIntervalRemoved ( this, 0, oldSize - 1 );
+        }
+    }
+
+    /**
+     * Adds element to the end of ring buffer.
+     * The oldest element is dropped if model size limit is reached.
+     *
+     * @param element element to add
+     */
+    protected void addLast ( final T element )
+    {
+        if ( maxSize > 0 && size >= maxSize )
+        {
+            dropFirst ();
+        }
+        else if ( size == data.length )
+        {
+            grow ();
+        }
+        data[ toRingIndex ( size ) ] = element;
+        if ( indices != null )
+        {
+            addIndex ( element, dropped + size );
+        }
+        size++;
+    }
+
+    /**
+     * Removes the first element from ring buffer.
+     */
+    protected void dropFirst ()
+    {
+        final Object element = data[ head ];
+        data[ head ] = null;
+        head = head + 1 == data.length ? 0 : head + 1;
+        size--;
+        dropped++;
+        if ( indices != null )
+        {
+            removeIndex ( element, dropped - 1 );
+        }
+    }
+
+    /**
+     * Expands ring buffer.
+     */
+    protected void grow ()
+    {
+        int capacity = Math.max ( 16, data.length * 2 );
+        if ( maxSize > 0 )
+        {
+            capacity = Math.min ( capacity, maxSize );
+        }
+        final Object[] grown = new Object[ capacity ];
+        for ( int i = 0; i < size; i++ )
+        {
+            grown[ i ] = data[ toRingIndex ( i ) ];
+        }
+        data = grown;
+        head = 0;
+    }
+
+    /**
+     * Adds element occurrence at the specified position into identity index.
+     *
+     * @param element  element
+     * @param position element position counted from the first element ever added
+     */
+    protected void addIndex ( final Object element, final long position )
+    {
+        final long[] index = indices.get ( element );
+        if ( index == null )
+        {
+            indices.put ( element, new long[]{ position, 1 } );
+        }
+        else
+        {
+            index[ 0 ] = Math.min ( index[ 0 ], position );
+            index[ 1 ]++;
+        }
+    }
+
+    /**
+     * Removes element occurrence at the specified position from identity index.
+     * If the first occurrence was removed model is scanned for the next one, this only happens for elements added more than once.
+     *
+     * @param element  element
+     * @param position removed element position counted from the first element ever added
+     */
+    protected void removeIndex ( final Object element, final long position )
+    {
+        final long[] index = indices.get ( element );
+        if ( index != null )
+        {
+            index[ 1 ]--;
+            if ( index[ 1 ] <= 0 )
+            {
+                indices.remove ( element );
+            }
+            else if ( index[ 0 ] == position )
+            {
+                for ( int i = ( int ) Math.max ( 0, position + 1 - dropped ); i < size; i++ )
+                {
+                    if ( data[ toRingIndex ( i ) ] == element )
+                    {
+                        index[ 0 ] = dropped + i;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns ring buffer index for the specified model index.
+     *
+     * @param index model index
+     * @return ring buffer index for the specified model index
+     */
+    protected int toRingIndex ( final int index )
+    {
+        final int ringIndex = head + index;
+        return ringIndex < data.length ? ringIndex : ringIndex - data.length;
+    }
+
+    /**
+     * Checks that the specified index is within model bounds.
+     *
+     * @param index model index
+     * @throws ArrayIndexOutOfBoundsException if the index is negative or not less than the size of this model
+     */
+    protected void checkIndex ( final int index )
+    {
+        if ( index < 0 || index >= size )
+        {
+            throw new ArrayIndexOutOfBoundsException ( index + " >= " + size );
+        }
+    }
+}
@@ -685,6 +685,10 @@ public class WebList extends JList implements EventMethods, FontMethods<WebList>
         {
             repaint ( ( ( WebListModel ) model ).indexOf ( value ) );
         }
+        else if ( model instanceof BatchListModel )
+        {
+            repaint ( ( ( BatchListModel ) model ).indexOf ( value ) );
+        }
         else
         {
             for ( int i = 0; i < model.getSize (); i++ )
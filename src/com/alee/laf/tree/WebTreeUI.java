@@ -25,10 +25,7 @@ import com.alee.utils.*;
 import com.alee.utils.ninepatch.NinePatchIcon;
 
 import javax.swing.*;
-import javax.swing.event.TreeExpansionEvent;
-import javax.swing.event.TreeExpansionListener;
-import javax.swing.event.TreeSelectionEvent;
-import javax.swing.event.TreeSelectionListener;
+import javax.swing.event.*;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.basic.BasicTreeUI;
 import javax.swing.tree.*;
@@ -104,7 +101,9 @@ public class WebTreeUI extends BasicTreeUI
      * Runtime variables.
      */
     protected int rolloverRow = -1;
-    protected List<Integer> initialSelection = new ArrayList<Integer> ();
+    protected BitSet initialSelection = new BitSet ();
+    protected BitSet selectorSelection = null;
+    protected boolean selectorAdjusting = false;
     protected Point selectionStart = null;
     protected Point selectionEnd = null;
     protected boolean leftToRight = true;
@@ -197,6 +196,12 @@ public class WebTreeUI extends BasicTreeUI
             @Override
             public void valueChanged ( final TreeSelectionEvent e )
             {
+                // Selection applied by multiselector is not known anymore if it was changed from outside
+                if ( !selectorAdjusting )
+                {
+                    selectorSelection = null;
+                }
+
                 // Optimized selection repaint
                 repaintSelection ();
 
@@ -215,12 +220,14 @@ public class WebTreeUI extends BasicTreeUI
             @Override
             public void treeExpanded ( final TreeExpansionEvent event )
             {
+                selectorSelection = null;
                 repaintSelection ();
             }
 
             @Override
             public void treeCollapsed ( final TreeExpansionEvent event )
             {
+                selectorSelection = null;
                 repaintSelection ();
             }
         };
@@ -260,7 +267,8 @@ public class WebTreeUI extends BasicTreeUI
                                     selectionEnd = selectionStart;
 
                                     // Initial tree selection
-                                    initialSelection = getSelectionRowsList ();
+                                    initialSelection = getSelectionRowsSet ();
+                                    selectorSelection = ( BitSet ) initialSelection.clone ();
 
                                     // Updating selection
                                     validateSelection ( e );
@@ -343,6 +351,7 @@ public class WebTreeUI extends BasicTreeUI
                     // Selection
                     selectionStart = null;
                     selectionEnd = null;
+                    selectorSelection = null;
 
                     // Repainting selection on the tree
                     repaintSelector ( /*fr*/ );
@@ -351,91 +360,84 @@ public class WebTreeUI extends BasicTreeUI
 
             private void validateSelection ( final MouseEvent e )
             {
-                // todo Possibly optimize selection? - modify it instead of overwriting each time
-
                 // Selection rect
                 final Rectangle selection = GeometryUtils.getContainingRect ( selectionStart, selectionEnd );
 
                 // Compute new selection
-                final List<Integer> newSelection = new ArrayList<Integer> ();
+                final BitSet newSelection = getRowsInBounds ( selection );
                 if ( SwingUtils.isShift ( e ) )
                 {
-                    for ( int row = 0; row < tree.getRowCount (); row++ )
-                    {
-                        if ( getRowBounds ( row ).intersects ( selection ) && !initialSelection.contains ( row ) )
-                        {
-                            newSelection.add ( row );
-                        }
-                    }
-                    for ( final int row : initialSelection )
-                    {
-                        newSelection.add ( row );
-                    }
+                    newSelection.or ( initialSelection );
                 }
                 else if ( SwingUtils.isCtrl ( e ) )
                 {
-                    final List<Integer> excludedRows = new ArrayList<Integer> ();
-                    for ( int row = 0; row < tree.getRowCount (); row++ )
+                    newSelection.xor ( initialSelection );
+                }
+
+                // Change selection if it is not the same as before
+                final BitSet oldSelection = selectorSelection != null ? selectorSelection : getSelectionRowsSet ();
+                if ( !oldSelection.equals ( newSelection ) )
+                {
+                    selectorAdjusting = true;
+                    try
                     {
-                        if ( getRowBounds ( row ).intersects ( selection ) )
+                        if ( newSelection.isEmpty () )
+                        {
+                            tree.clearSelection ();
+                        }
+                        else if ( tree.getSelectionModel ().getSelectionMode () == TreeSelectionModel.DISCONTIGUOUS_TREE_SELECTION )
                         {
-                            if ( initialSelection.contains ( row ) )
+                            // Modifying only changed rows selection
+                            final BitSet removed = ( BitSet ) oldSelection.clone ();
+                            removed.andNot ( newSelection );
+                            final BitSet added = ( BitSet ) newSelection.clone ();
+                            added.andNot ( oldSelection );
+                            if ( !removed.isEmpty () )
                             {
-                                excludedRows.add ( row );
+                                tree.removeSelectionRows ( toArray ( removed ) );
                             }
-                            else
+                            if ( !added.isEmpty () )
                             {
-                                newSelection.add ( row );
+                                tree.addSelectionRows ( toArray ( added ) );
                             }
                         }
-                    }
-                    for ( final int row : initialSelection )
-                    {
-                        if ( !excludedRows.contains ( row ) )
+                        else
                         {
-                            newSelection.add ( row );
+                            tree.setSelectionRows ( toArray ( newSelection ) );
                         }
                     }
-                }
-                else
-                {
-                    for ( int row = 0; row < tree.getRowCount (); row++ )
-                    {
-                        if ( getRowBounds ( row ).intersects ( selection ) )
-                        {
-                            newSelection.add ( row );
-                        }
-                    }
-                }
-
-                // Change selection if it is not the same as before
-                if ( !CollectionUtils.areEqual ( getSelectionRowsList (), newSelection ) )
-                {
-                    if ( newSelection.size () > 0 )
-                    {
-                        tree.setSelectionRows ( CollectionUtils.toArray ( newSelection ) );
-                    }
-                    else
+                    finally
                     {
-                        tree.clearSelection ();
+                        selectorAdjusting = false;
                     }
                 }
+                selectorSelection = newSelection;
             }
 
-            private List<Integer> getSelectionRowsList ()
+            private BitSet getSelectionRowsSet ()
             {
-                final List<Integer> selection = new ArrayList<Integer> ();
+                final BitSet selection = new BitSet ();
                 final int[] selectionRows = tree.getSelectionRows ();
                 if ( selectionRows != null )
                 {
                     for ( final int row : selectionRows )
                     {
-                        selection.add ( row );
+                        selection.set ( row );
                     }
                 }
                 return selection;
             }
 
+            private int[] toArray ( final BitSet rows )
+            {
+                final int[] array = new int[ rows.cardinality () ];
+                for ( int row = rows.nextSetBit ( 0 ), i = 0; row >= 0; row = rows.nextSetBit ( row + 1 ), i++ )
+                {
+                    array[ i ] = row;
+                }
+                return array;
+            }
+
             private void repaintSelector ()
             {
                 // Replaced with full repaint due to strange tree lines painting bug
@@ -934,11 +936,12 @@ public class WebTreeUI extends BasicTreeUI
     {
         if ( tree != null )
         {
-            // todo Optimize
-            for ( int row = 0; row < tree.getRowCount (); row++ )
+            // Rows never overlap vertically so only the closest row can contain the point
+            final int row = tree.getClosestRowForLocation ( point.x, point.y );
+            if ( row != -1 )
             {
                 final Rectangle bounds = getRowBounds ( row, countFullRow );
-                if ( bounds.contains ( point ) )
+                if ( bounds != null && bounds.contains ( point ) )
                 {
                     return row;
                 }
@@ -947,6 +950,36 @@ public class WebTreeUI extends BasicTreeUI
         return -1;
     }
 
+    /**
+     * Returns indices of rows which intersect with the specified bounds.
+     * This method takes selection style into account and only checks rows located within the bounds vertically.
+     *
+     * @param bounds bounds on the tree
+     * @return indices of rows which intersect with the specified bounds
+     */
+    public BitSet getRowsInBounds ( final Rectangle bounds )
+    {
+        final BitSet rows = new BitSet ();
+        if ( tree != null && !bounds.isEmpty () )
+        {
+            final int firstRow = tree.getClosestRowForLocation ( bounds.x, bounds.y );
+            final int lastRow = tree.getClosestRowForLocation ( bounds.x, bounds.y + bounds.height - 1 );
+            if ( firstRow != -1 && lastRow != -1 )
+            {
+                final boolean countFullRow = isFullLineSelection ();
+                for ( int row = firstRow; row <= lastRow; row++ )
+                {
+                    final Rectangle rowBounds = getRowBounds ( row, countFullRow );
+                    if ( rowBounds != null && rowBounds.intersects ( bounds ) )
+                    {
+                        rows.set ( row );
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
     /**
      * Returns row bounds by its index.
      * This method takes selection style into account.
@@ -989,6 +1022,59 @@ public class WebTreeUI extends BasicTreeUI
         return b;
     }
 
+    /**
+     * Returns tree model listener which also resets rows selection applied by multiselector on tree structure changes.
+     * Rows are shifted by inserted and removed nodes so previously applied selection rows are not valid anymore.
+     *
+     * @return tree model listener
+     */
+    @Override
+    protected TreeModelListener createTreeModelListener ()
+    {
+        final TreeModelListener listener = super.createTreeModelListener ();
+        return new TreeModelListener ()
+        {
+            @Override
+            public void treeNodesChanged ( final TreeModelEvent e )
+            {
+                listener.treeNodesChanged ( e );
+            }
+
+            @Override
+            public void treeNodesInserted ( final TreeModelEvent e )
+            {
+                selectorSelection = null;
+                listener.treeNodesInserted ( e );
+            }
+
+            @Override
+            public void treeNodesRemoved ( final TreeModelEvent e )
+            {
+                selectorSelection = null;
+                listener.treeNodesRemoved ( e );
+            }
+
+            @Override
+            public void treeStructureChanged ( final TreeModelEvent e )
+            {
+                selectorSelection = null;
+                listener.treeStructureChanged ( e );
+            }
+        };
+    }
+
+    /**
+     * Sets tree model and resets rows selection applied by multiselector since it is not valid for the new model.
+     *
+     * @param model new tree model
+     */
+    @Override
+    protected void setModel ( final TreeModel model )
+    {
+        selectorSelection = null;
+        super.setModel ( model );
+    }
+
     /**
      * Returns default tree cell editor.
      *
@@ -1131,7 +1217,7 @@ public class WebTreeUI extends BasicTreeUI
     {
         if ( tree.getSelectionCount () > 0 )
         {
-            for ( final Rectangle rect : getSelectionRects () )
+            for ( final Rectangle rect : getSelectionRects ( tree.getVisibleRect () ) )
             {
                 tree.repaint ( rect );
             }
@@ -1145,6 +1231,19 @@ public class WebTreeUI extends BasicTreeUI
      * @return list of tree selections bounds
      */
     protected List<Rectangle> getSelectionRects ()
+    {
+        return getSelectionRects ( null );
+    }
+
+    /**
+     * Returns list of bounds of tree selections visible within the specified area.
+     * This method takes selection style into account and only checks rows located within the area vertically.
+     * Grouped selections crossing area edges are extended outside of it, so their rounded edges are never visible within the area.
+     *
+     * @param area area to process, null to process all tree rows
+     * @return list of bounds of tree selections visible within the specified area
+     */
+    protected List<Rectangle> getSelectionRects ( final Rectangle area )
     {
         // Return empty selection rects when custom selection painting is disabled
         if ( selectionStyle == TreeSelectionStyle.none )
@@ -1153,60 +1252,95 @@ public class WebTreeUI extends BasicTreeUI
         }
 
         // Checking that selection exists
-        final int[] rows = tree.getSelectionRows ();
-        if ( rows == null || rows.length == 0 )
+        final int rowCount = tree.getRowCount ();
+        if ( tree.getSelectionCount () == 0 || rowCount == 0 )
         {
             return Collections.emptyList ();
         }
 
-        // Sorting selected rows
-        Arrays.sort ( rows );
-
-        // Calculating selection rects
-        final List<Rectangle> selections = new ArrayList<Rectangle> ( tree.getSelectionCount () );
-        final Insets insets = tree.getInsets ();
-        Rectangle maxRect = null;
-        int lastRow = -1;
-        for ( final int row : rows )
+        // Determining rows range
+        final int firstRow;
+        final int lastRow;
+        if ( area != null )
         {
-            if ( selectionStyle == TreeSelectionStyle.single )
+            firstRow = tree.getClosestRowForLocation ( area.x, area.y );
+            lastRow = tree.getClosestRowForLocation ( area.x, area.y + Math.max ( 0, area.height - 1 ) );
+            if ( firstRow == -1 || lastRow == -1 )
             {
-                // Required bounds
-                selections.add ( tree.getRowBounds ( row ) );
+                return Collections.emptyList ();
             }
-            else
+        }
+        else
+        {
+            firstRow = 0;
+            lastRow = rowCount - 1;
+        }
+
+        // Calculating selection rects
+        final List<Rectangle> selections = new ArrayList<Rectangle> ();
+        final boolean fullLine = isFullLineSelection ();
+        for ( int row = firstRow; row <= lastRow; row++ )
+        {
+            if ( tree.isRowSelected ( row ) )
             {
-                if ( lastRow != -1 && lastRow + 1 != row )
+                if ( selectionStyle == TreeSelectionStyle.single )
                 {
-                    // Save determined group
-                    selections.add ( maxRect );
-
-                    // Reset counting
-                    maxRect = null;
-                    lastRow = -1;
+                    // Required bounds
+                    selections.add ( tree.getRowBounds ( row ) );
                 }
-                if ( lastRow == -1 || lastRow + 1 == row )
+                else
                 {
-                    // Required bounds
-                    final Rectangle b = tree.getRowBounds ( row );
-                    if ( isFullLineSelection () )
+                    // Determining selected rows group
+                    int groupStart = row;
+                    int groupEnd = row;
+                    while ( groupEnd < lastRow && tree.isRowSelected ( groupEnd + 1 ) )
+                    {
+                        groupEnd++;
+                    }
+
+                    // Group might continue outside of the area
+                    // Line selection only needs a single row outside of the area to hide rounded edges
+                    // Group selection width depends on all rows so the whole group is required
+                    if ( groupStart == firstRow )
+                    {
+                        final int minRow = fullLine ? Math.max ( 0, firstRow - 1 ) : 0;
+                        while ( groupStart > minRow && tree.isRowSelected ( groupStart - 1 ) )
+                        {
+                            groupStart--;
+                        }
+                    }
+                    if ( groupEnd == lastRow )
                     {
-                        b.x = insets.left;
-                        b.width = tree.getWidth () - insets.left - insets.right;
+                        final int maxRow = fullLine ? Math.min ( rowCount - 1, lastRow + 1 ) : rowCount - 1;
+                        while ( groupEnd < maxRow && tree.isRowSelected ( groupEnd + 1 ) )
+                        {
+                            groupEnd++;
+                        }
                     }
 
-                    // Increase rect
-                    maxRect = lastRow == -1 ? b : GeometryUtils.getContainingRect ( maxRect, b );
+                    // Group bounds
+                    Rectangle maxRect = tree.getRowBounds ( groupStart );
+                    if ( fullLine )
+                    {
+                        maxRect = GeometryUtils.getContainingRect ( maxRect, tree.getRowBounds ( groupEnd ) );
+                        final Insets insets = tree.getInsets ();
+                        maxRect.x = insets.left;
+                        maxRect.width = tree.getWidth () - insets.left - insets.right;
+                    }
+                    else
+                    {
+                        for ( int groupRow = groupStart + 1; groupRow <= groupEnd; groupRow++ )
+                        {
+                            maxRect = GeometryUtils.getContainingRect ( maxRect, tree.getRowBounds ( groupRow ) );
+                        }
+                    }
+                    selections.add ( maxRect );
 
-                    // Remember last row
-                    lastRow = row;
+                    // Skipping processed rows
+                    row = groupEnd;
                 }
             }
         }
-        if ( maxRect != null )
-        {
-            selections.add ( maxRect );
-        }
         return selections;
     }
 
@@ -1266,8 +1400,9 @@ public class WebTreeUI extends BasicTreeUI
     {
         if ( tree.getSelectionCount () > 0 )
         {
-            // Draw final selections
-            final List<Rectangle> selections = getSelectionRects ();
+            // Draw final selections visible within the clip
+            final Rectangle clip = g2d.getClipBounds ();
+            final List<Rectangle> selections = getSelectionRects ( clip != null ? clip : tree.getVisibleRect () );
             for ( final Rectangle rect : selections )
             {
                 // Bounds fix
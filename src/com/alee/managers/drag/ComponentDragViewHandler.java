@@ -17,6 +17,7 @@
 
 package com.alee.managers.drag;
 
+import com.alee.utils.ImagePool;
 import com.alee.utils.SwingUtils;
 
 import javax.swing.*;
@@ -43,6 +44,12 @@ public abstract class ComponentDragViewHandler<T extends JComponent> implements
      */
     protected WeakReference<T> reference;
 
+    /**
+     * Dragged component snapshot.
+     * It is leased from the images pool and returned into it when drag operation ends.
+     */
+    protected BufferedImage snapshot;
+
     /**
      * {@inheritDoc}
      */
@@ -56,15 +63,22 @@ public abstract class ComponentDragViewHandler<T extends JComponent> implements
             final Point eloc = event.getLocation ();
             location = new Point ( los.x - eloc.x, los.y - eloc.y );
             reference = new WeakReference<T> ( object );
+            releaseSnapshot ();
         }
 
         // Returning component snapshot
-        return SwingUtils.createComponentSnapshot ( object, getSnapshotTransparency () );
+        // It is created only once per dragged component, transparency is applied when it is painted
+        if ( snapshot == null )
+        {
+            snapshot = SwingUtils.leaseComponentSnapshot ( object, object.getWidth (), object.getHeight () );
+        }
+        return snapshot;
     }
 
     /**
      * Returns component snapshot transparency.
      * By default snapshot is semi-transparent for usability purposes.
+     * Transparency is applied when snapshot is painted, snapshot image itself is not modified.
      *
      * @return component snapshot transparency
      */
@@ -91,5 +105,18 @@ public abstract class ComponentDragViewHandler<T extends JComponent> implements
         // Clearing initial mouse location
         location = null;
         reference = null;
+        releaseSnapshot ();
+    }
+
+    /**
+     * Returns dragged component snapshot into the images pool.
+     */
+    protected void releaseSnapshot ()
+    {
+        if ( snapshot != null )
+        {
+            ImagePool.release ( snapshot );
+            snapshot = null;
+        }
     }
 }
\ No newline at end of file
@@ -107,7 +107,7 @@ public class DragManager
                                 view = dragViewHandler.getView ( data, dsde );
 
                                 glassPane = GlassPaneManager.getGlassPane ( dsc.getComponent () );
-                                glassPane.setPaintedImage ( view, getLocation ( glassPane, dsde ) );
+                                glassPane.setPaintedImage ( view, getLocation ( glassPane, dsde ), getViewOpacity () );
 
                                 break;
                             }
@@ -137,10 +137,20 @@ public class DragManager
                             glassPane.clearPaintedImage ();
                             glassPane = gp;
                         }
-                        glassPane.setPaintedImage ( view, getLocation ( glassPane, dsde ) );
+                        glassPane.setPaintedImage ( view, getLocation ( glassPane, dsde ), getViewOpacity () );
                     }
                 }
 
+                public int getViewOpacity ()
+                {
+                    if ( dragViewHandler instanceof ComponentDragViewHandler )
+                    {
+                        final float transparency = ( ( ComponentDragViewHandler ) dragViewHandler ).getSnapshotTransparency ();
+                        return Math.max ( 0, Math.min ( 100, Math.round ( transparency * 100 ) ) );
+                    }
+                    return 100;
+                }
+
                 public Point getLocation ( final WebGlassPane gp, final DragSourceDragEvent dsde )
                 {
                     final Point mp = SwingUtils.getMousePoint ( gp );
@@ -24,6 +24,7 @@ import com.alee.laf.button.WebButton;
 import com.alee.laf.toolbar.WebToolBar;
 import com.alee.managers.glasspane.GlassPaneManager;
 import com.alee.managers.glasspane.WebGlassPane;
+import com.alee.utils.ImagePool;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.swing.WebTimer;
 
@@ -49,7 +50,7 @@ public class EffectsManager
 
     public static void fadeOut ( final JComponent component )
     {
-        final BufferedImage bi = SwingUtils.createComponentSnapshot ( component );
+        final BufferedImage bi = SwingUtils.leaseComponentSnapshot ( component );
         final Rectangle b = SwingUtils.getBoundsInWindow ( component );
         final WebGlassPane wgp = GlassPaneManager.getGlassPane ( component );
 
@@ -77,6 +78,7 @@ public class EffectsManager
                 else
                 {
                     wgp.clearPaintedImage ();
+                    ImagePool.release ( bi );
                     ( ( WebTimer ) e.getSource () ).stop ();
                 }
             }
@@ -47,6 +47,10 @@ public class HotkeyInfo
     // Actual hotkey data
     private HotkeyData hotkeyData = null;
 
+    // Key under which this hotkey is stored in HotkeyManager hotkeys index, null if it is not indexed
+    // Hotkey data changed in place is only re-indexed when it is set again through setHotkeyData method
+    private Integer indexKey = null;
+
     // Hotkey tooltip display way, this doesn't affect component's tooltip displayWay - only sole hotkey tip one-time tooltip
     private TooltipWay hotkeyDisplayWay = null;
 
@@ -118,9 +122,20 @@ public class HotkeyInfo
     public HotkeyInfo setHotkeyData ( final HotkeyData hotkeyData )
     {
         this.hotkeyData = hotkeyData;
+        HotkeyManager.reindexHotkey ( this );
         return this;
     }
 
+    Integer getIndexKey ()
+    {
+        return indexKey;
+    }
+
+    void setIndexKey ( final Integer indexKey )
+    {
+        this.indexKey = indexKey;
+    }
+
     public TooltipWay getHotkeyDisplayWay ()
     {
         return hotkeyDisplayWay;
@@ -24,6 +24,7 @@ import com.alee.utils.CollectionUtils;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.TextUtils;
 import com.alee.utils.XmlUtils;
+import com.alee.utils.collection.IntHashMap;
 import com.alee.utils.compare.Filter;
 import com.alee.utils.text.TextProvider;
 
@@ -112,6 +113,13 @@ public class HotkeyManager
      */
     protected static List<HotkeyInfo> globalHotkeys = new ArrayList<HotkeyInfo> ( 2 );
 
+    /**
+     * Hotkeys index by their key code and modifiers.
+     * It allows to find hotkeys triggered by the key event without going through all registered hotkeys.
+     * Index keeps only weak references to hotkeys to avoid holding hotkey components.
+     */
+    protected static IntHashMap<List<WeakReference<HotkeyInfo>>> hotkeysIndex = new IntHashMap<List<WeakReference<HotkeyInfo>>> ();
+
     /**
      * Conditions for top components which might.
      */
@@ -226,44 +234,180 @@ public class HotkeyManager
      */
     protected static boolean hotkeyForEventExists ( final KeyEvent keyEvent )
     {
-        final int hotkeyHash = SwingUtils.hotkeyToString ( keyEvent ).hashCode ();
-        for ( final HotkeyInfo hotkeyInfo : globalHotkeys )
+        synchronized ( sync )
         {
-            if ( hotkeyInfo.getHotkeyData ().hashCode () == hotkeyHash )
-            {
-                return true;
-            }
+            return hotkeysIndex.containsKey ( getIndexKey ( keyEvent ) );
         }
-        for ( final Map.Entry<Component, List<HotkeyInfo>> entry : copyComponentHotkeys ().entrySet () )
+    }
+
+    /**
+     * Processes all registered hotkeys triggered by the specified key event.
+     *
+     * @param e key event
+     */
+    protected static void processHotkeys ( final KeyEvent e )
+    {
+        final List<HotkeyInfo> triggered;
+        synchronized ( sync )
         {
-            for ( final HotkeyInfo hotkeyInfo : entry.getValue () )
+            final int key = getIndexKey ( e );
+            final List<WeakReference<HotkeyInfo>> indexed = hotkeysIndex.get ( key );
+            if ( indexed == null )
             {
-                if ( hotkeyInfo.getHotkeyData ().hashCode () == hotkeyHash )
+                return;
+            }
+            triggered = new ArrayList<HotkeyInfo> ( indexed.size () );
+            final Iterator<WeakReference<HotkeyInfo>> iterator = indexed.iterator ();
+            while ( iterator.hasNext () )
+            {
+                final HotkeyInfo hotkeyInfo = iterator.next ().get ();
+                if ( hotkeyInfo != null )
                 {
-                    return true;
+                    triggered.add ( hotkeyInfo );
                 }
+                else
+                {
+                    iterator.remove ();
+                }
+            }
+            if ( indexed.isEmpty () )
+            {
+                hotkeysIndex.remove ( key );
             }
         }
-        return false;
+        for ( final HotkeyInfo hotkeyInfo : triggered )
+        {
+            processHotkey ( e, hotkeyInfo );
+        }
     }
 
     /**
-     * Processes all available registered hotkeys.
+     * Returns hotkeys index key for the specified key event.
      *
      * @param e key event
+     * @return hotkeys index key for the specified key event
      */
-    protected static void processHotkeys ( final KeyEvent e )
+    protected static int getIndexKey ( final KeyEvent e )
+    {
+        return getIndexKey ( SwingUtils.isShortcut ( e ), SwingUtils.isAlt ( e ), SwingUtils.isShift ( e ), e.getKeyCode () );
+    }
+
+    /**
+     * Returns hotkeys index key for the specified hotkey.
+     *
+     * @param hotkeyData hotkey data
+     * @return hotkeys index key for the specified hotkey
+     */
+    protected static int getIndexKey ( final HotkeyData hotkeyData )
+    {
+        return getIndexKey ( hotkeyData.isCtrl (), hotkeyData.isAlt (), hotkeyData.isShift (), hotkeyData.getKeyCode () );
+    }
+
+    /**
+     * Returns hotkeys index key for the specified key code and modifiers.
+     *
+     * @param isCtrl  whether hotkey requires CTRL modifier or not
+     * @param isAlt   whether hotkey requires ALT modifier or not
+     * @param isShift whether hotkey requires SHIFT modifier or not
+     * @param keyCode key code for hotkey
+     * @return hotkeys index key for the specified key code and modifiers
+     */
+    protected static int getIndexKey ( final boolean isCtrl, final boolean isAlt, final boolean isShift, final int keyCode )
+    {
+        return keyCode << 3 | ( isCtrl ? 4 : 0 ) | ( isAlt ? 2 : 0 ) | ( isShift ? 1 : 0 );
+    }
+
+    /**
+     * Adds hotkey into hotkeys index.
+     * Hotkeys without key code are not indexed since they can never be triggered.
+     * Index key is saved into hotkey information so that hotkey can be removed from index even if its data has changed.
+     *
+     * @param hotkeyInfo hotkey information
+     */
+    protected static void indexHotkey ( final HotkeyInfo hotkeyInfo )
     {
-        final Map<Component, List<HotkeyInfo>> hotkeysCopy = copyComponentHotkeys ();
-        for ( final HotkeyInfo hotkeyInfo : globalHotkeys )
+        final HotkeyData hotkeyData = hotkeyInfo.getHotkeyData ();
+        if ( hotkeyData != null && hotkeyData.isHotkeySet () )
         {
-            processHotkey ( e, hotkeyInfo );
+            final int key = getIndexKey ( hotkeyData );
+            List<WeakReference<HotkeyInfo>> indexed = hotkeysIndex.get ( key );
+            if ( indexed == null )
+            {
+                indexed = new ArrayList<WeakReference<HotkeyInfo>> ( 1 );
+                hotkeysIndex.put ( key, indexed );
+            }
+            indexed.add ( new WeakReference<HotkeyInfo> ( hotkeyInfo ) );
+            hotkeyInfo.setIndexKey ( key );
         }
-        for ( final Map.Entry<Component, List<HotkeyInfo>> entry : hotkeysCopy.entrySet () )
+    }
+
+    /**
+     * Removes hotkey from hotkeys index.
+     * Hotkey is removed using the key it was indexed under, whole index is checked if it wasn't found under that key.
+     *
+     * @param hotkeyInfo hotkey information
+     */
+    protected static void unindexHotkey ( final HotkeyInfo hotkeyInfo )
+    {
+        final Integer key = hotkeyInfo.getIndexKey ();
+        if ( key == null || !unindexHotkey ( key, hotkeyInfo ) )
         {
-            for ( final HotkeyInfo hotkeyInfo : entry.getValue () )
+            for ( final int indexKey : hotkeysIndex.keys () )
+            {
+                unindexHotkey ( indexKey, hotkeyInfo );
+            }
+        }
+        hotkeyInfo.setIndexKey ( null );
+    }
+
+    /**
+     * Removes hotkey from hotkeys index under the specified key and returns whether it was found there or not.
+     * Hotkeys which were already garbage collected are also removed from the index under that key.
+     *
+     * @param key        hotkeys index key
+     * @param hotkeyInfo hotkey information
+     * @return true if hotkey was found under the specified key, false otherwise
+     */
+    protected static boolean unindexHotkey ( final int key, final HotkeyInfo hotkeyInfo )
+    {
+        boolean found = false;
+        final List<WeakReference<HotkeyInfo>> indexed = hotkeysIndex.get ( key );
+        if ( indexed != null )
+        {
+            final Iterator<WeakReference<HotkeyInfo>> iterator = indexed.iterator ();
+            while ( iterator.hasNext () )
             {
-                processHotkey ( e, hotkeyInfo );
+                final HotkeyInfo info = iterator.next ().get ();
+                if ( info == null || info == hotkeyInfo )
+                {
+                    iterator.remove ();
+                    found |= info == hotkeyInfo;
+                }
+            }
+            if ( indexed.isEmpty () )
+            {
+                hotkeysIndex.remove ( key );
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Updates hotkeys index entry for the specified hotkey if it is registered.
+     * Should be called whenever hotkey data is changed.
+     *
+     * @param hotkeyInfo hotkey information
+     */
+    protected static void reindexHotkey ( final HotkeyInfo hotkeyInfo )
+    {
+        synchronized ( sync )
+        {
+            final JComponent forComponent = hotkeyInfo.getForComponent ();
+            final List<HotkeyInfo> hlist = forComponent != null ? getComponentHotkeysCache ( forComponent ) : globalHotkeys;
+            if ( hlist != null && hlist.contains ( hotkeyInfo ) )
+            {
+                unindexHotkey ( hotkeyInfo );
+                indexHotkey ( hotkeyInfo );
             }
         }
     }
@@ -557,6 +701,7 @@ public class HotkeyManager
                     hotkeys.put ( forComponent, new WeakReference<List<HotkeyInfo>> ( hlist ) );
                 }
                 hlist.add ( hotkeyInfo );
+                indexHotkey ( hotkeyInfo );
             }
             else
             {
@@ -564,6 +709,7 @@ public class HotkeyManager
                 if ( !globalHotkeys.contains ( hotkeyInfo ) )
                 {
                     globalHotkeys.add ( hotkeyInfo );
+                    indexHotkey ( hotkeyInfo );
                 }
             }
         }
@@ -580,15 +726,18 @@ public class HotkeyManager
                 {
                     // Clearing component hotkey cache
                     final List<HotkeyInfo> hlist = getComponentHotkeysCache ( forComponent );
-                    if ( hlist != null )
+                    if ( hlist != null && hlist.remove ( hotkeyInfo ) )
                     {
-                        hlist.remove ( hotkeyInfo );
+                        unindexHotkey ( hotkeyInfo );
                     }
                 }
                 else
                 {
                     // Clearing global hotkey cache
-                    globalHotkeys.remove ( hotkeyInfo );
+                    if ( globalHotkeys.remove ( hotkeyInfo ) )
+                    {
+                        unindexHotkey ( hotkeyInfo );
+                    }
                 }
             }
         }
@@ -614,6 +763,14 @@ public class HotkeyManager
     {
         synchronized ( sync )
         {
+            final List<HotkeyInfo> hlist = getComponentHotkeysCache ( component );
+            if ( hlist != null )
+            {
+                for ( final HotkeyInfo hotkeyInfo : hlist )
+                {
+                    unindexHotkey ( hotkeyInfo );
+                }
+            }
             component.putClientProperty ( COMPONENT_HOTKEYS_LIST_KEY, null );
             hotkeys.remove ( component );
         }
@@ -0,0 +1,323 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.settings;
+
+import com.alee.utils.XmlUtils;
+
+import java.awt.*;
+import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary SettingsGroup storage format.
+ * <p/>
+ * Each settings value is stored as a separate length-prefixed record, so values can be read from the file without decoding them.
+ * Values are decoded only when they are requested from the SettingsGroup for the first time and values which were not requested are
+ * written back as they were read. Simple values like strings, numbers, colors and geometry have compact representation, any other values
+ * are stored using XML serialization.
+ *
+ * @author Mikle Garin
+ * @see com.alee.managers.settings.SettingsFormat#binary
+ */
+
+public final class BinarySettingsFormat
+{
+    /**
+     * Binary settings file header.
+     */
+    private static final int MAGIC = 0x57534731;
+
+    /**
+     * Value types.
+     */
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte DIMENSION = 7;
+    private static final byte POINT = 8;
+    private static final byte RECTANGLE = 9;
+    private static final byte INSETS = 10;
+    private static final byte COLOR = 11;
+    private static final byte XML = 12;
+
+    /**
+     * Reads SettingsGroup from the specified file.
+     * Settings values are not decoded at this point.
+     *
+     * @param file settings file
+     * @return read SettingsGroup
+     * @throws IOException when file cannot be read or has wrong format
+     */
+    public static SettingsGroup read ( final File file ) throws IOException
+    {
+        final DataInputStream in = new DataInputStream ( new BufferedInputStream ( new FileInputStream ( file ) ) );
+        try
+        {
+            if ( in.readInt () != MAGIC )
+            {
+                throw new IOException ( "Unknown settings file format: " + file.getAbsolutePath () );
+            }
+            final String id = readString ( in );
+            final String name = readString ( in );
+            final int count = in.readInt ();
+            final Map<String, byte[]> encoded = new HashMap<String, byte[]> ( count );
+            for ( int i = 0; i < count; i++ )
+            {
+                final String key = readString ( in );
+                final byte[] value = new byte[ in.readInt () ];
+                in.readFully ( value );
+                encoded.put ( key, value );
+            }
+            final SettingsGroup settingsGroup = new SettingsGroup ( id, name );
+            settingsGroup.setEncodedSettings ( encoded );
+            return settingsGroup;
+        }
+        finally
+        {
+            in.close ();
+        }
+    }
+
+    /**
+     * Returns SettingsGroup written in binary format.
+     * SettingsGroup shouldn't be modified while it is being written, so it is recommended to write its snapshot instead.
+     *
+     * @param settingsGroup settings group to write
+     * @return SettingsGroup written in binary format
+     * @throws IOException when SettingsGroup cannot be written
+     */
+    public static byte[] write ( final SettingsGroup settingsGroup ) throws IOException
+    {
+        final Map<String, Object> settings = settingsGroup.getDecodedSettings ();
+        final Map<String, byte[]> encoded = settingsGroup.getEncodedSettings ();
+        final int count = ( settings != null ? settings.size () : 0 ) + ( encoded != null ? encoded.size () : 0 );
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream ( 64 + count * 32 );
+        final DataOutputStream out = new DataOutputStream ( bytes );
+        out.writeInt ( MAGIC );
+        writeString ( out, settingsGroup.getId () );
+        writeString ( out, settingsGroup.getName () );
+        out.writeInt ( count );
+        if ( settings != null )
+        {
+            for ( final Map.Entry<String, Object> entry : settings.entrySet () )
+            {
+                writeString ( out, entry.getKey () );
+                final byte[] value = encode ( entry.getValue () );
+                out.writeInt ( value.length );
+                out.write ( value );
+            }
+        }
+        if ( encoded != null )
+        {
+            for ( final Map.Entry<String, byte[]> entry : encoded.entrySet () )
+            {
+                writeString ( out, entry.getKey () );
+                out.writeInt ( entry.getValue ().length );
+                out.write ( entry.getValue () );
+            }
+        }
+        out.flush ();
+        return bytes.toByteArray ();
+    }
+
+    /**
+     * Returns encoded value.
+     *
+     * @param value value to encode
+     * @return encoded value
+     * @throws IOException when value cannot be encoded
+     */
+    public static byte[] encode ( final Object value ) throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream ( 16 );
+        final DataOutputStream out = new DataOutputStream ( bytes );
+        final Class type = value != null ? value.getClass () : null;
+        if ( value == null )
+        {
+            out.writeByte ( NULL );
+        }
+        else if ( type == String.class )
+        {
+            out.writeByte ( STRING );
+            writeString ( out, ( String ) value );
+        }
+        else if ( type == Boolean.class )
+        {
+            out.writeByte ( BOOLEAN );
+            out.writeBoolean ( ( Boolean ) value );
+        }
+        else if ( type == Integer.class )
+        {
+            out.writeByte ( INTEGER );
+            out.writeInt ( ( Integer ) value );
+        }
+        else if ( type == Long.class )
+        {
+            out.writeByte ( LONG );
+            out.writeLong ( ( Long ) value );
+        }
+        else if ( type == Float.class )
+        {
+            out.writeByte ( FLOAT );
+            out.writeFloat ( ( Float ) value );
+        }
+        else if ( type == Double.class )
+        {
+            out.writeByte ( DOUBLE );
+            out.writeDouble ( ( Double ) value );
+        }
+        else if ( type == Dimension.class )
+        {
+            final Dimension d = ( Dimension ) value;
+            out.writeByte ( DIMENSION );
+            out.writeInt ( d.width );
+            out.writeInt ( d.height );
+        }
+        else if ( type == Point.class )
+        {
+            final Point p = ( Point ) value;
+            out.writeByte ( POINT );
+            out.writeInt ( p.x );
+            out.writeInt ( p.y );
+        }
+        else if ( type == Rectangle.class )
+        {
+            final Rectangle r = ( Rectangle ) value;
+            out.writeByte ( RECTANGLE );
+            out.writeInt ( r.x );
+            out.writeInt ( r.y );
+            out.writeInt ( r.width );
+            out.writeInt ( r.height );
+        }
+        else if ( type == Insets.class )
+        {
+            final Insets i = ( Insets ) value;
+            out.writeByte ( INSETS );
+            out.writeInt ( i.top );
+            out.writeInt ( i.left );
+            out.writeInt ( i.bottom );
+            out.writeInt ( i.right );
+        }
+        else if ( type == Color.class )
+        {
+            out.writeByte ( COLOR );
+            out.writeInt ( ( ( Color ) value ).getRGB () );
+        }
+        else
+        {
+            out.writeByte ( XML );
+            writeString ( out, XmlUtils.toXML ( value ) );
+        }
+        out.flush ();
+        return bytes.toByteArray ();
+    }
+
+    /**
+     * Returns decoded value.
+     *
+     * @param value encoded value
+     * @return decoded value
+     * @throws IOException when value cannot be decoded
+     */
+    public static Object decode ( final byte[] value ) throws IOException
+    {
+        final DataInputStream in = new DataInputStream ( new ByteArrayInputStream ( value ) );
+        final byte type = in.readByte ();
+        switch ( type )
+        {
+            case NULL:
+                return null;
+            case STRING:
+                return readString ( in );
+            case BOOLEAN:
+                return in.readBoolean ();
+            case INTEGER:
+                return in.readInt ();
+            case LONG:
+                return in.readLong ();
+            case FLOAT:
+                return in.readFloat ();
+            case DOUBLE:
+                return in.readDouble ();
+            case DIMENSION:
+                return new Dimension ( in.readInt (), in.readInt () );
+            case POINT:
+                return new Point ( in.readInt (), in.readInt () );
+            case RECTANGLE:
+                return new Rectangle ( in.readInt (), in.readInt (), in.readInt (), in.readInt () );
+            case INSETS:
+                return new Insets ( in.readInt (), in.readInt (), in.readInt (), in.readInt () );
+            case COLOR:
+                return new Color ( in.readInt (), true );
+            case XML:
+                return XmlUtils.fromXML ( readString ( in ) );
+            default:
+                throw new IOException ( "Unknown settings value type: " + type );
+        }
+    }
+
+    /**
+     * Writes nullable string.
+     * Unlike {@link DataOutputStream#writeUTF(String)} this method doesn't limit string length.
+     *
+     * @param out    data output
+     * @param string string to write
+     * @throws IOException when string cannot be written
+     */
+    private static void writeString ( final DataOutputStream out, final String string ) throws IOException
+    {
+        if ( string == null )
+        {
+            out.writeInt ( -1 );
+        }
+        else
+        {
+            final byte[] bytes = string.getBytes ( "UTF-8" );
+            out.writeInt ( bytes.length );
+            out.write ( bytes );
+        }
+    }
+
+    /**
+     * Reads nullable string.
+     *
+     * @param in data input
+     * @return read string
+     * @throws IOException when string cannot be read
+     */
+    private static String readString ( final DataInputStream in ) throws IOException
+    {
+        final int length = in.readInt ();
+        if ( length < 0 )
+        {
+            return null;
+        }
+        else
+        {
+            final byte[] bytes = new byte[ length ];
+            in.readFully ( bytes );
+            return new String ( bytes, "UTF-8" );
+        }
+    }
+}
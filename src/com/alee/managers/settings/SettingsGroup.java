@@ -17,13 +17,16 @@
 
 package com.alee.managers.settings;
 
+import com.alee.managers.log.Log;
+import com.alee.utils.ReflectUtils;
 import com.alee.utils.TextUtils;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamConverter;
 
+import java.awt.*;
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Array;
+import java.util.*;
 
 /**
  * Settings group data class.
@@ -42,6 +45,12 @@ public class SettingsGroup implements Serializable
      */
     private static final String ID_PREFIX = "SG";
 
+    /**
+     * Immutable settings value types which are shared with settings group snapshots.
+     */
+    private static final Set<Class> IMMUTABLE_TYPES = new HashSet<Class> ( Arrays.<Class>asList ( String.class, Boolean.class,
+            Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, Color.class, Font.class ) );
+
     /**
      * Unique ID.
      */
@@ -57,6 +66,14 @@ public class SettingsGroup implements Serializable
      */
     private Map<String, Object> settings;
 
+    /**
+     * Encoded settings map.
+     * Contains settings read in binary format which were not yet requested and decoded.
+     *
+     * @see com.alee.managers.settings.BinarySettingsFormat
+     */
+    private transient Map<String, byte[]> encoded;
+
     /**
      * Constructs unnamed SettingsGroup.
      */
@@ -135,12 +152,22 @@ public class SettingsGroup implements Serializable
      *
      * @return settings map
      */
-    public Map<String, Object> getSettings ()
+    public synchronized Map<String, Object> getSettings ()
     {
         if ( settings == null )
         {
             settings = new HashMap<String, Object> ();
         }
+        if ( encoded != null )
+        {
+            final Iterator<String> keys = encoded.keySet ().iterator ();
+            while ( keys.hasNext () )
+            {
+                decode ( keys.next () );
+                keys.remove ();
+            }
+            encoded = null;
+        }
         return settings;
     }
 
@@ -149,9 +176,82 @@ public class SettingsGroup implements Serializable
      *
      * @param settings new settings map
      */
-    public void setSettings ( final Map<String, Object> settings )
+    public synchronized void setSettings ( final Map<String, Object> settings )
     {
         this.settings = settings;
+        this.encoded = null;
+    }
+
+    /**
+     * Returns decoded settings map without decoding any encoded settings.
+     *
+     * @return decoded settings map, might be null
+     */
+    synchronized Map<String, Object> getDecodedSettings ()
+    {
+        return settings;
+    }
+
+    /**
+     * Returns encoded settings map which were not yet decoded.
+     *
+     * @return encoded settings map, might be null
+     */
+    synchronized Map<String, byte[]> getEncodedSettings ()
+    {
+        return encoded;
+    }
+
+    /**
+     * Sets encoded settings map.
+     * Settings from this map will be decoded only when requested.
+     *
+     * @param encoded encoded settings map
+     */
+    synchronized void setEncodedSettings ( final Map<String, byte[]> encoded )
+    {
+        this.settings = null;
+        this.encoded = encoded;
+    }
+
+    /**
+     * Decodes value for the specified key and puts it into settings map.
+     * Key is not removed from encoded settings map.
+     *
+     * @param key key
+     */
+    private void decode ( final String key )
+    {
+        try
+        {
+            settings.put ( key, BinarySettingsFormat.decode ( encoded.get ( key ) ) );
+        }
+        catch ( final Throwable e )
+        {
+            if ( SettingsManager.isLoggingEnabled () )
+            {
+                Log.error ( this, "Unable to load settings entry for group \"" + name + "\" under key \"" + key +
+                        "\" due to unexpected exception:", e );
+            }
+        }
+    }
+
+    /**
+     * Decodes value for the specified key if it is not yet decoded.
+     *
+     * @param key key
+     */
+    private void ensureDecoded ( final String key )
+    {
+        if ( encoded != null && encoded.containsKey ( key ) )
+        {
+            if ( settings == null )
+            {
+                settings = new HashMap<String, Object> ();
+            }
+            decode ( key );
+            encoded.remove ( key );
+        }
     }
 
     /**
@@ -160,9 +260,10 @@ public class SettingsGroup implements Serializable
      * @param key key
      * @return value for specified key
      */
-    public Object get ( final String key )
+    public synchronized Object get ( final String key )
     {
-        return getSettings ().get ( key );
+        ensureDecoded ( key );
+        return settings != null ? settings.get ( key ) : null;
     }
 
     /**
@@ -171,9 +272,10 @@ public class SettingsGroup implements Serializable
      * @param key settings key
      * @return settings previously saved under the specified key
      */
-    public Object remove ( final String key )
+    public synchronized Object remove ( final String key )
     {
-        return getSettings ().remove ( key );
+        ensureDecoded ( key );
+        return settings != null ? settings.remove ( key ) : null;
     }
 
     /**
@@ -184,8 +286,78 @@ public class SettingsGroup implements Serializable
      * @param <T>    value type
      * @return previous value for the specified key
      */
-    public <T> T put ( final String key, final T object )
+    public synchronized <T> T put ( final String key, final T object )
+    {
+        ensureDecoded ( key );
+        if ( settings == null )
+        {
+            settings = new HashMap<String, Object> ();
+        }
+        return ( T ) settings.put ( key, object );
+    }
+
+    /**
+     * Returns detached copy of this SettingsGroup which can be written in another thread.
+     * Copy is structural - settings maps are copied and mutable values are cloned, values are not encoded at this point, so taking
+     * snapshot is cheap enough to be done in the thread which modifies settings values, usually that is Event Dispatch Thread.
+     * Immutable values and values which cannot be cloned are shared with the copy, so such values should be replaced rather than
+     * modified in place.
+     *
+     * @return detached copy of this SettingsGroup
+     */
+    public synchronized SettingsGroup snapshot ()
     {
-        return ( T ) getSettings ().put ( key, object );
+        final SettingsGroup snapshot = new SettingsGroup ( id, name );
+        if ( settings != null )
+        {
+            snapshot.settings = new HashMap<String, Object> ( settings.size () );
+            for ( final Map.Entry<String, Object> entry : settings.entrySet () )
+            {
+                snapshot.settings.put ( entry.getKey (), copy ( entry.getValue () ) );
+            }
+        }
+        if ( encoded != null )
+        {
+            snapshot.encoded = new HashMap<String, byte[]> ( encoded );
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns copy of the specified settings value or the value itself if it is immutable or cannot be cloned.
+     *
+     * @param value settings value
+     * @return copy of the specified settings value or the value itself if it is immutable or cannot be cloned
+     */
+    private static Object copy ( final Object value )
+    {
+        if ( value == null || IMMUTABLE_TYPES.contains ( value.getClass () ) || value instanceof Enum )
+        {
+            return value;
+        }
+        else if ( value.getClass ().isArray () )
+        {
+            final int length = Array.getLength ( value );
+            final Object copy = Array.newInstance ( value.getClass ().getComponentType (), length );
+            System.arraycopy ( value, 0, copy, 0, length );
+            return copy;
+        }
+        else if ( value instanceof Cloneable )
+        {
+            try
+            {
+                final Object copy = ReflectUtils.cloneObject ( value );
+                return copy != null ? copy : value;
+            }
+            catch ( final Throwable e )
+            {
+                // Values without public clone method are shared
+                return value;
+            }
+        }
+        else
+        {
+            return value;
+        }
     }
 }
\ No newline at end of file
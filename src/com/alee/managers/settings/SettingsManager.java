@@ -22,12 +22,9 @@ import com.alee.utils.CollectionUtils;
 import com.alee.utils.FileUtils;
 import com.alee.utils.ReflectUtils;
 import com.alee.utils.XmlUtils;
-import com.alee.utils.swing.WebTimer;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -70,6 +67,21 @@ public class SettingsManager
      */
     protected static String backupFilesExtension = ".backup";
 
+    /**
+     * Binary settings files extension.
+     */
+    protected static String binaryFilesExtension = ".bin";
+
+    /**
+     * Default settings groups storage format.
+     */
+    protected static SettingsFormat defaultSettingsFormat = SettingsFormat.xml;
+
+    /**
+     * Redefined per-group settings storage formats.
+     */
+    protected static final Map<String, SettingsFormat> groupFormat = new HashMap<String, SettingsFormat> ();
+
     /**
      * Default settings directory location.
      */
@@ -115,26 +127,21 @@ public class SettingsManager
      */
     protected static boolean saveDefaultValues = true;
 
-    /**
-     * Save-on-change scheduler lock object.
-     */
-    protected static final Object saveOnChangeLock = new Object ();
-
     /**
      * Save-on-change save delay in milliseconds.
-     * If larger than 0 then settings will be accumulated and saved all at once as soon as no new changes came within the delay time.
+     * If larger than 0 then settings will be accumulated and saved all at once as soon as the delay time passes.
      */
     protected static long saveOnChangeDelay = 500;
 
     /**
-     * Save-on-change scheduler timer.
+     * Background settings groups writer.
      */
-    protected static WebTimer groupSaveScheduler = null;
+    protected static final SettingsWriter settingsWriter = new SettingsWriter ();
 
     /**
-     * Delayed settings groups to save.
+     * Whether pending settings changes should be saved on application exit or not.
      */
-    protected static final List<String> groupsToSaveOnChange = new ArrayList<String> ();
+    protected static boolean flushOnExit = true;
 
     /**
      * Whether settings log is enabled or not.
@@ -175,6 +182,19 @@ public class SettingsManager
 
             // Initializing sub-manager
             ComponentSettingsManager.initializeManager ();
+
+            // Saving pending changes on exit
+            Runtime.getRuntime ().addShutdownHook ( new Thread ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    if ( flushOnExit )
+                    {
+                        flushSettings ();
+                    }
+                }
+            }, "SettingsManager.flushOnExit" ) );
         }
     }
 
@@ -914,13 +934,17 @@ public class SettingsManager
      */
     public static void resetGroup ( final String group )
     {
+        // Cancelling pending group save
+        settingsWriter.cancel ( group );
+
         // Removing group file if it exists
         final File dir = new File ( getGroupFilePath ( group ) );
         if ( dir.exists () && dir.isDirectory () )
         {
-            final File file = getGroupFile ( group, dir );
+            final File file = getGroupFile ( group, dir, SettingsFormat.xml );
             final File backupFile = getGroupBackupFile ( group, dir );
-            FileUtils.deleteFiles ( file, backupFile );
+            final File binaryFile = getGroupFile ( group, dir, SettingsFormat.binary );
+            FileUtils.deleteFiles ( file, backupFile, binaryFile );
         }
 
         // Resetting group if it was already loaded
@@ -994,17 +1018,50 @@ public class SettingsManager
     {
         SettingsGroup settingsGroup = null;
 
+        // Whether or not settings group should be rewritten in its current format
+        boolean migrate = false;
+
         // Settings group file           
         final File dir = new File ( getGroupFilePath ( group ) );
         if ( dir.exists () && dir.isDirectory () )
         {
-            final File file = getGroupFile ( group, dir );
+            final SettingsFormat format = getGroupFormat ( group );
+            final File file = getGroupFile ( group, dir, SettingsFormat.xml );
             final File backupFile = getGroupBackupFile ( group, dir );
+            final File binaryFile = getGroupFile ( group, dir, SettingsFormat.binary );
+            final boolean xmlExists = file.exists () && file.isFile () || backupFile.exists () && backupFile.isFile ();
 
             // todo Modify read logic so that;
             // todo 1. Backup reading occurs only if original file cannot be read
             // todo 2. Do not delete the settings that cannot be read right away, just move them aside with ".failed" extension mark
-            if ( file.exists () && file.isFile () || backupFile.exists () && backupFile.isFile () )
+            if ( binaryFile.exists () && binaryFile.isFile () && ( format == SettingsFormat.binary || !xmlExists ) )
+            {
+                try
+                {
+                    // Read binary SettingsGroup, its values are decoded only when requested
+                    settingsGroup = BinarySettingsFormat.read ( binaryFile );
+
+                    // Saving settings group read state
+                    groupState.put ( group, new SettingsGroupState ( ReadState.ok ) );
+
+                    // Rewriting settings if format has changed
+                    migrate = format != SettingsFormat.binary;
+
+                    Log.info ( SettingsManager.class, "Settings group \"" + group + "\" loaded successfully" );
+                }
+                catch ( final Throwable e )
+                {
+                    Log.error ( SettingsManager.class, "Unable to load settings group \"" + group +
+                            "\" due to unexpected exception:", e );
+
+                    // Delete incorrect SettingsGroup file
+                    FileUtils.deleteFile ( binaryFile );
+
+                    // Saving settings group read state
+                    groupState.put ( group, new SettingsGroupState ( ReadState.failed, e ) );
+                }
+            }
+            else if ( xmlExists )
             {
                 // Check if there is a group backup file and restore it
                 boolean readFromBackup = false;
@@ -1031,6 +1088,9 @@ public class SettingsManager
                         // Saving settings group read state
                         groupState.put ( group, new SettingsGroupState ( readFromBackup ? ReadState.restored : ReadState.ok ) );
 
+                        // Rewriting settings if format has changed
+                        migrate = format != SettingsFormat.xml;
+
                         final String state = readFromBackup ? "restored from backup" : "loaded";
                         Log.info ( SettingsManager.class, "Settings group \"" + group + "\" " + state + " successfully" );
                     }
@@ -1070,6 +1130,13 @@ public class SettingsManager
         }
 
         groups.put ( group, settingsGroup );
+
+        // Rewriting settings group read in another format
+        if ( migrate && allowSave )
+        {
+            delayedSaveSettingsGroup ( group );
+        }
+
         return settingsGroup;
     }
 
@@ -1113,56 +1180,48 @@ public class SettingsManager
     {
         if ( allowSave )
         {
-            try
-            {
-                // Used values
-                final String group = settingsGroup.getName ();
-                final File dir = new File ( getGroupFilePath ( group ) );
-
-                // Ensure group settings directory exists and perform save
-                if ( FileUtils.ensureDirectoryExists ( dir ) )
-                {
-                    // Settings file
-                    final File file = getGroupFile ( group, dir );
-
-                    // Creating settings backup if there are old settings
-                    File backupFile = null;
-                    if ( file.exists () )
-                    {
-                        backupFile = getGroupBackupFile ( group, dir );
-                        FileUtils.copyFile ( file, backupFile );
-                    }
+            settingsWriter.save ( settingsGroup );
+        }
+    }
 
-                    // Saving settings
-                    XmlUtils.toXML ( settingsGroup, file );
+    /**
+     * Saves all settings groups which are waiting for delayed save right away.
+     * This method blocks until all pending changes are written.
+     */
+    public static void flushSettings ()
+    {
+        settingsWriter.flush ();
+    }
 
-                    // Removing backup file if save was successful
-                    if ( backupFile != null && backupFile.exists () )
-                    {
-                        FileUtils.deleteFile ( backupFile );
-                    }
+    /**
+     * Returns last save information for the specified settings group.
+     *
+     * @param group settings group name
+     * @return last save information for the specified settings group or null if it wasn't saved yet
+     */
+    public static SettingsSaveInfo getSaveInfo ( final String group )
+    {
+        return settingsWriter.getSaveInfo ( group );
+    }
 
-                    if ( saveLoggingEnabled )
-                    {
-                        Log.info ( SettingsManager.class, "Settings group \"" + group + "\" saved successfully" );
-                    }
-                }
-                else
-                {
-                    throw new RuntimeException ( "Cannot create settings directory: " + dir.getAbsolutePath () );
-                }
-            }
-            catch ( final Throwable e )
-            {
-                Log.error ( SettingsManager.class, "Unable to save settings group \"" + settingsGroup.getName () +
-                        "\" due to unexpected exception:", e );
-            }
-        }
+    /**
+     * Returns last save information for all saved settings groups.
+     *
+     * @return last save information for all saved settings groups
+     */
+    public static List<SettingsSaveInfo> getSaveInfos ()
+    {
+        return settingsWriter.getSaveInfos ();
     }
 
     protected static File getGroupFile ( final String group, final File dir )
     {
-        return new File ( dir, group + settingsFilesExtension );
+        return getGroupFile ( group, dir, getGroupFormat ( group ) );
+    }
+
+    protected static File getGroupFile ( final String group, final File dir, final SettingsFormat format )
+    {
+        return new File ( dir, group + ( format == SettingsFormat.binary ? binaryFilesExtension : settingsFilesExtension ) );
     }
 
     protected static File getGroupBackupFile ( final String group, final File dir )
@@ -1171,59 +1230,15 @@ public class SettingsManager
     }
 
     /**
-     * Delays settings group save or performs it immediately according to settings manager configuration.
+     * Schedules settings group save in background according to settings manager configuration.
      *
      * @param group name of the settings group to save
      */
     protected static void delayedSaveSettingsGroup ( final String group )
     {
-        // Determining when we should save changes into file system
-        if ( saveOnChangeDelay > 0 )
-        {
-            // Delaying save
-            synchronized ( saveOnChangeLock )
-            {
-                // Adding group for delayed save
-                if ( !groupsToSaveOnChange.contains ( group ) )
-                {
-                    groupsToSaveOnChange.add ( group );
-                }
-
-                // Launching scheduler if it is not yet launched
-                if ( groupSaveScheduler == null || !groupSaveScheduler.isRunning () )
-                {
-                    if ( groupSaveScheduler == null )
-                    {
-                        groupSaveScheduler = new WebTimer ( "SettingsManager.groupSaveScheduler", saveOnChangeDelay, new ActionListener ()
-                        {
-                            @Override
-                            public void actionPerformed ( final ActionEvent e )
-                            {
-                                synchronized ( saveOnChangeLock )
-                                {
-                                    for ( final String group : groupsToSaveOnChange )
-                                    {
-                                        saveSettingsGroup ( group );
-                                    }
-                                    groupsToSaveOnChange.clear ();
-                                }
-                            }
-                        } );
-                        groupSaveScheduler.setRepeats ( false );
-                    }
-                    else
-                    {
-                        groupSaveScheduler.setDelay ( saveOnChangeDelay );
-                    }
-                    groupSaveScheduler.start ();
-                }
-            }
-        }
-        else
-        {
-            // Saving right away
-            saveSettingsGroup ( group );
-        }
+        // Settings group is saved in background after the delay
+        // All changes made within the delay time are saved at once
+        settingsWriter.schedule ( getSettingsGroup ( group ), saveOnChangeDelay );
     }
 
     /**
@@ -1373,6 +1388,78 @@ public class SettingsManager
         SettingsManager.backupFilesExtension = backupFilesExtension;
     }
 
+    /**
+     * Returns binary settings files extension.
+     *
+     * @return binary settings files extension
+     */
+    public static String getBinaryFilesExtension ()
+    {
+        return binaryFilesExtension;
+    }
+
+    /**
+     * Sets binary settings files extension.
+     *
+     * @param binaryFilesExtension new binary settings files extension
+     */
+    public static void setBinaryFilesExtension ( final String binaryFilesExtension )
+    {
+        SettingsManager.binaryFilesExtension = binaryFilesExtension;
+    }
+
+    /**
+     * Returns default settings groups storage format.
+     *
+     * @return default settings groups storage format
+     */
+    public static SettingsFormat getDefaultSettingsFormat ()
+    {
+        return defaultSettingsFormat;
+    }
+
+    /**
+     * Sets default settings groups storage format.
+     * Groups stored in another format will be converted into this format when they are loaded.
+     *
+     * @param defaultSettingsFormat new default settings groups storage format
+     */
+    public static void setDefaultSettingsFormat ( final SettingsFormat defaultSettingsFormat )
+    {
+        SettingsManager.defaultSettingsFormat = defaultSettingsFormat;
+    }
+
+    /**
+     * Sets storage format for the specified settings group.
+     * Group stored in another format will be converted into this format when it is loaded.
+     * Format should be set before the group is loaded, preferably right at the application startup.
+     *
+     * @param group  settings group name
+     * @param format settings group storage format
+     */
+    public static void setGroupFormat ( final String group, final SettingsFormat format )
+    {
+        synchronized ( groupFormat )
+        {
+            groupFormat.put ( group, format );
+        }
+    }
+
+    /**
+     * Returns storage format for the specified settings group.
+     *
+     * @param group settings group name
+     * @return storage format for the specified settings group
+     */
+    public static SettingsFormat getGroupFormat ( final String group )
+    {
+        synchronized ( groupFormat )
+        {
+            final SettingsFormat format = groupFormat.get ( group );
+            return format != null ? format : defaultSettingsFormat;
+        }
+    }
+
     /**
      * Returns default settings directory.
      *
@@ -1531,6 +1618,26 @@ public class SettingsManager
         SettingsManager.saveOnChangeDelay = saveOnChangeDelay;
     }
 
+    /**
+     * Returns whether pending settings changes should be saved on application exit or not.
+     *
+     * @return true if pending settings changes should be saved on application exit, false otherwise
+     */
+    public static boolean isFlushOnExit ()
+    {
+        return flushOnExit;
+    }
+
+    /**
+     * Sets whether pending settings changes should be saved on application exit or not.
+     *
+     * @param flushOnExit whether pending settings changes should be saved on application exit or not
+     */
+    public static void setFlushOnExit ( final boolean flushOnExit )
+    {
+        SettingsManager.flushOnExit = flushOnExit;
+    }
+
     /**
      * Returns whether should display settings load and save error messages or not.
      *
@@ -0,0 +1,161 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.settings;
+
+/**
+ * Timing information about single settings group save operation.
+ * All durations are measured in nanoseconds.
+ *
+ * @author Mikle Garin
+ * @see com.alee.managers.settings.SettingsManager#getSaveInfo(String)
+ */
+
+public final class SettingsSaveInfo
+{
+    /**
+     * Saved settings group name.
+     */
+    private final String group;
+
+    /**
+     * Saved file size in bytes.
+     */
+    private final long size;
+
+    /**
+     * Time spent on settings group snapshot.
+     */
+    private final long snapshotTime;
+
+    /**
+     * Time spent on settings group serialization.
+     */
+    private final long serializationTime;
+
+    /**
+     * Time spent on writing settings file.
+     */
+    private final long writeTime;
+
+    /**
+     * Save operation completion time in milliseconds.
+     */
+    private final long saveTime;
+
+    /**
+     * Constructs new settings group save information.
+     *
+     * @param group             saved settings group name
+     * @param size              saved file size in bytes
+     * @param snapshotTime      time spent on settings group snapshot
+     * @param serializationTime time spent on settings group serialization
+     * @param writeTime         time spent on writing settings file
+     * @param saveTime          save operation completion time in milliseconds
+     */
+    public SettingsSaveInfo ( final String group, final long size, final long snapshotTime, final long serializationTime,
+                              final long writeTime, final long saveTime )
+    {
+        super ();
+        this.group = group;
+        this.size = size;
+        this.snapshotTime = snapshotTime;
+        this.serializationTime = serializationTime;
+        this.writeTime = writeTime;
+        this.saveTime = saveTime;
+    }
+
+    /**
+     * Returns saved settings group name.
+     *
+     * @return saved settings group name
+     */
+    public String getGroup ()
+    {
+        return group;
+    }
+
+    /**
+     * Returns saved file size in bytes.
+     *
+     * @return saved file size in bytes
+     */
+    public long getSize ()
+    {
+        return size;
+    }
+
+    /**
+     * Returns time spent on settings group snapshot in nanoseconds.
+     *
+     * @return time spent on settings group snapshot in nanoseconds
+     */
+    public long getSnapshotTime ()
+    {
+        return snapshotTime;
+    }
+
+    /**
+     * Returns time spent on settings group serialization in nanoseconds.
+     *
+     * @return time spent on settings group serialization in nanoseconds
+     */
+    public long getSerializationTime ()
+    {
+        return serializationTime;
+    }
+
+    /**
+     * Returns time spent on writing settings file in nanoseconds.
+     *
+     * @return time spent on writing settings file in nanoseconds
+     */
+    public long getWriteTime ()
+    {
+        return writeTime;
+    }
+
+    /**
+     * Returns total save operation duration in nanoseconds.
+     *
+     * @return total save operation duration in nanoseconds
+     */
+    public long getTotalTime ()
+    {
+        return snapshotTime + serializationTime + writeTime;
+    }
+
+    /**
+     * Returns save operation completion time in milliseconds.
+     *
+     * @return save operation completion time in milliseconds
+     */
+    public long getSaveTime ()
+    {
+        return saveTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString ()
+    {
+        return "\"" + group + "\" " + size + " bytes in " + getTotalTime () / 1000000f + " ms (snapshot: " + snapshotTime / 1000000f +
+                " ms, serialization: " + serializationTime / 1000000f + " ms, write: " + writeTime / 1000000f + " ms)";
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.settings;
+
+import com.alee.managers.log.Log;
+import com.alee.utils.FileUtils;
+import com.alee.utils.XmlUtils;
+import com.alee.utils.concurrent.DaemonThreadFactory;
+
+import javax.swing.*;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background settings groups writer used by SettingsManager.
+ * <p/>
+ * Changed groups are accumulated and saved all at once after the specified delay, so repeated changes of the same group result in
+ * a single save operation. Once the delay passes groups are copied in Event Dispatch Thread, where settings are normally modified.
+ * Copying is cheap since it only copies settings maps and clones mutable values, see {@link SettingsGroup#snapshot()}. Copies are
+ * then serialized straight into the target format and written into files in a separate thread while settings keep changing.
+ * <p/>
+ * Groups saved or flushed directly are copied in the calling thread instead, so settings should not be modified in other threads
+ * while that happens. Those groups are still serialized and written in the writer thread, calling thread only waits for that.
+ * <p/>
+ * Settings files are written atomically - data is written into a temporary file which is synced to the disk and then moved over the
+ * old settings file. So the settings file always contains either old or new settings and no backup copy is required.
+ *
+ * @author Mikle Garin
+ * @see com.alee.managers.settings.SettingsManager
+ */
+
+public class SettingsWriter
+{
+    /**
+     * Temporary files extension.
+     */
+    public static String tempFilesExtension = ".tmp";
+
+    /**
+     * Settings writer thread.
+     */
+    protected final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor ( new DaemonThreadFactory () );
+
+    /**
+     * Pending groups lock object.
+     */
+    protected final Object pendingLock = new Object ();
+
+    /**
+     * Settings groups waiting to be saved.
+     */
+    protected final Map<String, SettingsGroup> pending = new LinkedHashMap<String, SettingsGroup> ();
+
+    /**
+     * Scheduled save operation.
+     */
+    protected ScheduledFuture<?> scheduled = null;
+
+    /**
+     * Files write lock object.
+     * Ensures that the same group is never written from multiple threads at once.
+     */
+    protected final Object writeLock = new Object ();
+
+    /**
+     * Last save information for each settings group.
+     */
+    protected final Map<String, SettingsSaveInfo> saveInfos = new HashMap<String, SettingsSaveInfo> ();
+
+    /**
+     * Schedules settings group save.
+     * Group is saved along with all other pending groups once the delay passes.
+     *
+     * @param settingsGroup settings group to save
+     * @param delay         save delay in milliseconds
+     */
+    public void schedule ( final SettingsGroup settingsGroup, final long delay )
+    {
+        synchronized ( pendingLock )
+        {
+            pending.put ( settingsGroup.getName (), settingsGroup );
+            if ( scheduled == null )
+            {
+                scheduled = executor.schedule ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        SwingUtilities.invokeLater ( new Runnable ()
+                        {
+                            @Override
+                            public void run ()
+                            {
+                                // Taking snapshots in Event Dispatch Thread and writing them in background
+                                final List<Snapshot> snapshots = takePending ();
+                                if ( !snapshots.isEmpty () )
+                                {
+                                    executor.execute ( new Runnable ()
+                                    {
+                                        @Override
+                                        public void run ()
+                                        {
+                                            save ( snapshots );
+                                        }
+                                    } );
+                                }
+                            }
+                        } );
+                    }
+                }, Math.max ( 0, delay ), TimeUnit.MILLISECONDS );
+            }
+        }
+    }
+
+    /**
+     * Cancels pending save of the specified settings group.
+     *
+     * @param group settings group name
+     */
+    public void cancel ( final String group )
+    {
+        synchronized ( pendingLock )
+        {
+            pending.remove ( group );
+        }
+    }
+
+    /**
+     * Returns whether there are settings groups waiting to be saved or not.
+     *
+     * @return true if there are settings groups waiting to be saved, false otherwise
+     */
+    public boolean hasPending ()
+    {
+        synchronized ( pendingLock )
+        {
+            return !pending.isEmpty ();
+        }
+    }
+
+    /**
+     * Saves all pending settings groups and waits until they are written.
+     * This method also waits for any background save which is already in progress.
+     */
+    public void flush ()
+    {
+        saveAndWait ( takePending () );
+    }
+
+    /**
+     * Saves specified settings group and waits until it is written.
+     * Any exceptions are logged and do not get thrown outside.
+     *
+     * @param settingsGroup settings group to save
+     */
+    public void save ( final SettingsGroup settingsGroup )
+    {
+        cancel ( settingsGroup.getName () );
+        final Snapshot snapshot = takeSnapshot ( settingsGroup );
+        if ( snapshot != null )
+        {
+            saveAndWait ( Collections.singletonList ( snapshot ) );
+        }
+    }
+
+    /**
+     * Saves specified settings groups snapshots in the writer thread and waits until they are written.
+     * Since writer thread is single any background save which is already in progress is also awaited.
+     *
+     * @param snapshots settings groups snapshots
+     */
+    protected void saveAndWait ( final List<Snapshot> snapshots )
+    {
+        try
+        {
+            executor.submit ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    save ( snapshots );
+                }
+            } ).get ();
+        }
+        catch ( final Throwable e )
+        {
+            Log.error ( SettingsManager.class, "Unable to wait for settings save:", e );
+        }
+    }
+
+    /**
+     * Returns snapshots of all pending settings groups taken in the current thread.
+     * Pending groups are cleared afterwards.
+     *
+     * @return snapshots of all pending settings groups
+     */
+    protected List<Snapshot> takePending ()
+    {
+        final List<SettingsGroup> groups;
+        synchronized ( pendingLock )
+        {
+            groups = new ArrayList<SettingsGroup> ( pending.values () );
+            pending.clear ();
+            if ( scheduled != null )
+            {
+                scheduled.cancel ( false );
+                scheduled = null;
+            }
+        }
+        final List<Snapshot> snapshots = new ArrayList<Snapshot> ( groups.size () );
+        if ( SettingsManager.isAllowSave () )
+        {
+            for ( final SettingsGroup settingsGroup : groups )
+            {
+                final Snapshot snapshot = takeSnapshot ( settingsGroup );
+                if ( snapshot != null )
+                {
+                    snapshots.add ( snapshot );
+                }
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Returns snapshot of the specified settings group taken in the current thread or null if it cannot be taken.
+     * Snapshot only copies settings, values are serialized later in the writer thread.
+     * Any exceptions are logged and do not get thrown outside.
+     *
+     * @param settingsGroup settings group
+     * @return snapshot of the specified settings group or null if it cannot be taken
+     */
+    protected Snapshot takeSnapshot ( final SettingsGroup settingsGroup )
+    {
+        try
+        {
+            final long start = System.nanoTime ();
+            final SettingsGroup group = settingsGroup.snapshot ();
+            return new Snapshot ( group, System.nanoTime () - start );
+        }
+        catch ( final Throwable e )
+        {
+            Log.error ( SettingsManager.class, "Unable to save settings group \"" + settingsGroup.getName () +
+                    "\" due to unexpected exception:", e );
+            return null;
+        }
+    }
+
+    /**
+     * Saves specified settings groups snapshots in the current thread.
+     *
+     * @param snapshots settings groups snapshots
+     */
+    protected void save ( final List<Snapshot> snapshots )
+    {
+        for ( final Snapshot snapshot : snapshots )
+        {
+            save ( snapshot );
+        }
+    }
+
+    /**
+     * Saves specified settings group snapshot in the current thread.
+     * Any exceptions are logged and do not get thrown outside.
+     *
+     * @param snapshot settings group snapshot
+     */
+    protected void save ( final Snapshot snapshot )
+    {
+        final String group = snapshot.group.getName ();
+        try
+        {
+            final File dir = new File ( SettingsManager.getGroupFilePath ( group ) );
+            if ( FileUtils.ensureDirectoryExists ( dir ) )
+            {
+                final SettingsFormat format = SettingsManager.getGroupFormat ( group );
+                final SettingsSaveInfo info = write ( snapshot, format, SettingsManager.getGroupFile ( group, dir, format ) );
+
+                // Removing settings file left in another format
+                final SettingsFormat other = format == SettingsFormat.binary ? SettingsFormat.xml : SettingsFormat.binary;
+                final File otherFile = SettingsManager.getGroupFile ( group, dir, other );
+                if ( otherFile.exists () )
+                {
+                    FileUtils.deleteFile ( otherFile );
+                }
+
+                if ( SettingsManager.isSaveLoggingEnabled () )
+                {
+                    Log.info ( SettingsManager.class, "Settings group " + info + " saved successfully" );
+                }
+            }
+            else
+            {
+                throw new RuntimeException ( "Cannot create settings directory: " + dir.getAbsolutePath () );
+            }
+        }
+        catch ( final Throwable e )
+        {
+            Log.error ( SettingsManager.class, "Unable to save settings group \"" + group + "\" due to unexpected exception:", e );
+        }
+    }
+
+    /**
+     * Writes settings group snapshot into the specified file and returns save information.
+     *
+     * @param snapshot settings group snapshot
+     * @param format   settings storage format
+     * @param file     settings file
+     * @return save information
+     * @throws IOException when settings file cannot be written
+     */
+    protected SettingsSaveInfo write ( final Snapshot snapshot, final SettingsFormat format, final File file ) throws IOException
+    {
+        synchronized ( writeLock )
+        {
+            // Snapshot values are serialized only once straight into the target format
+            final long start = System.nanoTime ();
+            final byte[] data = format == SettingsFormat.binary ? BinarySettingsFormat.write ( snapshot.group ) :
+                    XmlUtils.toXML ( snapshot.group ).getBytes ( "UTF-8" );
+            final long serialized = System.nanoTime ();
+            writeAtomically ( data, file );
+            final long written = System.nanoTime ();
+
+            final SettingsSaveInfo info = new SettingsSaveInfo ( snapshot.group.getName (), data.length, snapshot.time,
+                    serialized - start, written - serialized, System.currentTimeMillis () );
+            synchronized ( saveInfos )
+            {
+                saveInfos.put ( info.getGroup (), info );
+            }
+            return info;
+        }
+    }
+
+    /**
+     * Writes data into the specified file atomically.
+     * Data is written into a temporary file first, synced to the disk and then moved over the specified file.
+     *
+     * @param data data to write
+     * @param file file to write data into
+     * @throws IOException when file cannot be written
+     */
+    protected void writeAtomically ( final byte[] data, final File file ) throws IOException
+    {
+        final File temp = new File ( file.getParentFile (), file.getName () + tempFilesExtension );
+        final FileOutputStream fos = new FileOutputStream ( temp );
+        try
+        {
+            fos.write ( data );
+            fos.flush ();
+            fos.getFD ().sync ();
+        }
+        finally
+        {
+            fos.close ();
+        }
+        try
+        {
+            Files.move ( temp.toPath (), file.toPath (), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING );
+        }
+        catch ( final AtomicMoveNotSupportedException e )
+        {
+            Files.move ( temp.toPath (), file.toPath (), StandardCopyOption.REPLACE_EXISTING );
+        }
+    }
+
+    /**
+     * Returns last save information for the specified settings group.
+     *
+     * @param group settings group name
+     * @return last save information for the specified settings group or null if it wasn't saved yet
+     */
+    public SettingsSaveInfo getSaveInfo ( final String group )
+    {
+        synchronized ( saveInfos )
+        {
+            return saveInfos.get ( group );
+        }
+    }
+
+    /**
+     * Returns last save information for all saved settings groups.
+     *
+     * @return last save information for all saved settings groups
+     */
+    public List<SettingsSaveInfo> getSaveInfos ()
+    {
+        synchronized ( saveInfos )
+        {
+            return new ArrayList<SettingsSaveInfo> ( saveInfos.values () );
+        }
+    }
+
+    /**
+     * Settings group snapshot waiting to be written.
+     */
+    protected static final class Snapshot
+    {
+        /**
+         * Detached settings group copy.
+         */
+        protected final SettingsGroup group;
+
+        /**
+         * Time spent on taking snapshot in nanoseconds.
+         */
+        protected final long time;
+
+        /**
+         * Constructs new settings group snapshot.
+         *
+         * @param group detached settings group copy
+         * @param time  time spent on taking snapshot in nanoseconds
+         */
+        protected Snapshot ( final SettingsGroup group, final long time )
+        {
+            super ();
+            this.group = group;
+            this.time = time;
+        }
+    }
+}
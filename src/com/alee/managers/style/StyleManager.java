@@ -18,6 +18,7 @@
 package com.alee.managers.style;
 
 import com.alee.extended.painter.Painter;
+import com.alee.managers.settings.SettingsManager;
 import com.alee.managers.style.data.ComponentStyle;
 import com.alee.managers.style.data.SkinInfo;
 import com.alee.managers.style.skin.WebLafSkin;
@@ -31,6 +32,7 @@ import com.alee.utils.ninepatch.NinePatchIcon;
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
 import java.awt.*;
+import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.WeakHashMap;
@@ -113,6 +115,20 @@ public class StyleManager
      */
     protected static boolean strictStyleChecks = true;
 
+    /**
+     * Whether skins loaded from XML should be cached in compiled form or not.
+     * <p/>
+     * Compiled skin is stored in cache directory and is used instead of parsing skin XML again until any of skin XML files changes.
+     * Skins which contain values that cannot be stored are simply parsed from XML each time.
+     */
+    protected static boolean skinCacheEnabled = true;
+
+    /**
+     * Compiled skins cache directory.
+     * If it is not specified directory inside the default settings directory is used.
+     */
+    protected static String skinCacheDir = null;
+
     /**
      * Manager initialization mark.
      */
@@ -152,6 +168,53 @@ public class StyleManager
         StyleManager.strictStyleChecks = strict;
     }
 
+    /**
+     * Returns whether skins loaded from XML should be cached in compiled form or not.
+     *
+     * @return true if skins loaded from XML should be cached in compiled form, false otherwise
+     */
+    public static boolean isSkinCacheEnabled ()
+    {
+        return skinCacheEnabled;
+    }
+
+    /**
+     * Sets whether skins loaded from XML should be cached in compiled form or not.
+     *
+     * @param enabled whether skins loaded from XML should be cached in compiled form or not
+     */
+    public static void setSkinCacheEnabled ( final boolean enabled )
+    {
+        StyleManager.skinCacheEnabled = enabled;
+    }
+
+    /**
+     * Returns compiled skins cache directory.
+     *
+     * @return compiled skins cache directory
+     */
+    public static String getSkinCacheDir ()
+    {
+        if ( skinCacheDir == null )
+        {
+            return SettingsManager.getDefaultSettingsDir () + File.separator + "skins";
+        }
+        else
+        {
+            return skinCacheDir;
+        }
+    }
+
+    /**
+     * Sets compiled skins cache directory.
+     *
+     * @param dir compiled skins cache directory
+     */
+    public static void setSkinCacheDir ( final String dir )
+    {
+        StyleManager.skinCacheDir = dir;
+    }
+
     /**
      * Performs skin support check and throws an exception if skin is not supported.
      *
@@ -17,7 +17,11 @@
 
 package com.alee.managers.style.data;
 
+import com.alee.utils.ReflectUtils;
+
 import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
 
 /**
@@ -54,6 +58,12 @@ public final class PainterStyle implements Serializable
      */
     private Map<String, Object> properties;
 
+    /**
+     * Cached painter class default constructor.
+     * It is resolved on first painter instantiation.
+     */
+    private transient Constructor painterConstructor;
+
     /**
      * Constructs new painter style information.
      */
@@ -120,6 +130,7 @@ public final class PainterStyle implements Serializable
     public void setPainterClass ( final String painterClass )
     {
         this.painterClass = painterClass;
+        this.painterConstructor = null;
     }
 
     /**
@@ -141,4 +152,29 @@ public final class PainterStyle implements Serializable
     {
         this.properties = properties;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns newly created painter instance.
+     * Painter class default constructor is resolved only once and reused afterwards.
+     *
+     * @param <T> painter type
+     * @return newly created painter instance
+     * @throws ClassNotFoundException
+     * @throws NoSuchMethodException
+     * @throws InstantiationException
+     * @throws IllegalAccessException
+     * @throws InvocationTargetException
+     */
+    public <T> T createPainter ()
+            throws ClassNotFoundException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException
+    {
+        Constructor constructor = painterConstructor;
+        if ( constructor == null )
+        {
+            constructor = ReflectUtils.getConstructor ( ReflectUtils.loadClass ( painterClass ) );
+            constructor.setAccessible ( true );
+            painterConstructor = constructor;
+        }
+        return ( T ) constructor.newInstance ();
+    }
+}
@@ -0,0 +1,533 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.style.data;
+
+import com.alee.managers.log.Log;
+import com.alee.managers.style.StyleManager;
+import com.alee.utils.FileUtils;
+import com.alee.utils.XmlUtils;
+import com.alee.utils.xml.ResourceFile;
+
+import java.io.*;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compiled skins cache.
+ * <p/>
+ * Skin XML is parsed and compiled only once, resulting SkinInfo is stored in the cache directory using standard serialization and is
+ * simply read from there on next loads. Cached skin is keyed by skin XML location and is validated using hashes of the skin XML and all
+ * files included into it, so any change made to those files causes skin to be parsed from XML again.
+ * <p/>
+ * Cache is not used when it is disabled in StyleManager, when custom resources are provided into SkinInfoConverter or when library
+ * classes are not loaded from a jar file, since there is no reliable way to tell whether classes directory was recompiled.
+ * <p/>
+ * Cache files are stored in a user-writable directory, so only library, core Java and a few AWT value classes are allowed to be
+ * deserialized from them.
+ *
+ * @author Mikle Garin
+ * @see com.alee.managers.style.StyleManager#setSkinCacheEnabled(boolean)
+ * @see com.alee.managers.style.skin.CustomSkin
+ */
+
+public final class SkinCache
+{
+    /**
+     * Cached skin files extension.
+     */
+    public static final String CACHE_FILE_EXTENSION = ".skin";
+
+    /**
+     * Text files encoding used for hashing.
+     */
+    private static final String ENCODING = "UTF-8";
+
+    /**
+     * Returns SkinInfo loaded from the XML located near the specified class.
+     * Compiled skin is taken from cache if it is still up to date, otherwise skin XML is parsed and cached.
+     *
+     * @param nearClass class near which skin XML is located
+     * @param location  skin XML location relative to the class
+     * @return loaded SkinInfo
+     */
+    public static SkinInfo load ( final Class nearClass, final String location )
+    {
+        if ( !StyleManager.isSkinCacheEnabled () || SkinInfoConverter.hasCustomResources () )
+        {
+            return XmlUtils.fromXML ( nearClass.getResource ( location ) );
+        }
+
+        // Reading skin XML
+        final byte[] xml = readBytes ( nearClass.getResourceAsStream ( location ) );
+        if ( xml == null )
+        {
+            return XmlUtils.fromXML ( nearClass.getResource ( location ) );
+        }
+        final String stamp = getLibraryStamp ();
+        if ( stamp == null )
+        {
+            return XmlUtils.fromXML ( new ByteArrayInputStream ( xml ) );
+        }
+        final String hash = computeHash ( xml );
+        final File cacheFile = getCacheFile ( nearClass, location );
+
+        // Using cached skin if it is still up to date
+        final CachedSkin cachedSkin = readCache ( cacheFile );
+        if ( cachedSkin != null && cachedSkin.isValid ( stamp, hash ) )
+        {
+            Log.debug ( SkinCache.class, "Skin loaded from cache: %s", location );
+            return cachedSkin.skinInfo;
+        }
+
+        // Parsing skin and updating cache
+        final SkinInfo skinInfo = XmlUtils.fromXML ( new ByteArrayInputStream ( xml ) );
+        if ( skinInfo != null )
+        {
+            writeCache ( cacheFile, new CachedSkin ( stamp, hash, skinInfo ) );
+        }
+        return skinInfo;
+    }
+
+    /**
+     * Removes all cached skins.
+     */
+    public static void clearCache ()
+    {
+        final File[] files = new File ( StyleManager.getSkinCacheDir () ).listFiles ();
+        if ( files != null )
+        {
+            for ( final File file : files )
+            {
+                if ( file.getName ().endsWith ( CACHE_FILE_EXTENSION ) )
+                {
+                    FileUtils.deleteFile ( file );
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns stamp of the library jar file or null if library classes are not loaded from a jar file.
+     * Stamp changes whenever library jar is updated, so skins compiled by another library build are never used.
+     * Library version is not used here to avoid parsing version XML on each skin load.
+     *
+     * @return stamp of the library jar file or null if library classes are not loaded from a jar file
+     */
+    private static String getLibraryStamp ()
+    {
+        try
+        {
+            final CodeSource codeSource = SkinCache.class.getProtectionDomain ().getCodeSource ();
+            final URL location = codeSource != null ? codeSource.getLocation () : null;
+            if ( location != null )
+            {
+                // Classes directory might be recompiled without changing its own stamp, so cache is only used for jar files
+                final File file = new File ( location.toURI () );
+                if ( file.isFile () )
+                {
+                    return location + ":" + file.length () + ":" + file.lastModified ();
+                }
+            }
+        }
+        catch ( final Throwable e )
+        {
+            // Location cannot be checked
+        }
+        return null;
+    }
+
+    /**
+     * Returns cache file for the skin XML located near the specified class.
+     *
+     * @param nearClass class near which skin XML is located
+     * @param location  skin XML location relative to the class
+     * @return cache file for the skin XML located near the specified class
+     */
+    private static File getCacheFile ( final Class nearClass, final String location )
+    {
+        final String key = nearClass.getName () + "|" + location;
+        return new File ( StyleManager.getSkinCacheDir (), computeHash ( getBytes ( key ) ) + CACHE_FILE_EXTENSION );
+    }
+
+    /**
+     * Returns cached skin read from the specified file or null if it cannot be read.
+     *
+     * @param file cache file
+     * @return cached skin read from the specified file or null if it cannot be read
+     */
+    private static CachedSkin readCache ( final File file )
+    {
+        if ( !file.exists () )
+        {
+            return null;
+        }
+        ObjectInputStream ois = null;
+        try
+        {
+            ois = new CacheInputStream ( new BufferedInputStream ( new FileInputStream ( file ) ) );
+            return ( CachedSkin ) ois.readObject ();
+        }
+        catch ( final Throwable e )
+        {
+            // Cache is outdated or damaged, it will be simply replaced
+            Log.debug ( SkinCache.class, "Unable to read cached skin: %s", e.toString () );
+            return null;
+        }
+        finally
+        {
+            close ( ois );
+        }
+    }
+
+    /**
+     * Writes cached skin into the specified file.
+     * Skin is fully serialized before writing, so nothing is written if it contains values which cannot be serialized.
+     *
+     * @param file       cache file
+     * @param cachedSkin cached skin
+     */
+    private static void writeCache ( final File file, final CachedSkin cachedSkin )
+    {
+        if ( !cachedSkin.isComplete () )
+        {
+            return;
+        }
+        final byte[] data;
+        try
+        {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream ();
+            final ObjectOutputStream oos = new ObjectOutputStream ( baos );
+            oos.writeObject ( cachedSkin );
+            oos.close ();
+            data = baos.toByteArray ();
+        }
+        catch ( final IOException e )
+        {
+            // Skin contains values which cannot be cached
+            Log.debug ( SkinCache.class, "Skin cannot be cached: %s", e.toString () );
+            return;
+        }
+
+        // Writing into temporary file first to avoid partially written cache
+        final File directory = file.getParentFile ();
+        if ( !directory.exists () && !directory.mkdirs () )
+        {
+            return;
+        }
+        File temp = null;
+        OutputStream os = null;
+        try
+        {
+            temp = File.createTempFile ( "skin", ".tmp", directory );
+            os = new FileOutputStream ( temp );
+            os.write ( data );
+            os.close ();
+            os = null;
+            if ( !temp.renameTo ( file ) )
+            {
+                FileUtils.deleteFile ( file );
+                if ( !temp.renameTo ( file ) )
+                {
+                    FileUtils.deleteFile ( temp );
+                }
+            }
+        }
+        catch ( final IOException e )
+        {
+            Log.warn ( SkinCache.class, "Unable to write skin cache: " + e.getMessage () );
+            close ( os );
+            if ( temp != null )
+            {
+                FileUtils.deleteFile ( temp );
+            }
+        }
+    }
+
+    /**
+     * Returns hash for the specified data.
+     *
+     * @param data data to process
+     * @return hash for the specified data
+     */
+    private static String computeHash ( final byte[] data )
+    {
+        return FileUtils.computeMD5 ( new ByteArrayInputStream ( data ) );
+    }
+
+    /**
+     * Returns hash of the specified included file content or null if it cannot be read.
+     *
+     * @param include included file
+     * @return hash of the specified included file content or null if it cannot be read
+     */
+    private static String computeHash ( final ResourceFile include )
+    {
+        final String content = XmlUtils.loadString ( include );
+        return content != null ? computeHash ( getBytes ( content ) ) : null;
+    }
+
+    /**
+     * Returns bytes of the specified text.
+     *
+     * @param text text to process
+     * @return bytes of the specified text
+     */
+    private static byte[] getBytes ( final String text )
+    {
+        try
+        {
+            return text.getBytes ( ENCODING );
+        }
+        catch ( final UnsupportedEncodingException e )
+        {
+            return text.getBytes ();
+        }
+    }
+
+    /**
+     * Returns all bytes read from the specified stream or null if it cannot be read.
+     * Stream is closed afterwards.
+     *
+     * @param is input stream
+     * @return all bytes read from the specified stream or null if it cannot be read
+     */
+    private static byte[] readBytes ( final InputStream is )
+    {
+        if ( is == null )
+        {
+            return null;
+        }
+        try
+        {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream ();
+            final byte[] buffer = new byte[ 8192 ];
+            int read;
+            while ( ( read = is.read ( buffer ) ) != -1 )
+            {
+                baos.write ( buffer, 0, read );
+            }
+            return baos.toByteArray ();
+        }
+        catch ( final IOException e )
+        {
+            return null;
+        }
+        finally
+        {
+            close ( is );
+        }
+    }
+
+    /**
+     * Closes the specified stream quietly.
+     *
+     * @param closeable stream to close
+     */
+    private static void close ( final Closeable closeable )
+    {
+        if ( closeable != null )
+        {
+            try
+            {
+                closeable.close ();
+            }
+            catch ( final IOException e )
+            {
+                //
+            }
+        }
+    }
+
+    /**
+     * Object input stream which only resolves classes that can be found in compiled skins.
+     * Any other class found in the cache file causes deserialization to fail before its instance is created.
+     */
+    private static final class CacheInputStream extends ObjectInputStream
+    {
+        /**
+         * AWT value classes allowed to be deserialized.
+         */
+        private static final List<String> AWT_CLASSES = Arrays.asList ( "java.awt.Color", "java.awt.Insets", "java.awt.Dimension",
+                "java.awt.Point", "java.awt.Rectangle", "java.awt.Font", "java.awt.font.TextAttribute",
+                "java.text.AttributedCharacterIterator$Attribute" );
+
+        /**
+         * Constructs new object input stream reading from the specified stream.
+         *
+         * @param in stream to read from
+         * @throws IOException if stream header cannot be read
+         */
+        private CacheInputStream ( final InputStream in ) throws IOException
+        {
+            super ( in );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Class<?> resolveClass ( final ObjectStreamClass desc ) throws IOException, ClassNotFoundException
+        {
+            if ( !isAllowed ( desc.getName () ) )
+            {
+                throw new InvalidClassException ( desc.getName (), "Class is not allowed in skin cache" );
+            }
+            return super.resolveClass ( desc );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Class<?> resolveProxyClass ( final String[] interfaces ) throws IOException, ClassNotFoundException
+        {
+            throw new InvalidClassException ( "Proxy classes are not allowed in skin cache" );
+        }
+
+        /**
+         * Returns whether class with the specified name is allowed to be deserialized or not.
+         *
+         * @param name class name
+         * @return true if class with the specified name is allowed to be deserialized, false otherwise
+         */
+        private static boolean isAllowed ( final String name )
+        {
+            // Arrays are allowed if their component type is allowed
+            int dimensions = 0;
+            while ( dimensions < name.length () && name.charAt ( dimensions ) == '[' )
+            {
+                dimensions++;
+            }
+            if ( dimensions > 0 )
+            {
+                final String component = name.substring ( dimensions );
+                if ( component.length () == 1 )
+                {
+                    // Primitive type
+                    return true;
+                }
+                return component.startsWith ( "L" ) && component.endsWith ( ";" ) &&
+                        isAllowed ( component.substring ( 1, component.length () - 1 ) );
+            }
+            return name.startsWith ( "com.alee." ) || isInPackage ( name, "java.lang." ) || isInPackage ( name, "java.util." ) ||
+                    AWT_CLASSES.contains ( name );
+        }
+
+        /**
+         * Returns whether class with the specified name belongs directly to the specified package or not.
+         * Classes from subpackages are not considered to belong to it.
+         *
+         * @param name   class name
+         * @param prefix package name followed by dot
+         * @return true if class with the specified name belongs directly to the specified package, false otherwise
+         */
+        private static boolean isInPackage ( final String name, final String prefix )
+        {
+            return name.startsWith ( prefix ) && name.indexOf ( '.', prefix.length () ) == -1;
+        }
+    }
+
+    /**
+     * Compiled skin together with data required to check whether it is still up to date.
+     */
+    private static final class CachedSkin implements Serializable
+    {
+        /**
+         * Library stamp skin was compiled with.
+         */
+        private final String stamp;
+
+        /**
+         * Skin XML hash.
+         */
+        private final String hash;
+
+        /**
+         * Hashes of all included files in the order they are listed in SkinInfo.
+         */
+        private final List<String> includeHashes;
+
+        /**
+         * Compiled skin.
+         */
+        private final SkinInfo skinInfo;
+
+        /**
+         * Constructs new cached skin.
+         *
+         * @param stamp    library stamp skin was compiled with
+         * @param hash     skin XML hash
+         * @param skinInfo compiled skin
+         */
+        private CachedSkin ( final String stamp, final String hash, final SkinInfo skinInfo )
+        {
+            super ();
+            this.stamp = stamp;
+            this.hash = hash;
+            this.skinInfo = skinInfo;
+            this.includeHashes = computeIncludeHashes ( skinInfo );
+        }
+
+        /**
+         * Returns whether all data required to validate this cached skin is available or not.
+         *
+         * @return true if all data required to validate this cached skin is available, false otherwise
+         */
+        private boolean isComplete ()
+        {
+            return hash != null && includeHashes != null && !includeHashes.contains ( null );
+        }
+
+        /**
+         * Returns whether this cached skin is still up to date or not.
+         *
+         * @param stamp current library stamp
+         * @param hash  current skin XML hash
+         * @return true if this cached skin is still up to date, false otherwise
+         */
+        private boolean isValid ( final String stamp, final String hash )
+        {
+            return skinInfo != null && this.stamp.equals ( stamp ) && this.hash.equals ( hash ) &&
+                    includeHashes.equals ( computeIncludeHashes ( skinInfo ) );
+        }
+
+        /**
+         * Returns hashes of all files included into the specified skin.
+         *
+         * @param skinInfo skin to process
+         * @return hashes of all files included into the specified skin or null if included files are unknown
+         */
+        private static List<String> computeIncludeHashes ( final SkinInfo skinInfo )
+        {
+            final List<ResourceFile> includes = skinInfo.getIncludes ();
+            if ( includes == null )
+            {
+                return null;
+            }
+            final List<String> hashes = new ArrayList<String> ( includes.size () );
+            for ( final ResourceFile include : includes )
+            {
+                hashes.add ( computeHash ( include ) );
+            }
+            return hashes;
+        }
+    }
+}
@@ -20,11 +20,15 @@ package com.alee.managers.style.data;
 import com.alee.managers.log.Log;
 import com.alee.managers.style.SupportedComponent;
 import com.alee.utils.TextUtils;
+import com.alee.utils.xml.ResourceFile;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamConverter;
 import com.thoughtworks.xstream.annotations.XStreamImplicit;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -90,6 +94,12 @@ public final class SkinInfo implements Serializable
      */
     private transient Map<SupportedComponent, Map<String, ComponentStyle>> stylesCache;
 
+    /**
+     * All files included into this skin, including files included by other included files.
+     * Those are used to check whether cached skin is still up to date.
+     */
+    private transient List<ResourceFile> includes;
+
     /**
      * Constructs new skin information.
      */
@@ -278,6 +288,26 @@ public final class SkinInfo implements Serializable
         this.stylesCache = stylesCache;
     }
 
+    /**
+     * Returns all files included into this skin.
+     *
+     * @return all files included into this skin
+     */
+    public List<ResourceFile> getIncludes ()
+    {
+        return includes;
+    }
+
+    /**
+     * Sets all files included into this skin.
+     *
+     * @param includes all files included into this skin
+     */
+    public void setIncludes ( final List<ResourceFile> includes )
+    {
+        this.includes = includes;
+    }
+
     /**
      * Returns style for the specified supported component type.
      * Custom style ID can be specified in any Web-component or Web-UI to override default component style.
@@ -311,4 +341,32 @@ public final class SkinInfo implements Serializable
             return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes skin information into the specified stream.
+     * Compiled styles cache and included files are written as well so that skin doesn't need to be compiled again.
+     *
+     * @param out output stream
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeObject ( final ObjectOutputStream out ) throws IOException
+    {
+        out.defaultWriteObject ();
+        out.writeObject ( stylesCache );
+        out.writeObject ( includes );
+    }
+
+    /**
+     * Reads skin information from the specified stream.
+     *
+     * @param in input stream
+     * @throws IOException            if an I/O error occurs
+     * @throws ClassNotFoundException if class of a serialized object cannot be found
+     */
+    private void readObject ( final ObjectInputStream in ) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject ();
+        stylesCache = ( Map<SupportedComponent, Map<String, ComponentStyle>> ) in.readObject ();
+        includes = ( List<ResourceFile> ) in.readObject ();
+    }
+}
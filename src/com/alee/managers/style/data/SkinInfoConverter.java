@@ -102,6 +102,7 @@ public class SkinInfoConverter extends ReflectionConverter
         final SkinInfo skinInfo = new SkinInfo ();
         final List<ComponentStyle> styles = new ArrayList<ComponentStyle> ();
         final List<ResourceFile> includes = new ArrayList<ResourceFile> ();
+        final List<ResourceFile> allIncludes = new ArrayList<ResourceFile> ();
         while ( reader.hasMoreChildren () )
         {
             // Read next node
@@ -178,7 +179,15 @@ public class SkinInfoConverter extends ReflectionConverter
             // Adding information from included file
             // Included styles order is preserved to preserve styles override order
             styles.addAll ( i, include.getStyles () );
+
+            // Remembering included files
+            allIncludes.add ( resourceFile );
+            if ( include.getIncludes () != null )
+            {
+                allIncludes.addAll ( include.getIncludes () );
+            }
         }
+        skinInfo.setIncludes ( allIncludes );
 
         // Saving all read styles into the skin
         // At this point there might be more than one style with the same ID
@@ -422,6 +431,16 @@ public class SkinInfoConverter extends ReflectionConverter
         return paintersMap;
     }
 
+    /**
+     * Returns whether there are any custom resources used instead of the real XML files or not.
+     *
+     * @return true if there are any custom resources used instead of the real XML files, false otherwise
+     */
+    public static boolean hasCustomResources ()
+    {
+        return !resourceMap.isEmpty ();
+    }
+
     /**
      * Adds custom resource that will be used to change the default resources load strategy.
      * To put it simple - XML will be taken from this map instead of being read from the file.
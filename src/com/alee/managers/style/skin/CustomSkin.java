@@ -19,8 +19,8 @@ package com.alee.managers.style.skin;
 
 import com.alee.managers.style.SupportedComponent;
 import com.alee.managers.style.data.ComponentStyle;
+import com.alee.managers.style.data.SkinCache;
 import com.alee.managers.style.data.SkinInfo;
-import com.alee.utils.XmlUtils;
 
 import javax.swing.*;
 import java.util.List;
@@ -28,6 +28,7 @@ import java.util.List;
 /**
  * This theme is used by StyleManager for cases when theme settings are stored within XML.
  * To use it simply specify XML location relative to your skin class or provide SkinInfo object.
+ * Skin loaded from XML location is compiled only once and then taken from skins cache until XML changes.
  * All settings and painters will be loaded and applied by this skin automatically when it is used.
  *
  * @author Mikle Garin
@@ -53,7 +54,7 @@ public class CustomSkin extends WebLafSkin
     public CustomSkin ( final String location )
     {
         super ();
-        this.skinInfo = XmlUtils.fromXML ( this.getClass ().getResource ( location ) );
+        this.skinInfo = SkinCache.load ( this.getClass (), location );
     }
 
     /**
@@ -0,0 +1,237 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.style.skin;
+
+import com.alee.managers.log.Log;
+import com.alee.utils.ReflectUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Property setter resolved once for a specific object class, property name and value type.
+ * <p/>
+ * Setter method is looked up the same way {@link com.alee.utils.ReflectUtils#callMethod(Object, String, Object...)} does it and
+ * converted into a method handle, object field is used instead when there is no fitting setter method.
+ * Resolved setters are cached per object class, so applying skin properties doesn't require any name-based reflection calls.
+ *
+ * @author Mikle Garin
+ * @see com.alee.managers.style.skin.WebLafSkin#setFieldValue(Object, String, Object)
+ */
+
+public final class PropertySetter
+{
+    /**
+     * Generic setter handle type.
+     */
+    private static final MethodType SETTER_TYPE = MethodType.methodType ( void.class, Object.class, Object.class );
+
+    /**
+     * Resolved property setters by property names and value types for each object class.
+     * Setters resolved for null values are stored under {@link Void} type.
+     */
+    private static final ClassValue<Map<String, Map<Class, PropertySetter>>> setters =
+            new ClassValue<Map<String, Map<Class, PropertySetter>>> ()
+            {
+                @Override
+                protected Map<String, Map<Class, PropertySetter>> computeValue ( final Class<?> type )
+                {
+                    return new ConcurrentHashMap<String, Map<Class, PropertySetter>> ( 16 );
+                }
+            };
+
+    /**
+     * Setter method handle or null if there is no fitting setter method.
+     */
+    private final MethodHandle setter;
+
+    /**
+     * Field setter handle or null if there is no such field.
+     */
+    private final MethodHandle field;
+
+    /**
+     * Setter method lookup error or null if setter method was found.
+     * It is only reported when property cannot be set at all.
+     */
+    private final Throwable error;
+
+    /**
+     * Constructs new property setter.
+     *
+     * @param setter setter method handle or null if there is no fitting setter method
+     * @param field  field setter handle or null if there is no such field
+     * @param error  setter method lookup error or null if setter method was found
+     */
+    private PropertySetter ( final MethodHandle setter, final MethodHandle field, final Throwable error )
+    {
+        super ();
+        this.setter = setter;
+        this.field = field;
+        this.error = error;
+    }
+
+    /**
+     * Returns whether property can be set using setter method or not.
+     *
+     * @return true if property can be set using setter method, false otherwise
+     */
+    public boolean hasSetter ()
+    {
+        return setter != null;
+    }
+
+    /**
+     * Sets property value using setter method.
+     * Any exception thrown by the setter method is thrown by this method as well.
+     *
+     * @param object object instance
+     * @param value  property value
+     * @throws Throwable any exception thrown by the setter method
+     */
+    public void invokeSetter ( final Object object, final Object value ) throws Throwable
+    {
+        setter.invokeExact ( object, value );
+    }
+
+    /**
+     * Sets property value using setter method or field if there is no setter method.
+     * If setter method fails field is used as well.
+     *
+     * @param object object instance
+     * @param value  property value
+     * @return true if value was applied successfully, false otherwise
+     */
+    public boolean apply ( final Object object, final Object value )
+    {
+        if ( setter != null )
+        {
+            try
+            {
+                setter.invokeExact ( object, value );
+                return true;
+            }
+            catch ( final Throwable e )
+            {
+                Log.error ( WebLafSkin.class, e );
+            }
+        }
+        if ( field != null )
+        {
+            try
+            {
+                field.invokeExact ( object, value );
+                return true;
+            }
+            catch ( final Throwable e )
+            {
+                Log.error ( WebLafSkin.class, e );
+            }
+        }
+        else if ( setter == null )
+        {
+            // Property cannot be set at all
+            Log.error ( WebLafSkin.class, error );
+        }
+        return false;
+    }
+
+    /**
+     * Returns property setter for the specified object class, property name and value.
+     * Setter is resolved only once for each value type, so in most cases this call is a simple map lookup.
+     *
+     * @param type     object class
+     * @param property property name
+     * @param value    property value
+     * @return property setter
+     */
+    public static PropertySetter get ( final Class type, final String property, final Object value )
+    {
+        final Map<String, Map<Class, PropertySetter>> classSetters = setters.get ( type );
+        Map<Class, PropertySetter> propertySetters = classSetters.get ( property );
+        if ( propertySetters == null )
+        {
+            propertySetters = new ConcurrentHashMap<Class, PropertySetter> ( 2 );
+            classSetters.put ( property, propertySetters );
+        }
+        final Class valueType = value != null ? value.getClass () : Void.class;
+        PropertySetter propertySetter = propertySetters.get ( valueType );
+        if ( propertySetter == null )
+        {
+            propertySetter = resolve ( type, property, value );
+            propertySetters.put ( valueType, propertySetter );
+        }
+        return propertySetter;
+    }
+
+    /**
+     * Returns newly resolved property setter for the specified object class, property name and value.
+     *
+     * @param type     object class
+     * @param property property name
+     * @param value    property value
+     * @return newly resolved property setter
+     */
+    private static PropertySetter resolve ( final Class type, final String property, final Object value )
+    {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup ();
+
+        // Trying to find fitting setter method
+        // Lookup error is not logged here since field might be used instead and missing painter setters are reported separately
+        MethodHandle setter = null;
+        Throwable error = null;
+        try
+        {
+            final Method method = ReflectUtils.getMethod ( type, ReflectUtils.getSetterMethodName ( property ), value );
+            setter = lookup.unreflect ( method ).asType ( SETTER_TYPE );
+        }
+        catch ( final Throwable e )
+        {
+            error = e;
+        }
+
+        // Trying to find field which is used when there is no setter method or when it fails
+        MethodHandle field = null;
+        try
+        {
+            final Field actualField = ReflectUtils.getField ( type, property );
+            actualField.setAccessible ( true );
+            try
+            {
+                field = lookup.unreflectSetter ( actualField );
+            }
+            catch ( final IllegalAccessException e )
+            {
+                // Final fields can only be modified through reflection
+                field = lookup.findVirtual ( Field.class, "set", SETTER_TYPE ).bindTo ( actualField );
+            }
+            field = field.asType ( SETTER_TYPE );
+        }
+        catch ( final Throwable e )
+        {
+            // Field is optional, setter method lookup error is reported if property cannot be set
+        }
+
+        return new PropertySetter ( setter, field, error );
+    }
+}
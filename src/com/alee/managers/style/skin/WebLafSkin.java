@@ -234,11 +234,14 @@ public abstract class WebLafSkin
                 {
                     // Creating painter instance
                     // Be aware that all painters must have default constructor
-                    painter = ReflectUtils.createInstanceSafely ( painterStyle.getPainterClass () );
-                    if ( painter == null )
+                    try
+                    {
+                        painter = painterStyle.createPainter ();
+                    }
+                    catch ( final Throwable e )
                     {
                         throw new StyleException (
-                                "Unable to create painter \"" + painterStyle.getPainterClass () + "\" for component: " + component );
+                                "Unable to create painter \"" + painterStyle.getPainterClass () + "\" for component: " + component, e );
                     }
 
                     // Applying painter properties
@@ -249,8 +252,7 @@ public abstract class WebLafSkin
                 }
 
                 // Installing painter into the UI
-                final String setterMethod = ReflectUtils.getSetterMethodName ( painterId );
-                ReflectUtils.callMethod ( ui, setterMethod, painter );
+                installPainter ( ui, painterId, painter );
             }
 
             // Applying UI properties
@@ -270,6 +272,24 @@ public abstract class WebLafSkin
         }
     }
 
+    /**
+     * Installs painter into the specified component UI using its painter setter method.
+     *
+     * @param ui        component UI
+     * @param painterId painter ID
+     * @param painter   painter to install, might be null
+     * @throws Throwable any exception thrown by the painter setter method
+     */
+    protected void installPainter ( final ComponentUI ui, final String painterId, final Painter painter ) throws Throwable
+    {
+        final PropertySetter setter = PropertySetter.get ( ui.getClass (), painterId, painter );
+        if ( !setter.hasSetter () )
+        {
+            throw new StyleException ( "Unable to find painter \"" + painterId + "\" setter method in UI: " + ui );
+        }
+        setter.invokeSetter ( ui, painter );
+    }
+
     /**
      * Returns custom painter properties based on painter ID.
      *
@@ -299,8 +319,7 @@ public abstract class WebLafSkin
             final ComponentUI ui = getComponentUIImpl ( component );
             for ( final PainterStyle painterStyle : style.getPainters () )
             {
-                final String setterMethod = ReflectUtils.getSetterMethodName ( painterStyle.getId () );
-                ReflectUtils.callMethod ( ui, setterMethod, ( Painter ) null );
+                installPainter ( ui, painterStyle.getId (), null );
             }
             return true;
         }
@@ -444,6 +463,7 @@ public abstract class WebLafSkin
      * Applies specified value to object field.
      * This method allows to access and modify even private object fields.
      * Note that this method might also work even if there is no real field with the specified name but there is fitting setter method.
+     * Setter method or field is resolved only once for each object class and value type.
      *
      * @param object object instance
      * @param field  object field
@@ -458,44 +478,8 @@ public abstract class WebLafSkin
             return false;
         }
 
-        // Trying to use setter method to apply the specified value
-        try
-        {
-            final String setterMethod = ReflectUtils.getSetterMethodName ( field );
-            ReflectUtils.callMethod ( object, setterMethod, value );
-            return true;
-        }
-        catch ( final NoSuchMethodException e )
-        {
-            Log.error ( WebLafSkin.class, e );
-        }
-        catch ( final InvocationTargetException e )
-        {
-            Log.error ( WebLafSkin.class, e );
-        }
-        catch ( final IllegalAccessException e )
-        {
-            Log.error ( WebLafSkin.class, e );
-        }
-
-        // Applying field value directly
-        try
-        {
-            final Field actualField = ReflectUtils.getField ( object.getClass (), field );
-            actualField.setAccessible ( true );
-            actualField.set ( object, value );
-            return true;
-        }
-        catch ( final NoSuchFieldException e )
-        {
-            Log.error ( WebLafSkin.class, e );
-            return false;
-        }
-        catch ( final IllegalAccessException e )
-        {
-            Log.error ( WebLafSkin.class, e );
-            return false;
-        }
+        // Applying value using setter method or field directly
+        return PropertySetter.get ( object.getClass (), field, value ).apply ( object, value );
     }
 
     /**
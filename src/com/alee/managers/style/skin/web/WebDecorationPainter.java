@@ -23,10 +23,8 @@ import com.alee.global.StyleConstants;
 import com.alee.managers.focus.DefaultFocusTracker;
 import com.alee.managers.focus.FocusManager;
 import com.alee.managers.focus.FocusTracker;
-import com.alee.utils.GraphicsUtils;
-import com.alee.utils.LafUtils;
-import com.alee.utils.NinePatchUtils;
-import com.alee.utils.ShapeCache;
+import com.alee.utils.*;
+import com.alee.utils.cache.Cache;
 import com.alee.utils.laf.PainterShapeProvider;
 import com.alee.utils.ninepatch.NinePatchIcon;
 import com.alee.utils.swing.DataProvider;
@@ -34,6 +32,9 @@ import com.alee.utils.swing.DataProvider;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.GeneralPath;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Web-style background painter for any component.
@@ -56,6 +57,18 @@ public class WebDecorationPainter<E extends JComponent> extends AbstractPainter<
     protected static final String BORDER_SHAPE = "border";
     protected static final String BACKGROUND_SHAPE = "background";
 
+    /**
+     * Maximum total size of cached decoration images in bytes.
+     */
+    protected static final int DECORATION_CACHE_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * Cached decoration images.
+     * Images are shared between all painters with equal decoration settings.
+     */
+    protected static final Cache<List<Object>, NinePatchIcon> decorationCache =
+            CacheUtils.createImageCache ( "WebDecorationPainter.decorations", DECORATION_CACHE_SIZE );
+
     /**
      * Style settings.
      */
@@ -69,6 +82,7 @@ public class WebDecorationPainter<E extends JComponent> extends AbstractPainter<
     protected Color disabledBorderColor = WebDecorationPainterStyle.disabledBorderColor;
     protected boolean paintBackground = WebDecorationPainterStyle.paintBackground;
     protected boolean webColoredBackground = WebDecorationPainterStyle.webColoredBackground;
+    protected boolean cacheDecoration = WebDecorationPainterStyle.cacheDecoration;
     protected boolean paintTop = true;
     protected boolean paintLeft = true;
     protected boolean paintBottom = true;
@@ -598,6 +612,31 @@ public class WebDecorationPainter<E extends JComponent> extends AbstractPainter<
         }
     }
 
+    /**
+     * Returns whether decoration is rendered into cached images or not.
+     *
+     * @return true if decoration is rendered into cached images, false otherwise
+     */
+    public boolean isCacheDecoration ()
+    {
+        return cacheDecoration;
+    }
+
+    /**
+     * Sets whether decoration should be rendered into cached images or not.
+     * This is useful when lots of components with the same decoration are repainted frequently, for example cell editors.
+     *
+     * @param cache whether decoration should be rendered into cached images or not
+     */
+    public void setCacheDecoration ( final boolean cache )
+    {
+        if ( this.cacheDecoration != cache )
+        {
+            this.cacheDecoration = cache;
+            repaint ();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -651,36 +690,166 @@ public class WebDecorationPainter<E extends JComponent> extends AbstractPainter<
 
             // Checking need of painting
             final boolean anyBorder = paintTop || paintRight || paintBottom || paintLeft;
-            if ( anyBorder || paintBackground )
+            if ( ( anyBorder || paintBackground ) && w > 0 && h > 0 )
             {
-                final Object aa = GraphicsUtils.setupAntialias ( g2d );
-                final boolean enabled = c.isEnabled ();
-
-                // Border shape
-                final Shape borderShape = getShape ( c, false );
-                final Shape backgroundShape = getShape ( c, true );
-
-                // Outer shadow
-                if ( anyBorder && shadeWidth > 0 )
+                if ( cacheDecoration )
                 {
-                    paintShade ( g2d, bounds, c, borderShape );
+                    // Painting cached decoration image
+                    getDecorationIcon ( c ).paintIcon ( g2d, 0, 0, w, h );
                 }
-
-                // Background
-                if ( paintBackground )
+                else
                 {
-                    paintBackground ( g2d, bounds, c, backgroundShape );
+                    // Painting decoration directly
+                    final Object aa = GraphicsUtils.setupAntialias ( g2d );
+                    paintDecoration ( g2d, bounds, c, getShape ( c, false ), getShape ( c, true ) );
+                    GraphicsUtils.restoreAntialias ( g2d, aa );
                 }
+            }
+        }
+    }
 
-                // Border
-                if ( anyBorder && ( enabled ? borderColor != null : disabledBorderColor != null ) )
-                {
-                    paintBorder ( g2d, bounds, c, borderShape );
-                }
+    /**
+     * Paints decoration shade, background and border.
+     *
+     * @param g2d             graphics context
+     * @param bounds          painting bounds
+     * @param c               painted component
+     * @param borderShape     component border shape
+     * @param backgroundShape component background shape
+     */
+    protected void paintDecoration ( final Graphics2D g2d, final Rectangle bounds, final E c, final Shape borderShape,
+                                     final Shape backgroundShape )
+    {
+        final boolean anyBorder = paintTop || paintRight || paintBottom || paintLeft;
 
-                GraphicsUtils.restoreAntialias ( g2d, aa );
-            }
+        // Outer shadow
+        if ( anyBorder && shadeWidth > 0 )
+        {
+            paintShade ( g2d, bounds, c, borderShape );
+        }
+
+        // Background
+        if ( paintBackground )
+        {
+            paintBackground ( g2d, bounds, c, backgroundShape );
+        }
+
+        // Border
+        if ( anyBorder && ( c.isEnabled () ? borderColor != null : disabledBorderColor != null ) )
+        {
+            paintBorder ( g2d, bounds, c, borderShape );
+        }
+    }
+
+    /**
+     * Returns cached decoration icon for the current component size, state and style settings.
+     * Decoration is rendered into a nine-patch image of minimal size which is then stretched to the component size.
+     * Vertical stretching is not used for web-colored background since its gradient depends on component height.
+     *
+     * @param c painted component
+     * @return cached decoration icon
+     */
+    protected NinePatchIcon getDecorationIcon ( final E c )
+    {
+        final List<Object> key = Arrays.asList ( getCachedDecorationSettings ( c ) );
+        NinePatchIcon icon = decorationCache.get ( key );
+        if ( icon == null )
+        {
+            icon = createDecorationIcon ( c );
+            decorationCache.put ( key, icon );
+        }
+        return icon;
+    }
+
+    /**
+     * Returns an array of settings which affect decoration look.
+     * Decorations with equal settings share the same cached image, so any setting used while painting must be included here.
+     *
+     * @param c painted component
+     * @return an array of settings which affect decoration look
+     */
+    protected Object[] getCachedDecorationSettings ( final E c )
+    {
+        final int corner = getDecorationCornerSize ();
+        final boolean stretchX = w > corner * 2 + 1;
+        final boolean stretchY = h > corner * 2 + 1 && !( paintBackground && webColoredBackground );
+        final boolean enabled = c.isEnabled ();
+        return new Object[]{ getClass (), stretchX ? -1 : w, stretchY ? -1 : h, ltr, round, shadeWidth, shadeTransparency, borderStroke,
+                enabled ? borderColor : disabledBorderColor, enabled, paintFocus && focused, paintBackground, webColoredBackground,
+                webColoredBackground ? null : c.getBackground (), paintTop, paintLeft, paintBottom, paintRight, paintTopLine, paintLeftLine,
+                paintBottomLine, paintRightLine, StyleConstants.shadeColor, StyleConstants.fieldFocusColor, StyleConstants.topBgColor,
+                StyleConstants.bottomBgColor };
+    }
+
+    /**
+     * Returns size of decoration corners which should not be stretched.
+     * Decoration is uniform outside of its corners, so any part of it beyond corners can be stretched without visual changes.
+     *
+     * @return size of decoration corners which should not be stretched
+     */
+    protected int getDecorationCornerSize ()
+    {
+        final int stroke = borderStroke instanceof BasicStroke ? ( int ) Math.ceil ( ( ( BasicStroke ) borderStroke ).getLineWidth () ) : 1;
+        return shadeWidth * 2 + round + stroke + 2;
+    }
+
+    /**
+     * Returns newly created decoration icon for the current component size, state and style settings.
+     *
+     * @param c painted component
+     * @return newly created decoration icon
+     */
+    protected NinePatchIcon createDecorationIcon ( final E c )
+    {
+        final int corner = getDecorationCornerSize ();
+        final boolean stretchX = w > corner * 2 + 1;
+        final boolean stretchY = h > corner * 2 + 1 && !( paintBackground && webColoredBackground );
+        final int width = stretchX ? corner * 2 + 1 : w;
+        final int height = stretchY ? corner * 2 + 1 : h;
+
+        // Rendering decoration of minimal size
+        // Shapes are created directly to avoid replacing actual component shapes in the cache
+        final int actualWidth = w;
+        final int actualHeight = h;
+        final BufferedImage image = ImageUtils.createCompatibleImage ( width, height, Transparency.TRANSLUCENT );
+        final Graphics2D g2d = image.createGraphics ();
+        try
+        {
+            w = width;
+            h = height;
+            GraphicsUtils.setupAntialias ( g2d );
+            paintDecoration ( g2d, new Rectangle ( 0, 0, width, height ), c, createShape ( c, false ), createShape ( c, true ) );
+        }
+        finally
+        {
+            w = actualWidth;
+            h = actualHeight;
+            g2d.dispose ();
+        }
+
+        // Marking stretchable decoration parts
+        final NinePatchIcon icon = NinePatchIcon.create ( image );
+        if ( stretchX )
+        {
+            icon.addHorizontalStretch ( 0, corner - 1, true );
+            icon.addHorizontalStretch ( corner, corner, false );
+            icon.addHorizontalStretch ( corner + 1, width - 1, true );
+        }
+        else
+        {
+            icon.addHorizontalStretch ( 0, width - 1, true );
+        }
+        if ( stretchY )
+        {
+            icon.addVerticalStretch ( 0, corner - 1, true );
+            icon.addVerticalStretch ( corner, corner, false );
+            icon.addVerticalStretch ( corner + 1, height - 1, true );
+        }
+        else
+        {
+            icon.addVerticalStretch ( 0, height - 1, true );
         }
+        return icon;
     }
 
     /**
@@ -762,26 +931,22 @@ public class WebDecorationPainter<E extends JComponent> extends AbstractPainter<
         if ( !paintTop && paintTopLine )
         {
             final int x = actualPaintLeft ? shadeWidth : 0;
-            g2d.drawLine ( x, 0, x + c.getWidth () - ( actualPaintLeft ? shadeWidth : 0 ) -
-                    ( actualPaintRight ? shadeWidth + 1 : 0 ), 0 );
+            g2d.drawLine ( x, 0, x + w - ( actualPaintLeft ? shadeWidth : 0 ) - ( actualPaintRight ? shadeWidth + 1 : 0 ), 0 );
         }
         if ( !paintBottom && paintBottomLine )
         {
             final int x = actualPaintLeft ? shadeWidth : 0;
-            g2d.drawLine ( x, c.getHeight () - 1, x + c.getWidth () - ( actualPaintLeft ? shadeWidth : 0 ) -
-                    ( actualPaintRight ? shadeWidth + 1 : 0 ), c.getHeight () - 1 );
+            g2d.drawLine ( x, h - 1, x + w - ( actualPaintLeft ? shadeWidth : 0 ) - ( actualPaintRight ? shadeWidth + 1 : 0 ), h - 1 );
         }
         if ( !paintLeft && paintLeftLine )
         {
             final int y = paintTop ? shadeWidth : 0;
-            g2d.drawLine ( 0, y, 0, y + c.getHeight () - ( paintTop ? shadeWidth : 0 ) -
-                    ( paintBottom ? shadeWidth + 1 : 0 ) );
+            g2d.drawLine ( 0, y, 0, y + h - ( paintTop ? shadeWidth : 0 ) - ( paintBottom ? shadeWidth + 1 : 0 ) );
         }
         if ( !paintRight && paintRightLine )
         {
             final int y = paintTop ? shadeWidth : 0;
-            g2d.drawLine ( c.getWidth () - 1, y, c.getWidth () - 1, y + c.getHeight () - ( paintTop ? shadeWidth : 0 ) -
-                    ( paintBottom ? shadeWidth + 1 : 0 ) );
+            g2d.drawLine ( w - 1, y, w - 1, y + h - ( paintTop ? shadeWidth : 0 ) - ( paintBottom ? shadeWidth + 1 : 0 ) );
         }
 
         GraphicsUtils.restoreStroke ( g2d, os, borderStroke != null );
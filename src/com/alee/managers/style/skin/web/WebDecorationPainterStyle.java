@@ -87,4 +87,11 @@ public final class WebDecorationPainterStyle
      * Decoration background color.
      */
     public static Color backgroundColor = StyleConstants.backgroundColor;
+
+    /**
+     * Whether should render decoration into cached images or not.
+     * Decorations with equal size, state and style settings share the same cached image.
+     * This variable doesn't affect anything if undecorated.
+     */
+    public static boolean cacheDecoration = false;
 }
\ No newline at end of file
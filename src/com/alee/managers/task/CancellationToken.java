@@ -0,0 +1,103 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cancellation token that can be shared between multiple background tasks.
+ * Cancelling the token cancels all tasks submitted with it which are not yet finished, including the ones submitted after cancellation.
+ * Long-running tasks are expected to check {@link #isCancelled()} periodically and stop their work once token is cancelled.
+ *
+ * @author Mikle Garin
+ * @see com.alee.managers.task.TaskManager
+ */
+
+public class CancellationToken
+{
+    /**
+     * Whether this token is cancelled or not.
+     */
+    private volatile boolean cancelled = false;
+
+    /**
+     * Tasks which are not finished yet.
+     */
+    private final List<Task> tasks = new ArrayList<Task> ( 1 );
+
+    /**
+     * Returns whether this token is cancelled or not.
+     *
+     * @return true if this token is cancelled, false otherwise
+     */
+    public boolean isCancelled ()
+    {
+        return cancelled;
+    }
+
+    /**
+     * Cancels this token and all tasks submitted with it.
+     * Tasks which are already running will not be interrupted.
+     */
+    public void cancel ()
+    {
+        final List<Task> toCancel;
+        synchronized ( tasks )
+        {
+            cancelled = true;
+            toCancel = new ArrayList<Task> ( tasks );
+            tasks.clear ();
+        }
+        for ( final Task task : toCancel )
+        {
+            task.cancel ( false );
+        }
+    }
+
+    /**
+     * Adds task that should be cancelled along with this token.
+     *
+     * @param task task to add
+     */
+    void addTask ( final Task task )
+    {
+        synchronized ( tasks )
+        {
+            if ( !cancelled )
+            {
+                tasks.add ( task );
+                return;
+            }
+        }
+        task.cancel ( false );
+    }
+
+    /**
+     * Removes finished task.
+     *
+     * @param task task to remove
+     */
+    void removeTask ( final Task task )
+    {
+        synchronized ( tasks )
+        {
+            tasks.remove ( task );
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.task;
+
+import com.alee.managers.log.Log;
+
+import javax.swing.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background task executed by TaskManager.
+ * It can be used as a usual Future to wait for the task result or to cancel it.
+ *
+ * @param <T> task result type
+ * @author Mikle Garin
+ * @see com.alee.managers.task.TaskManager
+ */
+
+public class Task<T> extends FutureTask<T> implements Comparable<Task>
+{
+    /**
+     * Tasks sequence used to keep submission order within the same priority.
+     */
+    private static final AtomicLong sequence = new AtomicLong ( 0 );
+
+    /**
+     * Group this task belongs to.
+     */
+    private final TaskGroup group;
+
+    /**
+     * Task priority.
+     */
+    private final TaskPriority priority;
+
+    /**
+     * Task cancellation token.
+     */
+    private final CancellationToken token;
+
+    /**
+     * Task result callback.
+     */
+    private final TaskCallback<T> callback;
+
+    /**
+     * Task submission number.
+     */
+    private final long number;
+
+    /**
+     * Task submission time in nanoseconds.
+     */
+    private final long submitTime;
+
+    /**
+     * Task start time in nanoseconds.
+     */
+    private volatile long startTime = 0;
+
+    /**
+     * Constructs new task.
+     *
+     * @param group    group this task belongs to
+     * @param callable task action
+     * @param priority task priority
+     * @param token    task cancellation token, might be null
+     * @param callback task result callback, might be null
+     */
+    public Task ( final TaskGroup group, final Callable<T> callable, final TaskPriority priority, final CancellationToken token,
+                  final TaskCallback<T> callback )
+    {
+        super ( callable );
+        this.group = group;
+        this.priority = priority;
+        this.token = token;
+        this.callback = callback;
+        this.number = sequence.getAndIncrement ();
+        this.submitTime = System.nanoTime ();
+    }
+
+    /**
+     * Returns group this task belongs to.
+     *
+     * @return group this task belongs to
+     */
+    public TaskGroup getGroup ()
+    {
+        return group;
+    }
+
+    /**
+     * Returns task priority.
+     *
+     * @return task priority
+     */
+    public TaskPriority getPriority ()
+    {
+        return priority;
+    }
+
+    /**
+     * Returns task cancellation token.
+     *
+     * @return task cancellation token, might be null
+     */
+    public CancellationToken getToken ()
+    {
+        return token;
+    }
+
+    /**
+     * Performs task action and informs group that task is finished.
+     */
+    @Override
+    public void run ()
+    {
+        startTime = System.nanoTime ();
+        try
+        {
+            if ( token != null && token.isCancelled () )
+            {
+                cancel ( false );
+            }
+            super.run ();
+        }
+        finally
+        {
+            if ( token != null )
+            {
+                token.removeTask ( this );
+            }
+            group.taskFinished ( this, startTime - submitTime, System.nanoTime () - startTime );
+        }
+    }
+
+    /**
+     * Informs callback about task result in Event Dispatch Thread.
+     */
+    @Override
+    protected void done ()
+    {
+        if ( callback != null && !isCancelled () )
+        {
+            SwingUtilities.invokeLater ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    T result = null;
+                    Throwable cause = null;
+                    try
+                    {
+                        result = get ();
+                    }
+                    catch ( final ExecutionException e )
+                    {
+                        cause = e.getCause ();
+                    }
+                    catch ( final Throwable e )
+                    {
+                        cause = e;
+                    }
+                    try
+                    {
+                        if ( cause == null )
+                        {
+                            callback.taskCompleted ( result );
+                        }
+                        else
+                        {
+                            callback.taskFailed ( cause );
+                        }
+                    }
+                    catch ( final Throwable e )
+                    {
+                        Log.error ( Task.this, e );
+                    }
+                }
+            } );
+        }
+    }
+
+    /**
+     * Returns whether task has failed or not.
+     * Failed tasks are the ones which action has thrown an exception.
+     *
+     * @return true if task has failed, false otherwise
+     */
+    public boolean isFailed ()
+    {
+        if ( isDone () && !isCancelled () )
+        {
+            try
+            {
+                get ();
+            }
+            catch ( final Throwable e )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo ( final Task o )
+    {
+        final int p = priority.compareTo ( o.priority );
+        return p != 0 ? p : number < o.number ? -1 : number > o.number ? 1 : 0;
+    }
+}
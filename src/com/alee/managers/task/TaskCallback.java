@@ -0,0 +1,43 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.task;
+
+/**
+ * Special listener that is informed about background task result in Event Dispatch Thread.
+ *
+ * @param <T> task result type
+ * @author Mikle Garin
+ * @see com.alee.managers.task.TaskManager
+ */
+
+public interface TaskCallback<T>
+{
+    /**
+     * Informs that task was completed successfully.
+     *
+     * @param result task result
+     */
+    public void taskCompleted ( T result );
+
+    /**
+     * Informs that task has failed due to the specified exception.
+     *
+     * @param cause exception
+     */
+    public void taskFailed ( Throwable cause );
+}
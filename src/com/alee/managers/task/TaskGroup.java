@@ -0,0 +1,227 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.task;
+
+import java.util.PriorityQueue;
+
+/**
+ * Named group of background tasks with limited parallelism.
+ * Group never runs more than the specified amount of its tasks at once, other tasks are waiting in group queue sorted by priority.
+ * All groups share the same TaskManager threads, so parallelism only limits the part of those threads the group can occupy.
+ *
+ * @author Mikle Garin
+ * @see com.alee.managers.task.TaskManager
+ */
+
+public final class TaskGroup
+{
+    /**
+     * Group name.
+     */
+    private final String name;
+
+    /**
+     * Maximum amount of simultaneously running tasks.
+     * Zero or less means that there is no limit.
+     */
+    private int parallelism;
+
+    /**
+     * Tasks waiting for execution.
+     */
+    private final PriorityQueue<Task> queue = new PriorityQueue<Task> ();
+
+    /**
+     * Amount of currently running tasks.
+     */
+    private int running = 0;
+
+    /**
+     * Tasks statistics.
+     */
+    private long submitted = 0;
+    private long completed = 0;
+    private long failed = 0;
+    private long cancelled = 0;
+    private long totalWaitTime = 0;
+    private long maxWaitTime = 0;
+    private long totalRunTime = 0;
+
+    /**
+     * Constructs new task group.
+     *
+     * @param name        group name
+     * @param parallelism maximum amount of simultaneously running tasks, zero or less means that there is no limit
+     */
+    TaskGroup ( final String name, final int parallelism )
+    {
+        super ();
+        this.name = name;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns group name.
+     *
+     * @return group name
+     */
+    public String getName ()
+    {
+        return name;
+    }
+
+    /**
+     * Returns maximum amount of simultaneously running tasks.
+     *
+     * @return maximum amount of simultaneously running tasks, zero or less means that there is no limit
+     */
+    public synchronized int getParallelism ()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Sets maximum amount of simultaneously running tasks.
+     *
+     * @param parallelism maximum amount of simultaneously running tasks, zero or less means that there is no limit
+     */
+    public void setParallelism ( final int parallelism )
+    {
+        synchronized ( this )
+        {
+            this.parallelism = parallelism;
+        }
+        dispatchQueued ();
+    }
+
+    /**
+     * Returns amount of queued tasks.
+     *
+     * @return amount of queued tasks
+     */
+    public synchronized int getQueueSize ()
+    {
+        return queue.size ();
+    }
+
+    /**
+     * Returns amount of currently running tasks.
+     *
+     * @return amount of currently running tasks
+     */
+    public synchronized int getRunningCount ()
+    {
+        return running;
+    }
+
+    /**
+     * Adds task into this group.
+     * Task is either passed to TaskManager threads right away or queued until some of the running group tasks finish.
+     *
+     * @param task task to add
+     */
+    void submit ( final Task task )
+    {
+        synchronized ( this )
+        {
+            submitted++;
+            queue.add ( task );
+        }
+        dispatchQueued ();
+    }
+
+    /**
+     * Informs group that task has finished.
+     *
+     * @param task     finished task
+     * @param waitTime time task spent waiting for execution in nanoseconds
+     * @param runTime  task execution time in nanoseconds
+     */
+    void taskFinished ( final Task task, final long waitTime, final long runTime )
+    {
+        synchronized ( this )
+        {
+            running--;
+            if ( task.isCancelled () )
+            {
+                cancelled++;
+            }
+            else
+            {
+                if ( task.isFailed () )
+                {
+                    failed++;
+                }
+                else
+                {
+                    completed++;
+                }
+                totalWaitTime += waitTime;
+                maxWaitTime = Math.max ( maxWaitTime, waitTime );
+                totalRunTime += runTime;
+            }
+        }
+        dispatchQueued ();
+    }
+
+    /**
+     * Passes queued tasks to TaskManager threads while group parallelism allows it.
+     */
+    private void dispatchQueued ()
+    {
+        while ( true )
+        {
+            final Task task;
+            synchronized ( this )
+            {
+                if ( queue.isEmpty () || parallelism > 0 && running >= parallelism )
+                {
+                    return;
+                }
+                task = queue.poll ();
+                running++;
+            }
+            TaskManager.dispatch ( task );
+        }
+    }
+
+    /**
+     * Returns current group statistics snapshot.
+     *
+     * @return current group statistics snapshot
+     */
+    public synchronized TaskGroupStatistics getStatistics ()
+    {
+        return new TaskGroupStatistics ( name, parallelism, queue.size (), running, submitted, completed, failed, cancelled,
+                totalWaitTime, maxWaitTime, totalRunTime );
+    }
+
+    /**
+     * Resets group statistics.
+     */
+    public synchronized void resetStatistics ()
+    {
+        submitted = 0;
+        completed = 0;
+        failed = 0;
+        cancelled = 0;
+        totalWaitTime = 0;
+        maxWaitTime = 0;
+        totalRunTime = 0;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.task;
+
+/**
+ * Immutable snapshot of task group statistics.
+ * All durations are measured in nanoseconds.
+ *
+ * @author Mikle Garin
+ * @see com.alee.managers.task.TaskGroup#getStatistics()
+ */
+
+public final class TaskGroupStatistics
+{
+    /**
+     * Group name.
+     */
+    private final String name;
+
+    /**
+     * Group parallelism.
+     */
+    private final int parallelism;
+
+    /**
+     * Amount of queued tasks.
+     */
+    private final int queued;
+
+    /**
+     * Amount of running tasks.
+     */
+    private final int running;
+
+    /**
+     * Amount of submitted tasks.
+     */
+    private final long submitted;
+
+    /**
+     * Amount of successfully completed tasks.
+     */
+    private final long completed;
+
+    /**
+     * Amount of failed tasks.
+     */
+    private final long failed;
+
+    /**
+     * Amount of cancelled tasks.
+     */
+    private final long cancelled;
+
+    /**
+     * Total time finished tasks spent waiting for execution.
+     */
+    private final long totalWaitTime;
+
+    /**
+     * Maximum time single task spent waiting for execution.
+     */
+    private final long maxWaitTime;
+
+    /**
+     * Total finished tasks execution time.
+     */
+    private final long totalRunTime;
+
+    /**
+     * Constructs new task group statistics snapshot.
+     *
+     * @param name          group name
+     * @param parallelism   group parallelism
+     * @param queued        amount of queued tasks
+     * @param running       amount of running tasks
+     * @param submitted     amount of submitted tasks
+     * @param completed     amount of successfully completed tasks
+     * @param failed        amount of failed tasks
+     * @param cancelled     amount of cancelled tasks
+     * @param totalWaitTime total time finished tasks spent waiting for execution
+     * @param maxWaitTime   maximum time single task spent waiting for execution
+     * @param totalRunTime  total finished tasks execution time
+     */
+    public TaskGroupStatistics ( final String name, final int parallelism, final int queued, final int running, final long submitted,
+                                 final long completed, final long failed, final long cancelled, final long totalWaitTime,
+                                 final long maxWaitTime, final long totalRunTime )
+    {
+        super ();
+        this.name = name;
+        this.parallelism = parallelism;
+        this.queued = queued;
+        this.running = running;
+        this.submitted = submitted;
+        this.completed = completed;
+        this.failed = failed;
+        this.cancelled = cancelled;
+        this.totalWaitTime = totalWaitTime;
+        this.maxWaitTime = maxWaitTime;
+        this.totalRunTime = totalRunTime;
+    }
+
+    /**
+     * Returns group name.
+     *
+     * @return group name
+     */
+    public String getName ()
+    {
+        return name;
+    }
+
+    /**
+     * Returns group parallelism.
+     *
+     * @return group parallelism
+     */
+    public int getParallelism ()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Returns amount of queued tasks.
+     *
+     * @return amount of queued tasks
+     */
+    public int getQueued ()
+    {
+        return queued;
+    }
+
+    /**
+     * Returns amount of running tasks.
+     *
+     * @return amount of running tasks
+     */
+    public int getRunning ()
+    {
+        return running;
+    }
+
+    /**
+     * Returns amount of submitted tasks.
+     *
+     * @return amount of submitted tasks
+     */
+    public long getSubmitted ()
+    {
+        return submitted;
+    }
+
+    /**
+     * Returns amount of successfully completed tasks.
+     *
+     * @return amount of successfully completed tasks
+     */
+    public long getCompleted ()
+    {
+        return completed;
+    }
+
+    /**
+     * Returns amount of failed tasks.
+     *
+     * @return amount of failed tasks
+     */
+    public long getFailed ()
+    {
+        return failed;
+    }
+
+    /**
+     * Returns amount of cancelled tasks.
+     *
+     * @return amount of cancelled tasks
+     */
+    public long getCancelled ()
+    {
+        return cancelled;
+    }
+
+    /**
+     * Returns average time finished tasks spent waiting for execution.
+     *
+     * @return average time finished tasks spent waiting for execution
+     */
+    public long getAverageWaitTime ()
+    {
+        final long finished = completed + failed;
+        return finished > 0 ? totalWaitTime / finished : 0;
+    }
+
+    /**
+     * Returns maximum time single task spent waiting for execution.
+     *
+     * @return maximum time single task spent waiting for execution
+     */
+    public long getMaxWaitTime ()
+    {
+        return maxWaitTime;
+    }
+
+    /**
+     * Returns average finished tasks execution time.
+     *
+     * @return average finished tasks execution time
+     */
+    public long getAverageRunTime ()
+    {
+        final long finished = completed + failed;
+        return finished > 0 ? totalRunTime / finished : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString ()
+    {
+        return name + " [parallelism: " + parallelism + ", queued: " + queued + ", running: " + running + ", submitted: " + submitted +
+                ", completed: " + completed + ", failed: " + failed + ", cancelled: " + cancelled + ", wait: " +
+                getAverageWaitTime () / 1000000f + " ms avg / " + maxWaitTime / 1000000f + " ms max, run: " +
+                getAverageRunTime () / 1000000f + " ms avg]";
+    }
+}
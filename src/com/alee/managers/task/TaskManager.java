@@ -17,11 +17,346 @@
 
 package com.alee.managers.task;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
+ * This manager provides a single shared set of background threads for all WebLaF background work.
+ * Tasks are submitted into named task groups, each group limits the amount of its simultaneously running tasks.
+ * Tasks can have different priorities, cancellation tokens and result callbacks which are informed in Event Dispatch Thread.
+ * <p/>
+ * Queued tasks are executed by priority first and by submission order second, so interactive tasks are never stuck behind a long
+ * list of background ones.
+ *
  * @author Mikle Garin
+ * @see com.alee.managers.task.TaskGroup
+ * @see com.alee.managers.task.Task
  */
 
-public class TaskManager
+public final class TaskManager
 {
-    // todo
-}
\ No newline at end of file
+    /**
+     * Default group for tasks which don't specify any group.
+     */
+    public static final String DEFAULT_GROUP = "default";
+
+    /**
+     * File system operations group.
+     */
+    public static final String FILE_SYSTEM_GROUP = "file.system";
+
+    /**
+     * Image thumbnails generation group.
+     */
+    public static final String THUMBNAILS_GROUP = "thumbnails";
+
+    /**
+     * Shared asynchronous trees childs loading group.
+     */
+    public static final String ASYNC_TREE_GROUP = "async.tree";
+
+    /**
+     * Threads name prefix.
+     */
+    public static String threadsName = "TaskManager-";
+
+    /**
+     * Threads keep-alive time in milliseconds.
+     * Idle threads are terminated after this time passes.
+     */
+    public static long keepAliveTime = 30000L;
+
+    /**
+     * Threads counter used for thread names.
+     */
+    private static final AtomicInteger threadsCounter = new AtomicInteger ( 0 );
+
+    /**
+     * Shared threads pool.
+     * It uses priority queue so tasks waiting for free thread are sorted by their priority.
+     */
+    private static final ThreadPoolExecutor pool;
+
+    /**
+     * Registered task groups.
+     */
+    private static final Map<String, TaskGroup> groups = new LinkedHashMap<String, TaskGroup> ();
+
+    /**
+     * Initializing shared pool and default groups.
+     */
+    static
+    {
+        final int threads = Math.max ( 2, Runtime.getRuntime ().availableProcessors () );
+        pool = new ThreadPoolExecutor ( threads, threads, keepAliveTime, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<Runnable> (),
+                new ThreadFactory ()
+                {
+                    @Override
+                    public Thread newThread ( final Runnable r )
+                    {
+                        final Thread thread = new Thread ( r, threadsName + threadsCounter.incrementAndGet () );
+                        thread.setDaemon ( true );
+                        return thread;
+                    }
+                } );
+        pool.allowCoreThreadTimeOut ( true );
+
+        // Shared groups are limited so that none of them can occupy all pool threads
+        final int half = Math.max ( 1, threads / 2 );
+        registerGroup ( DEFAULT_GROUP, half );
+        registerGroup ( FILE_SYSTEM_GROUP, 2 );
+        registerGroup ( THUMBNAILS_GROUP, Math.max ( 1, threads - 1 ) );
+        registerGroup ( ASYNC_TREE_GROUP, half );
+    }
+
+    /**
+     * Returns maximum amount of shared threads.
+     *
+     * @return maximum amount of shared threads
+     */
+    public static int getThreadsAmount ()
+    {
+        return pool.getMaximumPoolSize ();
+    }
+
+    /**
+     * Sets maximum amount of shared threads.
+     *
+     * @param amount maximum amount of shared threads
+     */
+    public static synchronized void setThreadsAmount ( final int amount )
+    {
+        if ( amount < 1 )
+        {
+            throw new IllegalArgumentException ( "Threads amount should be positive: " + amount );
+        }
+        if ( amount > pool.getMaximumPoolSize () )
+        {
+            pool.setMaximumPoolSize ( amount );
+            pool.setCorePoolSize ( amount );
+        }
+        else
+        {
+            pool.setCorePoolSize ( amount );
+            pool.setMaximumPoolSize ( amount );
+        }
+    }
+
+    /**
+     * Registers new task group or updates parallelism of an existing one.
+     *
+     * @param name        group name
+     * @param parallelism maximum amount of simultaneously running group tasks, zero or less means that there is no limit
+     * @return registered task group
+     */
+    public static TaskGroup registerGroup ( final String name, final int parallelism )
+    {
+        final TaskGroup group;
+        synchronized ( groups )
+        {
+            final TaskGroup existing = groups.get ( name );
+            if ( existing == null )
+            {
+                group = new TaskGroup ( name, parallelism );
+                groups.put ( name, group );
+                return group;
+            }
+            group = existing;
+        }
+        group.setParallelism ( parallelism );
+        return group;
+    }
+
+    /**
+     * Returns task group with the specified name.
+     * New group without parallelism limit is registered if there was no such group yet.
+     *
+     * @param name group name
+     * @return task group with the specified name
+     */
+    public static TaskGroup getGroup ( final String name )
+    {
+        synchronized ( groups )
+        {
+            TaskGroup group = groups.get ( name );
+            if ( group == null )
+            {
+                group = new TaskGroup ( name, 0 );
+                groups.put ( name, group );
+            }
+            return group;
+        }
+    }
+
+    /**
+     * Returns new task group which is not registered in manager.
+     * Such groups are useful for component-specific tasks, they are still executed by shared threads but are not listed in statistics.
+     *
+     * @param name        group name
+     * @param parallelism maximum amount of simultaneously running group tasks, zero or less means that there is no limit
+     * @return new task group
+     */
+    public static TaskGroup createGroup ( final String name, final int parallelism )
+    {
+        return new TaskGroup ( name, parallelism );
+    }
+
+    /**
+     * Sets maximum amount of simultaneously running tasks for the specified group.
+     *
+     * @param name        group name
+     * @param parallelism maximum amount of simultaneously running group tasks, zero or less means that there is no limit
+     */
+    public static void setParallelism ( final String name, final int parallelism )
+    {
+        getGroup ( name ).setParallelism ( parallelism );
+    }
+
+    /**
+     * Executes runnable in default group with background priority.
+     *
+     * @param runnable runnable to execute
+     * @return submitted task
+     */
+    public static Task<Object> execute ( final Runnable runnable )
+    {
+        return execute ( DEFAULT_GROUP, runnable, TaskPriority.background );
+    }
+
+    /**
+     * Executes runnable in the specified group.
+     *
+     * @param group    group name
+     * @param runnable runnable to execute
+     * @param priority task priority
+     * @return submitted task
+     */
+    public static Task<Object> execute ( final String group, final Runnable runnable, final TaskPriority priority )
+    {
+        return execute ( getGroup ( group ), runnable, priority, null );
+    }
+
+    /**
+     * Executes runnable in the specified group.
+     *
+     * @param group    task group
+     * @param runnable runnable to execute
+     * @param priority task priority
+     * @param token    cancellation token, might be null
+     * @return submitted task
+     */
+    public static Task<Object> execute ( final TaskGroup group, final Runnable runnable, final TaskPriority priority,
+                                         final CancellationToken token )
+    {
+        return submit ( group, Executors.callable ( runnable ), priority, token, null );
+    }
+
+    /**
+     * Submits callable into default group with background priority.
+     *
+     * @param callable callable to execute
+     * @param callback result callback informed in Event Dispatch Thread, might be null
+     * @param <T>      result type
+     * @return submitted task
+     */
+    public static <T> Task<T> submit ( final Callable<T> callable, final TaskCallback<T> callback )
+    {
+        return submit ( DEFAULT_GROUP, callable, TaskPriority.background, null, callback );
+    }
+
+    /**
+     * Submits callable into the specified group.
+     *
+     * @param group    group name
+     * @param callable callable to execute
+     * @param priority task priority
+     * @param token    cancellation token, might be null
+     * @param callback result callback informed in Event Dispatch Thread, might be null
+     * @param <T>      result type
+     * @return submitted task
+     */
+    public static <T> Task<T> submit ( final String group, final Callable<T> callable, final TaskPriority priority,
+                                       final CancellationToken token, final TaskCallback<T> callback )
+    {
+        return submit ( getGroup ( group ), callable, priority, token, callback );
+    }
+
+    /**
+     * Submits callable into the specified group.
+     *
+     * @param group    task group
+     * @param callable callable to execute
+     * @param priority task priority
+     * @param token    cancellation token, might be null
+     * @param callback result callback informed in Event Dispatch Thread, might be null
+     * @param <T>      result type
+     * @return submitted task
+     */
+    public static <T> Task<T> submit ( final TaskGroup group, final Callable<T> callable, final TaskPriority priority,
+                                       final CancellationToken token, final TaskCallback<T> callback )
+    {
+        final Task<T> task = new Task<T> ( group, callable, priority, token, callback );
+        if ( token != null )
+        {
+            token.addTask ( task );
+        }
+        group.submit ( task );
+        return task;
+    }
+
+    /**
+     * Passes task to shared threads.
+     * This method is called by task groups when their parallelism allows to run another task.
+     *
+     * @param task task to run
+     */
+    static void dispatch ( final Task task )
+    {
+        pool.execute ( task );
+    }
+
+    /**
+     * Returns amount of tasks waiting for a free shared thread.
+     * Tasks waiting in group queues due to group parallelism limits are not counted.
+     *
+     * @return amount of tasks waiting for a free shared thread
+     */
+    public static int getQueueSize ()
+    {
+        return pool.getQueue ().size ();
+    }
+
+    /**
+     * Returns amount of shared threads which are currently running tasks.
+     *
+     * @return amount of shared threads which are currently running tasks
+     */
+    public static int getActiveCount ()
+    {
+        return pool.getActiveCount ();
+    }
+
+    /**
+     * Returns statistics snapshots for all registered groups.
+     *
+     * @return statistics snapshots for all registered groups
+     */
+    public static List<TaskGroupStatistics> getStatistics ()
+    {
+        final List<TaskGroup> registered;
+        synchronized ( groups )
+        {
+            registered = new ArrayList<TaskGroup> ( groups.values () );
+        }
+        final List<TaskGroupStatistics> statistics = new ArrayList<TaskGroupStatistics> ( registered.size () );
+        for ( final TaskGroup group : registered )
+        {
+            statistics.add ( group.getStatistics () );
+        }
+        return statistics;
+    }
+}
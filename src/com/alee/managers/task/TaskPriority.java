@@ -0,0 +1,39 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.task;
+
+/**
+ * This enumeration represents background task priorities.
+ * Tasks with higher priority are always started before the tasks with lower priority.
+ *
+ * @author Mikle Garin
+ * @see com.alee.managers.task.TaskManager
+ */
+
+public enum TaskPriority
+{
+    /**
+     * Task result is awaited by the user, for example tree childs or directory content.
+     */
+    interactive,
+
+    /**
+     * Task can be performed whenever there are free resources, for example thumbnails or caches preparation.
+     */
+    background
+}
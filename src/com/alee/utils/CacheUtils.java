@@ -0,0 +1,236 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils;
+
+import com.alee.utils.cache.*;
+import com.alee.utils.ninepatch.NinePatchIcon;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class provides a set of utilities to create and manage bounded caches used within the library.
+ * All caches created through this class are registered and can be inspected or cleared at once.
+ * Caches implementation can be replaced by providing custom {@link com.alee.utils.cache.CacheFactory}.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.cache.Cache
+ * @see com.alee.utils.cache.LruCache
+ */
+
+public final class CacheUtils
+{
+    /**
+     * Weigher which considers all values to be equal.
+     * Using it will bound cache by the amount of cached values.
+     */
+    public static final Weigher<Object> SINGLE_WEIGHER = new Weigher<Object> ()
+    {
+        @Override
+        public long weigh ( final Object value )
+        {
+            return 1;
+        }
+    };
+
+    /**
+     * Weigher which measures images by the approximate size of their pixel data in bytes.
+     * Supports {@link java.awt.Image}, {@link javax.swing.ImageIcon} and {@link com.alee.utils.ninepatch.NinePatchIcon} values.
+     */
+    public static final Weigher<Object> IMAGE_WEIGHER = new Weigher<Object> ()
+    {
+        @Override
+        public long weigh ( final Object value )
+        {
+            if ( value instanceof BufferedImage )
+            {
+                final DataBuffer buffer = ( ( BufferedImage ) value ).getRaster ().getDataBuffer ();
+                return ( long ) buffer.getSize () * buffer.getNumBanks () * DataBuffer.getDataTypeSize ( buffer.getDataType () ) / 8;
+            }
+            else if ( value instanceof Image )
+            {
+                final Image image = ( Image ) value;
+                return 4L * Math.max ( 0, image.getWidth ( null ) ) * Math.max ( 0, image.getHeight ( null ) );
+            }
+            else if ( value instanceof ImageIcon )
+            {
+                final ImageIcon icon = ( ImageIcon ) value;
+                return 4L * Math.max ( 0, icon.getIconWidth () ) * Math.max ( 0, icon.getIconHeight () );
+            }
+            else if ( value instanceof NinePatchIcon )
+            {
+                return weigh ( ( ( NinePatchIcon ) value ).getRawImage () );
+            }
+            else
+            {
+                return 1;
+            }
+        }
+    };
+
+    /**
+     * Whether evicted values should be kept under soft references by default or not.
+     */
+    public static boolean softFallbackByDefault = true;
+
+    /**
+     * Default caches factory.
+     */
+    public static final CacheFactory DEFAULT_FACTORY = new CacheFactory ()
+    {
+        @Override
+        public <K, V> Cache<K, V> createCache ( final String name, final long maxWeight, final Weigher<? super V> weigher )
+        {
+            return new LruCache<K, V> ( name, maxWeight, weigher, softFallbackByDefault );
+        }
+    };
+
+    /**
+     * Caches factory.
+     */
+    private static CacheFactory cacheFactory = DEFAULT_FACTORY;
+
+    /**
+     * All registered caches.
+     */
+    private static final List<Cache> caches = new ArrayList<Cache> ();
+
+    /**
+     * Returns caches factory.
+     *
+     * @return caches factory
+     */
+    public static synchronized CacheFactory getCacheFactory ()
+    {
+        return cacheFactory;
+    }
+
+    /**
+     * Sets caches factory.
+     * Note that it will only affect caches created after this call, so it should be set before any library class is used.
+     *
+     * @param cacheFactory caches factory
+     */
+    public static synchronized void setCacheFactory ( final CacheFactory cacheFactory )
+    {
+        CacheUtils.cacheFactory = cacheFactory != null ? cacheFactory : DEFAULT_FACTORY;
+    }
+
+    /**
+     * Returns newly created and registered cache bounded by the amount of cached values.
+     *
+     * @param name    cache name
+     * @param maxSize maximum amount of cached values
+     * @param <K>     cache keys type
+     * @param <V>     cache values type
+     * @return newly created and registered cache
+     */
+    public static <K, V> Cache<K, V> createCache ( final String name, final int maxSize )
+    {
+        return createCache ( name, maxSize, SINGLE_WEIGHER );
+    }
+
+    /**
+     * Returns newly created and registered image cache bounded by the total size of images pixel data.
+     *
+     * @param name     cache name
+     * @param maxBytes maximum total size of cached images pixel data in bytes
+     * @param <K>      cache keys type
+     * @param <V>      cache values type
+     * @return newly created and registered image cache
+     */
+    public static <K, V> Cache<K, V> createImageCache ( final String name, final long maxBytes )
+    {
+        return createCache ( name, maxBytes, IMAGE_WEIGHER );
+    }
+
+    /**
+     * Returns newly created and registered cache.
+     *
+     * @param name      cache name
+     * @param maxWeight maximum total weight of cached values
+     * @param weigher   cached values weigher
+     * @param <K>       cache keys type
+     * @param <V>       cache values type
+     * @return newly created and registered cache
+     */
+    public static synchronized <K, V> Cache<K, V> createCache ( final String name, final long maxWeight, final Weigher<? super V> weigher )
+    {
+        final Cache<K, V> cache = cacheFactory.createCache ( name, maxWeight, weigher );
+        caches.add ( cache );
+        return cache;
+    }
+
+    /**
+     * Returns registered cache with the specified name or null if it doesn't exist.
+     *
+     * @param name cache name
+     * @return registered cache with the specified name or null if it doesn't exist
+     */
+    public static synchronized Cache getCache ( final String name )
+    {
+        for ( final Cache cache : caches )
+        {
+            if ( CompareUtils.equals ( cache.getName (), name ) )
+            {
+                return cache;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns all registered caches.
+     *
+     * @return all registered caches
+     */
+    public static synchronized List<Cache> getCaches ()
+    {
+        return CollectionUtils.copy ( caches );
+    }
+
+    /**
+     * Returns statistics for all registered caches.
+     *
+     * @return statistics for all registered caches
+     */
+    public static synchronized List<CacheStatistics> getStatistics ()
+    {
+        final List<CacheStatistics> statistics = new ArrayList<CacheStatistics> ( caches.size () );
+        for ( final Cache cache : caches )
+        {
+            statistics.add ( cache.getStatistics () );
+        }
+        return statistics;
+    }
+
+    /**
+     * Clears all registered caches.
+     */
+    public static synchronized void clearCaches ()
+    {
+        for ( final Cache cache : caches )
+        {
+            cache.clear ();
+        }
+    }
+}
@@ -22,24 +22,21 @@ import com.alee.global.StyleConstants;
 import com.alee.managers.language.LanguageManager;
 import com.alee.managers.log.Log;
 import com.alee.managers.proxy.ProxyManager;
+import com.alee.utils.cache.Cache;
 import com.alee.utils.compare.Filter;
-import com.alee.utils.file.FileDescription;
-import com.alee.utils.file.FileDownloadListener;
-import com.alee.utils.file.SystemFileListener;
+import com.alee.utils.file.*;
 import com.alee.utils.filefilter.AbstractFileFilter;
 import com.alee.utils.filefilter.CustomFileFilter;
-import com.alee.utils.swing.WebTimer;
 
 import javax.swing.*;
 import javax.swing.filechooser.FileSystemView;
 import javax.swing.text.JTextComponent;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.io.*;
 import java.math.BigInteger;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.channels.FileChannel;
+import java.nio.file.WatchKey;
 import java.security.MessageDigest;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
@@ -49,6 +46,7 @@ import java.util.*;
  * This class provides a set of utilities to work with files, file names and their extensions.
  * <p/>
  * Note that methods which request information about files from the system has their own caches to improve performance.
+ * Those caches are cleared automatically when file system changes are reported by {@link com.alee.utils.file.FileWatcher}.
  * If you will need to clear that cache simply call the corresponding clearCache method, for example:
  * For method "isHidden" you will need to call "clearIsHiddenCache" and all cached values will be resetted.
  *
@@ -120,57 +118,58 @@ public final class FileUtils
     /**
      * Cache for "isDrive" method result.
      */
-    private static final Map<String, Boolean> isDriveCache = new HashMap<String, Boolean> ();
+    private static final Map<String, Boolean> isDriveCache = Collections.synchronizedMap ( new HashMap<String, Boolean> () );
 
     /**
      * Cache for "isComputer" method result.
      */
-    private static final Map<String, Boolean> isComputerCache = new HashMap<String, Boolean> ();
+    private static final Map<String, Boolean> isComputerCache = Collections.synchronizedMap ( new HashMap<String, Boolean> () );
 
     /**
      * Cache for "isCdDrive" method result.
      */
-    private static final Map<String, Boolean> isCdDriveCache = new HashMap<String, Boolean> ();
+    private static final Map<String, Boolean> isCdDriveCache = Collections.synchronizedMap ( new HashMap<String, Boolean> () );
 
     /**
-     * Cache for "isFile" method result.
+     * Maximum amount of cached file attributes.
      */
-    private static final Map<String, Boolean> isFileCache = new HashMap<String, Boolean> ();
+    private static final int ATTRIBUTES_CACHE_SIZE = 8192;
 
     /**
-     * Cache for "isDirectory" method result.
+     * Cache for file attributes used by "isFile", "isDirectory", "isHidden" and file dates methods.
+     * Attributes cached while their directory was watched are used only while it is still watched, other attributes are used only
+     * while their directory is not watched.
      */
-    private static final Map<String, Boolean> isDirectoryCache = new HashMap<String, Boolean> ();
+    private static final Cache<String, CachedAttributes> attributesCache =
+            CacheUtils.createCache ( "FileUtils.attributes", ATTRIBUTES_CACHE_SIZE );
 
     /**
-     * Cache for "isHidden" method result.
+     * Maximum amount of cached directory snapshots.
      */
-    private static final Map<String, Boolean> isHiddenCache = new HashMap<String, Boolean> ();
+    private static final int SNAPSHOTS_CACHE_SIZE = 16;
 
     /**
-     * Cache for "getDisplayFileName" method result.
-     */
-    private static final Map<String, String> displayFileNameCache = new HashMap<String, String> ();
-
-    /**
-     * Cache for "getFileDescription" method result.
+     * Cache for recently loaded directory snapshots.
+     * Attributes of files from these directories are taken from snapshots instead of being read separately.
      */
-    private static final Map<String, FileDescription> fileDescriptionCache = new HashMap<String, FileDescription> ();
+    private static final Cache<String, DirectorySnapshot> snapshotsCache =
+            CacheUtils.createCache ( "FileUtils.snapshots", SNAPSHOTS_CACHE_SIZE );
 
     /**
-     * Cache for "getFileTypeDescription" method result.
+     * Cache for "getDisplayFileName" method result.
      */
-    private static final Map<String, String> fileTypeDescriptionCache = new HashMap<String, String> ();
+    private static final Map<String, String> displayFileNameCache = Collections.synchronizedMap ( new HashMap<String, String> () );
 
     /**
-     * Cache for "getDisplayFileCreationDate" method result.
+     * Cache for "getFileDescription" method result.
      */
-    private static final Map<String, String> displayFileCreationDateCache = new HashMap<String, String> ();
+    private static final Map<String, FileDescription> fileDescriptionCache =
+            Collections.synchronizedMap ( new HashMap<String, FileDescription> () );
 
     /**
-     * Cache for "getDisplayFileModificationDate" method result.
+     * Cache for "getFileTypeDescription" method result.
      */
-    private static final Map<String, String> displayFileModificationDateCache = new HashMap<String, String> ();
+    private static final Map<String, String> fileTypeDescriptionCache = Collections.synchronizedMap ( new HashMap<String, String> () );
 
     /**
      * File extension icons cache lock.
@@ -180,17 +179,12 @@ public final class FileUtils
     /**
      * File extension icons cache.
      */
-    private static final Map<String, ImageIcon> extensionIconsCache = new HashMap<String, ImageIcon> ();
+    private static final Map<String, ImageIcon> extensionIconsCache = Collections.synchronizedMap ( new HashMap<String, ImageIcon> () );
 
     /**
      * Resource icons cache.
      */
-    private static final Map<String, ImageIcon> resourceIconsCache = new HashMap<String, ImageIcon> ();
-
-    /**
-     * Default file tracking updates delay.
-     */
-    private static final int FILE_TRACKING_DELAY = 5000;
+    private static final Map<String, ImageIcon> resourceIconsCache = Collections.synchronizedMap ( new HashMap<String, ImageIcon> () );
 
     /**
      * Clears all caches for specified files.
@@ -229,16 +223,126 @@ public final class FileUtils
     public static void clearFileCaches ( final String path )
     {
         clearDisplayFileNameCache ( path );
-        clearIsHiddenCache ( path );
-        clearIsFileCache ( path );
-        clearIsDirectoryCache ( path );
+        clearFileAttributesCache ( path );
         clearIsComputerCache ( path );
         clearIsDriveCache ( path );
         clearIsCdDriveCache ( path );
         clearFileDescriptionCache ( path );
         clearFileTypeDescriptionCache ( path );
-        clearDisplayFileCreationDateCache ( path );
-        clearDisplayFileModificationDateCache ( path );
+    }
+
+    /**
+     * Clears all caches for all files.
+     */
+    public static void clearAllFileCaches ()
+    {
+        clearDisplayFileNameCache ();
+        clearFileAttributesCache ();
+        clearIsComputerCache ();
+        clearIsDriveCache ();
+        clearIsCdDriveCache ();
+        clearFileDescriptionCache ();
+        clearFileTypeDescriptionCache ();
+    }
+
+    /**
+     * Clears cached attributes for all files.
+     */
+    public static void clearFileAttributesCache ()
+    {
+        attributesCache.clear ();
+        snapshotsCache.clear ();
+    }
+
+    /**
+     * Clears cached attributes for file under the specified path.
+     *
+     * @param absolutePath file path
+     */
+    public static void clearFileAttributesCache ( final String absolutePath )
+    {
+        attributesCache.remove ( absolutePath );
+        final String parent = new File ( absolutePath ).getParent ();
+        if ( parent != null )
+        {
+            final DirectorySnapshot snapshot = snapshotsCache.get ( parent );
+            if ( snapshot != null )
+            {
+                snapshot.removeAttributes ( absolutePath );
+            }
+        }
+    }
+
+    /**
+     * Caches loaded directory snapshot.
+     * Attributes of files from that directory will be taken from the snapshot while it is valid.
+     *
+     * @param snapshot directory snapshot
+     */
+    public static void cacheDirectorySnapshot ( final DirectorySnapshot snapshot )
+    {
+        snapshotsCache.put ( snapshot.getDirectory ().getAbsolutePath (), snapshot );
+    }
+
+    /**
+     * Returns valid cached snapshot of the specified directory or null if there is none.
+     *
+     * @param directory directory to process
+     * @return valid cached snapshot of the specified directory or null if there is none
+     */
+    public static DirectorySnapshot getDirectorySnapshot ( final File directory )
+    {
+        final String absolutePath = directory.getAbsolutePath ();
+        final DirectorySnapshot snapshot = snapshotsCache.get ( absolutePath );
+        if ( snapshot != null && !snapshot.isValid () )
+        {
+            snapshotsCache.remove ( absolutePath );
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns attributes of the specified file.
+     * Attributes are read from the file system with a single call and cached until file system reports changes in file directory.
+     * This method never starts watching file directory, directories are watched only while some file view displays them.
+     * If file directory is not watched attributes are cached until caches are cleared manually or until directory gets watched.
+     * Attributes of files from recently loaded directories are taken from their snapshots instead.
+     *
+     * @param file file to process
+     * @return file attributes
+     * @see com.alee.utils.file.FileWatcher#watchDirectory(java.io.File)
+     */
+    public static FileAttributes getFileAttributes ( final File file )
+    {
+        final String absolutePath = file.getAbsolutePath ();
+        final File parent = file.getAbsoluteFile ().getParentFile ();
+        final CachedAttributes cached = attributesCache.get ( absolutePath );
+        if ( cached != null && ( cached.key != null ? cached.key.isValid () : FileWatcher.getWatchKey ( parent ) == null ) )
+        {
+            return cached.attributes;
+        }
+        final DirectorySnapshot snapshot = parent != null ? getDirectorySnapshot ( parent ) : null;
+        final FileAttributes snapshotAttributes = snapshot != null ? snapshot.getAttributes ( absolutePath ) : null;
+        if ( snapshotAttributes != null )
+        {
+            return snapshotAttributes;
+        }
+        else
+        {
+            // Watch key and changes count are taken before reading attributes to avoid missing changes made in between
+            final long changes = FileWatcher.getChangesCount ();
+            final WatchKey key = FileWatcher.getWatchKey ( parent );
+            final FileAttributes attributes = FileAttributes.read ( file );
+            attributesCache.put ( absolutePath, new CachedAttributes ( attributes, key ) );
+
+            // Changes might have been processed before attributes were cached, in that case cached attributes might be outdated
+            if ( FileWatcher.getChangesCount () != changes || key != FileWatcher.getWatchKey ( parent ) )
+            {
+                attributesCache.remove ( absolutePath );
+            }
+            return attributes;
+        }
     }
 
     /**
@@ -1213,7 +1317,7 @@ public final class FileUtils
         final String name = getDisplayFileName ( file );
 
         // File or image size
-        final String size = file.isFile () ? getDisplayFileSize ( file ) + ( fileSize != null ? " (" + fileSize + ")" : "" ) : null;
+        final String size = isFile ( file ) ? getDisplayFileSize ( file ) + ( fileSize != null ? " (" + fileSize + ")" : "" ) : null;
 
         // File type description
         final String description = getFileTypeDescription ( file );
@@ -1233,8 +1337,7 @@ public final class FileUtils
      */
     public static String getDisplayFileSize ( final File file )
     {
-        // todo Cache this value
-        return getFileSizeString ( file.length () );
+        return getFileSizeString ( getFileAttributes ( file ).getSize () );
     }
 
     /**
@@ -1246,8 +1349,7 @@ public final class FileUtils
      */
     public static String getDisplayFileSize ( final File file, final int digits )
     {
-        // todo Cache this value
-        return getFileSizeString ( file.length (), digits );
+        return getFileSizeString ( getFileAttributes ( file ).getSize (), digits );
     }
 
     /**
@@ -2341,7 +2443,7 @@ public final class FileUtils
      */
     public static void clearIsFileCache ()
     {
-        isFileCache.clear ();
+        clearFileAttributesCache ();
     }
 
     /**
@@ -2349,7 +2451,7 @@ public final class FileUtils
      */
     public static void clearIsFileCache ( final String absolutePath )
     {
-        isFileCache.remove ( absolutePath );
+        clearFileAttributesCache ( absolutePath );
     }
 
     /**
@@ -2360,20 +2462,7 @@ public final class FileUtils
      */
     public static boolean isFile ( final File file )
     {
-        if ( file == null )
-        {
-            return false;
-        }
-        else if ( isFileCache.containsKey ( file.getAbsolutePath () ) )
-        {
-            return isFileCache.get ( file.getAbsolutePath () );
-        }
-        else
-        {
-            final boolean isFile = file.isFile ();
-            isFileCache.put ( file.getAbsolutePath (), isFile );
-            return isFile;
-        }
+        return file != null && getFileAttributes ( file ).isFile ();
     }
 
     /**
@@ -2381,7 +2470,7 @@ public final class FileUtils
      */
     public static void clearIsDirectoryCache ()
     {
-        isDirectoryCache.clear ();
+        clearFileAttributesCache ();
     }
 
     /**
@@ -2389,7 +2478,7 @@ public final class FileUtils
      */
     public static void clearIsDirectoryCache ( final String absolutePath )
     {
-        isDirectoryCache.remove ( absolutePath );
+        clearFileAttributesCache ( absolutePath );
     }
 
     /**
@@ -2400,20 +2489,7 @@ public final class FileUtils
      */
     public static boolean isDirectory ( final File file )
     {
-        if ( file == null )
-        {
-            return false;
-        }
-        else if ( isDirectoryCache.containsKey ( file.getAbsolutePath () ) )
-        {
-            return isDirectoryCache.get ( file.getAbsolutePath () );
-        }
-        else
-        {
-            final boolean isDirectory = file.isDirectory ();
-            isDirectoryCache.put ( file.getAbsolutePath (), isDirectory );
-            return isDirectory;
-        }
+        return file != null && getFileAttributes ( file ).isDirectory ();
     }
 
     /**
@@ -2421,7 +2497,7 @@ public final class FileUtils
      */
     public static void clearIsHiddenCache ()
     {
-        isHiddenCache.clear ();
+        clearFileAttributesCache ();
     }
 
     /**
@@ -2429,7 +2505,7 @@ public final class FileUtils
      */
     public static void clearIsHiddenCache ( final String absolutePath )
     {
-        isHiddenCache.remove ( absolutePath );
+        clearFileAttributesCache ( absolutePath );
     }
 
     /**
@@ -2438,23 +2514,9 @@ public final class FileUtils
      * @param file file to process
      * @return true if the specified file is hidden, false otherwise
      */
-    public static boolean isHidden ( File file )
+    public static boolean isHidden ( final File file )
     {
-        if ( file == null )
-        {
-            return false;
-        }
-        else if ( isHiddenCache.containsKey ( file.getAbsolutePath () ) )
-        {
-            return isHiddenCache.get ( file.getAbsolutePath () );
-        }
-        else
-        {
-            file = file.getAbsoluteFile ();
-            final boolean isHidden = file.getParentFile () != null && file.isHidden ();
-            isHiddenCache.put ( file.getAbsolutePath (), isHidden );
-            return isHidden;
-        }
+        return file != null && getFileAttributes ( file ).isHidden ();
     }
 
     /**
@@ -2540,7 +2602,7 @@ public final class FileUtils
      */
     public static void clearDisplayFileCreationDateCache ()
     {
-        displayFileCreationDateCache.clear ();
+        clearFileAttributesCache ();
     }
 
     /**
@@ -2548,28 +2610,18 @@ public final class FileUtils
      */
     public static void clearDisplayFileCreationDateCache ( final String absolutePath )
     {
-        displayFileCreationDateCache.remove ( absolutePath );
+        clearFileAttributesCache ( absolutePath );
     }
 
     /**
-     * Returns file modification date to display.
+     * Returns file creation date to display.
      *
      * @param file file to process
      * @return file modification date to display
      */
     public static String getDisplayFileCreationDate ( final File file )
     {
-        final String absolutePath = file.getAbsolutePath ();
-        if ( displayFileCreationDateCache.containsKey ( absolutePath ) )
-        {
-            return displayFileCreationDateCache.get ( absolutePath );
-        }
-        else
-        {
-            final String date = sdf.format ( new Date ( file.lastModified () ) );
-            displayFileCreationDateCache.put ( absolutePath, date );
-            return date;
-        }
+        return formatDate ( getFileAttributes ( file ).getCreationTime () );
     }
 
     /**
@@ -2577,7 +2629,7 @@ public final class FileUtils
      */
     public static void clearDisplayFileModificationDateCache ()
     {
-        displayFileModificationDateCache.clear ();
+        clearFileAttributesCache ();
     }
 
     /**
@@ -2585,7 +2637,7 @@ public final class FileUtils
      */
     public static void clearDisplayFileModificationDateCache ( final String absolutePath )
     {
-        displayFileModificationDateCache.remove ( absolutePath );
+        clearFileAttributesCache ( absolutePath );
     }
 
     /**
@@ -2596,16 +2648,20 @@ public final class FileUtils
      */
     public static String getDisplayFileModificationDate ( final File file )
     {
-        final String absolutePath = file.getAbsolutePath ();
-        if ( displayFileModificationDateCache.containsKey ( absolutePath ) )
-        {
-            return displayFileModificationDateCache.get ( absolutePath );
-        }
-        else
+        return formatDate ( getFileAttributes ( file ).getLastModified () );
+    }
+
+    /**
+     * Returns date formatted for display.
+     *
+     * @param time time in milliseconds
+     * @return date formatted for display
+     */
+    private static String formatDate ( final long time )
+    {
+        synchronized ( sdf )
         {
-            final String date = sdf.format ( new Date ( file.lastModified () ) );
-            displayFileModificationDateCache.put ( absolutePath, date );
-            return date;
+            return sdf.format ( new Date ( time ) );
         }
     }
 
@@ -2909,47 +2965,54 @@ public final class FileUtils
 
     /**
      * Starts tracking file for possible changes.
+     * Listener is informed in Event Dispatch Thread when file system reports file changes.
      *
+     * @param file     file to track
      * @param listener system file listener
+     * @return true if file tracking has started, false if file cannot be tracked
      */
-    public static WebTimer trackFile ( final File file, final SystemFileListener listener )
+    public static boolean trackFile ( final File file, final SystemFileListener listener )
     {
-        return trackFile ( file, listener, FILE_TRACKING_DELAY );
+        return FileWatcher.track ( file, listener );
     }
 
     /**
-     * Starts tracking file for possible changes.
+     * Stops tracking file for possible changes.
      *
+     * @param file     tracked file
      * @param listener system file listener
-     * @param delay    delay between checks for changes
      */
-    public static WebTimer trackFile ( final File file, final SystemFileListener listener, final long delay )
+    public static void stopTrackingFile ( final File file, final SystemFileListener listener )
     {
-        final WebTimer tracker = new WebTimer ( "File tracker - " + file.getName (), delay, 0 );
-        tracker.addActionListener ( new ActionListener ()
-        {
-            private Long lastModified = null;
+        FileWatcher.untrack ( file, listener );
+    }
 
-            @Override
-            public void actionPerformed ( final ActionEvent e )
-            {
-                if ( file.exists () )
-                {
-                    final long lm = file.lastModified ();
-                    if ( lastModified != lm )
-                    {
-                        listener.modified ( file );
-                        lastModified = lm;
-                    }
-                }
-                else
-                {
-                    listener.unbound ( file );
-                    tracker.stop ();
-                }
-            }
-        } );
-        tracker.setUseDaemonThread ( true );
-        return tracker;
+    /**
+     * Cached file attributes.
+     */
+    private static final class CachedAttributes
+    {
+        /**
+         * File attributes.
+         */
+        private final FileAttributes attributes;
+
+        /**
+         * Watch key of the file directory or null if it was not watched when attributes were read.
+         */
+        private final WatchKey key;
+
+        /**
+         * Constructs new cached file attributes.
+         *
+         * @param attributes file attributes
+         * @param key        watch key of the file directory or null if it is not watched
+         */
+        private CachedAttributes ( final FileAttributes attributes, final WatchKey key )
+        {
+            super ();
+            this.attributes = attributes;
+            this.key = key;
+        }
     }
 }
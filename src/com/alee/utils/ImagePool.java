@@ -0,0 +1,310 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.alee.utils;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Pool of translucent images used for short-living snapshots like transition, drag and fade images.
+ * <p/>
+ * Pooled images are grouped by GraphicsConfiguration and size class, each size class covers sizes from its lower bound up to
+ * the next one which are at most a quarter of the highest size bit apart, so pooled image is never more than 25% larger than
+ * requested one in each dimension. When pooled image is larger than requested one its sub-image of the requested size is leased.
+ * <p/>
+ * Leased images must be returned using {@link #release(java.awt.image.BufferedImage)} once they are not displayed anymore.
+ * Images which were never returned are simply collected by GC, idle pooled images are kept under soft references.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.SwingUtils#leaseComponentSnapshot(java.awt.Component, int, int)
+ */
+
+public final class ImagePool
+{
+    /**
+     * Whether images pooling is enabled or not.
+     * Disabled pool simply creates new images and ignores returned ones.
+     */
+    public static boolean enabled = true;
+
+    /**
+     * Maximum amount of idle images kept for a single size class.
+     */
+    public static int maxPooledImages = 2;
+
+    /**
+     * Minimum size class step.
+     */
+    private static final int MIN_STEP = 16;
+
+    /**
+     * Pool state lock.
+     */
+    private static final Object lock = new Object ();
+
+    /**
+     * Idle images by their GraphicsConfiguration and size class.
+     * GraphicsConfiguration might be null when it is not available, for example in headless environment.
+     */
+    private static final Map<GraphicsConfiguration, Map<Long, List<SoftReference<BufferedImage>>>> pool =
+            new WeakHashMap<GraphicsConfiguration, Map<Long, List<SoftReference<BufferedImage>>>> ();
+
+    /**
+     * Currently leased images.
+     * Leased images are weakly referenced so that images which are never returned do not stay in memory.
+     */
+    private static final Map<BufferedImage, Lease> leased = new WeakHashMap<BufferedImage, Lease> ();
+
+    /**
+     * Returns cleared translucent image of the specified size compatible with the specified component.
+     *
+     * @param component component image will be displayed on, might be null
+     * @param width     image width
+     * @param height    image height
+     * @return cleared translucent image of the specified size
+     */
+    public static BufferedImage lease ( final Component component, final int width, final int height )
+    {
+        return lease ( component != null ? component.getGraphicsConfiguration () : null, width, height );
+    }
+
+    /**
+     * Returns cleared translucent image of the specified size compatible with the specified GraphicsConfiguration.
+     *
+     * @param gc     GraphicsConfiguration, default one is used if it is null
+     * @param width  image width
+     * @param height image height
+     * @return cleared translucent image of the specified size
+     */
+    public static BufferedImage lease ( final GraphicsConfiguration gc, final int width, final int height )
+    {
+        final int w = Math.max ( 1, width );
+        final int h = Math.max ( 1, height );
+        if ( !enabled )
+        {
+            return createImage ( gc, w, h );
+        }
+
+        // Looking for idle pooled image
+        final int classWidth = getSizeClass ( w );
+        final int classHeight = getSizeClass ( h );
+        final Long key = getKey ( classWidth, classHeight );
+        BufferedImage pooled = null;
+        synchronized ( lock )
+        {
+            final Map<Long, List<SoftReference<BufferedImage>>> buckets = pool.get ( gc );
+            final List<SoftReference<BufferedImage>> bucket = buckets != null ? buckets.get ( key ) : null;
+            while ( pooled == null && bucket != null && !bucket.isEmpty () )
+            {
+                pooled = bucket.remove ( bucket.size () - 1 ).get ();
+            }
+        }
+
+        // Creating new image or clearing pooled one
+        final BufferedImage image;
+        if ( pooled == null )
+        {
+            pooled = createImage ( gc, classWidth, classHeight );
+            image = w == classWidth && h == classHeight ? pooled : pooled.getSubimage ( 0, 0, w, h );
+        }
+        else
+        {
+            image = w == classWidth && h == classHeight ? pooled : pooled.getSubimage ( 0, 0, w, h );
+            final Graphics2D g2d = image.createGraphics ();
+            g2d.setComposite ( AlphaComposite.Clear );
+            g2d.fillRect ( 0, 0, w, h );
+            g2d.dispose ();
+        }
+
+        // Remembering lease
+        synchronized ( lock )
+        {
+            leased.put ( image, new Lease ( gc, image != pooled ? pooled : null ) );
+        }
+        return image;
+    }
+
+    /**
+     * Returns image leased from this pool back into the pool.
+     * Image must not be used after this call since it will be leased again.
+     *
+     * @param image leased image
+     * @return true if image was returned into the pool, false if it wasn't leased from this pool
+     */
+    public static boolean release ( final BufferedImage image )
+    {
+        if ( image == null )
+        {
+            return false;
+        }
+        synchronized ( lock )
+        {
+            final Lease lease = leased.remove ( image );
+            if ( lease == null )
+            {
+                return false;
+            }
+            if ( enabled )
+            {
+                final BufferedImage pooled = lease.image != null ? lease.image : image;
+                final Long key = getKey ( pooled.getWidth (), pooled.getHeight () );
+                Map<Long, List<SoftReference<BufferedImage>>> buckets = pool.get ( lease.gc );
+                if ( buckets == null )
+                {
+                    buckets = new HashMap<Long, List<SoftReference<BufferedImage>>> ();
+                    pool.put ( lease.gc, buckets );
+                }
+                List<SoftReference<BufferedImage>> bucket = buckets.get ( key );
+                if ( bucket == null )
+                {
+                    bucket = new ArrayList<SoftReference<BufferedImage>> ( maxPooledImages );
+                    buckets.put ( key, bucket );
+                }
+
+                // Cleaning up collected images
+                final Iterator<SoftReference<BufferedImage>> iterator = bucket.iterator ();
+                while ( iterator.hasNext () )
+                {
+                    if ( iterator.next ().get () == null )
+                    {
+                        iterator.remove ();
+                    }
+                }
+
+                if ( bucket.size () < maxPooledImages )
+                {
+                    bucket.add ( new SoftReference<BufferedImage> ( pooled ) );
+                }
+                else
+                {
+                    pooled.flush ();
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns whether the specified image is currently leased from this pool or not.
+     *
+     * @param image image to check
+     * @return true if the specified image is currently leased from this pool, false otherwise
+     */
+    public static boolean isLeased ( final BufferedImage image )
+    {
+        synchronized ( lock )
+        {
+            return image != null && leased.containsKey ( image );
+        }
+    }
+
+    /**
+     * Removes all idle images from this pool.
+     */
+    public static void clear ()
+    {
+        synchronized ( lock )
+        {
+            for ( final Map<Long, List<SoftReference<BufferedImage>>> buckets : pool.values () )
+            {
+                for ( final List<SoftReference<BufferedImage>> bucket : buckets.values () )
+                {
+                    for ( final SoftReference<BufferedImage> reference : bucket )
+                    {
+                        final BufferedImage image = reference.get ();
+                        if ( image != null )
+                        {
+                            image.flush ();
+                        }
+                    }
+                }
+            }
+            pool.clear ();
+        }
+    }
+
+    /**
+     * Returns size class for the specified image size.
+     * That is the smallest multiple of a quarter of the highest size bit which is not less than the specified size.
+     *
+     * @param size image size
+     * @return size class for the specified image size
+     */
+    private static int getSizeClass ( final int size )
+    {
+        final int step = Math.max ( MIN_STEP, Integer.highestOneBit ( size ) / 4 );
+        return ( size + step - 1 ) / step * step;
+    }
+
+    /**
+     * Returns pool key for the specified size class.
+     *
+     * @param width  size class width
+     * @param height size class height
+     * @return pool key for the specified size class
+     */
+    private static Long getKey ( final int width, final int height )
+    {
+        return ( ( long ) width << 32 ) | height;
+    }
+
+    /**
+     * Returns newly created translucent image of the specified size.
+     *
+     * @param gc     GraphicsConfiguration, default one is used if it is null
+     * @param width  image width
+     * @param height image height
+     * @return newly created translucent image of the specified size
+     */
+    private static BufferedImage createImage ( final GraphicsConfiguration gc, final int width, final int height )
+    {
+        return gc != null ? gc.createCompatibleImage ( width, height, Transparency.TRANSLUCENT ) :
+                ImageUtils.createCompatibleImage ( width, height, Transparency.TRANSLUCENT );
+    }
+
+    /**
+     * Leased image information.
+     */
+    private static final class Lease
+    {
+        /**
+         * GraphicsConfiguration image was created for.
+         */
+        private final GraphicsConfiguration gc;
+
+        /**
+         * Pooled image if leased image is its sub-image, null otherwise.
+         */
+        private final BufferedImage image;
+
+        /**
+         * Constructs new leased image information.
+         *
+         * @param gc    GraphicsConfiguration image was created for
+         * @param image pooled image if leased image is its sub-image, null otherwise
+         */
+        private Lease ( final GraphicsConfiguration gc, final BufferedImage image )
+        {
+            super ();
+            this.gc = gc;
+            this.image = image;
+        }
+    }
+}
@@ -21,9 +21,13 @@ import com.alee.global.GlobalConstants;
 import com.alee.global.StyleConstants;
 import com.alee.graphics.filters.ShadowFilter;
 import com.alee.managers.log.Log;
+import com.alee.utils.cache.Cache;
 import com.mortennobel.imagescaling.ResampleOp;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.GeneralPath;
@@ -32,9 +36,8 @@ import java.awt.image.BufferedImage;
 import java.io.*;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author Mikle Garin
@@ -270,7 +273,7 @@ public final class ImageUtils
      * Merges few images into single one
      */
 
-    private static final Map<String, ImageIcon> mergedIconsCache = new HashMap<String, ImageIcon> ();
+    private static final Cache<String, ImageIcon> mergedIconsCache = CacheUtils.createImageCache ( "ImageUtils.mergedIcons", 16 * 1024 * 1024 );
 
     public static void clearMergedIconsCache ()
     {
@@ -285,9 +288,10 @@ public final class ImageUtils
     public static ImageIcon mergeIcons ( final String key, final List<ImageIcon> icons )
     {
         // Icon is cached already
-        if ( key != null && mergedIconsCache.containsKey ( key ) )
+        final ImageIcon cached = key != null ? mergedIconsCache.get ( key ) : null;
+        if ( cached != null )
         {
-            return mergedIconsCache.get ( key );
+            return cached;
         }
 
         // No icons given
@@ -325,9 +329,10 @@ public final class ImageUtils
     public static ImageIcon mergeIcons ( final String key, final ImageIcon... icons )
     {
         // Icon is cached already
-        if ( key != null && mergedIconsCache.containsKey ( key ) )
+        final ImageIcon cached = key != null ? mergedIconsCache.get ( key ) : null;
+        if ( cached != null )
         {
-            return mergedIconsCache.get ( key );
+            return cached;
         }
 
         // No icons given
@@ -357,7 +362,8 @@ public final class ImageUtils
         return icon;
     }
 
-    private static final Map<String, BufferedImage> mergedImagesCache = new HashMap<String, BufferedImage> ();
+    private static final Cache<String, BufferedImage> mergedImagesCache =
+            CacheUtils.createImageCache ( "ImageUtils.mergedImages", 16 * 1024 * 1024 );
 
     public static void clearMergedImagesCache ()
     {
@@ -372,9 +378,10 @@ public final class ImageUtils
     public static BufferedImage mergeImages ( final String key, final Image... images )
     {
         // Image is cached already
-        if ( key != null && mergedImagesCache.containsKey ( key ) )
+        final BufferedImage cached = key != null ? mergedImagesCache.get ( key ) : null;
+        if ( cached != null )
         {
-            return mergedImagesCache.get ( key );
+            return cached;
         }
 
         // No images given
@@ -725,6 +732,13 @@ public final class ImageUtils
 
     public static ImageIcon createThumbnailIcon ( final String src, final int size )
     {
+        // Decoding downsampled image right away if possible
+        final ImageIcon subsampled = createSubsampledThumbnailIcon ( new File ( src ), size );
+        if ( subsampled != null )
+        {
+            return subsampled;
+        }
+
         // Retrieving image to create thumbnail from
         final ImageIcon icon = getImageIcon ( src, false );
         if ( icon != null )
@@ -746,6 +760,76 @@ public final class ImageUtils
         }
     }
 
+    /**
+     * Returns thumbnail icon for the image file decoded with source subsampling.
+     * Unlike full image decoding with following rescaling this reads only the part of image pixels required for the thumbnail.
+     * Returned icon description contains original image size.
+     *
+     * @param file image file
+     * @param size maximum thumbnail side length
+     * @return thumbnail icon for the image file or null if it cannot be decoded with ImageIO
+     */
+    public static ImageIcon createSubsampledThumbnailIcon ( final File file, final int size )
+    {
+        ImageInputStream stream = null;
+        ImageReader reader = null;
+        try
+        {
+            stream = ImageIO.createImageInputStream ( file );
+            if ( stream == null )
+            {
+                return null;
+            }
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders ( stream );
+            if ( !readers.hasNext () )
+            {
+                return null;
+            }
+            reader = readers.next ();
+            reader.setInput ( stream, true, true );
+
+            // Reading each n-th pixel so that decoded image is still about twice as large as thumbnail for smooth downscaling
+            final int width = reader.getWidth ( 0 );
+            final int height = reader.getHeight ( 0 );
+            final int step = Math.max ( 1, Math.max ( width, height ) / ( size * 2 ) );
+            final ImageReadParam param = reader.getDefaultReadParam ();
+            param.setSourceSubsampling ( step, step, 0, 0 );
+            final BufferedImage image = reader.read ( 0, param );
+
+            final ImageIcon icon = new ImageIcon ( createPreviewImage ( image, size ) );
+            icon.setDescription ( width + "x" + height );
+            return icon;
+        }
+        catch ( final IOException e )
+        {
+            // Image cannot be read
+            return null;
+        }
+        catch ( final RuntimeException e )
+        {
+            // Image reader failed to decode image
+            return null;
+        }
+        finally
+        {
+            if ( reader != null )
+            {
+                reader.dispose ();
+            }
+            if ( stream != null )
+            {
+                try
+                {
+                    stream.close ();
+                }
+                catch ( final IOException e )
+                {
+                    // Ignore stream closing exceptions
+                }
+            }
+        }
+    }
+
     public static ImageIcon createPreviewIcon ( final ImageIcon image, final int size )
     {
         return createPreviewIcon ( image.getImage (), size );
@@ -850,11 +934,11 @@ public final class ImageUtils
      * Image read methods
      */
 
-    private static final Map<String, ImageIcon> iconsCache = new HashMap<String, ImageIcon> ();
+    private static final Cache<String, ImageIcon> iconsCache = CacheUtils.createImageCache ( "ImageUtils.icons", 64 * 1024 * 1024 );
 
     public static boolean isImageCached ( final String src )
     {
-        return iconsCache.containsKey ( src ) && iconsCache.get ( src ) != null;
+        return iconsCache.get ( src ) != null;
     }
 
     public static void setImageCache ( final String src, final ImageIcon imageIcon )
@@ -869,13 +953,10 @@ public final class ImageUtils
 
     public static void clearImageCache ( final String src )
     {
-        if ( iconsCache.size () > 0 && iconsCache.containsKey ( src ) )
+        final ImageIcon removed = iconsCache.remove ( src );
+        if ( removed != null && removed.getImage () != null )
         {
-            if ( iconsCache.get ( src ) != null && iconsCache.get ( src ).getImage () != null )
-            {
-                iconsCache.get ( src ).getImage ().flush ();
-            }
-            iconsCache.remove ( src );
+            removed.getImage ().flush ();
         }
     }
 
@@ -898,24 +979,14 @@ public final class ImageUtils
     {
         if ( src != null && !src.trim ().equals ( "" ) )
         {
-            final ImageIcon imageIcon;
-            if ( useCache && iconsCache.containsKey ( src ) )
+            final ImageIcon cached = useCache ? iconsCache.get ( src ) : null;
+            if ( cached != null )
             {
-                imageIcon = iconsCache.get ( src );
-                if ( imageIcon != null )
-                {
-                    return imageIcon;
-                }
-                else
-                {
-                    // todo This might cause performance issues
-                    iconsCache.remove ( src );
-                    return getImageIcon ( src, useCache );
-                }
+                return cached;
             }
             else
             {
-                imageIcon = createImageIcon ( src );
+                final ImageIcon imageIcon = createImageIcon ( src );
                 if ( useCache )
                 {
                     iconsCache.put ( src, imageIcon );
@@ -958,24 +1029,14 @@ public final class ImageUtils
         if ( resource != null )
         {
             final String key = resource.toString ();
-            final ImageIcon imageIcon;
-            if ( useCache && iconsCache.containsKey ( key ) )
+            final ImageIcon cached = useCache ? iconsCache.get ( key ) : null;
+            if ( cached != null )
             {
-                imageIcon = iconsCache.get ( key );
-                if ( imageIcon != null )
-                {
-                    return imageIcon;
-                }
-                else
-                {
-                    // todo This might cause performance issues
-                    iconsCache.remove ( key );
-                    return getImageIcon ( key, useCache );
-                }
+                return cached;
             }
             else
             {
-                imageIcon = new ImageIcon ( resource );
+                final ImageIcon imageIcon = new ImageIcon ( resource );
                 if ( useCache )
                 {
                     iconsCache.put ( key, imageIcon );
@@ -1104,28 +1165,32 @@ public final class ImageUtils
      * Scaled preview creation
      */
 
-    private static final Map<String, ImageIcon> sizedPreviewCache = new HashMap<String, ImageIcon> ();
+    private static final Cache<String, ImageIcon> sizedPreviewCache =
+            CacheUtils.createImageCache ( "ImageUtils.sizedPreviews", 32 * 1024 * 1024 );
 
     public static ImageIcon getSizedImagePreview ( final String src, final int length, final boolean drawBorder )
     {
-        if ( sizedPreviewCache.containsKey ( length + IMAGE_CACHE_SEPARATOR + src ) )
+        final String key = length + IMAGE_CACHE_SEPARATOR + src;
+        final ImageIcon cached = sizedPreviewCache.get ( key );
+        if ( cached != null )
         {
-            return sizedPreviewCache.get ( length + IMAGE_CACHE_SEPARATOR + src );
+            return cached;
         }
         else
         {
             final ImageIcon icon = createThumbnailIcon ( src, length );
             final ImageIcon sized = createSizedImagePreview ( icon, length, drawBorder );
-            sizedPreviewCache.put ( length + IMAGE_CACHE_SEPARATOR + src, sized );
+            sizedPreviewCache.put ( key, sized );
             return sized;
         }
     }
 
     public static ImageIcon getSizedImagePreview ( final String id, final ImageIcon icon, final int length, final boolean drawBorder )
     {
-        if ( sizedPreviewCache.containsKey ( id ) )
+        final ImageIcon cached = sizedPreviewCache.get ( id );
+        if ( cached != null )
         {
-            return sizedPreviewCache.get ( id );
+            return cached;
         }
         else
         {
@@ -1167,7 +1232,7 @@ public final class ImageUtils
      * Creates disabled image copy
      */
 
-    private static final Map<String, ImageIcon> grayscaleCache = new HashMap<String, ImageIcon> ();
+    private static final Cache<String, ImageIcon> grayscaleCache = CacheUtils.createImageCache ( "ImageUtils.grayscale", 16 * 1024 * 1024 );
 
     public static void clearDisabledCopyCache ()
     {
@@ -1181,14 +1246,16 @@ public final class ImageUtils
 
     public static ImageIcon getDisabledCopy ( final String key, final ImageIcon imageIcon )
     {
-        if ( grayscaleCache.containsKey ( key ) )
+        final ImageIcon cached = grayscaleCache.get ( key );
+        if ( cached != null )
         {
-            return grayscaleCache.get ( key );
+            return cached;
         }
         else
         {
-            grayscaleCache.put ( key, createDisabledCopy ( imageIcon ) );
-            return grayscaleCache.get ( key );
+            final ImageIcon disabled = createDisabledCopy ( imageIcon );
+            grayscaleCache.put ( key, disabled );
+            return disabled;
         }
     }
 
@@ -1233,18 +1300,21 @@ public final class ImageUtils
      * Creating partially transparent ImageIcon
      */
 
-    private static final Map<String, ImageIcon> trasparentCache = new HashMap<String, ImageIcon> ();
+    private static final Cache<String, ImageIcon> trasparentCache =
+            CacheUtils.createImageCache ( "ImageUtils.transparent", 16 * 1024 * 1024 );
 
     public static ImageIcon getTransparentCopy ( final String id, final ImageIcon imageIcon, final float trasparency )
     {
-        if ( trasparentCache.containsKey ( id ) )
+        final ImageIcon cached = trasparentCache.get ( id );
+        if ( cached != null )
         {
-            return trasparentCache.get ( id );
+            return cached;
         }
         else
         {
-            trasparentCache.put ( id, createTransparentCopy ( imageIcon, trasparency ) );
-            return trasparentCache.get ( id );
+            final ImageIcon transparent = createTransparentCopy ( imageIcon, trasparency );
+            trasparentCache.put ( id, transparent );
+            return transparent;
         }
     }
 
@@ -27,6 +27,7 @@ import com.alee.laf.panel.WebPanel;
 import com.alee.laf.scroll.WebScrollBarUI;
 import com.alee.laf.text.WebTextField;
 import com.alee.managers.log.Log;
+import com.alee.utils.cache.Cache;
 import com.alee.utils.laf.FocusType;
 import com.alee.utils.laf.ShapeProvider;
 import com.alee.utils.laf.Styleable;
@@ -46,8 +47,6 @@ import java.awt.font.GlyphVector;
 import java.awt.geom.*;
 import java.awt.image.BufferedImage;
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * This class provides a set of utilities for core WebLaF components.
@@ -613,7 +612,7 @@ public final class LafUtils
         return borderShape;
     }
 
-    private static final Map<String, GradientPaint> gradientCache = new HashMap<String, GradientPaint> ();
+    private static final Cache<String, GradientPaint> gradientCache = CacheUtils.createCache ( "LafUtils.gradients", 1024 );
 
     public static GradientPaint getWebGradientPaint ( final Rectangle bounds )
     {
@@ -623,9 +622,10 @@ public final class LafUtils
     public static GradientPaint getWebGradientPaint ( final int x1, final int y1, final int x2, final int y2 )
     {
         final String key = x1 + ";" + y1 + ";" + x2 + ";" + y2;
-        if ( gradientCache.containsKey ( key ) )
+        final GradientPaint cached = gradientCache.get ( key );
+        if ( cached != null )
         {
-            return gradientCache.get ( key );
+            return cached;
         }
         else
         {
@@ -1135,13 +1135,14 @@ public final class LafUtils
                 selection.width + halfButton * 2 + shadeWidth * 2, selection.height + halfButton * 2 + shadeWidth * 2 );
     }
 
-    private static final Map<Integer, NinePatchIcon> selectorCache = new HashMap<Integer, NinePatchIcon> ();
+    private static final Cache<Integer, NinePatchIcon> selectorCache = CacheUtils.createImageCache ( "LafUtils.selectors", 4 * 1024 * 1024 );
 
     private static NinePatchIcon getSelectorIcon ( final int selector )
     {
-        if ( selectorCache.containsKey ( selector ) )
+        final NinePatchIcon cached = selectorCache.get ( selector );
+        if ( cached != null )
         {
-            return selectorCache.get ( selector );
+            return cached;
         }
         else
         {
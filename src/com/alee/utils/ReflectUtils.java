@@ -22,6 +22,7 @@ import com.alee.utils.file.FileDownloadListener;
 import com.alee.utils.reflection.JarEntry;
 import com.alee.utils.reflection.JarEntryType;
 import com.alee.utils.reflection.JarStructure;
+import com.alee.utils.reflection.MethodInvoker;
 
 import java.io.File;
 import java.io.IOException;
@@ -31,6 +32,7 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.security.CodeSource;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -50,10 +52,24 @@ public final class ReflectUtils
      */
     private static boolean safeMethodsLoggingEnabled = false;
 
+    /**
+     * Marker of the method which was not found.
+     */
+    private static final Object NO_METHOD = new Object ();
+
     /**
      * Methods lookup cache.
+     * It contains method invokers or {@link #NO_METHOD} marker for each looked up method signature.
+     * Cache is attached to classes, so it doesn't prevent them from being unloaded.
      */
-    private static final Map<Class, Map<String, Method>> methodsLookupCache = new HashMap<Class, Map<String, Method>> ();
+    private static final ClassValue<Map<MethodKey, Object>> methodsLookupCache = new ClassValue<Map<MethodKey, Object>> ()
+    {
+        @Override
+        protected Map<MethodKey, Object> computeValue ( final Class<?> type )
+        {
+            return new ConcurrentHashMap<MethodKey, Object> ( 16 );
+        }
+    };
 
     /**
      * Returns whether should allow safe methods to log errors or not.
@@ -1116,8 +1132,7 @@ public final class ReflectUtils
     public static <T> T callStaticMethod ( final Class theClass, final String methodName, final Object... arguments )
             throws NoSuchMethodException, InvocationTargetException, IllegalAccessException
     {
-        final Method method = getMethod ( theClass, methodName, arguments );
-        return ( T ) method.invoke ( null, arguments );
+        return getMethodInvoker ( theClass, methodName, arguments ).invoke ( null, arguments );
     }
 
     /**
@@ -1252,8 +1267,7 @@ public final class ReflectUtils
     public static <T> T callMethod ( final Object object, final String methodName, final Object... arguments )
             throws NoSuchMethodException, InvocationTargetException, IllegalAccessException
     {
-        final Method method = getMethod ( object.getClass (), methodName, arguments );
-        return ( T ) method.invoke ( object, arguments );
+        return getMethodInvoker ( object.getClass (), methodName, arguments ).invoke ( object, arguments );
     }
 
     /**
@@ -1354,7 +1368,8 @@ public final class ReflectUtils
     {
         try
         {
-            return getMethod ( aClass, methodName, arguments );
+            final Object method = lookupMethod ( aClass, methodName, arguments );
+            return method != NO_METHOD ? ( ( MethodInvoker ) method ).getMethod () : null;
         }
         catch ( final Throwable e )
         {
@@ -1399,31 +1414,95 @@ public final class ReflectUtils
     public static Method getMethod ( final Class aClass, final String methodName, final Object... arguments )
             throws NoSuchMethodException, InvocationTargetException, IllegalAccessException
     {
-        // todo Methods priority check (by super types)
-        // todo For now some method with [Object] arg might be used instead of method with [String]
-        // todo To avoid issues don't call methods with same amount of arguments and which are castable to each other
+        return getMethodInvoker ( aClass, methodName, arguments ).getMethod ();
+    }
 
-        // Method key
-        final Class[] classTypes = getClassTypes ( arguments );
-        final String key = aClass.getCanonicalName () + "." + methodName + argumentTypesToString ( classTypes );
+    /**
+     * Returns reusable invoker for the object's method with the specified name and arguments.
+     * If method is not found in the object class all superclasses will be searched for that method.
+     * <p/>
+     * Returned invoker can be stored and used for repeated calls, it doesn't perform any lookups or access checks.
+     * Method lookups are cached per class, including lookups of missing methods.
+     *
+     * @param aClass     object class
+     * @param methodName method name
+     * @param arguments  method arguments
+     * @return reusable invoker for the object's method with the specified name and arguments
+     * @throws NoSuchMethodException
+     * @throws InvocationTargetException
+     * @throws IllegalAccessException
+     */
+    public static MethodInvoker getMethodInvoker ( final Class aClass, final String methodName, final Object... arguments )
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException
+    {
+        final Object method = lookupMethod ( aClass, methodName, arguments );
+        if ( method == NO_METHOD )
+        {
+            final String types = argumentTypesToString ( getClassTypes ( arguments ) );
+            throw new NoSuchMethodException ( aClass.getCanonicalName () + "." + methodName + types );
+        }
+        return ( MethodInvoker ) method;
+    }
 
-        // Checking cache
-        Method method = null;
-        Map<String, Method> classMethodsCache = methodsLookupCache.get ( aClass );
-        if ( classMethodsCache != null )
+    /**
+     * Returns reusable invoker for the object's method with the specified name and arguments or null if it cannot be found.
+     *
+     * @param aClass     object class
+     * @param methodName method name
+     * @param arguments  method arguments
+     * @return reusable invoker for the object's method with the specified name and arguments or null if it cannot be found
+     */
+    public static MethodInvoker getMethodInvokerSafely ( final Class aClass, final String methodName, final Object... arguments )
+    {
+        try
         {
-            method = classMethodsCache.get ( key );
+            final Object method = lookupMethod ( aClass, methodName, arguments );
+            return method != NO_METHOD ? ( MethodInvoker ) method : null;
         }
-        else
+        catch ( final Throwable e )
         {
-            classMethodsCache = new HashMap<String, Method> ( 1 );
-            methodsLookupCache.put ( aClass, classMethodsCache );
+            if ( safeMethodsLoggingEnabled )
+            {
+                Log.warn ( "ReflectionUtils method failed: getMethodInvokerSafely", e );
+            }
+            return null;
         }
+    }
+
+    /**
+     * Returns cached invoker for the object's method with the specified name and arguments or {@link #NO_METHOD} marker.
+     * Method is looked up and cached if it wasn't looked up yet.
+     *
+     * @param aClass     object class
+     * @param methodName method name
+     * @param arguments  method arguments
+     * @return cached invoker for the object's method with the specified name and arguments or {@link #NO_METHOD} marker
+     * @throws InvocationTargetException
+     * @throws IllegalAccessException
+     */
+    private static Object lookupMethod ( final Class aClass, final String methodName, final Object[] arguments )
+            throws InvocationTargetException, IllegalAccessException
+    {
+        // todo Methods priority check (by super types)
+        // todo For now some method with [Object] arg might be used instead of method with [String]
+        // todo To avoid issues don't call methods with same amount of arguments and which are castable to each other
+
+        // Checking cache
+        final MethodKey key = new MethodKey ( methodName, getClassTypes ( arguments ) );
+        final Map<MethodKey, Object> classMethodsCache = methodsLookupCache.get ( aClass );
+        Object method = classMethodsCache.get ( key );
 
         // Updating cache
         if ( method == null )
         {
-            method = getMethodImpl ( aClass, methodName, arguments );
+            try
+            {
+                method = new MethodInvoker ( getMethodImpl ( aClass, methodName, arguments ) );
+            }
+            catch ( final NoSuchMethodException e )
+            {
+                method = NO_METHOD;
+            }
             classMethodsCache.put ( key, method );
         }
 
@@ -1726,4 +1805,67 @@ public final class ReflectUtils
             return containsInClassOrSuperclassName ( theClass.getSuperclass (), text );
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Methods lookup cache key.
+     * It is used instead of string keys to avoid building long strings on each lookup.
+     */
+    private static final class MethodKey
+    {
+        /**
+         * Method name.
+         */
+        private final String name;
+
+        /**
+         * Argument types, null type stands for null argument.
+         */
+        private final Class[] types;
+
+        /**
+         * Precalculated hash code.
+         */
+        private final int hash;
+
+        /**
+         * Constructs new methods lookup cache key.
+         *
+         * @param name  method name
+         * @param types argument types
+         */
+        private MethodKey ( final String name, final Class[] types )
+        {
+            super ();
+            this.name = name;
+            this.types = types;
+            this.hash = 31 * name.hashCode () + Arrays.hashCode ( types );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode ()
+        {
+            return hash;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals ( final Object obj )
+        {
+            if ( this == obj )
+            {
+                return true;
+            }
+            if ( !( obj instanceof MethodKey ) )
+            {
+                return false;
+            }
+            final MethodKey other = ( MethodKey ) obj;
+            return hash == other.hash && name.equals ( other.name ) && Arrays.equals ( types, other.types );
+        }
+    }
+}
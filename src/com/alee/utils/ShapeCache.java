@@ -17,16 +17,18 @@
 
 package com.alee.utils;
 
+import com.alee.utils.cache.CacheStatistics;
 import com.alee.utils.swing.DataProvider;
 
 import java.awt.*;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.*;
 
 /**
  * This utility class can be used to implement shape caching withing any painter or component.
  * This might be useful to improve component painting performance in case it uses complex shapes.
+ * <p/>
+ * Shape settings are compared structurally against the settings shape was created with, so cache hits do not allocate anything.
+ * By default shapes are cached per component and released together with it, optionally total amount of cached shapes can be limited.
  *
  * @author Mikle Garin
  */
@@ -34,18 +36,36 @@ import java.util.WeakHashMap;
 public final class ShapeCache
 {
     /**
-     * todo 1. Improve shape settings key generation/usage performance
+     * Shapes cache map.
      */
+    private static final Map<Component, Map<String, CachedShape>> shapeCache = new WeakHashMap<Component, Map<String, CachedShape>> ();
 
     /**
-     * Separator for settings cached within single key.
+     * Cached shapes in their usage order.
+     * It is only used when total amount of cached shapes is limited.
      */
-    private static final String settingsSeparator = ";";
+    private static final LinkedHashMap<CachedShape, CachedShape> usage = new LinkedHashMap<CachedShape, CachedShape> ( 16, 0.75f, true );
 
     /**
-     * Shapes cache map.
+     * Maximum amount of cached shapes.
+     * Zero and less = cached shapes amount is not limited.
      */
-    private static final Map<Component, Map<String, CachedShape>> shapeCache = new WeakHashMap<Component, Map<String, CachedShape>> ();
+    private static int maxSize = 0;
+
+    /**
+     * Amount of successful shape lookups.
+     */
+    private static long hitCount = 0;
+
+    /**
+     * Amount of failed or outdated shape lookups.
+     */
+    private static long missCount = 0;
+
+    /**
+     * Amount of evicted shapes.
+     */
+    private static long evictionCount = 0;
 
     /**
      * Returns cached component shape.
@@ -62,82 +82,166 @@ public final class ShapeCache
     public static <T extends Shape> T getShape ( final Component component, final String shapeId, final DataProvider<T> shapeProvider,
                                                  final Object... settings )
     {
-        final String settingsKey = combineSettingsKey ( settings );
         Map<String, CachedShape> cacheById = shapeCache.get ( component );
         if ( cacheById == null )
         {
-            // Shape is not yet cached
-            final Shape shape = shapeProvider.provide ();
             cacheById = new HashMap<String, CachedShape> ( 1 );
-            cacheById.put ( shapeId, new CachedShape ( settingsKey, shape ) );
             shapeCache.put ( component, cacheById );
-            return ( T ) shape;
         }
-        else
+        final CachedShape cachedShape = cacheById.get ( shapeId );
+        if ( cachedShape != null && cachedShape.matches ( settings ) )
         {
-            final CachedShape cachedShape = cacheById.get ( shapeId );
-            if ( cachedShape == null || !cachedShape.getKey ().equals ( settingsKey ) )
+            // Returning cached shape
+            hitCount++;
+            if ( maxSize > 0 )
             {
-                // Shape is not yet cached or cache entry is outdated
-                final Shape shape = shapeProvider.provide ();
-                cacheById.put ( shapeId, new CachedShape ( settingsKey, shape ) );
-                return ( T ) shape;
+                usage.get ( cachedShape );
             }
-            else
+            return ( T ) cachedShape.getShape ();
+        }
+        else
+        {
+            // Shape is not yet cached or cache entry is outdated
+            missCount++;
+            final Shape shape = shapeProvider.provide ();
+            final CachedShape newShape = new CachedShape ( cacheById, shapeId, copySettings ( settings ), shape );
+            cacheById.put ( shapeId, newShape );
+            if ( maxSize > 0 )
             {
-                // Returning cached shape
-                return ( T ) cachedShape.getShape ();
+                if ( cachedShape != null )
+                {
+                    usage.remove ( cachedShape );
+                }
+                usage.put ( newShape, newShape );
+                evict ();
             }
+            return ( T ) shape;
         }
     }
 
     /**
-     * Combines shape settings into a single key for cache map and returns it.
+     * Returns maximum amount of cached shapes.
      *
-     * @param settings settings to combine
-     * @return key for the specified shape settings
+     * @return maximum amount of cached shapes
      */
-    private static String combineSettingsKey ( final Object... settings )
+    public static int getMaxSize ()
     {
-        final StringBuilder stringBuilder = new StringBuilder ();
-        for ( final Object object : settings )
-        {
-            if ( stringBuilder.length () > 0 )
-            {
-                stringBuilder.append ( settingsSeparator );
-            }
-            stringBuilder.append ( getSettingKey ( object ) );
-        }
-        return stringBuilder.toString ();
+        return maxSize;
     }
 
     /**
-     * Returns setting string representation.
+     * Sets maximum amount of cached shapes.
+     * Zero and less = cached shapes amount is not limited and shapes are only released together with their components.
+     * Limiting cached shapes amount drops all currently cached shapes.
      *
-     * @param setting setting to be converted
-     * @return setting string representation
+     * @param maxSize maximum amount of cached shapes
      */
-    private static String getSettingKey ( final Object setting )
+    public static void setMaxSize ( final int maxSize )
     {
-        if ( setting instanceof Insets )
+        if ( ShapeCache.maxSize != maxSize )
         {
-            final Insets i = ( Insets ) setting;
-            return i.top + "," + i.left + "," + i.bottom + "," + i.right;
+            ShapeCache.maxSize = maxSize;
+            shapeCache.clear ();
+            usage.clear ();
         }
-        else if ( setting instanceof Rectangle )
+    }
+
+    /**
+     * Evicts least recently used shapes until total amount of cached shapes fits the limit.
+     */
+    private static void evict ()
+    {
+        final Iterator<CachedShape> iterator = usage.keySet ().iterator ();
+        while ( usage.size () > maxSize && iterator.hasNext () )
         {
-            final Rectangle r = ( Rectangle ) setting;
-            return r.x + "," + r.y + "," + r.width + "," + r.height;
+            final CachedShape evicted = iterator.next ();
+            iterator.remove ();
+            evicted.getOwner ().remove ( evicted.getShapeId () );
+            evictionCount++;
         }
-        else if ( setting instanceof Point )
+    }
+
+    /**
+     * Returns amount of currently cached shapes.
+     *
+     * @return amount of currently cached shapes
+     */
+    public static int getSize ()
+    {
+        int size = 0;
+        for ( final Map<String, CachedShape> cacheById : shapeCache.values () )
         {
-            final Point p = ( Point ) setting;
-            return p.x + "," + p.y;
+            size += cacheById.size ();
         }
-        else
+        return size;
+    }
+
+    /**
+     * Returns shape cache statistics snapshot.
+     * Weight of each cached shape is considered to be 1.
+     *
+     * @return shape cache statistics snapshot
+     */
+    public static CacheStatistics getStatistics ()
+    {
+        final int size = getSize ();
+        return new CacheStatistics ( "ShapeCache", size, size, maxSize, hitCount, missCount, evictionCount );
+    }
+
+    /**
+     * Resets shape cache statistics.
+     */
+    public static void resetStatistics ()
+    {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    /**
+     * Removes all cached shapes.
+     */
+    public static void clear ()
+    {
+        shapeCache.clear ();
+        usage.clear ();
+    }
+
+    /**
+     * Returns copy of the specified settings safe to be stored along with the cached shape.
+     * Mutable AWT geometry objects are copied to make sure later changes will not affect the cache entry.
+     *
+     * @param settings settings to copy
+     * @return copy of the specified settings
+     */
+    private static Object[] copySettings ( final Object[] settings )
+    {
+        final Object[] copy = new Object[ settings.length ];
+        for ( int i = 0; i < settings.length; i++ )
         {
-            return setting.toString ();
+            final Object setting = settings[ i ];
+            if ( setting instanceof Insets )
+            {
+                copy[ i ] = ( ( Insets ) setting ).clone ();
+            }
+            else if ( setting instanceof Rectangle )
+            {
+                copy[ i ] = new Rectangle ( ( Rectangle ) setting );
+            }
+            else if ( setting instanceof Point )
+            {
+                copy[ i ] = new Point ( ( Point ) setting );
+            }
+            else if ( setting instanceof Dimension )
+            {
+                copy[ i ] = new Dimension ( ( Dimension ) setting );
+            }
+            else
+            {
+                copy[ i ] = setting;
+            }
         }
+        return copy;
     }
 
     /**
@@ -145,24 +249,56 @@ public final class ShapeCache
      */
     private static class CachedShape
     {
-        private final String key;
+        private final Map<String, CachedShape> owner;
+        private final String shapeId;
+        private final Object[] settings;
         private final Shape shape;
 
-        public CachedShape ( final String key, final Shape shape )
+        public CachedShape ( final Map<String, CachedShape> owner, final String shapeId, final Object[] settings, final Shape shape )
         {
             super ();
-            this.key = key;
+            this.owner = owner;
+            this.shapeId = shapeId;
+            this.settings = settings;
             this.shape = shape;
         }
 
-        private String getKey ()
+        private Map<String, CachedShape> getOwner ()
         {
-            return key;
+            return owner;
+        }
+
+        private String getShapeId ()
+        {
+            return shapeId;
         }
 
         private Shape getShape ()
         {
             return shape;
         }
+
+        /**
+         * Returns whether this shape was created with the specified settings or not.
+         *
+         * @param other settings to compare with
+         * @return true if this shape was created with the specified settings, false otherwise
+         */
+        private boolean matches ( final Object[] other )
+        {
+            if ( settings.length != other.length )
+            {
+                return false;
+            }
+            for ( int i = 0; i < settings.length; i++ )
+            {
+                final Object setting = settings[ i ];
+                if ( setting != other[ i ] && ( setting == null || !setting.equals ( other[ i ] ) ) )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 }
\ No newline at end of file
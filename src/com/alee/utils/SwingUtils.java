@@ -1839,19 +1839,53 @@ public final class SwingUtils extends CoreSwingUtils
         }
 
         // Making it transparent if needed
+        // Snapshot alpha is multiplied in place to avoid creating another image
         if ( transparency < 1f )
         {
-            final BufferedImage transparent = ImageUtils.createCompatibleImage ( width, height, Transparency.TRANSLUCENT );
-            final Graphics2D g2d = transparent.createGraphics ();
-            GraphicsUtils.setupAlphaComposite ( g2d, transparency );
-            g2d.drawImage ( bi, 0, 0, null );
+            final Graphics2D g2d = bi.createGraphics ();
+            g2d.setComposite ( AlphaComposite.DstIn );
+            g2d.setPaint ( new Color ( 0f, 0f, 0f, Math.max ( 0f, transparency ) ) );
+            g2d.fillRect ( 0, 0, width, height );
             g2d.dispose ();
-            return transparent;
         }
-        else
+        return bi;
+    }
+
+    /**
+     * Returns component snapshot image leased from {@link com.alee.utils.ImagePool}.
+     * Component must be showing to render properly using this method.
+     * Snapshot should be returned using {@link com.alee.utils.ImagePool#release(java.awt.image.BufferedImage)} once it is not used.
+     *
+     * @param content component for snapshot
+     * @return component snapshot image
+     */
+    public static BufferedImage leaseComponentSnapshot ( final Component content )
+    {
+        return leaseComponentSnapshot ( content, content.getWidth (), content.getHeight () );
+    }
+
+    /**
+     * Returns component snapshot image of specified size leased from {@link com.alee.utils.ImagePool}.
+     * Component must be showing to render properly using this method.
+     * Snapshot should be returned using {@link com.alee.utils.ImagePool#release(java.awt.image.BufferedImage)} once it is not used.
+     * To make snapshot semi-transparent apply transparency when painting it instead of creating a transparent copy.
+     *
+     * @param content component for snapshot
+     * @param width   snapshot image width
+     * @param height  snapshot image height
+     * @return component snapshot image
+     */
+    public static BufferedImage leaseComponentSnapshot ( final Component content, final int width, final int height )
+    {
+        final BufferedImage bi = ImagePool.lease ( content, width, height );
+        if ( content != null )
         {
-            return bi;
+            final Graphics2D g2d = bi.createGraphics ();
+            content.setSize ( width, height );
+            content.paintAll ( g2d );
+            g2d.dispose ();
         }
+        return bi;
     }
 
     /**
@@ -0,0 +1,98 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.cache;
+
+/**
+ * This interface provides a base for any bounded object cache used within the library.
+ * Implementations are expected to be thread-safe since caches might be accessed from both EDT and background threads.
+ *
+ * @param <K> cache keys type
+ * @param <V> cache values type
+ * @author Mikle Garin
+ * @see com.alee.utils.CacheUtils
+ * @see com.alee.utils.cache.LruCache
+ */
+
+public interface Cache<K, V>
+{
+    /**
+     * Returns cache name.
+     *
+     * @return cache name
+     */
+    public String getName ();
+
+    /**
+     * Returns cached value for the specified key or null if it is not cached.
+     *
+     * @param key value key
+     * @return cached value for the specified key or null if it is not cached
+     */
+    public V get ( K key );
+
+    /**
+     * Caches value under the specified key.
+     * Caching null value is equal to removing the key from cache.
+     *
+     * @param key   value key
+     * @param value value to cache
+     */
+    public void put ( K key, V value );
+
+    /**
+     * Removes value cached under the specified key and returns it.
+     *
+     * @param key value key
+     * @return removed value or null if it was not cached
+     */
+    public V remove ( K key );
+
+    /**
+     * Removes all cached values.
+     */
+    public void clear ();
+
+    /**
+     * Returns amount of cached values.
+     *
+     * @return amount of cached values
+     */
+    public int size ();
+
+    /**
+     * Returns maximum total weight of cached values.
+     *
+     * @return maximum total weight of cached values
+     */
+    public long getMaxWeight ();
+
+    /**
+     * Sets maximum total weight of cached values.
+     * Values exceeding new limit are evicted immediately.
+     *
+     * @param maxWeight maximum total weight of cached values
+     */
+    public void setMaxWeight ( long maxWeight );
+
+    /**
+     * Returns current cache statistics snapshot.
+     *
+     * @return current cache statistics snapshot
+     */
+    public CacheStatistics getStatistics ();
+}
@@ -0,0 +1,40 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.cache;
+
+/**
+ * This interface allows to replace caches implementation used by the library.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.CacheUtils#setCacheFactory(CacheFactory)
+ */
+
+public interface CacheFactory
+{
+    /**
+     * Returns newly created cache.
+     *
+     * @param name      cache name
+     * @param maxWeight maximum total weight of cached values
+     * @param weigher   cached values weigher
+     * @param <K>       cache keys type
+     * @param <V>       cache values type
+     * @return newly created cache
+     */
+    public <K, V> Cache<K, V> createCache ( String name, long maxWeight, Weigher<? super V> weigher );
+}
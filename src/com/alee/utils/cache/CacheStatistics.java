@@ -0,0 +1,178 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.cache;
+
+/**
+ * Immutable snapshot of cache usage statistics.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.cache.Cache#getStatistics()
+ */
+
+public final class CacheStatistics
+{
+    /**
+     * Cache name.
+     */
+    private final String name;
+
+    /**
+     * Amount of cached values.
+     */
+    private final int size;
+
+    /**
+     * Total weight of cached values.
+     */
+    private final long weight;
+
+    /**
+     * Maximum total weight of cached values.
+     */
+    private final long maxWeight;
+
+    /**
+     * Amount of successful lookups.
+     */
+    private final long hitCount;
+
+    /**
+     * Amount of failed lookups.
+     */
+    private final long missCount;
+
+    /**
+     * Amount of evicted values.
+     */
+    private final long evictionCount;
+
+    /**
+     * Constructs new cache statistics snapshot.
+     *
+     * @param name          cache name
+     * @param size          amount of cached values
+     * @param weight        total weight of cached values
+     * @param maxWeight     maximum total weight of cached values
+     * @param hitCount      amount of successful lookups
+     * @param missCount     amount of failed lookups
+     * @param evictionCount amount of evicted values
+     */
+    public CacheStatistics ( final String name, final int size, final long weight, final long maxWeight, final long hitCount,
+                             final long missCount, final long evictionCount )
+    {
+        super ();
+        this.name = name;
+        this.size = size;
+        this.weight = weight;
+        this.maxWeight = maxWeight;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Returns cache name.
+     *
+     * @return cache name
+     */
+    public String getName ()
+    {
+        return name;
+    }
+
+    /**
+     * Returns amount of cached values.
+     *
+     * @return amount of cached values
+     */
+    public int getSize ()
+    {
+        return size;
+    }
+
+    /**
+     * Returns total weight of cached values.
+     *
+     * @return total weight of cached values
+     */
+    public long getWeight ()
+    {
+        return weight;
+    }
+
+    /**
+     * Returns maximum total weight of cached values.
+     *
+     * @return maximum total weight of cached values
+     */
+    public long getMaxWeight ()
+    {
+        return maxWeight;
+    }
+
+    /**
+     * Returns amount of successful lookups.
+     *
+     * @return amount of successful lookups
+     */
+    public long getHitCount ()
+    {
+        return hitCount;
+    }
+
+    /**
+     * Returns amount of failed lookups.
+     *
+     * @return amount of failed lookups
+     */
+    public long getMissCount ()
+    {
+        return missCount;
+    }
+
+    /**
+     * Returns amount of evicted values.
+     *
+     * @return amount of evicted values
+     */
+    public long getEvictionCount ()
+    {
+        return evictionCount;
+    }
+
+    /**
+     * Returns successful lookups ratio within [0..1] range.
+     *
+     * @return successful lookups ratio
+     */
+    public double getHitRate ()
+    {
+        final long requests = hitCount + missCount;
+        return requests > 0 ? ( double ) hitCount / requests : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString ()
+    {
+        return name + " [size: " + size + ", weight: " + weight + "/" + maxWeight + ", hits: " + hitCount + ", misses: " + missCount +
+                ", evictions: " + evictionCount + "]";
+    }
+}
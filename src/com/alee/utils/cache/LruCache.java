@@ -0,0 +1,309 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.cache;
+
+import com.alee.utils.map.SoftHashMap;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe least-recently-used cache bounded by the total weight of its values.
+ * When total weight exceeds the limit the least recently used values are evicted from the cache.
+ * <p/>
+ * Evicted values can optionally be kept under soft references, so they can still be returned while there is enough memory.
+ * Those values do not count towards the cache weight and will be freed by the garbage collector when memory is running low.
+ *
+ * @param <K> cache keys type
+ * @param <V> cache values type
+ * @author Mikle Garin
+ * @see com.alee.utils.CacheUtils
+ */
+
+public class LruCache<K, V> implements Cache<K, V>
+{
+    /**
+     * Cache name.
+     */
+    protected final String name;
+
+    /**
+     * Cached values weigher.
+     */
+    protected final Weigher<? super V> weigher;
+
+    /**
+     * Whether evicted values should be kept under soft references or not.
+     */
+    protected final boolean softFallback;
+
+    /**
+     * Strongly referenced values in access order.
+     */
+    protected final LinkedHashMap<K, WeightedValue<V>> values;
+
+    /**
+     * Evicted values kept under soft references.
+     */
+    protected final SoftHashMap<K, V> evicted;
+
+    /**
+     * Maximum total weight of strongly referenced values.
+     */
+    protected long maxWeight;
+
+    /**
+     * Total weight of strongly referenced values.
+     */
+    protected long weight;
+
+    /**
+     * Amount of successful lookups.
+     */
+    protected long hitCount;
+
+    /**
+     * Amount of failed lookups.
+     */
+    protected long missCount;
+
+    /**
+     * Amount of evicted values.
+     */
+    protected long evictionCount;
+
+    /**
+     * Constructs new cache.
+     *
+     * @param name         cache name
+     * @param maxWeight    maximum total weight of cached values
+     * @param weigher      cached values weigher
+     * @param softFallback whether evicted values should be kept under soft references or not
+     */
+    public LruCache ( final String name, final long maxWeight, final Weigher<? super V> weigher, final boolean softFallback )
+    {
+        super ();
+        this.name = name;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.softFallback = softFallback;
+        this.values = new LinkedHashMap<K, WeightedValue<V>> ( 16, 0.75f, true );
+        this.evicted = softFallback ? new SoftHashMap<K, V> () : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName ()
+    {
+        return name;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized V get ( final K key )
+    {
+        final WeightedValue<V> cached = values.get ( key );
+        if ( cached != null )
+        {
+            hitCount++;
+            return cached.value;
+        }
+        if ( softFallback )
+        {
+            final V value = evicted.remove ( key );
+            if ( value != null )
+            {
+                hitCount++;
+                store ( key, value );
+                return value;
+            }
+        }
+        missCount++;
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void put ( final K key, final V value )
+    {
+        if ( value != null )
+        {
+            if ( softFallback )
+            {
+                evicted.remove ( key );
+            }
+            store ( key, value );
+        }
+        else
+        {
+            remove ( key );
+        }
+    }
+
+    /**
+     * Stores value into strongly referenced values map and evicts older values if needed.
+     *
+     * @param key   value key
+     * @param value value to store
+     */
+    protected void store ( final K key, final V value )
+    {
+        final long valueWeight = weigher.weigh ( value );
+        final WeightedValue<V> previous = values.put ( key, new WeightedValue<V> ( value, valueWeight ) );
+        if ( previous != null )
+        {
+            weight -= previous.weight;
+        }
+        weight += valueWeight;
+        evict ();
+    }
+
+    /**
+     * Evicts least recently used values until total weight fits the limit.
+     */
+    protected void evict ()
+    {
+        final Iterator<Map.Entry<K, WeightedValue<V>>> iterator = values.entrySet ().iterator ();
+        while ( weight > maxWeight && iterator.hasNext () )
+        {
+            final Map.Entry<K, WeightedValue<V>> entry = iterator.next ();
+            iterator.remove ();
+            weight -= entry.getValue ().weight;
+            evictionCount++;
+            if ( softFallback )
+            {
+                evicted.put ( entry.getKey (), entry.getValue ().value );
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized V remove ( final K key )
+    {
+        final WeightedValue<V> removed = values.remove ( key );
+        final V softRemoved = softFallback ? evicted.remove ( key ) : null;
+        if ( removed != null )
+        {
+            weight -= removed.weight;
+            return removed.value;
+        }
+        return softRemoved;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void clear ()
+    {
+        values.clear ();
+        weight = 0;
+        if ( softFallback )
+        {
+            evicted.clear ();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int size ()
+    {
+        return values.size ();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long getMaxWeight ()
+    {
+        return maxWeight;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setMaxWeight ( final long maxWeight )
+    {
+        this.maxWeight = maxWeight;
+        evict ();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized CacheStatistics getStatistics ()
+    {
+        return new CacheStatistics ( name, values.size (), weight, maxWeight, hitCount, missCount, evictionCount );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString ()
+    {
+        return getStatistics ().toString ();
+    }
+
+    /**
+     * Cached value together with its weight.
+     * Weight is stored to avoid weighing values again upon eviction.
+     *
+     * @param <V> value type
+     */
+    protected static final class WeightedValue<V>
+    {
+        /**
+         * Cached value.
+         */
+        protected final V value;
+
+        /**
+         * Cached value weight.
+         */
+        protected final long weight;
+
+        /**
+         * Constructs new weighted value.
+         *
+         * @param value  cached value
+         * @param weight cached value weight
+         */
+        protected WeightedValue ( final V value, final long weight )
+        {
+            super ();
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.cache;
+
+/**
+ * This interface provides a way to measure cached values.
+ * Caches use provided weight to decide when older values should be evicted.
+ *
+ * @param <V> values type
+ * @author Mikle Garin
+ * @see com.alee.utils.CacheUtils#IMAGE_WEIGHER
+ * @see com.alee.utils.CacheUtils#SINGLE_WEIGHER
+ */
+
+public interface Weigher<V>
+{
+    /**
+     * Returns weight of the specified value.
+     *
+     * @param value value to weigh
+     * @return weight of the specified value
+     */
+    public long weigh ( V value );
+}
@@ -0,0 +1,264 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.collection;
+
+import java.util.Arrays;
+
+/**
+ * Simple hash map with primitive int keys.
+ * Unlike standard maps it doesn't box keys so lookups never allocate anything.
+ * This map is not synchronized and doesn't allow null values.
+ *
+ * @param <V> values type
+ * @author Mikle Garin
+ */
+
+public class IntHashMap<V>
+{
+    /**
+     * Maximum load factor before table is expanded.
+     */
+    protected static final float LOAD_FACTOR = 0.5f;
+
+    /**
+     * Keys table.
+     */
+    protected int[] keys;
+
+    /**
+     * Values table.
+     * Null value marks free cell.
+     */
+    protected Object[] values;
+
+    /**
+     * Amount of stored entries.
+     */
+    protected int size;
+
+    /**
+     * Constructs new empty map.
+     */
+    public IntHashMap ()
+    {
+        this ( 16 );
+    }
+
+    /**
+     * Constructs new empty map with the specified initial capacity.
+     *
+     * @param initialCapacity initial capacity
+     */
+    public IntHashMap ( final int initialCapacity )
+    {
+        super ();
+        int capacity = 4;
+        while ( capacity * LOAD_FACTOR < initialCapacity )
+        {
+            capacity <<= 1;
+        }
+        keys = new int[ capacity ];
+        values = new Object[ capacity ];
+        size = 0;
+    }
+
+    /**
+     * Returns amount of stored entries.
+     *
+     * @return amount of stored entries
+     */
+    public int size ()
+    {
+        return size;
+    }
+
+    /**
+     * Returns whether map is empty or not.
+     *
+     * @return true if map is empty, false otherwise
+     */
+    public boolean isEmpty ()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns whether map contains the specified key or not.
+     *
+     * @param key key to look for
+     * @return true if map contains the specified key, false otherwise
+     */
+    public boolean containsKey ( final int key )
+    {
+        return values[ indexOf ( key ) ] != null;
+    }
+
+    /**
+     * Returns value stored under the specified key or null if there is none.
+     *
+     * @param key key to look for
+     * @return value stored under the specified key or null if there is none
+     */
+    public V get ( final int key )
+    {
+        return ( V ) values[ indexOf ( key ) ];
+    }
+
+    /**
+     * Stores value under the specified key and returns previous value.
+     *
+     * @param key   key
+     * @param value value, cannot be null
+     * @return previous value stored under the specified key or null if there was none
+     */
+    public V put ( final int key, final V value )
+    {
+        if ( value == null )
+        {
+            throw new NullPointerException ( "Null values are not supported" );
+        }
+        final int index = indexOf ( key );
+        final V previous = ( V ) values[ index ];
+        keys[ index ] = key;
+        values[ index ] = value;
+        if ( previous == null )
+        {
+            size++;
+            if ( size > values.length * LOAD_FACTOR )
+            {
+                rehash ( values.length << 1 );
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Removes value stored under the specified key and returns it.
+     *
+     * @param key key
+     * @return removed value or null if there was none
+     */
+    public V remove ( final int key )
+    {
+        int index = indexOf ( key );
+        final V previous = ( V ) values[ index ];
+        if ( previous != null )
+        {
+            values[ index ] = null;
+            size--;
+
+            // Shifting following entries of the same probe chain back to keep them reachable
+            final int mask = values.length - 1;
+            int next = ( index + 1 ) & mask;
+            while ( values[ next ] != null )
+            {
+                final int ideal = hash ( keys[ next ] ) & mask;
+                if ( ( next > index && ( ideal <= index || ideal > next ) ) || ( next < index && ideal <= index && ideal > next ) )
+                {
+                    keys[ index ] = keys[ next ];
+                    values[ index ] = values[ next ];
+                    values[ next ] = null;
+                    index = next;
+                }
+                next = ( next + 1 ) & mask;
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Returns copy of all keys stored in this map.
+     * Returned array is not backed by the map so it is safe to modify map while iterating through it.
+     *
+     * @return copy of all keys stored in this map
+     */
+    public int[] keys ()
+    {
+        final int[] copy = new int[ size ];
+        int count = 0;
+        for ( int i = 0; i < values.length; i++ )
+        {
+            if ( values[ i ] != null )
+            {
+                copy[ count++ ] = keys[ i ];
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Removes all entries from this map.
+     */
+    public void clear ()
+    {
+        Arrays.fill ( values, null );
+        size = 0;
+    }
+
+    /**
+     * Returns table index for the specified key.
+     * That is either index of the cell containing the key or index of the free cell where it should be placed.
+     *
+     * @param key key
+     * @return table index for the specified key
+     */
+    protected int indexOf ( final int key )
+    {
+        final int mask = values.length - 1;
+        int index = hash ( key ) & mask;
+        while ( values[ index ] != null && keys[ index ] != key )
+        {
+            index = ( index + 1 ) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Expands tables to the specified capacity.
+     *
+     * @param capacity new capacity
+     */
+    protected void rehash ( final int capacity )
+    {
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        keys = new int[ capacity ];
+        values = new Object[ capacity ];
+        for ( int i = 0; i < oldValues.length; i++ )
+        {
+            if ( oldValues[ i ] != null )
+            {
+                final int index = indexOf ( oldKeys[ i ] );
+                keys[ index ] = oldKeys[ i ];
+                values[ index ] = oldValues[ i ];
+            }
+        }
+    }
+
+    /**
+     * Returns spread hash for the specified key.
+     *
+     * @param key key
+     * @return spread hash for the specified key
+     */
+    protected static int hash ( final int key )
+    {
+        final int h = key * 0x9E3779B9;
+        return h ^ ( h >>> 16 );
+    }
+}
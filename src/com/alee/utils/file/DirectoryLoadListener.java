@@ -0,0 +1,49 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * This listener is used to track asynchronous directory loading progress.
+ * All methods are called from Event Dispatch Thread and never called after loading was cancelled.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.file.DirectoryLoader
+ */
+
+public interface DirectoryLoadListener
+{
+    /**
+     * Informs that next chunk of directory files was loaded.
+     * Files within the chunk are not sorted.
+     *
+     * @param loader directory loader
+     * @param files  loaded files chunk
+     */
+    public void filesLoaded ( DirectoryLoader loader, List<File> files );
+
+    /**
+     * Informs that directory loading was completed.
+     *
+     * @param loader directory loader
+     * @param files  all loaded directory files sorted
+     */
+    public void loadCompleted ( DirectoryLoader loader, List<File> files );
+}
@@ -0,0 +1,266 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.global.GlobalConstants;
+import com.alee.managers.log.Log;
+import com.alee.managers.task.TaskManager;
+import com.alee.managers.task.TaskPriority;
+
+import javax.swing.*;
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class loads directory files in a background thread and passes them to Event Dispatch Thread in chunks.
+ * Files are enumerated through NIO directory stream, filtered and sorted outside of Event Dispatch Thread, so even huge or remote
+ * directories do not block the UI. Loading can be cancelled at any time, for example when user navigates to another directory.
+ * <p/>
+ * Files attributes are read only once during enumeration and stored in directory snapshot, which is then used by filters, comparators
+ * and renderers through FileUtils methods.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.file.DirectoryLoadListener
+ * @see com.alee.utils.file.DirectorySnapshot
+ */
+
+public class DirectoryLoader implements Runnable
+{
+    /**
+     * Maximum amount of files passed to Event Dispatch Thread at once.
+     */
+    public static int chunkSize = 256;
+
+    /**
+     * Maximum delay in milliseconds between loaded files chunks.
+     * Smaller chunks will be passed to Event Dispatch Thread if loading files takes too long.
+     */
+    public static long chunkDelay = 100;
+
+    /**
+     * Loaded directory.
+     */
+    protected final File directory;
+
+    /**
+     * Files filter.
+     */
+    protected final FileFilter fileFilter;
+
+    /**
+     * Loading progress listener.
+     */
+    protected final DirectoryLoadListener listener;
+
+    /**
+     * Loaded directory snapshot.
+     */
+    protected final DirectorySnapshot snapshot;
+
+    /**
+     * Whether loading was cancelled or not.
+     */
+    protected volatile boolean cancelled = false;
+
+    /**
+     * Loaded files which are not yet passed to Event Dispatch Thread.
+     * Only accessed from the loading thread.
+     */
+    protected List<File> chunk = null;
+
+    /**
+     * Time when current chunk was started.
+     * Only accessed from the loading thread.
+     */
+    protected long chunkStart = 0;
+
+    /**
+     * Constructs new directory loader.
+     *
+     * @param directory  directory to load
+     * @param fileFilter files filter, might be null
+     * @param listener   loading progress listener
+     */
+    public DirectoryLoader ( final File directory, final FileFilter fileFilter, final DirectoryLoadListener listener )
+    {
+        super ();
+        this.directory = directory;
+        this.fileFilter = fileFilter;
+        this.listener = listener;
+        this.snapshot = new DirectorySnapshot ( directory );
+    }
+
+    /**
+     * Returns loaded directory.
+     *
+     * @return loaded directory
+     */
+    public File getDirectory ()
+    {
+        return directory;
+    }
+
+    /**
+     * Returns loaded directory snapshot.
+     * It contains attributes of all directory files loaded so far.
+     *
+     * @return loaded directory snapshot
+     */
+    public DirectorySnapshot getSnapshot ()
+    {
+        return snapshot;
+    }
+
+    /**
+     * Returns whether loading was cancelled or not.
+     *
+     * @return true if loading was cancelled, false otherwise
+     */
+    public boolean isCancelled ()
+    {
+        return cancelled;
+    }
+
+    /**
+     * Cancels loading.
+     * Listener will not receive any events after this call.
+     */
+    public void cancel ()
+    {
+        cancelled = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run ()
+    {
+        final List<File> files = new ArrayList<File> ();
+        try
+        {
+            chunk = new ArrayList<File> ( chunkSize );
+            chunkStart = System.currentTimeMillis ();
+            final boolean loaded = snapshot.load ( new DirectorySnapshot.EntryListener ()
+            {
+                @Override
+                public boolean entryLoaded ( final File file, final FileAttributes attributes )
+                {
+                    if ( cancelled )
+                    {
+                        return false;
+                    }
+                    if ( fileFilter == null || fileFilter.accept ( file ) )
+                    {
+                        files.add ( file );
+                        chunk.add ( file );
+                        if ( chunk.size () >= chunkSize || System.currentTimeMillis () - chunkStart > chunkDelay )
+                        {
+                            fireFilesLoaded ( chunk );
+                            chunk = new ArrayList<File> ( chunkSize );
+                            chunkStart = System.currentTimeMillis ();
+                        }
+                    }
+                    return true;
+                }
+            } );
+            if ( cancelled )
+            {
+                return;
+            }
+            if ( !loaded )
+            {
+                // Directory cannot be read, whatever was loaded will be displayed
+                Log.debug ( this, "Unable to read directory: " + directory );
+            }
+            if ( chunk.size () > 0 )
+            {
+                fireFilesLoaded ( chunk );
+            }
+        }
+        catch ( final Throwable e )
+        {
+            Log.error ( this, e );
+        }
+
+        // Sorting files outside of EDT
+        if ( !cancelled )
+        {
+            Collections.sort ( files, GlobalConstants.FILE_COMPARATOR );
+            fireLoadCompleted ( files );
+        }
+    }
+
+    /**
+     * Passes loaded files chunk to the listener.
+     *
+     * @param chunk loaded files chunk
+     */
+    protected void fireFilesLoaded ( final List<File> chunk )
+    {
+        SwingUtilities.invokeLater ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                if ( !cancelled )
+                {
+                    listener.filesLoaded ( DirectoryLoader.this, chunk );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Passes all loaded files to the listener.
+     *
+     * @param files all loaded files
+     */
+    protected void fireLoadCompleted ( final List<File> files )
+    {
+        SwingUtilities.invokeLater ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                if ( !cancelled )
+                {
+                    listener.loadCompleted ( DirectoryLoader.this, files );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Starts loading specified directory files in a background thread and returns directory loader.
+     *
+     * @param directory  directory to load
+     * @param fileFilter files filter, might be null
+     * @param listener   loading progress listener
+     * @return directory loader
+     */
+    public static DirectoryLoader load ( final File directory, final FileFilter fileFilter, final DirectoryLoadListener listener )
+    {
+        final DirectoryLoader loader = new DirectoryLoader ( directory, fileFilter, listener );
+        TaskManager.execute ( TaskManager.FILE_SYSTEM_GROUP, loader, TaskPriority.interactive );
+        return loader;
+    }
+}
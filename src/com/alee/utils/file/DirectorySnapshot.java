@@ -0,0 +1,314 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attributes of all files contained in a single directory, read within a single directory listing.
+ * <p/>
+ * Directory is traversed with {@link java.nio.file.Files#walkFileTree}, so on systems which return file attributes together with
+ * directory entries (like Windows) no additional system calls are made at all, on other systems each file is queried exactly once.
+ * Loaded snapshot is registered in FileUtils, so all file views, renderers and comparators asking FileUtils about those files use
+ * the snapshot instead of querying file system again. This matters a lot for network drives where each query is a round trip.
+ * <p/>
+ * Snapshot is registered only if its directory is watched at the time of loading, see {@link FileWatcher#watchDirectory(java.io.File)}.
+ * Snapshot entries are removed when file system reports their changes and snapshot is dropped once its directory is not watched.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.FileUtils#getDirectorySnapshot(java.io.File)
+ * @see com.alee.utils.file.DirectoryLoader
+ */
+
+public final class DirectorySnapshot
+{
+    /**
+     * Snapshot directory.
+     */
+    private final File directory;
+
+    /**
+     * Attributes of directory files by their absolute paths.
+     */
+    private final Map<String, FileAttributes> attributes;
+
+    /**
+     * Directory files in listing order.
+     */
+    private final List<File> files;
+
+    /**
+     * Paths of files reported as changed while snapshot was loading.
+     * Their attributes might be read before the change, so they are not kept in the snapshot.
+     */
+    private final Set<String> changed;
+
+    /**
+     * Directory watch key or null if directory is not watched.
+     */
+    private WatchKey key;
+
+    /**
+     * Whether snapshot is being loaded at the moment or not.
+     */
+    private volatile boolean loading;
+
+    /**
+     * Constructs new empty directory snapshot.
+     *
+     * @param directory snapshot directory
+     */
+    public DirectorySnapshot ( final File directory )
+    {
+        super ();
+        this.directory = directory.getAbsoluteFile ();
+        this.attributes = new ConcurrentHashMap<String, FileAttributes> ();
+        this.files = new ArrayList<File> ();
+        this.changed = Collections.newSetFromMap ( new ConcurrentHashMap<String, Boolean> () );
+        this.key = null;
+        this.loading = false;
+    }
+
+    /**
+     * Returns snapshot directory.
+     *
+     * @return snapshot directory
+     */
+    public File getDirectory ()
+    {
+        return directory;
+    }
+
+    /**
+     * Returns copy of loaded directory files list in listing order.
+     *
+     * @return copy of loaded directory files list
+     */
+    public List<File> getFiles ()
+    {
+        synchronized ( files )
+        {
+            return new ArrayList<File> ( files );
+        }
+    }
+
+    /**
+     * Returns amount of loaded directory files.
+     *
+     * @return amount of loaded directory files
+     */
+    public int size ()
+    {
+        synchronized ( files )
+        {
+            return files.size ();
+        }
+    }
+
+    /**
+     * Returns attributes of the specified directory file or null if they are not available in this snapshot.
+     *
+     * @param absolutePath absolute file path
+     * @return attributes of the specified directory file or null if they are not available in this snapshot
+     */
+    public FileAttributes getAttributes ( final String absolutePath )
+    {
+        return attributes.get ( absolutePath );
+    }
+
+    /**
+     * Removes attributes of the specified directory file from this snapshot.
+     * This is called when file changes, so that its attributes are read again upon next request.
+     *
+     * @param absolutePath absolute file path
+     */
+    public void removeAttributes ( final String absolutePath )
+    {
+        if ( loading )
+        {
+            changed.add ( absolutePath );
+        }
+        attributes.remove ( absolutePath );
+    }
+
+    /**
+     * Returns whether this snapshot is still up to date or not.
+     * Snapshot is considered up to date only while its directory is watched.
+     *
+     * @return true if this snapshot is still up to date, false otherwise
+     */
+    public boolean isValid ()
+    {
+        return key != null && key.isValid ();
+    }
+
+    /**
+     * Loads directory files and their attributes.
+     * Snapshot is registered in FileUtils before loading starts so that loaded attributes are available right away.
+     * Snapshot directory should be watched before loading, otherwise snapshot is not registered.
+     *
+     * @param listener directory entries listener, might be null
+     * @return true if directory was fully loaded, false if it cannot be read or loading was stopped by the listener
+     */
+    public boolean load ( final EntryListener listener )
+    {
+        // Watch key is taken before loading to avoid missing changes made in between
+        key = FileWatcher.getWatchKey ( directory );
+        if ( key != null )
+        {
+            loading = true;
+            FileUtils.cacheDirectorySnapshot ( this );
+        }
+        try
+        {
+            return loadImpl ( listener );
+        }
+        finally
+        {
+            loading = false;
+            changed.clear ();
+        }
+    }
+
+    /**
+     * Loads directory files and their attributes.
+     *
+     * @param listener directory entries listener, might be null
+     * @return true if directory was fully loaded, false if it cannot be read or loading was stopped by the listener
+     */
+    private boolean loadImpl ( final EntryListener listener )
+    {
+        final Path path;
+        try
+        {
+            path = directory.toPath ();
+        }
+        catch ( final InvalidPathException e )
+        {
+            return false;
+        }
+        final boolean[] completed = { true };
+        try
+        {
+            final EnumSet<FileVisitOption> options = EnumSet.of ( FileVisitOption.FOLLOW_LINKS );
+            Files.walkFileTree ( path, options, 1, new SimpleFileVisitor<Path> ()
+            {
+                @Override
+                public FileVisitResult visitFile ( final Path file, final BasicFileAttributes attrs )
+                {
+                    if ( file.equals ( path ) )
+                    {
+                        // Snapshot file is not a directory
+                        completed[ 0 ] = false;
+                        return FileVisitResult.TERMINATE;
+                    }
+                    return addEntry ( file, attrs );
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed ( final Path file, final IOException exc )
+                {
+                    if ( file.equals ( path ) )
+                    {
+                        // Directory itself cannot be read
+                        completed[ 0 ] = false;
+                        return FileVisitResult.TERMINATE;
+                    }
+                    else
+                    {
+                        // Attributes cannot be read this way, trying to read them separately
+                        return addEntry ( file, null );
+                    }
+                }
+
+                /**
+                 * Adds directory entry into snapshot and informs listener about it.
+                 *
+                 * @param file  entry path
+                 * @param attrs entry attributes or null if they should be read separately
+                 * @return visit result
+                 */
+                private FileVisitResult addEntry ( final Path file, final BasicFileAttributes attrs )
+                {
+                    final File entry = file.toFile ();
+                    final FileAttributes fileAttributes = attrs != null ? FileAttributes.create ( entry, attrs ) : FileAttributes.read ( entry );
+                    final String absolutePath = entry.getAbsolutePath ();
+                    attributes.put ( absolutePath, fileAttributes );
+                    if ( changed.contains ( absolutePath ) )
+                    {
+                        // File has changed while it was being loaded
+                        attributes.remove ( absolutePath );
+                    }
+                    synchronized ( files )
+                    {
+                        files.add ( entry );
+                    }
+                    if ( listener == null || listener.entryLoaded ( entry, fileAttributes ) )
+                    {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    else
+                    {
+                        completed[ 0 ] = false;
+                        return FileVisitResult.TERMINATE;
+                    }
+                }
+            } );
+        }
+        catch ( final IOException e )
+        {
+            return false;
+        }
+        return completed[ 0 ];
+    }
+
+    /**
+     * Returns newly created and loaded snapshot of the specified directory.
+     *
+     * @param directory directory to load
+     * @return newly created and loaded directory snapshot
+     */
+    public static DirectorySnapshot create ( final File directory )
+    {
+        final DirectorySnapshot snapshot = new DirectorySnapshot ( directory );
+        snapshot.load ( null );
+        return snapshot;
+    }
+
+    /**
+     * Directory entries listener.
+     */
+    public static interface EntryListener
+    {
+        /**
+         * Informs that directory entry and its attributes were loaded.
+         *
+         * @param file       loaded file
+         * @param attributes loaded file attributes
+         * @return true to continue loading, false to stop it
+         */
+        public boolean entryLoaded ( File file, FileAttributes attributes );
+    }
+}
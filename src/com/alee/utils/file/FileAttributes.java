@@ -0,0 +1,270 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.utils.SystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributes;
+
+/**
+ * Immutable snapshot of basic file attributes.
+ * All attributes are read from the file system at once, so a single system call is enough to answer most common file questions.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.FileUtils
+ * @see com.alee.utils.file.FileWatcher
+ */
+
+public final class FileAttributes
+{
+    /**
+     * Whether file exists or not.
+     */
+    private final boolean exists;
+
+    /**
+     * Whether file is a regular file or not.
+     */
+    private final boolean file;
+
+    /**
+     * Whether file is a directory or not.
+     */
+    private final boolean directory;
+
+    /**
+     * Whether file is hidden or not.
+     */
+    private final boolean hidden;
+
+    /**
+     * File size in bytes.
+     */
+    private final long size;
+
+    /**
+     * File creation time in milliseconds.
+     */
+    private final long creationTime;
+
+    /**
+     * File last modification time in milliseconds.
+     */
+    private final long lastModified;
+
+    /**
+     * Constructs new file attributes snapshot.
+     *
+     * @param exists       whether file exists or not
+     * @param file         whether file is a regular file or not
+     * @param directory    whether file is a directory or not
+     * @param hidden       whether file is hidden or not
+     * @param size         file size in bytes
+     * @param creationTime file creation time in milliseconds
+     * @param lastModified file last modification time in milliseconds
+     */
+    public FileAttributes ( final boolean exists, final boolean file, final boolean directory, final boolean hidden, final long size,
+                            final long creationTime, final long lastModified )
+    {
+        super ();
+        this.exists = exists;
+        this.file = file;
+        this.directory = directory;
+        this.hidden = hidden;
+        this.size = size;
+        this.creationTime = creationTime;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Returns whether file exists or not.
+     *
+     * @return true if file exists, false otherwise
+     */
+    public boolean exists ()
+    {
+        return exists;
+    }
+
+    /**
+     * Returns whether file is a regular file or not.
+     *
+     * @return true if file is a regular file, false otherwise
+     */
+    public boolean isFile ()
+    {
+        return file;
+    }
+
+    /**
+     * Returns whether file is a directory or not.
+     *
+     * @return true if file is a directory, false otherwise
+     */
+    public boolean isDirectory ()
+    {
+        return directory;
+    }
+
+    /**
+     * Returns whether file is hidden or not.
+     *
+     * @return true if file is hidden, false otherwise
+     */
+    public boolean isHidden ()
+    {
+        return hidden;
+    }
+
+    /**
+     * Returns file size in bytes.
+     *
+     * @return file size in bytes
+     */
+    public long getSize ()
+    {
+        return size;
+    }
+
+    /**
+     * Returns file creation time in milliseconds.
+     *
+     * @return file creation time in milliseconds
+     */
+    public long getCreationTime ()
+    {
+        return creationTime;
+    }
+
+    /**
+     * Returns file last modification time in milliseconds.
+     *
+     * @return file last modification time in milliseconds
+     */
+    public long getLastModified ()
+    {
+        return lastModified;
+    }
+
+    /**
+     * Reads attributes of the specified file.
+     * On Windows DOS attributes are read to retrieve hidden flag within the same call, on other systems it is determined by file name.
+     * File system roots are never considered hidden.
+     *
+     * @param file file to read attributes for
+     * @return file attributes snapshot
+     */
+    public static FileAttributes read ( final File file )
+    {
+        final File absolute = file.getAbsoluteFile ();
+        final boolean root = absolute.getParentFile () == null;
+        final Path path;
+        try
+        {
+            path = absolute.toPath ();
+        }
+        catch ( final InvalidPathException e )
+        {
+            // Some virtual system files cannot be represented as path
+            return readLegacy ( absolute, root );
+        }
+        try
+        {
+            if ( SystemUtils.isWindows () )
+            {
+                final DosFileAttributes attributes = Files.readAttributes ( path, DosFileAttributes.class );
+                return create ( attributes, !root && attributes.isHidden () );
+            }
+            else
+            {
+                final BasicFileAttributes attributes = Files.readAttributes ( path, BasicFileAttributes.class );
+                return create ( attributes, !root && absolute.getName ().startsWith ( "." ) );
+            }
+        }
+        catch ( final IOException e )
+        {
+            // File doesn't exist or cannot be accessed
+            return new FileAttributes ( false, false, false, false, 0L, 0L, 0L );
+        }
+        catch ( final UnsupportedOperationException e )
+        {
+            // Requested attributes view is not supported by the file system
+            return readLegacy ( absolute, root );
+        }
+    }
+
+    /**
+     * Returns attributes snapshot for the specified file created from already read attributes.
+     * This is useful when attributes are provided by directory traversal, which might not require any additional system calls.
+     *
+     * @param file       file attributes were read for
+     * @param attributes basic file attributes
+     * @return file attributes snapshot
+     */
+    public static FileAttributes create ( final File file, final BasicFileAttributes attributes )
+    {
+        final boolean hidden;
+        if ( attributes instanceof DosFileAttributes )
+        {
+            hidden = ( ( DosFileAttributes ) attributes ).isHidden ();
+        }
+        else if ( SystemUtils.isWindows () )
+        {
+            hidden = file.isHidden ();
+        }
+        else
+        {
+            hidden = file.getName ().startsWith ( "." );
+        }
+        return create ( attributes, hidden && file.getAbsoluteFile ().getParentFile () != null );
+    }
+
+    /**
+     * Returns file attributes snapshot created from the specified attributes.
+     *
+     * @param attributes basic file attributes
+     * @param hidden     whether file is hidden or not
+     * @return file attributes snapshot
+     */
+    private static FileAttributes create ( final BasicFileAttributes attributes, final boolean hidden )
+    {
+        return new FileAttributes ( true, attributes.isRegularFile (), attributes.isDirectory (), hidden, attributes.size (),
+                attributes.creationTime ().toMillis (), attributes.lastModifiedTime ().toMillis () );
+    }
+
+    /**
+     * Returns file attributes snapshot read using separate {@link java.io.File} calls.
+     * Creation time is not available this way so last modification time is used instead.
+     *
+     * @param file absolute file
+     * @param root whether file is a file system root or not
+     * @return file attributes snapshot
+     */
+    private static FileAttributes readLegacy ( final File file, final boolean root )
+    {
+        final long lastModified = file.lastModified ();
+        return new FileAttributes ( file.exists (), file.isFile (), file.isDirectory (), !root && file.isHidden (), file.length (),
+                lastModified, lastModified );
+    }
+}
@@ -0,0 +1,558 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.managers.log.Log;
+import com.alee.utils.FileUtils;
+
+import javax.swing.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared file system watcher based on {@link java.nio.file.WatchService}.
+ * It keeps FileUtils caches up to date and informs tracked file listeners about file changes.
+ * <p/>
+ * A single daemon thread is used to receive all file system events.
+ * Directories are watched only on explicit request, usually made by file views for the directories they display, and stay watched
+ * until every request is released. Each watched directory costs a native handle (or a polling job on some systems) and on Windows it
+ * prevents that directory from being renamed or removed, so views should release directories as soon as they stop displaying them.
+ * Directories which contain tracked files are watched until tracking is stopped.
+ * <p/>
+ * Tracked file listeners are always informed in Event Dispatch Thread.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.FileUtils#trackFile(java.io.File, com.alee.utils.file.SystemFileListener)
+ * @see com.alee.utils.FileUtils#getFileAttributes(java.io.File)
+ */
+
+public final class FileWatcher
+{
+    /**
+     * Watcher thread name.
+     */
+    public static String watcherThreadName = "FileWatcher";
+
+    /**
+     * Maximum amount of watched directories.
+     * Directories requested above this limit are simply not watched.
+     */
+    public static int maxWatchedDirectories = 1024;
+
+    /**
+     * Watcher state lock.
+     */
+    private static final Object lock = new Object ();
+
+    /**
+     * Watch keys of watched directories.
+     * Modified only under the lock but can be read without it.
+     */
+    private static final Map<Path, WatchKey> watchedDirectories = new ConcurrentHashMap<Path, WatchKey> ();
+
+    /**
+     * Amount of unreleased watch requests for each requested directory.
+     */
+    private static final Map<Path, Integer> directoryUsages = new HashMap<Path, Integer> ();
+
+    /**
+     * Watched directories by their watch keys.
+     */
+    private static final Map<WatchKey, Path> keyDirectories = new HashMap<WatchKey, Path> ();
+
+    /**
+     * Tracked files listeners.
+     */
+    private static final Map<Path, List<SystemFileListener>> trackedFiles = new HashMap<Path, List<SystemFileListener>> ();
+
+    /**
+     * Amount of processed file system events batches.
+     * It is only modified by watcher thread.
+     */
+    private static volatile long changes = 0;
+
+    /**
+     * Watch service.
+     * It is created on first request.
+     */
+    private static WatchService service = null;
+
+    /**
+     * Whether watch service is unavailable or not.
+     */
+    private static boolean unavailable = false;
+
+    /**
+     * Returns whether file system watching is available or not.
+     *
+     * @return true if file system watching is available, false otherwise
+     */
+    public static boolean isAvailable ()
+    {
+        synchronized ( lock )
+        {
+            return getService () != null;
+        }
+    }
+
+    /**
+     * Starts watching the specified directory and returns its watch key.
+     * Returned key stays valid while directory is watched, so it can be used to check whether cached data is still being updated.
+     * Each call must be paired with {@link #unwatchDirectory(java.io.File)} call once directory is not displayed anymore.
+     *
+     * @param directory directory to watch
+     * @return directory watch key or null if directory cannot be watched
+     */
+    public static WatchKey watchDirectory ( final File directory )
+    {
+        final Path path = toPath ( directory );
+        if ( path != null )
+        {
+            synchronized ( lock )
+            {
+                return acquireDirectory ( path );
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Releases directory watch requested through {@link #watchDirectory(java.io.File)} method.
+     * Directory stops being watched once all requests for it are released.
+     *
+     * @param directory watched directory
+     */
+    public static void unwatchDirectory ( final File directory )
+    {
+        final Path path = toPath ( directory );
+        if ( path != null )
+        {
+            synchronized ( lock )
+            {
+                releaseDirectory ( path );
+            }
+        }
+    }
+
+    /**
+     * Returns watch key of the specified directory or null if it is not watched at the moment.
+     * Unlike {@link #watchDirectory(java.io.File)} this method never starts watching directory.
+     *
+     * @param directory directory to process
+     * @return watch key of the specified directory or null if it is not watched at the moment
+     */
+    public static WatchKey getWatchKey ( final File directory )
+    {
+        final Path path = toPath ( directory );
+        final WatchKey key = path != null ? watchedDirectories.get ( path ) : null;
+        return key != null && key.isValid () ? key : null;
+    }
+
+    /**
+     * Returns amount of file system events batches processed so far.
+     * It is increased before file caches are cleared for the changed files, so if this value didn't change while some file data was
+     * being read and cached then cached data is either up to date or will be cleared by upcoming events.
+     *
+     * @return amount of file system events batches processed so far
+     */
+    public static long getChangesCount ()
+    {
+        return changes;
+    }
+
+    /**
+     * Starts tracking the specified file for changes.
+     * Listener will be informed in Event Dispatch Thread when file is modified or when it is deleted, renamed or moved.
+     * Tracking stops automatically once file is unbound.
+     *
+     * @param file     file to track
+     * @param listener system file listener
+     * @return true if file tracking has started, false if file cannot be tracked
+     */
+    public static boolean track ( final File file, final SystemFileListener listener )
+    {
+        final Path path = toPath ( file );
+        if ( path != null && path.getParent () != null )
+        {
+            synchronized ( lock )
+            {
+                List<SystemFileListener> listeners = trackedFiles.get ( path );
+                if ( listeners == null )
+                {
+                    // Each tracked file holds a single watch request for its directory
+                    if ( acquireDirectory ( path.getParent () ) == null )
+                    {
+                        releaseDirectory ( path.getParent () );
+                        return false;
+                    }
+                    listeners = new ArrayList<SystemFileListener> ( 1 );
+                    trackedFiles.put ( path, listeners );
+                }
+                listeners.add ( listener );
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops tracking the specified file for the specified listener.
+     *
+     * @param file     tracked file
+     * @param listener system file listener
+     */
+    public static void untrack ( final File file, final SystemFileListener listener )
+    {
+        final Path path = toPath ( file );
+        if ( path != null )
+        {
+            synchronized ( lock )
+            {
+                final List<SystemFileListener> listeners = trackedFiles.get ( path );
+                if ( listeners != null )
+                {
+                    listeners.remove ( listener );
+                    if ( listeners.isEmpty () )
+                    {
+                        trackedFiles.remove ( path );
+                        releaseDirectory ( path.getParent () );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns amount of currently watched directories.
+     *
+     * @return amount of currently watched directories
+     */
+    public static int getWatchedDirectoriesCount ()
+    {
+        synchronized ( lock )
+        {
+            return watchedDirectories.size ();
+        }
+    }
+
+    /**
+     * Returns amount of currently tracked files.
+     *
+     * @return amount of currently tracked files
+     */
+    public static int getTrackedFilesCount ()
+    {
+        synchronized ( lock )
+        {
+            return trackedFiles.size ();
+        }
+    }
+
+    /**
+     * Returns absolute path for the specified file or null if it cannot be represented as path.
+     *
+     * @param file file to process
+     * @return absolute path for the specified file or null if it cannot be represented as path
+     */
+    private static Path toPath ( final File file )
+    {
+        try
+        {
+            return file != null ? file.getAbsoluteFile ().toPath () : null;
+        }
+        catch ( final InvalidPathException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Returns watch service, creates it and starts watcher thread if needed.
+     * Should be called under the lock.
+     *
+     * @return watch service or null if it is not available
+     */
+    private static WatchService getService ()
+    {
+        if ( service == null && !unavailable )
+        {
+            try
+            {
+                service = FileSystems.getDefault ().newWatchService ();
+                final Thread watcher = new Thread ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        runWatcher ();
+                    }
+                }, watcherThreadName );
+                watcher.setDaemon ( true );
+                watcher.start ();
+            }
+            catch ( final Throwable e )
+            {
+                unavailable = true;
+                Log.warn ( FileWatcher.class, "File system watching is not available: " + e.getMessage () );
+            }
+        }
+        return service;
+    }
+
+    /**
+     * Registers watch request for the specified directory and returns its watch key.
+     * Should be called under the lock.
+     *
+     * @param directory directory to watch
+     * @return directory watch key or null if directory cannot be watched
+     */
+    private static WatchKey acquireDirectory ( final Path directory )
+    {
+        final Integer usages = directoryUsages.get ( directory );
+        directoryUsages.put ( directory, usages != null ? usages + 1 : 1 );
+
+        final WatchKey existing = watchedDirectories.get ( directory );
+        if ( existing != null && existing.isValid () )
+        {
+            return existing;
+        }
+        final WatchService service = getService ();
+        if ( service != null && watchedDirectories.size () < maxWatchedDirectories )
+        {
+            try
+            {
+                final WatchKey key = directory.register ( service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY );
+                watchedDirectories.put ( directory, key );
+                keyDirectories.put ( key, directory );
+                return key;
+            }
+            catch ( final IOException e )
+            {
+                // Directory doesn't exist or cannot be watched
+                return null;
+            }
+            catch ( final UnsupportedOperationException e )
+            {
+                // File system doesn't support watching
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Releases watch request for the specified directory.
+     * Directory watch is cancelled once there are no requests left.
+     * Should be called under the lock.
+     *
+     * @param directory watched directory
+     */
+    private static void releaseDirectory ( final Path directory )
+    {
+        final Integer usages = directoryUsages.get ( directory );
+        if ( usages != null )
+        {
+            if ( usages > 1 )
+            {
+                directoryUsages.put ( directory, usages - 1 );
+            }
+            else
+            {
+                directoryUsages.remove ( directory );
+                final WatchKey key = watchedDirectories.remove ( directory );
+                if ( key != null )
+                {
+                    key.cancel ();
+                    keyDirectories.remove ( key );
+                }
+            }
+        }
+    }
+
+    /**
+     * Watcher thread body.
+     */
+    private static void runWatcher ()
+    {
+        while ( true )
+        {
+            final WatchKey key;
+            try
+            {
+                key = service.take ();
+            }
+            catch ( final InterruptedException e )
+            {
+                // Watcher thread should never stop
+                continue;
+            }
+            catch ( final ClosedWatchServiceException e )
+            {
+                return;
+            }
+            try
+            {
+                processEvents ( key );
+            }
+            catch ( final Throwable e )
+            {
+                Log.error ( FileWatcher.class, e );
+            }
+        }
+    }
+
+    /**
+     * Processes events received for the specified watch key.
+     *
+     * @param key watch key
+     */
+    private static void processEvents ( final WatchKey key )
+    {
+        final Path directory;
+        synchronized ( lock )
+        {
+            directory = keyDirectories.get ( key );
+        }
+        final List<WatchEvent<?>> events = key.pollEvents ();
+        if ( directory == null )
+        {
+            // Directory is not watched anymore
+            return;
+        }
+
+        // Caches are only cleared after changes count is updated
+        changes++;
+
+        // Directory itself has changed
+        FileUtils.clearFileCaches ( directory.toString () );
+
+        // Processing changed files
+        final Map<Path, Boolean> changed = new LinkedHashMap<Path, Boolean> ( events.size () );
+        for ( final WatchEvent<?> event : events )
+        {
+            if ( event.kind () == StandardWatchEventKinds.OVERFLOW )
+            {
+                // Some events were lost so we cannot rely on cached values anymore
+                FileUtils.clearAllFileCaches ();
+                for ( final Path tracked : getTrackedFiles ( directory ) )
+                {
+                    changed.put ( tracked, Files.exists ( tracked ) );
+                }
+            }
+            else
+            {
+                final Path file = directory.resolve ( ( Path ) event.context () );
+                FileUtils.clearFileCaches ( file.toString () );
+                changed.put ( file, event.kind () != StandardWatchEventKinds.ENTRY_DELETE );
+            }
+        }
+
+        // Directory might have been removed
+        if ( !key.reset () )
+        {
+            synchronized ( lock )
+            {
+                keyDirectories.remove ( key );
+                if ( watchedDirectories.get ( directory ) == key )
+                {
+                    watchedDirectories.remove ( directory );
+                }
+            }
+            for ( final Path tracked : getTrackedFiles ( directory ) )
+            {
+                changed.put ( tracked, false );
+            }
+        }
+
+        // Informing tracked files listeners
+        for ( final Map.Entry<Path, Boolean> entry : changed.entrySet () )
+        {
+            fireFileChanged ( entry.getKey (), entry.getValue () );
+        }
+    }
+
+    /**
+     * Returns tracked files located in the specified directory.
+     *
+     * @param directory directory to process
+     * @return tracked files located in the specified directory
+     */
+    private static List<Path> getTrackedFiles ( final Path directory )
+    {
+        synchronized ( lock )
+        {
+            final List<Path> files = new ArrayList<Path> ();
+            for ( final Path tracked : trackedFiles.keySet () )
+            {
+                if ( directory.equals ( tracked.getParent () ) )
+                {
+                    files.add ( tracked );
+                }
+            }
+            return files;
+        }
+    }
+
+    /**
+     * Informs tracked file listeners about file change.
+     * File tracking is stopped when file doesn't exist anymore.
+     *
+     * @param path   changed file path
+     * @param exists whether file still exists or not
+     */
+    private static void fireFileChanged ( final Path path, final boolean exists )
+    {
+        final List<SystemFileListener> listeners;
+        synchronized ( lock )
+        {
+            final List<SystemFileListener> tracked = exists ? trackedFiles.get ( path ) : trackedFiles.remove ( path );
+            if ( tracked == null )
+            {
+                return;
+            }
+            if ( !exists )
+            {
+                releaseDirectory ( path.getParent () );
+            }
+            listeners = new ArrayList<SystemFileListener> ( tracked );
+        }
+        final File file = path.toFile ();
+        SwingUtilities.invokeLater ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                for ( final SystemFileListener listener : listeners )
+                {
+                    if ( exists )
+                    {
+                        listener.modified ( file );
+                    }
+                    else
+                    {
+                        listener.unbound ( file );
+                    }
+                }
+            }
+        } );
+    }
+}
@@ -17,13 +17,20 @@
 
 package com.alee.utils.ninepatch;
 
+import com.alee.utils.CacheUtils;
 import com.alee.utils.ImageUtils;
 import com.alee.utils.NinePatchUtils;
+import com.alee.utils.cache.Cache;
+import com.alee.utils.collection.IntHashMap;
 import com.thoughtworks.xstream.annotations.XStreamConverter;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,23 +40,35 @@ import java.util.List;
  * <p/>
  * Basically it parses nine-patch image data (patches at the side of .9.png image) into understandable values and uses them to stretch the
  * image properly when it is painted anywhere.
+ * <p/>
+ * Icon can also be serialized, raw image is stored as plain ARGB pixels in that case and component is not stored at all.
+ * <p/>
+ * Stretch layout is calculated once for each painted size and cached, image parts outside of the graphics clip are not painted.
+ * Icons painted with the same few sizes over and over (like list or table cell backgrounds) can also cache the whole stretched image,
+ * see {@link #setCacheRendering(boolean)}.
  *
  * @author Mikle Garin
  * @see com.alee.extended.painter.NinePatchIconPainter
  * @see com.alee.extended.painter.NinePatchStatePainter
  */
 @XStreamConverter (NinePatchIconConverter.class)
-public class NinePatchIcon implements Icon
+public class NinePatchIcon implements Icon, Serializable
 {
+    /**
+     * Serialized form version.
+     * It should be changed together with the data written by {@link #writeObject(java.io.ObjectOutputStream)} method.
+     */
+    private static final long serialVersionUID = 1L;
+
     /**
      * Component onto which this nine-patch icon will be stretched.
      */
-    protected Component component;
+    protected transient Component component;
 
     /**
      * Raw image without patches.
      */
-    protected BufferedImage rawImage;
+    protected transient BufferedImage rawImage;
 
     /**
      * Horizontal stretch intervals taken from image patches (top image patches).
@@ -89,6 +108,23 @@ public class NinePatchIcon implements Icon
      */
     protected Integer cachedHeight1;
 
+    /**
+     * Whether stretched images should be rendered once and cached for each painted size or not.
+     */
+    protected boolean cacheRendering = false;
+
+    /**
+     * Cached horizontal stretch plans by painted width.
+     * Icon might be painted from multiple threads at once, so plans caches are only accessed while holding icon lock.
+     */
+    protected transient IntHashMap<int[]> horizontalPlans;
+
+    /**
+     * Cached vertical stretch plans by painted height.
+     * Icon might be painted from multiple threads at once, so plans caches are only accessed while holding icon lock.
+     */
+    protected transient IntHashMap<int[]> verticalPlans;
+
     /**
      * Constructs new NinePatchIcon using the nine-patch image from the specified URL.
      *
@@ -264,6 +300,23 @@ public class NinePatchIcon implements Icon
         }
     }
 
+    /**
+     * Maximum amount of cached stretch plans for each axis.
+     */
+    protected static final int MAX_CACHED_PLANS = 32;
+
+    /**
+     * Amount of integer values describing single interval in stretch plan.
+     * Those are source start, source length, destination offset, destination length and pixel mark.
+     */
+    protected static final int PLAN_STEP = 5;
+
+    /**
+     * Rendered stretched images cache shared by all icons.
+     */
+    protected static final Cache<RenderKey, BufferedImage> renderedImages =
+            CacheUtils.createImageCache ( "NinePatchIcon.renderedImages", 16 * 1024 * 1024 );
+
     /**
      * Returns newly created NinePatchIcon with empty patches.
      *
@@ -504,54 +557,224 @@ public class NinePatchIcon implements Icon
     {
         final int availableWidth = Math.max ( width, getFixedPixelsWidth ( true ) );
         final int availableHeight = Math.max ( height, getFixedPixelsHeight ( true ) );
-        final int fixedPixelsX = getFixedPixelsWidth ( false );
-        final int unfixedX = availableWidth - fixedPixelsX;
-        final int fixedPixelsY = getFixedPixelsHeight ( false );
-        final int unfixedY = availableHeight - fixedPixelsY;
-
-        int currentY = y;
-        for ( final NinePatchInterval intervalY : verticalStretch )
+        final int[] planX = getStretchPlan ( true, availableWidth );
+        final int[] planY = getStretchPlan ( false, availableHeight );
+        if ( cacheRendering )
         {
-            // Percent part height
-            final int intervalHeight = intervalY.getEnd () - intervalY.getStart () + 1;
-            final int finalHeight;
-            if ( intervalY.isPixel () )
+            // Rounded parts might take slightly more space than available
+            final int imageWidth = getPlanLength ( planX );
+            final int imageHeight = getPlanLength ( planY );
+            if ( imageWidth <= 0 || imageHeight <= 0 )
             {
-                finalHeight = intervalHeight;
+                return;
             }
-            else
+
+            // Painting cached stretched image
+            final RenderKey key = new RenderKey ( this, planX, planY );
+            BufferedImage image = renderedImages.get ( key );
+            if ( image == null )
             {
-                final float percents = ( float ) intervalHeight / ( rawImage.getHeight () - fixedPixelsY );
-                finalHeight = Math.round ( percents * unfixedY );
+                image = ImageUtils.createCompatibleImage ( imageWidth, imageHeight, Transparency.TRANSLUCENT );
+                final Graphics2D ig = image.createGraphics ();
+                paintPlan ( ig, 0, 0, planX, planY, null );
+                ig.dispose ();
+                renderedImages.put ( key, image );
             }
+            g2d.drawImage ( image, x, y, null );
+        }
+        else
+        {
+            // Painting image parts directly
+            paintPlan ( g2d, x, y, planX, planY, g2d.getClipBounds () );
+        }
+    }
 
-            int currentX = x;
-            for ( final NinePatchInterval intervalX : horizontalStretch )
+    /**
+     * Paints image parts according to the specified stretch plans.
+     * Image parts which do not intersect with the specified clip are skipped.
+     *
+     * @param g2d   graphics context
+     * @param x     location X coordinate
+     * @param y     location Y coordinate
+     * @param planX horizontal stretch plan
+     * @param planY vertical stretch plan
+     * @param clip  clip bounds or null if there is no clip
+     */
+    protected void paintPlan ( final Graphics2D g2d, final int x, final int y, final int[] planX, final int[] planY, final Rectangle clip )
+    {
+        final int clipX1 = clip != null ? clip.x : Integer.MIN_VALUE;
+        final int clipY1 = clip != null ? clip.y : Integer.MIN_VALUE;
+        final int clipX2 = clip != null ? clip.x + clip.width : Integer.MAX_VALUE;
+        final int clipY2 = clip != null ? clip.y + clip.height : Integer.MAX_VALUE;
+        for ( int iy = 0; iy < planY.length; iy += PLAN_STEP )
+        {
+            final int dy1 = y + planY[ iy + 2 ];
+            final int dy2 = dy1 + planY[ iy + 3 ];
+            if ( dy1 >= dy2 || dy2 <= clipY1 || dy1 >= clipY2 )
             {
-                // Percent part width
-                final int intervalWidth = intervalX.getEnd () - intervalX.getStart () + 1;
-                final int finalWidth;
-                if ( intervalX.isPixel () )
-                {
-                    finalWidth = intervalWidth;
-                }
-                else
+                // Image row is empty or not visible
+                continue;
+            }
+            final int sy1 = planY[ iy ];
+            final int sy2 = sy1 + planY[ iy + 1 ];
+            for ( int ix = 0; ix < planX.length; ix += PLAN_STEP )
+            {
+                final int dx1 = x + planX[ ix + 2 ];
+                final int dx2 = dx1 + planX[ ix + 3 ];
+                if ( dx1 >= dx2 || dx2 <= clipX1 || dx1 >= clipX2 )
                 {
-                    final float percents = ( float ) intervalWidth / ( rawImage.getWidth () - fixedPixelsX );
-                    finalWidth = Math.round ( percents * unfixedX );
+                    // Image part is empty or not visible
+                    continue;
                 }
+                final int sx1 = planX[ ix ];
+                g2d.drawImage ( rawImage, dx1, dy1, dx2, dy2, sx1, sy1, sx1 + planX[ ix + 1 ], sy2, null );
+            }
+        }
+    }
 
-                // Drawing image part
-                g2d.drawImage ( rawImage, currentX, currentY, currentX + finalWidth, currentY + finalHeight, intervalX.getStart (),
-                        intervalY.getStart (), intervalX.getStart () + intervalWidth, intervalY.getStart () + intervalHeight, null );
+    /**
+     * Returns stretch plan for the specified axis and painted size.
+     * Plan is calculated once for each size and reused while stretch intervals stay the same.
+     *
+     * @param horizontal whether should return horizontal plan or vertical one
+     * @param size       painted size along the axis
+     * @return stretch plan for the specified axis and painted size
+     */
+    protected synchronized int[] getStretchPlan ( final boolean horizontal, final int size )
+    {
+        IntHashMap<int[]> plans = horizontal ? horizontalPlans : verticalPlans;
+        if ( plans == null )
+        {
+            plans = new IntHashMap<int[]> ( 4 );
+            if ( horizontal )
+            {
+                horizontalPlans = plans;
+            }
+            else
+            {
+                verticalPlans = plans;
+            }
+        }
+        final List<NinePatchInterval> intervals = horizontal ? horizontalStretch : verticalStretch;
+        int[] plan = plans.get ( size );
+        if ( plan == null || !isPlanValid ( plan, intervals ) )
+        {
+            if ( horizontal )
+            {
+                plan = createStretchPlan ( intervals, rawImage.getWidth (), getFixedPixelsWidth ( false ), size );
+            }
+            else
+            {
+                plan = createStretchPlan ( intervals, rawImage.getHeight (), getFixedPixelsHeight ( false ), size );
+            }
+            if ( plans.size () >= MAX_CACHED_PLANS )
+            {
+                plans.clear ();
+            }
+            plans.put ( size, plan );
+        }
+        return plan;
+    }
 
-                // Icrementing current X
-                currentX += finalWidth;
+    /**
+     * Returns whether the specified stretch plan was created for the specified intervals or not.
+     * Intervals might be modified directly (for example by nine-patch editor), so plans are always checked before use.
+     *
+     * @param plan      stretch plan
+     * @param intervals stretch intervals
+     * @return true if the specified stretch plan was created for the specified intervals, false otherwise
+     */
+    protected static boolean isPlanValid ( final int[] plan, final List<NinePatchInterval> intervals )
+    {
+        if ( plan.length != intervals.size () * PLAN_STEP )
+        {
+            return false;
+        }
+        for ( int i = 0; i < intervals.size (); i++ )
+        {
+            final NinePatchInterval interval = intervals.get ( i );
+            final int p = i * PLAN_STEP;
+            if ( plan[ p ] != interval.getStart () || plan[ p + 1 ] != interval.getEnd () - interval.getStart () + 1 ||
+                    plan[ p + 4 ] != ( interval.isPixel () ? 1 : 0 ) )
+            {
+                return false;
             }
+        }
+        return true;
+    }
+
+    /**
+     * Returns total painted length of the specified stretch plan.
+     *
+     * @param plan stretch plan
+     * @return total painted length of the specified stretch plan
+     */
+    protected static int getPlanLength ( final int[] plan )
+    {
+        return plan.length > 0 ? plan[ plan.length - PLAN_STEP + 2 ] + plan[ plan.length - PLAN_STEP + 3 ] : 0;
+    }
 
-            // Icrementing current Y
-            currentY += finalHeight;
+    /**
+     * Returns newly created stretch plan.
+     * Plan contains source and destination coordinates for each interval, see {@link #PLAN_STEP}.
+     *
+     * @param intervals   stretch intervals
+     * @param imageSize   raw image size along the axis
+     * @param fixedPixels fixed pixels amount along the axis
+     * @param size        painted size along the axis
+     * @return newly created stretch plan
+     */
+    protected static int[] createStretchPlan ( final List<NinePatchInterval> intervals, final int imageSize, final int fixedPixels,
+                                               final int size )
+    {
+        final int unfixed = size - fixedPixels;
+        final int[] plan = new int[ intervals.size () * PLAN_STEP ];
+        int offset = 0;
+        for ( int i = 0; i < intervals.size (); i++ )
+        {
+            final NinePatchInterval interval = intervals.get ( i );
+            final int length = interval.getEnd () - interval.getStart () + 1;
+            final int finalLength;
+            if ( interval.isPixel () )
+            {
+                finalLength = length;
+            }
+            else
+            {
+                final float percents = ( float ) length / ( imageSize - fixedPixels );
+                finalLength = Math.round ( percents * unfixed );
+            }
+            final int p = i * PLAN_STEP;
+            plan[ p ] = interval.getStart ();
+            plan[ p + 1 ] = length;
+            plan[ p + 2 ] = offset;
+            plan[ p + 3 ] = finalLength;
+            plan[ p + 4 ] = interval.isPixel () ? 1 : 0;
+            offset += finalLength;
         }
+        return plan;
+    }
+
+    /**
+     * Returns whether stretched images should be rendered once and cached for each painted size or not.
+     *
+     * @return true if stretched images should be rendered once and cached for each painted size, false otherwise
+     */
+    public boolean isCacheRendering ()
+    {
+        return cacheRendering;
+    }
+
+    /**
+     * Sets whether stretched images should be rendered once and cached for each painted size or not.
+     * This is useful for icons painted with the same few sizes over and over, like list or table cell backgrounds.
+     * Note that cached images are always rendered without any graphics transform and rendering hints applied.
+     *
+     * @param cacheRendering whether stretched images should be rendered once and cached for each painted size or not
+     */
+    public void setCacheRendering ( final boolean cacheRendering )
+    {
+        this.cacheRendering = cacheRendering;
     }
 
     /**
@@ -606,10 +829,11 @@ public class NinePatchIcon implements Icon
     /**
      * Clears fixed pixels width caches.
      */
-    protected void updateCachedWidthData ()
+    protected synchronized void updateCachedWidthData ()
     {
         cachedWidth0 = null;
         cachedWidth1 = null;
+        horizontalPlans = null;
         getFixedPixelsWidth ( true );
         getFixedPixelsWidth ( false );
     }
@@ -666,10 +890,11 @@ public class NinePatchIcon implements Icon
     /**
      * Clears fixed pixels height caches.
      */
-    protected void updateCachedHeightData ()
+    protected synchronized void updateCachedHeightData ()
     {
         cachedHeight0 = null;
         cachedHeight1 = null;
+        verticalPlans = null;
         getFixedPixelsHeight ( true );
         getFixedPixelsHeight ( false );
     }
@@ -711,4 +936,101 @@ public class NinePatchIcon implements Icon
     {
         return new Dimension ( getRawImage ().getWidth (), getRawImage ().getHeight () );
     }
-}
\ No newline at end of file
+
+    /**
+     * Rendered stretched image cache key.
+     * Stretch plans are compared by identity since each plan is created for a single icon, size and set of intervals.
+     */
+    protected static final class RenderKey
+    {
+        /**
+         * Painted icon.
+         */
+        private final NinePatchIcon icon;
+
+        /**
+         * Horizontal stretch plan.
+         */
+        private final int[] planX;
+
+        /**
+         * Vertical stretch plan.
+         */
+        private final int[] planY;
+
+        /**
+         * Constructs new rendered image cache key.
+         *
+         * @param icon  painted icon
+         * @param planX horizontal stretch plan
+         * @param planY vertical stretch plan
+         */
+        protected RenderKey ( final NinePatchIcon icon, final int[] planX, final int[] planY )
+        {
+            super ();
+            this.icon = icon;
+            this.planX = planX;
+            this.planY = planY;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode ()
+        {
+            return ( System.identityHashCode ( icon ) * 31 + System.identityHashCode ( planX ) ) * 31 + System.identityHashCode ( planY );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals ( final Object obj )
+        {
+            if ( !( obj instanceof RenderKey ) )
+            {
+                return false;
+            }
+            final RenderKey other = ( RenderKey ) obj;
+            return icon == other.icon && planX == other.planX && planY == other.planY;
+        }
+    }
+
+    /**
+     * Writes icon data into the specified stream.
+     * Raw image is written as its size, transparency and ARGB pixels.
+     *
+     * @param out output stream
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeObject ( final ObjectOutputStream out ) throws IOException
+    {
+        out.defaultWriteObject ();
+        final int width = rawImage.getWidth ();
+        final int height = rawImage.getHeight ();
+        out.writeInt ( width );
+        out.writeInt ( height );
+        out.writeInt ( rawImage.getTransparency () );
+        out.writeObject ( rawImage.getRGB ( 0, 0, width, height, null, 0, width ) );
+    }
+
+    /**
+     * Reads icon data from the specified stream.
+     * Raw image is restored in a compatible format.
+     *
+     * @param in input stream
+     * @throws IOException            if an I/O error occurs
+     * @throws ClassNotFoundException if class of a serialized object cannot be found
+     */
+    private void readObject ( final ObjectInputStream in ) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject ();
+        final int width = in.readInt ();
+        final int height = in.readInt ();
+        final int transparency = in.readInt ();
+        final int[] pixels = ( int[] ) in.readObject ();
+        rawImage = ImageUtils.createCompatibleImage ( width, height, transparency );
+        rawImage.setRGB ( 0, 0, width, height, pixels, 0, width );
+    }
+}
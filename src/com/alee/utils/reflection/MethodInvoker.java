@@ -0,0 +1,181 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.reflection;
+
+import com.alee.utils.ReflectUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Reusable invoker bound to a single resolved method.
+ * <p/>
+ * Method is converted into a method handle with a generic exact type, so invocations skip both method lookup and access checks.
+ * Invoker behaves like {@link java.lang.reflect.Method#invoke(Object, Object...)}: arguments are checked before the call and any
+ * exception thrown by the method itself is wrapped into {@link java.lang.reflect.InvocationTargetException}.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.ReflectUtils#getMethodInvoker(Class, String, Object...)
+ */
+
+public final class MethodInvoker
+{
+    /**
+     * Generic invoker handle type.
+     */
+    private static final MethodType INVOKER_TYPE = MethodType.methodType ( Object.class, Object.class, Object[].class );
+
+    /**
+     * Invoked method.
+     */
+    private final Method method;
+
+    /**
+     * Method parameter types.
+     */
+    private final Class<?>[] parameterTypes;
+
+    /**
+     * Whether invoked method is static or not.
+     */
+    private final boolean isStatic;
+
+    /**
+     * Method handle accepting target object and arguments array or null if method cannot be converted into handle.
+     */
+    private final MethodHandle handle;
+
+    /**
+     * Constructs new invoker for the specified method.
+     * Method should already be accessible.
+     *
+     * @param method method to invoke
+     */
+    public MethodInvoker ( final Method method )
+    {
+        super ();
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes ();
+        this.isStatic = Modifier.isStatic ( method.getModifiers () );
+        this.handle = createHandle ( method, parameterTypes.length, isStatic );
+    }
+
+    /**
+     * Returns invoked method.
+     *
+     * @return invoked method
+     */
+    public Method getMethod ()
+    {
+        return method;
+    }
+
+    /**
+     * Returns result of the method invoked on the specified object.
+     * Will return null in case method is void-type.
+     *
+     * @param object    object to invoke method on, ignored for static methods
+     * @param arguments method arguments
+     * @param <T>       result type
+     * @return result of the method invoked on the specified object
+     * @throws InvocationTargetException if invoked method throws an exception
+     * @throws IllegalAccessException    if method cannot be accessed
+     */
+    public <T> T invoke ( final Object object, final Object... arguments ) throws InvocationTargetException, IllegalAccessException
+    {
+        if ( handle == null )
+        {
+            return ( T ) method.invoke ( object, arguments );
+        }
+        checkArguments ( object, arguments );
+        try
+        {
+            return ( T ) handle.invokeExact ( object, arguments );
+        }
+        catch ( final Throwable e )
+        {
+            throw new InvocationTargetException ( e );
+        }
+    }
+
+    /**
+     * Checks that target object and arguments fit the method.
+     * Performs the same checks as {@link java.lang.reflect.Method#invoke(Object, Object...)} does.
+     *
+     * @param object    object to invoke method on
+     * @param arguments method arguments
+     */
+    private void checkArguments ( final Object object, final Object[] arguments )
+    {
+        if ( !isStatic )
+        {
+            if ( object == null )
+            {
+                throw new NullPointerException ( "Cannot invoke non-static method " + method.getName () + " on null object" );
+            }
+            if ( !method.getDeclaringClass ().isInstance ( object ) )
+            {
+                throw new IllegalArgumentException ( "Object is not an instance of declaring class" );
+            }
+        }
+        final int length = arguments != null ? arguments.length : 0;
+        if ( length != parameterTypes.length )
+        {
+            throw new IllegalArgumentException ( "Wrong number of arguments" );
+        }
+        for ( int i = 0; i < length; i++ )
+        {
+            if ( !ReflectUtils.isAssignable ( parameterTypes[ i ], arguments[ i ] != null ? arguments[ i ].getClass () : null ) )
+            {
+                throw new IllegalArgumentException ( "Argument type mismatch" );
+            }
+        }
+    }
+
+    /**
+     * Returns method handle accepting target object and arguments array or null if method cannot be converted into handle.
+     *
+     * @param method     method to convert
+     * @param parameters amount of method parameters
+     * @param isStatic   whether method is static or not
+     * @return method handle accepting target object and arguments array or null if method cannot be converted into handle
+     */
+    private static MethodHandle createHandle ( final Method method, final int parameters, final boolean isStatic )
+    {
+        try
+        {
+            MethodHandle handle = MethodHandles.lookup ().unreflect ( method ).asFixedArity ();
+            if ( isStatic )
+            {
+                // Static methods simply ignore target object
+                handle = MethodHandles.dropArguments ( handle, 0, Object.class );
+            }
+            handle = handle.asType ( handle.type ().generic () );
+            return handle.asSpreader ( Object[].class, parameters ).asType ( INVOKER_TYPE );
+        }
+        catch ( final Throwable e )
+        {
+            // Method will be invoked using reflection
+            return null;
+        }
+    }
+}
@@ -37,6 +37,10 @@ import java.util.Map;
  * <p/>
  * Also this Timer implementation offers a variety of additional features and improvements which standard timer doesn't have (for example
  * you can dispatch events in a separate non-EDT thread and as a result avoid using EDT at all where it is not necessary).
+ * <p/>
+ * Timers which fire their actions in EDT are driven by the shared {@link com.alee.utils.swing.WebTimerPulse} by default, so they do not
+ * create any threads at all and their cycles are merged into a single EDT call per pulse. Use {@link #setUseSharedPulse(boolean)} to
+ * switch specific timer back to its own thread and {@link #setMaxFrameRate(int)} to limit its cycles frequency.
  *
  * @author Mikle Garin
  * @see javax.swing.Timer
@@ -59,6 +63,11 @@ public class WebTimer
      */
     public static boolean useEdtByDefault = true;
 
+    /**
+     * Whether timers firing their actions in EDT should be driven by the shared pulse by default or not.
+     */
+    public static boolean useSharedPulseByDefault = true;
+
     /**
      * Timer event listeners list.
      */
@@ -156,6 +165,25 @@ public class WebTimer
      */
     protected int cyclesLimit = 0;
 
+    /**
+     * Whether this timer should be driven by the shared pulse instead of a separate thread or not.
+     * Shared pulse is only used when actions are fired in Event Dispatch Thread.
+     * This option should be set before starting timer to have any effect.
+     */
+    protected boolean useSharedPulse = useSharedPulseByDefault;
+
+    /**
+     * Maximum amount of timer cycles per second.
+     * Zero and less = cycles frequency is limited only by the delay.
+     */
+    protected int maxFrameRate = 0;
+
+    /**
+     * Currently scheduled shared pulse cycle.
+     * It is null in case timer is not running or it is running in a separate thread.
+     */
+    protected WebTimerPulse.Entry pulseEntry = null;
+
     /**
      * Constructs timer with specified delay.
      *
@@ -568,6 +596,64 @@ public class WebTimer
         return this;
     }
 
+    /**
+     * Returns whether this timer should be driven by the shared pulse instead of a separate thread or not.
+     *
+     * @return true if this timer should be driven by the shared pulse instead of a separate thread, false otherwise
+     */
+    public boolean isUseSharedPulse ()
+    {
+        return useSharedPulse;
+    }
+
+    /**
+     * Sets whether this timer should be driven by the shared pulse instead of a separate thread or not.
+     * Shared pulse is only used when actions are fired in Event Dispatch Thread.
+     * This option should be set before starting timer to have any effect.
+     *
+     * @param useSharedPulse whether this timer should be driven by the shared pulse instead of a separate thread or not
+     * @return this timer
+     */
+    public WebTimer setUseSharedPulse ( final boolean useSharedPulse )
+    {
+        this.useSharedPulse = useSharedPulse;
+        return this;
+    }
+
+    /**
+     * Returns maximum amount of timer cycles per second.
+     *
+     * @return maximum amount of timer cycles per second
+     */
+    public int getMaxFrameRate ()
+    {
+        return maxFrameRate;
+    }
+
+    /**
+     * Sets maximum amount of timer cycles per second.
+     * Zero and less = cycles frequency is limited only by the delay.
+     *
+     * @param maxFrameRate maximum amount of timer cycles per second
+     * @return this timer
+     */
+    public WebTimer setMaxFrameRate ( final int maxFrameRate )
+    {
+        this.maxFrameRate = maxFrameRate;
+        return this;
+    }
+
+    /**
+     * Returns actual delay between timer cycles in milliseconds limited by the maximum frame rate.
+     *
+     * @return actual delay between timer cycles in milliseconds
+     */
+    public long getCycleDelay ()
+    {
+        final long delay = getDelay ();
+        return maxFrameRate > 0 ? Math.max ( delay, 1000 / maxFrameRate ) : delay;
+    }
+
     /**
      * Returns internal timer thread name.
      *
@@ -750,7 +836,7 @@ public class WebTimer
      */
     public synchronized boolean isRunning ()
     {
-        return exec != null && exec.isAlive ();
+        return pulseEntry != null ? running.get ( pulseEntry.getId () ) == Boolean.TRUE : exec != null && exec.isAlive ();
     }
 
     /**
@@ -767,9 +853,21 @@ public class WebTimer
         // Saving current thread unique id
         lastId = id;
         id++;
+        final int currentId = lastId;
+
+        // Scheduling first cycle on the shared pulse
+        if ( useEventDispatchThread && useSharedPulse )
+        {
+            exec = null;
+            setAlive ( currentId, true );
+            cycleCount = 0;
+            final long actualInitialDelay = getInitialDelay () < 0 ? getCycleDelay () : getInitialDelay ();
+            schedulePulse ( currentId, actualInitialDelay );
+            return;
+        }
 
         // Starting new cycling thread
-        final int currentId = lastId;
+        pulseEntry = null;
         exec = new Thread ( new Runnable ()
         {
             @Override
@@ -814,9 +912,9 @@ public class WebTimer
                                 }
 
                                 // Waiting for next execution
-                                if ( getDelay () > 0 )
+                                if ( getCycleDelay () > 0 )
                                 {
-                                    final long currentDelay = getDelay ();
+                                    final long currentDelay = getCycleDelay ();
                                     sleepStart = System.currentTimeMillis ();
                                     sleepTime = currentDelay;
                                     Thread.sleep ( currentDelay );
@@ -846,6 +944,62 @@ public class WebTimer
         exec.start ();
     }
 
+    /**
+     * Schedules next timer cycle on the shared pulse.
+     *
+     * @param id    execution ID
+     * @param delay delay before cycle execution in milliseconds
+     */
+    protected void schedulePulse ( final int id, final long delay )
+    {
+        sleepStart = System.currentTimeMillis ();
+        sleepTime = delay;
+        pulseEntry = WebTimerPulse.schedule ( this, id, delay );
+    }
+
+    /**
+     * Performs timer cycle scheduled on the shared pulse.
+     * This method is always called from Event Dispatch Thread.
+     *
+     * @param entry scheduled cycle entry
+     */
+    protected void performPulse ( final WebTimerPulse.Entry entry )
+    {
+        // Skipping outdated cycles
+        final int currentId = entry.getId ();
+        synchronized ( this )
+        {
+            if ( pulseEntry != entry )
+            {
+                return;
+            }
+        }
+
+        // Firing events
+        final boolean fire = shouldContinue ( cycleCount, currentId );
+        if ( fire )
+        {
+            fireActionPerformed ( currentId );
+            cycleCount++;
+        }
+
+        // Scheduling next cycle unless timer was restarted or stopped through events
+        synchronized ( this )
+        {
+            if ( pulseEntry == entry )
+            {
+                if ( fire && repeats && shouldContinue ( cycleCount, currentId ) )
+                {
+                    schedulePulse ( currentId, getCycleDelay () );
+                }
+                else
+                {
+                    cleanUp ( currentId );
+                }
+            }
+        }
+    }
+
     /**
      * Returns whether thread with specified ID should continue execution or not.
      *
@@ -855,7 +1009,8 @@ public class WebTimer
      */
     protected boolean shouldContinue ( final int cycle, final int id )
     {
-        return running.get ( id ) && !Thread.currentThread ().isInterrupted () && ( cyclesLimit <= 0 || cyclesLimit > cycle );
+        final Boolean alive = running.get ( id );
+        return alive != null && alive && !Thread.currentThread ().isInterrupted () && ( cyclesLimit <= 0 || cyclesLimit > cycle );
     }
 
     /**
@@ -884,7 +1039,15 @@ public class WebTimer
      */
     protected synchronized void stopExec ()
     {
-        if ( exec != null )
+        if ( pulseEntry != null )
+        {
+            // Cancel scheduled cycle
+            // Cycle which is already passed to EDT will check execution mark before firing events
+            WebTimerPulse.cancel ( pulseEntry );
+            setAlive ( pulseEntry.getId (), false );
+            cleanUp ( pulseEntry.getId () );
+        }
+        else if ( exec != null )
         {
             // Interrupt thread
             exec.interrupt ();
@@ -0,0 +1,250 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.swing;
+
+import com.alee.managers.log.Log;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Shared animation clock that drives all WebTimer instances which fire their actions in Event Dispatch Thread.
+ * Instead of creating a separate thread for each running timer this class uses a single daemon thread that waits for the closest
+ * timer cycle and dispatches all cycles which are due at that moment within a single Event Dispatch Thread invocation.
+ * <p/>
+ * Timer cycles are rescheduled only after their actions were actually performed, so a busy Event Dispatch Thread never gets flooded
+ * with stale animation events - they are simply coalesced into the next pulse.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.swing.WebTimer
+ */
+
+public final class WebTimerPulse
+{
+    /**
+     * Shared pulse thread name.
+     */
+    public static String pulseThreadName = "WebTimer-Pulse";
+
+    /**
+     * Time tolerance in nanoseconds within which separately scheduled cycles are merged into a single pulse.
+     * This allows timers with slightly different start times to share Event Dispatch Thread invocations.
+     */
+    public static long pulseTolerance = 2000000L;
+
+    /**
+     * Scheduled timer cycles queue lock.
+     */
+    private static final Object lock = new Object ();
+
+    /**
+     * Scheduled timer cycles sorted by their due time.
+     */
+    private static final PriorityQueue<Entry> queue = new PriorityQueue<Entry> ( 64 );
+
+    /**
+     * Shared pulse thread.
+     */
+    private static Thread pulse = null;
+
+    /**
+     * Schedules single timer cycle.
+     *
+     * @param timer timer to pulse
+     * @param id    timer execution ID
+     * @param delay delay before cycle execution in milliseconds
+     * @return scheduled cycle entry
+     */
+    public static Entry schedule ( final WebTimer timer, final int id, final long delay )
+    {
+        final Entry entry = new Entry ( timer, id, System.nanoTime () + Math.max ( 0, delay ) * 1000000L );
+        synchronized ( lock )
+        {
+            queue.add ( entry );
+            if ( pulse == null )
+            {
+                pulse = new Thread ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        runPulse ();
+                    }
+                }, pulseThreadName );
+                pulse.setDaemon ( true );
+                pulse.start ();
+            }
+            else if ( queue.peek () == entry )
+            {
+                lock.notifyAll ();
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Cancels previously scheduled timer cycle.
+     * Cycle will not be executed if it is still waiting in the queue.
+     *
+     * @param entry scheduled cycle entry
+     */
+    public static void cancel ( final Entry entry )
+    {
+        if ( entry != null )
+        {
+            synchronized ( lock )
+            {
+                queue.remove ( entry );
+            }
+        }
+    }
+
+    /**
+     * Returns amount of currently scheduled timer cycles.
+     *
+     * @return amount of currently scheduled timer cycles
+     */
+    public static int getScheduledCount ()
+    {
+        synchronized ( lock )
+        {
+            return queue.size ();
+        }
+    }
+
+    /**
+     * Shared pulse thread body.
+     */
+    private static void runPulse ()
+    {
+        while ( true )
+        {
+            final List<Entry> due = new ArrayList<Entry> ();
+            synchronized ( lock )
+            {
+                try
+                {
+                    // Waiting for the closest cycle
+                    while ( queue.isEmpty () )
+                    {
+                        lock.wait ();
+                    }
+                    final long wait = queue.peek ().due - System.nanoTime ();
+                    if ( wait > pulseTolerance )
+                    {
+                        final long ms = wait / 1000000L;
+                        lock.wait ( ms, ( int ) ( wait - ms * 1000000L ) );
+                        continue;
+                    }
+                }
+                catch ( final InterruptedException e )
+                {
+                    // Pulse thread should never stop
+                    continue;
+                }
+
+                // Collecting all cycles which are due now
+                final long limit = System.nanoTime () + pulseTolerance;
+                while ( !queue.isEmpty () && queue.peek ().due <= limit )
+                {
+                    due.add ( queue.poll () );
+                }
+            }
+
+            // Performing all collected cycles within single EDT call
+            if ( due.size () > 0 )
+            {
+                SwingUtilities.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        for ( final Entry entry : due )
+                        {
+                            try
+                            {
+                                entry.timer.performPulse ( entry );
+                            }
+                            catch ( final Throwable e )
+                            {
+                                Log.error ( WebTimerPulse.class, e );
+                            }
+                        }
+                    }
+                } );
+            }
+        }
+    }
+
+    /**
+     * Single scheduled timer cycle.
+     */
+    public static final class Entry implements Comparable<Entry>
+    {
+        /**
+         * Timer to pulse.
+         */
+        private final WebTimer timer;
+
+        /**
+         * Timer execution ID.
+         */
+        private final int id;
+
+        /**
+         * Cycle due time in nanoseconds.
+         */
+        private final long due;
+
+        /**
+         * Constructs new scheduled cycle entry.
+         *
+         * @param timer timer to pulse
+         * @param id    timer execution ID
+         * @param due   cycle due time in nanoseconds
+         */
+        private Entry ( final WebTimer timer, final int id, final long due )
+        {
+            super ();
+            this.timer = timer;
+            this.id = id;
+            this.due = due;
+        }
+
+        /**
+         * Returns timer execution ID.
+         *
+         * @return timer execution ID
+         */
+        public int getId ()
+        {
+            return id;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int compareTo ( final Entry o )
+        {
+            return due < o.due ? -1 : due > o.due ? 1 : 0;
+        }
+    }
+}